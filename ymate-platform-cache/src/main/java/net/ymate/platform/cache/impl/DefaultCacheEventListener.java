@@ -37,46 +37,62 @@ public class DefaultCacheEventListener implements ICacheEventListener {
         __owner = null;
     }
 
+    private boolean __hasListeners() {
+        return __owner.getOwner().getEvents().hasListeners(CacheEvent.class);
+    }
+
     @Override
     public void notifyElementRemoved(String cacheName, Object key) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_REMOVED)
-                .addParamExtend("cacheName", cacheName)
-                .addParamExtend("key", key));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_REMOVED)
+                    .addParamExtend("cacheName", cacheName)
+                    .addParamExtend("key", key));
+        }
     }
 
     @Override
     public void notifyElementPut(String cacheName, Object key, Object value) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_PUT)
-                .addParamExtend("cacheName", cacheName)
-                .addParamExtend("key", key)
-                .addParamExtend("value", value));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_PUT)
+                    .addParamExtend("cacheName", cacheName)
+                    .addParamExtend("key", key)
+                    .addParamExtend("value", value));
+        }
     }
 
     @Override
     public void notifyElementUpdated(String cacheName, Object key, Object value) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_UPDATED)
-                .addParamExtend("cacheName", cacheName)
-                .addParamExtend("key", key)
-                .addParamExtend("value", value));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_UPDATED)
+                    .addParamExtend("cacheName", cacheName)
+                    .addParamExtend("key", key)
+                    .addParamExtend("value", value));
+        }
     }
 
     @Override
     public void notifyElementExpired(String cacheName, Object key) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_EXPIRED)
-                .addParamExtend("cacheName", cacheName)
-                .addParamExtend("key", key));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_EXPIRED)
+                    .addParamExtend("cacheName", cacheName)
+                    .addParamExtend("key", key));
+        }
     }
 
     @Override
     public void notifyElementEvicted(String cacheName, Object key) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_EVICTED)
-                .addParamExtend("cacheName", cacheName)
-                .addParamExtend("key", key));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_EVICTED)
+                    .addParamExtend("cacheName", cacheName)
+                    .addParamExtend("key", key));
+        }
     }
 
     @Override
     public void notifyRemoveAll(String cacheName) {
-        __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_REMOVED_ALL)
-                .addParamExtend("cacheName", cacheName));
+        if (__hasListeners()) {
+            __owner.getOwner().getEvents().fireEvent(new CacheEvent(__owner, CacheEvent.EVENT.ELEMENT_REMOVED_ALL)
+                    .addParamExtend("cacheName", cacheName));
+        }
     }
 }
@@ -24,8 +24,11 @@ import net.ymate.platform.core.beans.annotation.Order;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 import org.apache.commons.lang.StringUtils;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -34,10 +37,15 @@ import java.util.concurrent.locks.ReentrantLock;
  * @version 1.0
  */
 @Proxy(annotation = Cacheable.class, order = @Order(-666))
-public class CacheableProxy implements IProxy {
+public class CacheableProxy implements IProxy, IProxyMethodFilter {
 
     private static final ConcurrentHashMap<String, ReentrantLock> __LOCK_MAP = new ConcurrentHashMap<String, ReentrantLock>();
 
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return targetMethod.isAnnotationPresent(Cacheable.class);
+    }
+
     @Override
     public Object doProxy(IProxyChain proxyChain) throws Throwable {
         ICaches _caches = Caches.get(proxyChain.getProxyFactory().getOwner());
@@ -25,14 +25,23 @@ import net.ymate.platform.core.beans.annotation.Order;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 import net.ymate.platform.core.util.ClassUtils;
 
+import java.lang.reflect.Method;
+
 /**
  * @author 刘镇 (suninformation@163.com) on 2018/3/8 下午10:18
  * @version 1.0
  */
 @Proxy(annotation = Configurable.class, order = @Order(-1999))
-public class ConfigurableProxy implements IProxy {
+public class ConfigurableProxy implements IProxy, IProxyMethodFilter {
+
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return targetMethod.getName().equals("getConfig") && ClassUtils.isInterfaceOf(targetClass, IConfigurable.class);
+    }
 
     @Override
     public Object doProxy(IProxyChain proxyChain) throws Throwable {
@@ -71,6 +71,16 @@ public interface IConfig {
      */
     List<String> getExcludedModules();
 
+    /**
+     * @return 返回类索引缓存目录，可选参数，开启后JAR包的扫描结果将被缓存，后续启动时若JAR包未发生变化则跳过扫描，默认为空表示不开启
+     */
+    String getBeanIndexCacheDir();
+
+    /**
+     * @return 返回启动时并行扫描包路径及加载类对象的线程数量，可选参数，默认为0表示串行扫描
+     */
+    int getStartupParallelism();
+
     /**
      * @return 国际化资源默认语言设置，可选参数，默认采用系统环境语言
      */
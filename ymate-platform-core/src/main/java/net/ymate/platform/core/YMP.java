@@ -167,12 +167,16 @@ public class YMP {
             __events.registerEvent(ApplicationEvent.class);
             __events.registerEvent(ModuleEvent.class);
             // 配置根对象工厂
-            __beanFactory.setLoader(new DefaultBeanLoader(__config.getExcludedFiles()));
+            DefaultBeanLoader _beanLoader = new DefaultBeanLoader(__config.getExcludedFiles(), __config.getBeanIndexCacheDir());
+            _beanLoader.setParallelism(__config.getStartupParallelism());
+            __beanFactory.setLoader(_beanLoader);
             __beanFactory.registerExcludedClass(IInitializable.class);
             __beanFactory.registerHandler(Bean.class);
             __beanFactory.registerHandler(Packages.class, new PackagesHandler(this));
             // 配置模块对象工厂
-            __moduleFactory.setLoader(new DefaultBeanLoader(__config.getExcludedFiles()));
+            DefaultBeanLoader _moduleLoader = new DefaultBeanLoader(__config.getExcludedFiles(), __config.getBeanIndexCacheDir());
+            _moduleLoader.setParallelism(__config.getStartupParallelism());
+            __moduleFactory.setLoader(_moduleLoader);
             __moduleFactory.registerExcludedClass(IInitializable.class);
             __moduleFactory.registerHandler(Module.class, new ModuleHandler(this));
             __moduleFactory.registerHandler(Proxy.class, new ProxyHandler(this));
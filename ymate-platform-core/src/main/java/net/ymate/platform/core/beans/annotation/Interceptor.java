@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.beans.annotation;
+
+import net.ymate.platform.core.beans.intercept.IInterceptor;
+
+import java.lang.annotation.*;
+
+/**
+ * 声明拦截器实例的作用域
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Interceptor {
+
+    /**
+     * @return 拦截器实例作用域, 默认为PROTOTYPE(即每次执行均创建新的实例)
+     */
+    IInterceptor.Scope scope() default IInterceptor.Scope.PROTOTYPE;
+}
@@ -20,6 +20,7 @@ import net.ymate.platform.core.beans.annotation.*;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyFactory;
 import net.ymate.platform.core.beans.proxy.IProxyFilter;
+import net.ymate.platform.core.support.ConsoleTableBuilder;
 import net.ymate.platform.core.util.ClassUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -214,8 +215,16 @@ public class DefaultBeanFactory implements IBeanFactory {
             }
         }
         if (!__packageNames.isEmpty()) {
+            // 调试模式下统计每个包路径的扫描耗时及每个处理器的累计耗时
+            boolean _timing = _LOG.isDebugEnabled();
+            Map<String, long[]> _packageTimings = _timing ? new LinkedHashMap<String, long[]>() : null;
+            Map<Class<? extends Annotation>, long[]> _handlerTimings = _timing ? new LinkedHashMap<Class<? extends Annotation>, long[]>() : null;
             for (String _packageName : __packageNames) {
+                long _time = _timing ? System.currentTimeMillis() : 0;
                 List<Class<?>> _classes = this.__beanLoader.load(_packageName);
+                if (_timing) {
+                    _packageTimings.put(_packageName, new long[]{_classes.size(), System.currentTimeMillis() - _time});
+                }
                 for (Class<?> _class : _classes) {
                     // 不扫描注解、枚举类，被声明@Ingored注解的类也将被忽略，因为需要处理package-info信息，所以放开接口限制
                     if (!_class.isAnnotation() && !_class.isEnum() /* && !_class.isInterface() */ && !_class.isAnnotationPresent(Ignored.class)) {
@@ -224,7 +233,11 @@ public class DefaultBeanFactory implements IBeanFactory {
                             for (Annotation _anno : _annotations) {
                                 IBeanHandler _handler = __beanHandlerMap.get(_anno.annotationType());
                                 if (_handler != null) {
+                                    long _handleTime = _timing ? System.nanoTime() : 0;
                                     Object _instance = _handler.handle(_class);
+                                    if (_timing) {
+                                        __doAddTiming(_handlerTimings, _anno.annotationType(), System.nanoTime() - _handleTime);
+                                    }
                                     if (_instance != null) {
                                         if (_instance instanceof BeanMeta) {
                                             __addClass((BeanMeta) _instance);
@@ -238,7 +251,34 @@ public class DefaultBeanFactory implements IBeanFactory {
                     }
                 }
             }
+            if (_timing) {
+                __doReportTimings(_packageTimings, _handlerTimings);
+            }
+        }
+    }
+
+    private void __doAddTiming(Map<Class<? extends Annotation>, long[]> timings, Class<? extends Annotation> annoClass, long nanoTime) {
+        long[] _timing = timings.get(annoClass);
+        if (_timing == null) {
+            _timing = new long[2];
+            timings.put(annoClass, _timing);
+        }
+        _timing[0]++;
+        _timing[1] += nanoTime;
+    }
+
+    private void __doReportTimings(Map<String, long[]> packageTimings, Map<Class<? extends Annotation>, long[]> handlerTimings) {
+        ConsoleTableBuilder _console = ConsoleTableBuilder.create(3);
+        _console.addRow().addColumn("Package").addColumn("Classes").addColumn("Scan time(ms)");
+        for (Map.Entry<String, long[]> _entry : packageTimings.entrySet()) {
+            _console.addRow().addColumn(_entry.getKey()).addColumn(String.valueOf(_entry.getValue()[0])).addColumn(String.valueOf(_entry.getValue()[1]));
+        }
+        _console.addRow().addColumn("Handler").addColumn("Handled").addColumn("Handle time(ms)");
+        for (Map.Entry<Class<? extends Annotation>, long[]> _entry : handlerTimings.entrySet()) {
+            _console.addRow().addColumn("@" + _entry.getKey().getSimpleName() + " -> " + __beanHandlerMap.get(_entry.getKey()).getClass().getName())
+                    .addColumn(String.valueOf(_entry.getValue()[0])).addColumn(String.valueOf(_entry.getValue()[1] / 1000000L));
         }
+        _LOG.debug("Bean factory startup timings:\n" + _console);
     }
 
     @Override
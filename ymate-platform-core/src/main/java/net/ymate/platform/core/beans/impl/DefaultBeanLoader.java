@@ -17,18 +17,23 @@ package net.ymate.platform.core.beans.impl;
 
 import net.ymate.platform.core.beans.IBeanFilter;
 import net.ymate.platform.core.beans.IBeanLoader;
+import net.ymate.platform.core.support.DefaultThreadFactory;
 import net.ymate.platform.core.util.ClassUtils;
+import net.ymate.platform.core.util.RuntimeUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.io.*;
 import java.net.JarURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
@@ -42,10 +47,23 @@ import java.util.zip.ZipInputStream;
  */
 public class DefaultBeanLoader implements IBeanLoader {
 
+    private static final Log _LOG = LogFactory.getLog(DefaultBeanLoader.class);
+
+    /**
+     * JAR包内预生成的类索引文件, 由BeanIndexProcessor在编译期生成, 内容为声明了注解的类名称(每行一个)
+     */
+    public static final String BEAN_INDEX_FILE = "META-INF/ymp-beans.idx";
+
+    private static final String __INDEX_CHARSET = "UTF-8";
+
     private ClassLoader __classLoader;
 
     private List<String> __excludedFileSet;
 
+    private File __indexCacheDir;
+
+    private int __parallelism;
+
     public DefaultBeanLoader() {
     }
 
@@ -53,6 +71,59 @@ public class DefaultBeanLoader implements IBeanLoader {
         __excludedFileSet = excludedFiles;
     }
 
+    /**
+     * @param excludedFiles 被排除的jar或zip等包文件名称集合
+     * @param indexCacheDir 类索引缓存目录, 若为空则不缓存扫描结果
+     */
+    public DefaultBeanLoader(List<String> excludedFiles, String indexCacheDir) {
+        __excludedFileSet = excludedFiles;
+        setIndexCacheDir(indexCacheDir);
+    }
+
+    /**
+     * @return 返回并行扫描线程数量, 小于等于1时表示串行扫描
+     */
+    public int getParallelism() {
+        return __parallelism;
+    }
+
+    /**
+     * 设置并行扫描线程数量, 大于1时将并行遍历包路径对应的多个JAR包或目录, 并按分组并行加载类对象,
+     * 返回结果的顺序与串行扫描保持一致
+     *
+     * @param parallelism 并行扫描线程数量
+     */
+    public void setParallelism(int parallelism) {
+        __parallelism = parallelism;
+    }
+
+    /**
+     * @return 返回类索引缓存目录, 可能为null
+     */
+    public File getIndexCacheDir() {
+        return __indexCacheDir;
+    }
+
+    /**
+     * 设置类索引缓存目录, 开启后对于未内置类索引文件的JAR包, 首次扫描的结果(仅包含声明了注解的类)将被写入该目录,
+     * 后续启动时若JAR包的路径、修改时间及文件大小均未发生变化则直接使用缓存, 跳过对JAR包的遍历
+     *
+     * @param indexCacheDir 类索引缓存目录, 支持${root}、${user.dir}和${user.home}环境变量
+     */
+    public void setIndexCacheDir(String indexCacheDir) {
+        indexCacheDir = RuntimeUtils.replaceEnvVariable(indexCacheDir);
+        if (StringUtils.isNotBlank(indexCacheDir)) {
+            File _dir = new File(indexCacheDir);
+            if (_dir.isDirectory() || _dir.mkdirs()) {
+                __indexCacheDir = _dir;
+            } else {
+                _LOG.warn("Bean index cache dir '" + indexCacheDir + "' is not available, ignored.");
+            }
+        } else {
+            __indexCacheDir = null;
+        }
+    }
+
     @Override
     public ClassLoader getClassLoader() {
         return __classLoader == null ? this.getClass().getClassLoader() : __classLoader;
@@ -79,45 +150,138 @@ public class DefaultBeanLoader implements IBeanLoader {
     }
 
     @Override
-    public List<Class<?>> load(String packageName, IBeanFilter filter) throws Exception {
-        List<Class<?>> _returnValue = new ArrayList<Class<?>>();
-        Enumeration<URL> _resources = this.getClassLoader().getResources(packageName.replaceAll("\\.", "/"));
-        while (_resources.hasMoreElements()) {
-            URL _res = _resources.nextElement();
-            if (_res.getProtocol().equalsIgnoreCase("file") || _res.getProtocol().equalsIgnoreCase("vfsfile")) {
-                File[] _files = new File(_res.toURI()).listFiles();
-                if (_files != null && _files.length > 0) {
-                    for (File _file : _files) {
-                        _returnValue.addAll(__doFindClassByClazz(packageName, _file, filter));
+    public List<Class<?>> load(final String packageName, IBeanFilter filter) throws Exception {
+        List<URL> _resources = Collections.list(this.getClassLoader().getResources(packageName.replaceAll("\\.", "/")));
+        ExecutorService _executor = null;
+        try {
+            if (__parallelism > 1) {
+                _executor = Executors.newFixedThreadPool(__parallelism, new DefaultThreadFactory("bean-loader-"));
+            }
+            // 第一阶段: 遍历包路径对应的JAR包或目录, 收集待加载的类名称
+            List<ScanResult> _scanResults = new ArrayList<ScanResult>(_resources.size());
+            if (_executor != null && _resources.size() > 1) {
+                List<Future<ScanResult>> _futures = new ArrayList<Future<ScanResult>>(_resources.size());
+                for (final URL _res : _resources) {
+                    _futures.add(_executor.submit(new Callable<ScanResult>() {
+                        @Override
+                        public ScanResult call() throws Exception {
+                            return __doScanResource(packageName, _res);
+                        }
+                    }));
+                }
+                for (Future<ScanResult> _future : _futures) {
+                    _scanResults.add(__doGetResult(_future));
+                }
+            } else {
+                for (URL _res : _resources) {
+                    _scanResults.add(__doScanResource(packageName, _res));
+                }
+            }
+            // 第二阶段: 加载类对象并按扫描顺序返回
+            List<String> _classNames = new ArrayList<String>();
+            for (ScanResult _result : _scanResults) {
+                _classNames.addAll(_result.classNames);
+            }
+            Class<?>[] _classes = __doLoadClasses(_executor, _classNames);
+            //
+            List<Class<?>> _returnValue = new ArrayList<Class<?>>();
+            int _offset = 0;
+            for (ScanResult _result : _scanResults) {
+                List<String> _annotatedClassNames = _result.cacheFile != null ? new ArrayList<String>() : null;
+                for (int _idx = _offset; _idx < _offset + _result.classNames.size(); _idx++) {
+                    __doAddClass(_returnValue, _classes[_idx], filter);
+                    if (_annotatedClassNames != null && _classes[_idx] != null && _classes[_idx].getAnnotations().length > 0) {
+                        _annotatedClassNames.add(_classNames.get(_idx));
                     }
                 }
-            } else if (_res.getProtocol().equalsIgnoreCase("jar") || _res.getProtocol().equalsIgnoreCase("wsjar")) {
-                _returnValue.addAll(__doFindClassByJar(packageName, ((JarURLConnection) _res.openConnection()).getJarFile(), filter));
-            } else if (_res.getProtocol().equalsIgnoreCase("zip")) {
-                _returnValue.addAll(__doFindClassByZip(_res, filter));
+                if (_annotatedClassNames != null) {
+                    __doWriteIndexCache(_result.cacheFile, _result.cacheHeader, _annotatedClassNames);
+                }
+                _offset += _result.classNames.size();
             }
+            return _returnValue;
+        } finally {
+            if (_executor != null) {
+                _executor.shutdown();
+            }
+        }
+    }
+
+    private ScanResult __doScanResource(String packageName, URL resource) throws Exception {
+        ScanResult _result = new ScanResult();
+        if (resource.getProtocol().equalsIgnoreCase("file") || resource.getProtocol().equalsIgnoreCase("vfsfile")) {
+            File[] _files = new File(resource.toURI()).listFiles();
+            if (_files != null && _files.length > 0) {
+                for (File _file : _files) {
+                    __doFindClassByClazz(packageName, _file, _result.classNames);
+                }
+            }
+        } else if (resource.getProtocol().equalsIgnoreCase("jar") || resource.getProtocol().equalsIgnoreCase("wsjar")) {
+            __doFindClassByJar(packageName, ((JarURLConnection) resource.openConnection()).getJarFile(), _result);
+        } else if (resource.getProtocol().equalsIgnoreCase("zip")) {
+            __doFindClassByZip(resource, _result.classNames);
         }
-        return _returnValue;
+        return _result;
     }
 
-    private List<Class<?>> __doFindClassByClazz(String packageName, File resourceFile, IBeanFilter filter) throws Exception {
-        List<Class<?>> _returnValue = new ArrayList<Class<?>>();
+    private Class<?>[] __doLoadClasses(ExecutorService executor, final List<String> classNames) throws Exception {
+        final Class<?>[] _classes = new Class<?>[classNames.size()];
+        if (executor != null && classNames.size() > __parallelism) {
+            // 按线程数量的若干倍进行分组, 避免单个分组中包含过多耗时的类加载
+            int _chunkSize = Math.max(1, classNames.size() / (__parallelism * 4));
+            List<Future<Object>> _futures = new ArrayList<Future<Object>>();
+            for (int _start = 0; _start < classNames.size(); _start += _chunkSize) {
+                final int _from = _start;
+                final int _to = Math.min(_start + _chunkSize, classNames.size());
+                _futures.add(executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        for (int _idx = _from; _idx < _to; _idx++) {
+                            _classes[_idx] = __doLoadClass(classNames.get(_idx));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Object> _future : _futures) {
+                __doGetResult(_future);
+            }
+        } else {
+            for (int _idx = 0; _idx < _classes.length; _idx++) {
+                _classes[_idx] = __doLoadClass(classNames.get(_idx));
+            }
+        }
+        return _classes;
+    }
+
+    private <T> T __doGetResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable _cause = e.getCause();
+            if (_cause instanceof Exception) {
+                throw (Exception) _cause;
+            } else if (_cause instanceof Error) {
+                throw (Error) _cause;
+            }
+            throw e;
+        }
+    }
+
+    private void __doFindClassByClazz(String packageName, File resourceFile, List<String> classNames) {
         String _resFileName = resourceFile.getName();
         if (resourceFile.isFile()) {
             if (_resFileName.endsWith(".class") && _resFileName.indexOf('$') < 0) {
-                String _className = packageName + "." + _resFileName.replace(".class", "");
-                Class<?> _class = __doLoadClass(_className);
-                __doAddClass(_returnValue, _class, filter);
+                classNames.add(packageName + "." + _resFileName.replace(".class", ""));
             }
         } else {
             File[] _tmpFiles = resourceFile.listFiles();
             if (_tmpFiles != null && _tmpFiles.length > 0) {
                 for (File _tmpFile : _tmpFiles) {
-                    _returnValue.addAll(__doFindClassByClazz(packageName + "." + _resFileName, _tmpFile, filter));
+                    __doFindClassByClazz(packageName + "." + _resFileName, _tmpFile, classNames);
                 }
             }
         }
-        return _returnValue;
     }
 
     private boolean __doCheckExculedFile(String targetFileName) {
@@ -138,28 +302,105 @@ public class DefaultBeanLoader implements IBeanLoader {
         return false;
     }
 
-    private List<Class<?>> __doFindClassByJar(String packageName, JarFile jarFile, IBeanFilter filter) throws Exception {
-        List<Class<?>> _returnValue = new ArrayList<Class<?>>();
-        if (!__doCheckExculedFile(new File(jarFile.getName()).getName())) {
-            Enumeration<JarEntry> _entriesEnum = jarFile.entries();
-            for (; _entriesEnum.hasMoreElements(); ) {
-                JarEntry _entry = _entriesEnum.nextElement();
-                // 替换文件名中所有的 '/' 为 '.'，并且只存放.class结尾的类名称，剔除所有包含'$'的内部类名称
-                String _className = _entry.getName().replaceAll("/", ".");
-                if (_className.endsWith(".class") && _className.indexOf('$') < 0) {
+    private void __doFindClassByJar(String packageName, JarFile jarFile, ScanResult result) {
+        File _jarFile = new File(jarFile.getName());
+        if (!__doCheckExculedFile(_jarFile.getName())) {
+            // 优先使用JAR包内置的类索引, 其次为本地缓存的类索引
+            List<String> _classNames = __doReadIndex(jarFile);
+            if (_classNames == null && __indexCacheDir != null) {
+                File _cacheFile = new File(__indexCacheDir, DigestUtils.md5Hex(_jarFile.getAbsolutePath() + "#" + packageName) + ".idx");
+                String _cacheHeader = "# " + _jarFile.getAbsolutePath() + "|" + packageName + "|" + _jarFile.lastModified() + "|" + _jarFile.length();
+                _classNames = __doReadIndexCache(_cacheFile, _cacheHeader);
+                if (_classNames == null) {
+                    // 缓存失效, 待类加载完成后重新写入
+                    result.cacheFile = _cacheFile;
+                    result.cacheHeader = _cacheHeader;
+                }
+            }
+            if (_classNames != null) {
+                for (String _className : _classNames) {
                     if (_className.startsWith(packageName)) {
-                        _className = _className.substring(0, _className.lastIndexOf('.'));
-                        Class<?> _class = __doLoadClass(_className);
-                        __doAddClass(_returnValue, _class, filter);
+                        result.classNames.add(_className);
+                    }
+                }
+            } else {
+                Enumeration<JarEntry> _entriesEnum = jarFile.entries();
+                for (; _entriesEnum.hasMoreElements(); ) {
+                    JarEntry _entry = _entriesEnum.nextElement();
+                    // 替换文件名中所有的 '/' 为 '.'，并且只存放.class结尾的类名称，剔除所有包含'$'的内部类名称
+                    String _className = _entry.getName().replaceAll("/", ".");
+                    if (_className.endsWith(".class") && _className.indexOf('$') < 0) {
+                        if (_className.startsWith(packageName)) {
+                            result.classNames.add(_className.substring(0, _className.lastIndexOf('.')));
+                        }
                     }
                 }
             }
         }
-        return _returnValue;
     }
 
-    private List<Class<?>> __doFindClassByZip(URL zipUrl, IBeanFilter filter) throws Exception {
-        List<Class<?>> _returnValue = new ArrayList<Class<?>>();
+    private List<String> __doReadIndex(JarFile jarFile) {
+        JarEntry _indexEntry = jarFile.getJarEntry(BEAN_INDEX_FILE);
+        if (_indexEntry != null) {
+            InputStream _in = null;
+            try {
+                _in = jarFile.getInputStream(_indexEntry);
+                return __doParseIndex(IOUtils.readLines(_in, __INDEX_CHARSET));
+            } catch (IOException e) {
+                _LOG.warn("Failed to read bean index from " + jarFile.getName() + ", fallback to scan.", RuntimeUtils.unwrapThrow(e));
+            } finally {
+                IOUtils.closeQuietly(_in);
+            }
+        }
+        return null;
+    }
+
+    private List<String> __doReadIndexCache(File cacheFile, String header) {
+        if (cacheFile.isFile()) {
+            InputStream _in = null;
+            try {
+                _in = new FileInputStream(cacheFile);
+                List<String> _lines = IOUtils.readLines(_in, __INDEX_CHARSET);
+                // 首行记录JAR包路径、扫描包名、修改时间及文件大小, 任一不符则视为失效
+                if (!_lines.isEmpty() && header.equals(_lines.get(0))) {
+                    return __doParseIndex(_lines);
+                }
+            } catch (IOException e) {
+                _LOG.warn("Failed to read bean index cache " + cacheFile.getPath() + ", fallback to scan.", RuntimeUtils.unwrapThrow(e));
+            } finally {
+                IOUtils.closeQuietly(_in);
+            }
+        }
+        return null;
+    }
+
+    private void __doWriteIndexCache(File cacheFile, String header, List<String> classNames) {
+        List<String> _lines = new ArrayList<String>(classNames.size() + 1);
+        _lines.add(header);
+        _lines.addAll(classNames);
+        OutputStream _out = null;
+        try {
+            _out = new FileOutputStream(cacheFile);
+            IOUtils.writeLines(_lines, "\n", _out, __INDEX_CHARSET);
+        } catch (IOException e) {
+            _LOG.warn("Failed to write bean index cache " + cacheFile.getPath(), RuntimeUtils.unwrapThrow(e));
+        } finally {
+            IOUtils.closeQuietly(_out);
+        }
+    }
+
+    private List<String> __doParseIndex(List<String> lines) {
+        List<String> _classNames = new ArrayList<String>(lines.size());
+        for (String _line : lines) {
+            _line = StringUtils.trimToNull(_line);
+            if (_line != null && _line.charAt(0) != '#') {
+                _classNames.add(_line);
+            }
+        }
+        return _classNames;
+    }
+
+    private void __doFindClassByZip(URL zipUrl, List<String> classNames) throws Exception {
         ZipInputStream _zipStream = null;
         try {
             String _zipFilePath = zipUrl.toString();
@@ -175,8 +416,7 @@ public class DefaultBeanLoader implements IBeanLoader {
                 while (null != (_zipEntry = _zipStream.getNextEntry())) {
                     if (!_zipEntry.isDirectory()) {
                         if (_zipEntry.getName().endsWith(".class") && _zipEntry.getName().indexOf('$') < 0) {
-                            String _className = StringUtils.substringBefore(_zipEntry.getName().replace("/", "."), ".class");
-                            __doAddClass(_returnValue, __doLoadClass(_className), filter);
+                            classNames.add(StringUtils.substringBefore(_zipEntry.getName().replace("/", "."), ".class"));
                         }
                     }
                     _zipStream.closeEntry();
@@ -190,7 +430,6 @@ public class DefaultBeanLoader implements IBeanLoader {
                 }
             }
         }
-        return _returnValue;
     }
 
     private Class<?> __doLoadClass(String className) throws ClassNotFoundException {
@@ -215,4 +454,18 @@ public class DefaultBeanLoader implements IBeanLoader {
         }
     }
 
+    /**
+     * 单个JAR包或目录的扫描结果
+     */
+    private static class ScanResult {
+
+        private final List<String> classNames = new ArrayList<String>();
+
+        /**
+         * 需重新写入的类索引缓存文件, 为空表示无需写入
+         */
+        private File cacheFile;
+
+        private String cacheHeader;
+    }
 }
@@ -15,17 +15,17 @@
  */
 package net.ymate.platform.core.beans.impl.proxy;
 
-import net.sf.cglib.proxy.Enhancer;
-import net.sf.cglib.proxy.MethodInterceptor;
-import net.sf.cglib.proxy.MethodProxy;
+import net.sf.cglib.proxy.*;
 import net.ymate.platform.core.YMP;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyFactory;
 import net.ymate.platform.core.beans.proxy.IProxyFilter;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 默认代理工厂接口实现
@@ -39,9 +39,12 @@ public class DefaultProxyFactory implements IProxyFactory {
 
     private final List<IProxy> __proxies;
 
+    private final Map<Class<?>, ProxyMethodFilter> __methodFilters;
+
     public DefaultProxyFactory(YMP owner) {
         this.__owner = owner;
         this.__proxies = new ArrayList<IProxy>();
+        this.__methodFilters = new ConcurrentHashMap<Class<?>, ProxyMethodFilter>();
     }
 
     @Override
@@ -97,15 +100,99 @@ public class DefaultProxyFactory implements IProxyFactory {
         return createProxy(targetClass, __proxies);
     }
 
+    private ProxyMethodFilter __doGetMethodFilter(Class<?> targetClass, List<IProxy> proxies) {
+        ProxyMethodFilter _filter = __methodFilters.get(targetClass);
+        if (_filter == null || !_filter.getProxies().equals(proxies)) {
+            _filter = new ProxyMethodFilter(this, targetClass, proxies);
+            __methodFilters.put(targetClass, _filter);
+        }
+        return _filter;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T createProxy(final Class<?> targetClass, final List<IProxy> proxies) {
         final IProxyFactory _owner = this;
-        return (T) Enhancer.create(targetClass, new MethodInterceptor() {
+        final ProxyMethodFilter _filter = __doGetMethodFilter(targetClass, proxies);
+        //
+        Enhancer _enhancer = new Enhancer();
+        _enhancer.setSuperclass(targetClass);
+        _enhancer.setCallbackFilter(_filter);
+        _enhancer.setCallbacks(new Callback[]{NoOp.INSTANCE, new MethodInterceptor() {
             @Override
             public Object intercept(Object targetObject, Method targetMethod, Object[] methodParams, MethodProxy methodProxy) throws Throwable {
-                return new DefaultProxyChain(_owner, targetClass, targetObject, targetMethod, methodProxy, methodParams, proxies).doProxyChain();
+                return new DefaultProxyChain(_owner, targetClass, targetObject, targetMethod, methodProxy, methodParams, _filter.getProxies(targetMethod)).doProxyChain();
+            }
+        }});
+        return (T) _enhancer.create();
+    }
+
+    /**
+     * 代理方法过滤器, 在生成代理类时为每个方法确定其作用的代理集合:
+     * 无任何代理作用的方法将被分派至NoOp回调, 直接调用父类方法, 其余方法使用预先计算的代理链
+     * <p>
+     * 注: CGLIB将以CallbackFilter作为代理类缓存键的一部分, 因此需按目标类型及代理集合实现equals和hashCode方法
+     */
+    private static class ProxyMethodFilter implements CallbackFilter {
+
+        private static final int __NO_OP = 0;
+
+        private static final int __CHAIN = 1;
+
+        private final IProxyFactory __proxyFactory;
+
+        private final Class<?> __targetClass;
+
+        private final List<IProxy> __proxies;
+
+        private final Map<Method, List<IProxy>> __methodProxies;
+
+        ProxyMethodFilter(IProxyFactory proxyFactory, Class<?> targetClass, List<IProxy> proxies) {
+            __proxyFactory = proxyFactory;
+            __targetClass = targetClass;
+            __proxies = new ArrayList<IProxy>(proxies);
+            __methodProxies = new ConcurrentHashMap<Method, List<IProxy>>();
+        }
+
+        List<IProxy> getProxies() {
+            return __proxies;
+        }
+
+        List<IProxy> getProxies(Method targetMethod) {
+            List<IProxy> _proxies = __methodProxies.get(targetMethod);
+            if (_proxies == null) {
+                _proxies = new ArrayList<IProxy>();
+                for (IProxy _proxy : __proxies) {
+                    if (!(_proxy instanceof IProxyMethodFilter) || ((IProxyMethodFilter) _proxy).filter(__proxyFactory, __targetClass, targetMethod)) {
+                        _proxies.add(_proxy);
+                    }
+                }
+                _proxies = _proxies.isEmpty() ? Collections.<IProxy>emptyList() : Collections.unmodifiableList(_proxies);
+                __methodProxies.put(targetMethod, _proxies);
+            }
+            return _proxies;
+        }
+
+        @Override
+        public int accept(Method method) {
+            return getProxies(method).isEmpty() ? __NO_OP : __CHAIN;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
             }
-        });
+            ProxyMethodFilter _that = (ProxyMethodFilter) o;
+            return __targetClass.equals(_that.__targetClass) && __proxies.equals(_that.__proxies);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * __targetClass.hashCode() + __proxies.hashCode();
+        }
     }
 }
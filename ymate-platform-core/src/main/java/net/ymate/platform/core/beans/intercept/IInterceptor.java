@@ -31,6 +31,27 @@ public interface IInterceptor {
         BEFORE, AFTER, ALL
     }
 
+    /**
+     * 拦截器实例作用域
+     */
+    enum Scope {
+
+        /**
+         * 每次执行均创建新的实例(默认)
+         */
+        PROTOTYPE,
+
+        /**
+         * 单例, 全局共享同一实例(拦截器须为无状态的)
+         */
+        SINGLETON,
+
+        /**
+         * 线程绑定, 同一线程内共享同一实例
+         */
+        THREAD
+    }
+
     /**
      * @param context 拦截器环境上下文对象
      * @return 执行拦截动作并返回执行结果，返回结果将影响前置拦截器组是否继续执行，后置拦截器将忽略返回值
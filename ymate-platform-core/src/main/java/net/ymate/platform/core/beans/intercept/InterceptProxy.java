@@ -19,7 +19,8 @@ import net.ymate.platform.core.YMP;
 import net.ymate.platform.core.beans.annotation.*;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
-import org.apache.commons.codec.digest.DigestUtils;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -33,44 +34,46 @@ import java.util.concurrent.ConcurrentHashMap;
  * @version 1.0
  */
 @Proxy(order = @Order(-999))
-public class InterceptProxy implements IProxy {
-
-    private static Map<String, InterceptMeta> __interceptMetasCache;
-
-    private static final Object __cacheLocker = new Object();
+public class InterceptProxy implements IProxy, IProxyMethodFilter {
 
     private static final Set<String> __excludedMethodNames;
 
     static {
-        __interceptMetasCache = new ConcurrentHashMap<String, InterceptMeta>();
-        //
         __excludedMethodNames = new HashSet<String>();
         for (Method _method : Object.class.getDeclaredMethods()) {
             __excludedMethodNames.add(_method.getName());
         }
     }
 
+    /**
+     * 按目标类型及方法对象缓存拦截器配置, 其中Class与Method对象均由CGLIB代理类持有且不会重复创建,
+     * 因此无需再通过字符串拼接及摘要计算的方式构建缓存键
+     */
+    private final Map<Class<?>, Map<Method, InterceptMeta>> __interceptMetasCache = new ConcurrentHashMap<Class<?>, Map<Method, InterceptMeta>>();
+
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return __doGetInterceptMeta(proxyFactory.getOwner(), targetClass, targetMethod) != InterceptMeta.__DEFAULT;
+    }
+
     @Override
     public Object doProxy(IProxyChain proxyChain) throws Throwable {
-        // 方法声明了@Ignored注解或非PUBLIC方法和Object类方法将被排除
-        boolean _ignored = proxyChain.getTargetMethod().isAnnotationPresent(Ignored.class);
-        if (_ignored || __excludedMethodNames.contains(proxyChain.getTargetMethod().getName())
-                || proxyChain.getTargetMethod().getDeclaringClass().equals(Object.class)
-                || proxyChain.getTargetMethod().getModifiers() != Modifier.PUBLIC) {
+        YMP _owner = proxyChain.getProxyFactory().getOwner();
+        InterceptMeta _interceptMeta = __doGetInterceptMeta(_owner, proxyChain.getTargetClass(), proxyChain.getTargetMethod());
+        if (_interceptMeta == InterceptMeta.__DEFAULT) {
             return proxyChain.doProxyChain();
         }
-        //
-        InterceptMeta _interceptMeta = __doGetInterceptMeta(proxyChain.getProxyFactory().getOwner(), proxyChain.getTargetClass(), proxyChain.getTargetMethod());
+        InterceptSettings _interceptSettings = _owner.getConfig().getInterceptSettings();
         //
         if (_interceptMeta.hasBeforeIntercepts()) {
             InterceptContext _context = new InterceptContext(IInterceptor.Direction.BEFORE,
-                    proxyChain.getProxyFactory().getOwner(),
+                    _owner,
                     proxyChain.getTargetObject(),
                     proxyChain.getTargetMethod(),
                     proxyChain.getMethodParams(), _interceptMeta.getContextParams());
             //
             for (Class<? extends IInterceptor> _interceptClass : _interceptMeta.getBeforeIntercepts()) {
-                IInterceptor _interceptor = _interceptClass.newInstance();
+                IInterceptor _interceptor = _interceptSettings.getInterceptor(_owner, _interceptClass);
                 // 执行前置拦截器，若其结果对象不为空则返回并停止执行
                 Object _resultObj = _interceptor.intercept(_context);
                 if (_resultObj != null) {
@@ -83,7 +86,7 @@ public class InterceptProxy implements IProxy {
         //
         if (_interceptMeta.hasAfterIntercepts()) {
             InterceptContext _context = new InterceptContext(IInterceptor.Direction.AFTER,
-                    proxyChain.getProxyFactory().getOwner(),
+                    _owner,
                     proxyChain.getTargetObject(),
                     proxyChain.getTargetMethod(),
                     proxyChain.getMethodParams(), _interceptMeta.getContextParams());
@@ -91,7 +94,7 @@ public class InterceptProxy implements IProxy {
             _context.setResultObject(_returnValue);
             //
             for (Class<? extends IInterceptor> _interceptClass : _interceptMeta.getAfterIntercepts()) {
-                IInterceptor _interceptor = _interceptClass.newInstance();
+                IInterceptor _interceptor = _interceptSettings.getInterceptor(_owner, _interceptClass);
                 // 执行后置拦截器，所有后置拦截器的执行结果都将被忽略
                 _interceptor.intercept(_context);
             }
@@ -100,20 +103,31 @@ public class InterceptProxy implements IProxy {
     }
 
     private InterceptMeta __doGetInterceptMeta(YMP owner, Class<?> targetClass, Method targetMethod) {
-        String _id = DigestUtils.md5Hex(targetClass.toString() + targetMethod.toString());
-        //
-        if (__interceptMetasCache.containsKey(_id)) {
-            return __interceptMetasCache.get(_id);
+        Map<Method, InterceptMeta> _metas = __interceptMetasCache.get(targetClass);
+        if (_metas == null) {
+            _metas = new ConcurrentHashMap<Method, InterceptMeta>();
+            __interceptMetasCache.put(targetClass, _metas);
+        }
+        InterceptMeta _meta = _metas.get(targetMethod);
+        if (_meta == null) {
+            _meta = __doCreateInterceptMeta(owner, targetClass, targetMethod);
+            _metas.put(targetMethod, _meta);
+        }
+        return _meta;
+    }
+
+    private InterceptMeta __doCreateInterceptMeta(YMP owner, Class<?> targetClass, Method targetMethod) {
+        // 方法声明了@Ignored注解或非PUBLIC方法和Object类方法将被排除
+        if (targetMethod.isAnnotationPresent(Ignored.class) || __excludedMethodNames.contains(targetMethod.getName())
+                || targetMethod.getDeclaringClass().equals(Object.class)
+                || targetMethod.getModifiers() != Modifier.PUBLIC) {
+            return InterceptMeta.__DEFAULT;
         }
         if (targetClass.isAnnotationPresent(Before.class) || targetClass.isAnnotationPresent(After.class) || targetClass.isAnnotationPresent(Around.class)
                 || targetMethod.isAnnotationPresent(Before.class) || targetMethod.isAnnotationPresent(After.class) || targetMethod.isAnnotationPresent(Around.class)
                 || owner.getConfig().getInterceptSettings().hasInterceptPackages(targetClass)) {
-            synchronized (__cacheLocker) {
-                InterceptMeta _meta = __interceptMetasCache.get(_id);
-                if (_meta == null) {
-                    _meta = new InterceptMeta(owner, _id, targetClass, targetMethod);
-                    __interceptMetasCache.put(_id, _meta);
-                }
+            InterceptMeta _meta = new InterceptMeta(owner, targetClass.getName().concat("#").concat(targetMethod.getName()), targetClass, targetMethod);
+            if (_meta.hasBeforeIntercepts() || _meta.hasAfterIntercepts()) {
                 return _meta;
             }
         }
@@ -15,10 +15,8 @@
  */
 package net.ymate.platform.core.beans.intercept;
 
-import net.ymate.platform.core.beans.annotation.After;
-import net.ymate.platform.core.beans.annotation.Around;
-import net.ymate.platform.core.beans.annotation.Before;
-import net.ymate.platform.core.beans.annotation.ContextParam;
+import net.ymate.platform.core.YMP;
+import net.ymate.platform.core.beans.annotation.*;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.core.util.RuntimeUtils;
 import org.apache.commons.lang.StringUtils;
@@ -27,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 拦截器全局规则设置
@@ -44,10 +43,28 @@ public class InterceptSettings {
 
     private final Map<String, InterceptSettingMeta> __settings;
 
+    private final Map<String, IInterceptor.Scope> __scopes;
+
+    private final Map<Class<? extends IInterceptor>, IInterceptor.Scope> __scopesCache;
+
+    private final Map<Class<? extends IInterceptor>, IInterceptor> __singletons;
+
+    private final ThreadLocal<Map<Class<? extends IInterceptor>, IInterceptor>> __threadBounds;
+
     public InterceptSettings() {
         __packages = new HashMap<String, InterceptPackageMeta>();
         __globals = new ArrayList<Class<? extends IInterceptor>>();
         __settings = new HashMap<String, InterceptSettingMeta>();
+        //
+        __scopes = new HashMap<String, IInterceptor.Scope>();
+        __scopesCache = new ConcurrentHashMap<Class<? extends IInterceptor>, IInterceptor.Scope>();
+        __singletons = new ConcurrentHashMap<Class<? extends IInterceptor>, IInterceptor>();
+        __threadBounds = new ThreadLocal<Map<Class<? extends IInterceptor>, IInterceptor>>() {
+            @Override
+            protected Map<Class<? extends IInterceptor>, IInterceptor> initialValue() {
+                return new HashMap<Class<? extends IInterceptor>, IInterceptor>();
+            }
+        };
     }
 
     public void registerInterceptPackage(Class<?> targetClass) {
@@ -230,6 +247,72 @@ public class InterceptSettings {
         }
     }
 
+    /**
+     * 注册拦截器实例作用域, 配置优先级高于@Interceptor注解
+     *
+     * @param className 拦截器类名
+     * @param scope     作用域名称, 取值范围: prototype|singleton|thread
+     */
+    public void registerInterceptScope(String className, String scope) {
+        if (StringUtils.isNotBlank(className) && StringUtils.isNotBlank(scope)) {
+            try {
+                __scopes.put(className, IInterceptor.Scope.valueOf(StringUtils.upperCase(StringUtils.trim(scope))));
+            } catch (IllegalArgumentException e) {
+                _LOG.warn("Invalid intercept scope '" + scope + "' for " + className + ", ignored.");
+            }
+        }
+    }
+
+    /**
+     * @param interceptClass 拦截器类型
+     * @return 返回拦截器实例作用域, 优先使用配置参数, 其次为@Interceptor注解, 默认为PROTOTYPE
+     */
+    public IInterceptor.Scope getInterceptScope(Class<? extends IInterceptor> interceptClass) {
+        IInterceptor.Scope _scope = __scopesCache.get(interceptClass);
+        if (_scope == null) {
+            _scope = __scopes.get(interceptClass.getName());
+            if (_scope == null) {
+                Interceptor _anno = interceptClass.getAnnotation(Interceptor.class);
+                _scope = _anno != null ? _anno.scope() : IInterceptor.Scope.PROTOTYPE;
+            }
+            __scopesCache.put(interceptClass, _scope);
+        }
+        return _scope;
+    }
+
+    /**
+     * 根据拦截器实例作用域获取拦截器对象, 单例模式下优先从对象工厂中获取
+     *
+     * @param owner          所属YMP框架管理器
+     * @param interceptClass 拦截器类型
+     * @return 返回拦截器对象实例
+     * @throws Exception 可能产生的异常
+     */
+    public IInterceptor getInterceptor(YMP owner, Class<? extends IInterceptor> interceptClass) throws Exception {
+        switch (getInterceptScope(interceptClass)) {
+            case SINGLETON:
+                IInterceptor _interceptor = __singletons.get(interceptClass);
+                if (_interceptor == null) {
+                    _interceptor = owner.getBean(interceptClass);
+                    if (_interceptor == null) {
+                        _interceptor = interceptClass.newInstance();
+                    }
+                    __singletons.put(interceptClass, _interceptor);
+                }
+                return _interceptor;
+            case THREAD:
+                Map<Class<? extends IInterceptor>, IInterceptor> _bounds = __threadBounds.get();
+                IInterceptor _boundInterceptor = _bounds.get(interceptClass);
+                if (_boundInterceptor == null) {
+                    _boundInterceptor = interceptClass.newInstance();
+                    _bounds.put(interceptClass, _boundInterceptor);
+                }
+                return _boundInterceptor;
+            default:
+                return interceptClass.newInstance();
+        }
+    }
+
     public List<InterceptPackageMeta> getInterceptPackages(Class<?> targetClass) {
         List<InterceptPackageMeta> _returnValue = new ArrayList<InterceptPackageMeta>();
         String _packageName = targetClass.getPackage().getName();
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.beans.proxy;
+
+import java.lang.reflect.Method;
+
+/**
+ * 代理方法过滤器接口定义, 代理类可选择实现此接口以声明其作用的目标方法,
+ * 代理工厂将在创建代理时针对每个方法仅执行一次判断, 未被任何代理作用的方法将直接调用父类方法
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IProxyMethodFilter {
+
+    /**
+     * 执行方法过滤
+     *
+     * @param proxyFactory 当前代理工厂
+     * @param targetClass  目标类型
+     * @param targetMethod 目标方法
+     * @return 返回过滤结果，true表示当前代理作用于目标方法，false则表示跳过
+     */
+    boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod);
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.beans.support;
+
+import net.ymate.platform.core.beans.impl.DefaultBeanLoader;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 类索引注解处理器, 用于在编译期生成META-INF/ymp-beans.idx文件, 记录所有声明了运行时注解的类(含package-info),
+ * DefaultBeanLoader在扫描包含该索引文件的JAR包时将仅加载索引中的类, 从而跳过对JAR包的全量遍历;
+ * <p>
+ * 此处理器不会自动注册, 需在构建JAR包时显式指定, 如Maven中配置maven-compiler-plugin的annotationProcessors参数;
+ * 由于增量编译无法获得完整的类集合, 索引文件仅在JAR包中生效, 对类目录将被忽略
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+@SupportedAnnotationTypes("*")
+public class BeanIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> __classNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            __doWriteIndex();
+        } else {
+            for (Element _element : roundEnv.getRootElements()) {
+                __doProcessElement(_element);
+            }
+        }
+        return false;
+    }
+
+    private void __doProcessElement(Element element) {
+        if (element.getKind() == ElementKind.PACKAGE) {
+            if (__hasRuntimeAnnotation(element)) {
+                __classNames.add(((PackageElement) element).getQualifiedName().toString() + ".package-info");
+            }
+        } else if ((element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.INTERFACE) && element.getEnclosingElement().getKind() == ElementKind.PACKAGE) {
+            // 与DefaultBeanLoader保持一致, 仅处理顶层的类和接口, 忽略内部类、注解及枚举
+            if (__hasRuntimeAnnotation(element)) {
+                __classNames.add(((TypeElement) element).getQualifiedName().toString());
+            }
+        }
+    }
+
+    private boolean __hasRuntimeAnnotation(Element element) {
+        for (AnnotationMirror _mirror : element.getAnnotationMirrors()) {
+            Retention _retention = _mirror.getAnnotationType().asElement().getAnnotation(Retention.class);
+            if (_retention != null && RetentionPolicy.RUNTIME.equals(_retention.value())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void __doWriteIndex() {
+        if (!__classNames.isEmpty()) {
+            Writer _writer = null;
+            try {
+                FileObject _file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", DefaultBeanLoader.BEAN_INDEX_FILE);
+                _writer = new OutputStreamWriter(_file.openOutputStream(), "UTF-8");
+                _writer.write("# Generated by " + BeanIndexProcessor.class.getName() + "\n");
+                for (String _className : __classNames) {
+                    _writer.write(_className);
+                    _writer.write('\n');
+                }
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Failed to write " + DefaultBeanLoader.BEAN_INDEX_FILE + ": " + e.getMessage());
+            } finally {
+                if (_writer != null) {
+                    try {
+                        _writer.close();
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+        }
+    }
+}
@@ -40,6 +40,36 @@ public final class Events {
         ASYNC
     }
 
+    /**
+     * 异步事件队列溢出处理策略枚举
+     */
+    public enum OVERFLOW {
+        /**
+         * ABORT - 抛出RejectedExecutionException异常
+         */
+        ABORT,
+
+        /**
+         * DROP - 丢弃当前事件
+         */
+        DROP,
+
+        /**
+         * BLOCK - 阻塞等待直到队列可用
+         */
+        BLOCK,
+
+        /**
+         * CALLER_RUNS - 由事件触发者线程直接执行
+         */
+        CALLER_RUNS,
+
+        /**
+         * COALESCE - 丢弃队列中最早的事件以保留最新事件
+         */
+        COALESCE
+    }
+
     private final IEventProvider __eventProvider;
 
     public static Events create() {
@@ -59,6 +89,13 @@ public final class Events {
         __eventProvider.init(eventConfig);
     }
 
+    /**
+     * @return 返回当前事件管理提供者对象
+     */
+    public IEventProvider getEventProvider() {
+        return __eventProvider;
+    }
+
     public void destroy() {
         __eventProvider.destroy();
     }
@@ -91,9 +128,34 @@ public final class Events {
         return __eventProvider.unregisterListener(eventClass, listenerClass);
     }
 
+    /**
+     * @param eventClass 事件类型
+     * @return 判断指定的事件类型是否存在任意事件监听器
+     */
+    @SuppressWarnings("unchecked")
+    public boolean hasListeners(Class<? extends IEvent> eventClass) {
+        return __eventProvider.hasListeners(eventClass);
+    }
+
     @SuppressWarnings("unchecked")
     public <CONTEXT extends EventContext> Events fireEvent(CONTEXT context) {
         __eventProvider.fireEvent(context);
         return this;
     }
+
+    /**
+     * 触发事件，仅当指定的事件类型存在监听器时才会通过supplier构建事件上下文对象
+     *
+     * @param eventClass 事件类型
+     * @param supplier   事件上下文对象提供者
+     * @param <CONTEXT>  事件上下文对象类型
+     * @return 返回当前事件管理器
+     */
+    @SuppressWarnings("unchecked")
+    public <CONTEXT extends EventContext> Events fireEvent(Class<? extends IEvent> eventClass, IEventSupplier<CONTEXT> supplier) {
+        if (__eventProvider.hasListeners(eventClass)) {
+            __eventProvider.fireEvent(supplier.get());
+        }
+        return this;
+    }
 }
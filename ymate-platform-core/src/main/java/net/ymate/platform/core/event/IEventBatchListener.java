@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.event;
+
+import java.util.List;
+
+/**
+ * 批量事件监听器接口，当开启异步事件监听器独立队列时，队列中积压的事件将被批量派发给此监听器
+ *
+ * @param <CONTEXT> 上下文对象类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IEventBatchListener<CONTEXT extends EventContext> extends IEventListener<CONTEXT> {
+
+    /**
+     * 批量处理事件监听
+     *
+     * @param contexts 事件上下文对象集合(按触发顺序排列)
+     */
+    void handleBatch(List<CONTEXT> contexts);
+}
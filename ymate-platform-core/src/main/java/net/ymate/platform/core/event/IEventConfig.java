@@ -47,4 +47,19 @@ public interface IEventConfig {
      * @return 返回线程队列大小，默认为 1024
      */
     int getThreadQueueSize();
+
+    /**
+     * @return 返回异步事件队列溢出处理策略，取值范围：ABORT, DROP, BLOCK, CALLER_RUNS, COALESCE，默认为ABORT
+     */
+    Events.OVERFLOW getOverflowPolicy();
+
+    /**
+     * @return 返回异步事件监听器独立队列大小，大于0时将为每个异步事件监听器分配独立的有界队列，默认为0表示不启用
+     */
+    int getListenerQueueSize();
+
+    /**
+     * @return 返回异步事件监听器独立队列单次批量派发事件的最大数量，默认为 32
+     */
+    int getListenerBatchSize();
 }
@@ -85,6 +85,14 @@ public interface IEventProvider<T, E extends Enum<E>, EVENT extends Class<? exte
      */
     boolean unregisterListener(EVENT eventClass, Class<? extends IEventListener> listenerClass);
 
+    /**
+     * 判断指定的事件类型是否已注册且存在任意同步或异步事件监听器
+     *
+     * @param eventClass 事件类型
+     * @return 若不存在任何事件监听器则返回false，调用者可据此跳过事件上下文对象的构建
+     */
+    boolean hasListeners(EVENT eventClass);
+
     /**
      * 触发事件
      *
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.event;
+
+/**
+ * 事件上下文对象提供者接口，用于延迟构建事件上下文对象，当不存在任何事件监听器时将不会被调用
+ *
+ * @param <CONTEXT> 事件上下文对象类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IEventSupplier<CONTEXT extends EventContext> {
+
+    /**
+     * @return 构建并返回事件上下文对象
+     */
+    CONTEXT get();
+}
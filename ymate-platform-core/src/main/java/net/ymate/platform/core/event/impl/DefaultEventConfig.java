@@ -42,6 +42,12 @@ public final class DefaultEventConfig implements IEventConfig {
 
     private int __threadQueueSize;
 
+    private Events.OVERFLOW __overflowPolicy;
+
+    private int __listenerQueueSize;
+
+    private int __listenerBatchSize;
+
     public DefaultEventConfig() {
         this(null);
     }
@@ -53,6 +59,8 @@ public final class DefaultEventConfig implements IEventConfig {
             __threadPoolSize = Runtime.getRuntime().availableProcessors();
             __threadMaxPoolSize = 200;
             __threadQueueSize = 1024;
+            __overflowPolicy = Events.OVERFLOW.ABORT;
+            __listenerBatchSize = 32;
         } else {
             __eventProvider = ClassUtils.impl(params.get("provider_class"), IEventProvider.class, this.getClass());
             if (__eventProvider == null) {
@@ -75,6 +83,15 @@ public final class DefaultEventConfig implements IEventConfig {
             if (__threadQueueSize <= 0) {
                 __threadQueueSize = 1024;
             }
+            //
+            __overflowPolicy = Events.OVERFLOW.valueOf(StringUtils.defaultIfBlank(params.get("overflow_policy"), "ABORT").toUpperCase());
+            //
+            __listenerQueueSize = BlurObject.bind(params.get("listener_queue_size")).toIntValue();
+            //
+            __listenerBatchSize = BlurObject.bind(params.get("listener_batch_size")).toIntValue();
+            if (__listenerBatchSize <= 0) {
+                __listenerBatchSize = 32;
+            }
         }
     }
 
@@ -102,4 +119,19 @@ public final class DefaultEventConfig implements IEventConfig {
     public int getThreadQueueSize() {
         return __threadQueueSize;
     }
+
+    @Override
+    public Events.OVERFLOW getOverflowPolicy() {
+        return __overflowPolicy;
+    }
+
+    @Override
+    public int getListenerQueueSize() {
+        return __listenerQueueSize;
+    }
+
+    @Override
+    public int getListenerBatchSize() {
+        return __listenerBatchSize;
+    }
 }
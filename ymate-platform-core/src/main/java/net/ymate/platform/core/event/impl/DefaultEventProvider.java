@@ -20,11 +20,10 @@ import net.ymate.platform.core.support.DefaultThreadFactory;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 默认事件管理提供者接口实现
@@ -42,21 +41,84 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
 
     private IEventConfig __eventConfig;
 
-    private ExecutorService __eventExecPool;
+    private ThreadPoolExecutor __eventExecPool;
 
-    private List<EVENT> __events = new CopyOnWriteArrayList<EVENT>();
+    private Events.OVERFLOW __overflowPolicy;
 
-    private Map<EVENT, List<IEventListener<CONTEXT>>> __asyncListeners = new ConcurrentHashMap<EVENT, List<IEventListener<CONTEXT>>>();
+    private Set<EVENT> __events = Collections.newSetFromMap(new ConcurrentHashMap<EVENT, Boolean>());
 
-    private Map<EVENT, List<IEventListener<CONTEXT>>> __normalListeners = new ConcurrentHashMap<EVENT, List<IEventListener<CONTEXT>>>();
+    private ConcurrentMap<EVENT, List<IEventListener<CONTEXT>>> __asyncListeners = new ConcurrentHashMap<EVENT, List<IEventListener<CONTEXT>>>();
+
+    private ConcurrentMap<EVENT, List<IEventListener<CONTEXT>>> __normalListeners = new ConcurrentHashMap<EVENT, List<IEventListener<CONTEXT>>>();
+
+    /**
+     * 异步事件监听器独立队列映射(仅当listener_queue_size大于0时有效)
+     */
+    private ConcurrentMap<IEventListener<CONTEXT>, ListenerQueue> __listenerQueues = new ConcurrentHashMap<IEventListener<CONTEXT>, ListenerQueue>();
+
+    private final AtomicLong __droppedCount = new AtomicLong();
 
     @Override
     public void init(IEventConfig eventConfig) {
         __eventConfig = eventConfig;
-        __eventExecPool = new ThreadPoolExecutor(eventConfig.getThreadPoolSize() > 0 ? eventConfig.getThreadPoolSize() : Runtime.getRuntime().availableProcessors(),
-                eventConfig.getThreadMaxPoolSize() > 0 ? eventConfig.getThreadMaxPoolSize() : 200, 0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<Runnable>(eventConfig.getThreadQueueSize() > 0 ? eventConfig.getThreadQueueSize() : 1024),
-                new DefaultThreadFactory("event-pool-"), new ThreadPoolExecutor.AbortPolicy());
+        __overflowPolicy = eventConfig.getOverflowPolicy() != null ? eventConfig.getOverflowPolicy() : Events.OVERFLOW.ABORT;
+        int _poolSize = eventConfig.getThreadPoolSize() > 0 ? eventConfig.getThreadPoolSize() : Runtime.getRuntime().availableProcessors();
+        if (eventConfig.getListenerQueueSize() > 0) {
+            // 独立队列模式下线程池中仅存放各监听器的派发任务(每个监听器至多一个)，故采用固定大小且无界的任务队列
+            __eventExecPool = new ThreadPoolExecutor(_poolSize, _poolSize, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new DefaultThreadFactory("event-pool-"));
+        } else {
+            __eventExecPool = new ThreadPoolExecutor(_poolSize,
+                    eventConfig.getThreadMaxPoolSize() > 0 ? eventConfig.getThreadMaxPoolSize() : 200, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<Runnable>(eventConfig.getThreadQueueSize() > 0 ? eventConfig.getThreadQueueSize() : 1024),
+                    new DefaultThreadFactory("event-pool-"), __doCreateRejectedHandler());
+        }
+    }
+
+    private RejectedExecutionHandler __doCreateRejectedHandler() {
+        switch (__overflowPolicy) {
+            case DROP:
+                return new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        __droppedCount.incrementAndGet();
+                    }
+                };
+            case BLOCK:
+                return new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        if (executor.isShutdown()) {
+                            __droppedCount.incrementAndGet();
+                            return;
+                        }
+                        try {
+                            executor.getQueue().put(r);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            __droppedCount.incrementAndGet();
+                        }
+                    }
+                };
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case COALESCE:
+                return new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        if (executor.isShutdown()) {
+                            __droppedCount.incrementAndGet();
+                            return;
+                        }
+                        if (executor.getQueue().poll() != null) {
+                            __droppedCount.incrementAndGet();
+                        }
+                        executor.execute(r);
+                    }
+                };
+            default:
+                return new ThreadPoolExecutor.AbortPolicy();
+        }
     }
 
     @Override
@@ -73,13 +135,12 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
         __events = null;
         __asyncListeners = null;
         __normalListeners = null;
+        __listenerQueues = null;
     }
 
     @Override
     public void registerEvent(EVENT eventClass) {
-        if (!__events.contains(eventClass)) {
-            __events.add(eventClass);
-        } else {
+        if (!__events.add(eventClass)) {
             _LOG.warn("Event class [" + eventClass + "] duplicate registration is not allowed");
         }
     }
@@ -89,18 +150,17 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
         return __events.remove(eventClass);
     }
 
-    private void __doRegisterEventListener(Map<EVENT, List<IEventListener<CONTEXT>>> listenersMap, EVENT eventClass, IEventListener<CONTEXT> eventListener) {
-        if (listenersMap.containsKey(eventClass)) {
-            List<IEventListener<CONTEXT>> _listeners = listenersMap.get(eventClass);
-            if (!_listeners.contains(eventListener)) {
-                _listeners.add(eventListener);
-            } else {
-                _LOG.warn("EventListener object [" + eventListener.getClass() + "] duplicate registration is not allowed");
+    private void __doRegisterEventListener(ConcurrentMap<EVENT, List<IEventListener<CONTEXT>>> listenersMap, EVENT eventClass, IEventListener<CONTEXT> eventListener) {
+        List<IEventListener<CONTEXT>> _listeners = listenersMap.get(eventClass);
+        if (_listeners == null) {
+            _listeners = new CopyOnWriteArrayList<IEventListener<CONTEXT>>();
+            List<IEventListener<CONTEXT>> _exists = listenersMap.putIfAbsent(eventClass, _listeners);
+            if (_exists != null) {
+                _listeners = _exists;
             }
-        } else {
-            List<IEventListener<CONTEXT>> _listeners = new ArrayList<IEventListener<CONTEXT>>();
-            _listeners.add(eventListener);
-            listenersMap.put(eventClass, _listeners);
+        }
+        if (!((CopyOnWriteArrayList<IEventListener<CONTEXT>>) _listeners).addIfAbsent(eventListener)) {
+            _LOG.warn("EventListener object [" + eventListener.getClass() + "] duplicate registration is not allowed");
         }
     }
 
@@ -140,6 +200,19 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
         return __doUnregisterEventListener(__asyncListeners, eventClass, listenerClass) || __doUnregisterEventListener(__normalListeners, eventClass, listenerClass);
     }
 
+    @Override
+    public boolean hasListeners(EVENT eventClass) {
+        if (__events.contains(eventClass)) {
+            List<IEventListener<CONTEXT>> _listeners = __normalListeners.get(eventClass);
+            if (_listeners != null && !_listeners.isEmpty()) {
+                return true;
+            }
+            _listeners = __asyncListeners.get(eventClass);
+            return _listeners != null && !_listeners.isEmpty();
+        }
+        return false;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void fireEvent(final CONTEXT context) {
@@ -157,9 +230,13 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
             }
             // 再触发异步事件
             _listeners = __asyncListeners.get(_eventKey);
-            if (_listeners != null && !_listeners.isEmpty()) {
-                for (final IEventListener<CONTEXT> _listener : _listeners) {
-                    if (__eventExecPool != null) {
+            if (_listeners != null && !_listeners.isEmpty() && __eventExecPool != null) {
+                if (__eventConfig.getListenerQueueSize() > 0) {
+                    for (IEventListener<CONTEXT> _listener : _listeners) {
+                        __doGetListenerQueue(_listener).offer(context);
+                    }
+                } else {
+                    for (final IEventListener<CONTEXT> _listener : _listeners) {
                         __eventExecPool.execute(new Runnable() {
                             @Override
                             public void run() {
@@ -171,4 +248,153 @@ public final class DefaultEventProvider<T, E extends Enum<E>, EVENT extends Clas
             }
         }
     }
+
+    private ListenerQueue __doGetListenerQueue(IEventListener<CONTEXT> listener) {
+        ListenerQueue _queue = __listenerQueues.get(listener);
+        if (_queue == null) {
+            _queue = new ListenerQueue(listener, __eventConfig.getListenerQueueSize(), __eventConfig.getListenerBatchSize());
+            ListenerQueue _exists = __listenerQueues.putIfAbsent(listener, _queue);
+            if (_exists != null) {
+                _queue = _exists;
+            }
+        }
+        return _queue;
+    }
+
+    /**
+     * @return 返回因队列溢出而被丢弃的异步事件总数
+     */
+    public long getDroppedCount() {
+        return __droppedCount.get();
+    }
+
+    /**
+     * @return 返回当前等待处理的异步事件总数
+     */
+    public int getQueueDepth() {
+        int _depth = 0;
+        if (__eventExecPool != null && __eventConfig.getListenerQueueSize() <= 0) {
+            _depth = __eventExecPool.getQueue().size();
+        }
+        if (__listenerQueues != null) {
+            for (ListenerQueue _queue : __listenerQueues.values()) {
+                _depth += _queue.getDepth();
+            }
+        }
+        return _depth;
+    }
+
+    /**
+     * @return 返回各异步事件监听器独立队列当前等待处理的事件数量，键为监听器类名称
+     */
+    public Map<String, Integer> getListenerQueueDepths() {
+        Map<String, Integer> _depths = new LinkedHashMap<String, Integer>();
+        if (__listenerQueues != null) {
+            for (ListenerQueue _queue : __listenerQueues.values()) {
+                String _name = _queue.__listener.getClass().getName();
+                Integer _depth = _depths.get(_name);
+                _depths.put(_name, (_depth != null ? _depth : 0) + _queue.getDepth());
+            }
+        }
+        return _depths;
+    }
+
+    /**
+     * 异步事件监听器独立队列，保证同一监听器按触发顺序接收事件，同一时刻至多占用一个线程
+     */
+    private class ListenerQueue implements Runnable {
+
+        private final IEventListener<CONTEXT> __listener;
+
+        private final BlockingQueue<CONTEXT> __queue;
+
+        private final int __batchSize;
+
+        private final AtomicBoolean __scheduled = new AtomicBoolean();
+
+        ListenerQueue(IEventListener<CONTEXT> listener, int queueSize, int batchSize) {
+            __listener = listener;
+            __queue = new ArrayBlockingQueue<CONTEXT>(queueSize);
+            __batchSize = batchSize;
+        }
+
+        int getDepth() {
+            return __queue.size();
+        }
+
+        void offer(CONTEXT context) {
+            if (!__queue.offer(context)) {
+                switch (__overflowPolicy) {
+                    case DROP:
+                        __droppedCount.incrementAndGet();
+                        return;
+                    case BLOCK:
+                        try {
+                            __queue.put(context);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            __droppedCount.incrementAndGet();
+                            return;
+                        }
+                        break;
+                    case CALLER_RUNS:
+                        __listener.handle(context);
+                        return;
+                    case COALESCE:
+                        // 丢弃最早的事件直到新事件入队成功
+                        while (!__queue.offer(context)) {
+                            if (__queue.poll() != null) {
+                                __droppedCount.incrementAndGet();
+                            }
+                        }
+                        break;
+                    default:
+                        throw new RejectedExecutionException("EventListener [" + __listener.getClass().getName() + "] queue is full");
+                }
+            }
+            __doSchedule();
+        }
+
+        private void __doSchedule() {
+            ExecutorService _executor = __eventExecPool;
+            if (_executor != null && __scheduled.compareAndSet(false, true)) {
+                try {
+                    _executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // 线程池已关闭
+                    __scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                // 每次仅派发一批事件，以免单个繁忙的监听器长期占用线程
+                List<CONTEXT> _batch = new ArrayList<CONTEXT>(Math.min(__batchSize, __queue.size() + 1));
+                __queue.drainTo(_batch, __batchSize);
+                if (!_batch.isEmpty()) {
+                    if (__listener instanceof IEventBatchListener) {
+                        ((IEventBatchListener<CONTEXT>) __listener).handleBatch(_batch);
+                    } else {
+                        for (CONTEXT _context : _batch) {
+                            try {
+                                __listener.handle(_context);
+                            } catch (Throwable e) {
+                                _LOG.warn("EventListener [" + __listener.getClass().getName() + "] handle exception: ", e);
+                            }
+                        }
+                    }
+                }
+            } catch (Throwable e) {
+                _LOG.warn("EventListener [" + __listener.getClass().getName() + "] handle exception: ", e);
+            } finally {
+                __scheduled.set(false);
+                if (!__queue.isEmpty()) {
+                    __doSchedule();
+                }
+            }
+        }
+    }
 }
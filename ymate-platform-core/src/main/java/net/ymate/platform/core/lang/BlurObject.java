@@ -33,6 +33,7 @@ import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 模糊对象，任意数据类型间转换
@@ -49,7 +50,154 @@ public class BlurObject implements Serializable, Cloneable {
      */
     private static final long serialVersionUID = 4141840934670622411L;
 
-    private static final Map<Class<?>, Map<Class<?>, IConverter<?>>> __converters = new HashMap<Class<?>, Map<Class<?>, IConverter<?>>>();
+    private static final Map<Class<?>, Map<Class<?>, IConverter<?>>> __converters = new ConcurrentHashMap<Class<?>, Map<Class<?>, IConverter<?>>>();
+
+    /**
+     * 内置类型转换器(按目标类型)
+     */
+    private static final Map<Class<?>, IValueConverter> __BUILTIN_CONVERTERS = new HashMap<Class<?>, IValueConverter>();
+
+    /**
+     * 已解析的类型转换器缓存(按目标类型及原类型)
+     */
+    private static final Map<Class<?>, Map<Class<?>, IValueConverter>> __RESOLVED_CONVERTERS = new ConcurrentHashMap<Class<?>, Map<Class<?>, IValueConverter>>();
+
+    static {
+        __BUILTIN_CONVERTERS.put(String.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toStringValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Double.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toDoubleValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(double.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toDoubleValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Float.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toFloatValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(float.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toFloatValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Integer.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toIntValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(int.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toIntValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Long.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toLongValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(long.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toLongValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(BigInteger.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                String _value = StringUtils.trimToNull(value.toStringValue());
+                return _value != null ? new BigInteger(_value) : null;
+            }
+        });
+        __BUILTIN_CONVERTERS.put(BigDecimal.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                String _value = StringUtils.trimToNull(value.toStringValue());
+                return _value != null ? new BigDecimal(_value) : null;
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Boolean.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toBooleanValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(boolean.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toBooleanValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Byte.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toByteValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(byte.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toByteValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Byte[].class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toBytesValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(byte[].class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toBytesValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Character.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.attr == null ? null : value.toCharValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(char.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toCharValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(List.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toListValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Map.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toMapValue();
+            }
+        });
+        __BUILTIN_CONVERTERS.put(Set.class, new IValueConverter() {
+            @Override
+            public Object convert(BlurObject value) {
+                return value.toSetValue();
+            }
+        });
+    }
 
     /**
      * 注册类型转换器
@@ -59,12 +207,42 @@ public class BlurObject implements Serializable, Cloneable {
      * @param converter 类型转换器实例
      */
     public static void registerConverter(Class<?> fromClass, Class<?> toClass, IConverter<?> converter) {
-        Map<Class<?>, IConverter<?>> _map = __converters.get(toClass);
-        if (_map == null) {
-            _map = new HashMap<Class<?>, IConverter<?>>();
-            __converters.put(toClass, _map);
+        synchronized (__converters) {
+            Map<Class<?>, IConverter<?>> _map = __converters.get(toClass);
+            if (_map == null) {
+                _map = new ConcurrentHashMap<Class<?>, IConverter<?>>();
+                __converters.put(toClass, _map);
+            }
+            _map.put(fromClass, converter);
+            // 清理已解析的目标类型转换器缓存
+            __RESOLVED_CONVERTERS.remove(toClass);
+        }
+    }
+
+    /**
+     * 获取由原类型至目标类型的类型转换器，首次解析后将被缓存
+     *
+     * @param fromClass 原类型
+     * @param toClass   目标类型
+     * @return 返回类型转换器
+     */
+    private static IValueConverter __doGetConverter(Class<?> fromClass, Class<?> toClass) {
+        Map<Class<?>, IValueConverter> _resolved = __RESOLVED_CONVERTERS.get(toClass);
+        if (_resolved == null) {
+            _resolved = new ConcurrentHashMap<Class<?>, IValueConverter>();
+            __RESOLVED_CONVERTERS.put(toClass, _resolved);
+        }
+        IValueConverter _converter = _resolved.get(fromClass);
+        if (_converter == null) {
+            IConverter<?> _custom = null;
+            Map<Class<?>, IConverter<?>> _map = __converters.get(toClass);
+            if (_map != null) {
+                _custom = _map.get(fromClass);
+            }
+            _converter = new ResolvedConverter(toClass, __BUILTIN_CONVERTERS.get(toClass), _custom, toClass.isAssignableFrom(fromClass));
+            _resolved.put(fromClass, _converter);
         }
-        _map.put(fromClass, converter);
+        return _converter;
     }
 
     /**
@@ -495,75 +673,11 @@ public class BlurObject implements Serializable, Cloneable {
      * @return 如果对象不能转换成指定类返回null，指定类是null，返回null。
      */
     public Object toObjectValue(Class<?> clazz) {
-        Object object = null;
-        if (clazz.equals(String.class)) {
-            object = attr == null ? null : this.toStringValue();
-        } else if (clazz.equals(Double.class)) {
-            object = attr == null ? null : this.toDoubleValue();
-        } else if (clazz.equals(double.class)) {
-            object = this.toDoubleValue();
-        } else if (clazz.equals(Float.class)) {
-            object = attr == null ? null : this.toFloatValue();
-        } else if (clazz.equals(float.class)) {
-            object = this.toFloatValue();
-        } else if (clazz.equals(Integer.class)) {
-            object = attr == null ? null : this.toIntValue();
-        } else if (clazz.equals(int.class)) {
-            object = this.toIntValue();
-        } else if (clazz.equals(Long.class)) {
-            object = attr == null ? null : this.toLongValue();
-        } else if (clazz.equals(long.class)) {
-            object = this.toLongValue();
-        } else if (clazz.equals(BigInteger.class)) {
-            String _value = StringUtils.trimToNull(toStringValue());
-            if (_value != null) {
-                object = new BigInteger(_value);
-            }
-        } else if (clazz.equals(BigDecimal.class)) {
-            String _value = StringUtils.trimToNull(toStringValue());
-            if (_value != null) {
-                object = new BigDecimal(_value);
-            }
-        } else if (clazz.equals(Boolean.class)) {
-            object = attr == null ? null : this.toBooleanValue();
-        } else if (clazz.equals(boolean.class)) {
-            object = this.toBooleanValue();
-        } else if (clazz.equals(Byte.class)) {
-            object = attr == null ? null : this.toByteValue();
-        } else if (clazz.equals(byte.class)) {
-            object = this.toByteValue();
-        } else if (clazz.equals(Byte[].class)) {
-            object = attr == null ? null : this.toBytesValue();
-        } else if (clazz.equals(byte[].class)) {
-            object = this.toBytesValue();
-        } else if (clazz.equals(Character.class)) {
-            object = attr == null ? null : this.toCharValue();
-        } else if (clazz.equals(char.class)) {
-            object = this.toCharValue();
-        } else if (clazz.equals(List.class)) {
-            object = this.toListValue();
-        } else if (clazz.equals(Map.class)) {
-            object = this.toMapValue();
-        } else if (clazz.equals(Set.class)) {
-            object = this.toSetValue();
-        }
-        if (object == null && attr != null && !__converters.isEmpty()) {
-            Map<Class<?>, IConverter<?>> _map = __converters.get(clazz);
-            if (_map != null && !_map.isEmpty()) {
-                IConverter<?> _converter = _map.get(attr.getClass());
-                if (_converter != null) {
-                    object = _converter.convert(attr);
-                }
-            }
-        }
-        if (object == null) {
-            try {
-                object = clazz.cast(attr);
-            } catch (ClassCastException e) {
-                _LOG.warn("", RuntimeUtils.unwrapThrow(e));
-            }
+        if (attr == null) {
+            IValueConverter _builtin = __BUILTIN_CONVERTERS.get(clazz);
+            return _builtin != null ? _builtin.convert(this) : null;
         }
-        return object;
+        return __doGetConverter(attr.getClass(), clazz).convert(this);
     }
 
     /**
@@ -643,4 +757,57 @@ public class BlurObject implements Serializable, Cloneable {
          */
         T convert(Object target);
     }
+
+    /**
+     * 内部类型转换器接口
+     */
+    private interface IValueConverter {
+
+        /**
+         * @param value 模糊对象
+         * @return 转换后的对象
+         */
+        Object convert(BlurObject value);
+    }
+
+    /**
+     * 已解析的类型转换器：依次尝试内置转换、自定义转换器及强制类型转换
+     */
+    private static class ResolvedConverter implements IValueConverter {
+
+        private final Class<?> __toClass;
+
+        private final IValueConverter __builtin;
+
+        private final IConverter<?> __custom;
+
+        private final boolean __assignable;
+
+        ResolvedConverter(Class<?> toClass, IValueConverter builtin, IConverter<?> custom, boolean assignable) {
+            __toClass = toClass;
+            __builtin = builtin;
+            __custom = custom;
+            __assignable = assignable;
+        }
+
+        @Override
+        public Object convert(BlurObject value) {
+            Object _object = __builtin != null ? __builtin.convert(value) : null;
+            if (_object == null && __custom != null) {
+                _object = __custom.convert(value.attr);
+            }
+            if (_object == null) {
+                if (__assignable) {
+                    _object = value.attr;
+                } else {
+                    try {
+                        _object = __toClass.cast(value.attr);
+                    } catch (ClassCastException e) {
+                        _LOG.warn("", RuntimeUtils.unwrapThrow(e));
+                    }
+                }
+            }
+            return _object;
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package net.ymate.platform.core.serialize;
 
+import net.ymate.platform.core.serialize.impl.BinarySerializer;
 import net.ymate.platform.core.serialize.impl.DefaultSerializer;
 import net.ymate.platform.core.serialize.impl.JSONSerializer;
 import org.apache.commons.lang.StringUtils;
@@ -43,6 +44,7 @@ public interface ISerializer {
         static {
             __serializers.put("default", new DefaultSerializer());
             __serializers.put("json", new JSONSerializer());
+            __serializers.put("binary", new BinarySerializer());
         }
 
         public static void registerSerializer(String name, Class<? extends ISerializer> targetClass) throws Exception {
@@ -52,6 +54,13 @@ public interface ISerializer {
             }
         }
 
+        public static void registerSerializer(String name, ISerializer serializer) {
+            String _key = StringUtils.defaultIfBlank(name, serializer.getClass().getName()).toLowerCase();
+            if (!__serializers.containsKey(_key)) {
+                __serializers.put(_key, serializer);
+            }
+        }
+
         public static ISerializer getDefaultSerializer() {
             return getSerializer("default");
         }
@@ -60,6 +69,10 @@ public interface ISerializer {
             return getSerializer("json");
         }
 
+        public static ISerializer getBinarySerializer() {
+            return getSerializer("binary");
+        }
+
         public static ISerializer getSerializer(String name) {
             if (StringUtils.isBlank(name)) {
                 return null;
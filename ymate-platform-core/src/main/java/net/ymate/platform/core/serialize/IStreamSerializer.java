@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.serialize;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 支持直接读写流的序列化接口, 避免序列化大对象时产生中间字节数组
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IStreamSerializer extends ISerializer {
+
+    /**
+     * 将对象序列化并直接写入输出流(不负责关闭输出流)
+     *
+     * @param object 目标对象
+     * @param output 输出流
+     * @throws Exception 可能产生的任何异常
+     */
+    void serialize(Object object, OutputStream output) throws Exception;
+
+    /**
+     * 从输入流中读取并反序列化对象(不负责关闭输入流)
+     *
+     * @param input 输入流
+     * @param clazz 目标类型
+     * @param <T>   目标类型
+     * @return 返回反序列化后的对象
+     * @throws Exception 可能产生的任何异常
+     */
+    <T> T deserialize(InputStream input, Class<T> clazz) throws Exception;
+}
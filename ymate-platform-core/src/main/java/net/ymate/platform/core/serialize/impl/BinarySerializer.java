@@ -0,0 +1,1154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.core.serialize.impl;
+
+import net.ymate.platform.core.serialize.IStreamSerializer;
+import net.ymate.platform.core.util.ClassUtils;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 紧凑二进制序列化实现：
+ * <p>
+ * 1. 常用类型(基本类型及其包装类型、字符串、字节数组、大数、日期、枚举)采用变长编码直接写入；<br>
+ * 2. 数组、常用集合及映射按元素写入，实现了java.io.Serializable接口且未自定义序列化过程的类对象按成员属性写入，支持循环引用；<br>
+ * 3. 其它对象(如自定义了writeObject/readResolve等方法的类、继承自JDK内部类型的类)将回退为Java标准序列化；<br>
+ * 4. 类型可通过registerClass方法预先注册编号以代替类名称写入；<br>
+ * 5. 每个线程复用读写缓冲区，当设置了压缩阈值且数据长度超出阈值时采用Deflate压缩。
+ * </p>
+ * 注意：按成员属性写入的类对象不支持结构变更后的兼容读取，流式反序列化将预读输入流中的数据，不适用于从同一输入流中连续读取多个对象
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class BinarySerializer implements IStreamSerializer {
+
+    private static final int FLAG_RAW = 0;
+
+    private static final int FLAG_DEFLATE = 1;
+
+    private static final int FLAG_DEFLATE_STREAM = 2;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_BYTE = 3;
+    private static final int TAG_SHORT = 4;
+    private static final int TAG_INT = 5;
+    private static final int TAG_LONG = 6;
+    private static final int TAG_FLOAT = 7;
+    private static final int TAG_DOUBLE = 8;
+    private static final int TAG_CHAR = 9;
+    private static final int TAG_STRING = 10;
+    private static final int TAG_BYTES = 11;
+    private static final int TAG_BIG_INTEGER = 12;
+    private static final int TAG_BIG_DECIMAL = 13;
+    private static final int TAG_DATE = 14;
+    private static final int TAG_ENUM = 15;
+    private static final int TAG_REF = 16;
+    private static final int TAG_ARRAY = 17;
+    private static final int TAG_COLLECTION = 18;
+    private static final int TAG_MAP = 19;
+    private static final int TAG_OBJECT = 20;
+    private static final int TAG_JAVA = 21;
+
+    private static final int KIND_JAVA = 0;
+    private static final int KIND_ARRAY = 1;
+    private static final int KIND_COLLECTION = 2;
+    private static final int KIND_MAP = 3;
+    private static final int KIND_OBJECT = 4;
+
+    private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    /**
+     * 线程缓冲区保留的最大容量，超出时将在使用后释放
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final Set<Class<?>> __COLLECTION_CLASSES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, Vector.class, CopyOnWriteArrayList.class));
+
+    private static final Set<Class<?>> __MAP_CLASSES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            HashMap.class, LinkedHashMap.class, Hashtable.class, ConcurrentHashMap.class));
+
+    private final int __compressThreshold;
+
+    private final Map<Class<?>, Integer> __classIds = new ConcurrentHashMap<Class<?>, Integer>();
+
+    private final Map<Integer, Class<?>> __idClasses = new ConcurrentHashMap<Integer, Class<?>>();
+
+    private final Map<Class<?>, ClassInfo> __classInfos = new ConcurrentHashMap<Class<?>, ClassInfo>();
+
+    private final ThreadLocal<BufferHolder> __buffers = new ThreadLocal<BufferHolder>() {
+        @Override
+        protected BufferHolder initialValue() {
+            return new BufferHolder();
+        }
+    };
+
+    public BinarySerializer() {
+        this(0);
+    }
+
+    /**
+     * @param compressThreshold 压缩阈值(字节)，序列化后的数据长度超出此值时进行压缩，小于等于0表示不压缩
+     */
+    public BinarySerializer(int compressThreshold) {
+        __compressThreshold = compressThreshold;
+    }
+
+    /**
+     * 注册类型编号，序列化时将以编号代替类名称写入，读写双方必须注册一致的编号
+     *
+     * @param id    类型编号(不小于0)
+     * @param clazz 目标类型
+     * @return 返回当前序列化器
+     */
+    public BinarySerializer registerClass(int id, Class<?> clazz) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Class id must be greater than or equal to zero");
+        }
+        Class<?> _exists = __idClasses.get(id);
+        if (_exists != null && !_exists.equals(clazz)) {
+            throw new IllegalArgumentException("Class id " + id + " already registered by " + _exists.getName());
+        }
+        __idClasses.put(id, clazz);
+        __classIds.put(clazz, id);
+        return this;
+    }
+
+    public int getCompressThreshold() {
+        return __compressThreshold;
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/x-ymp-binary";
+    }
+
+    @Override
+    public byte[] serialize(Object object) throws Exception {
+        BufferHolder _holder = __doAcquire();
+        try {
+            Output _output = _holder.output;
+            _output.reset(null);
+            _output.writeByte(FLAG_RAW);
+            __doWriteObject(_holder.writeContext, _output, object);
+            if (__compressThreshold > 0 && _output.position - 1 > __compressThreshold) {
+                byte[] _compressed = __doCompress(_holder, _output.buffer, 1, _output.position - 1);
+                if (_compressed != null) {
+                    return _compressed;
+                }
+            }
+            byte[] _bytes = new byte[_output.position];
+            System.arraycopy(_output.buffer, 0, _bytes, 0, _output.position);
+            return _bytes;
+        } finally {
+            __doRelease(_holder);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] bytes, Class<T> clazz) throws Exception {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        BufferHolder _holder = __doAcquire();
+        try {
+            Input _input = _holder.input;
+            switch (bytes[0]) {
+                case FLAG_RAW:
+                    _input.reset(bytes, 1, bytes.length - 1);
+                    break;
+                case FLAG_DEFLATE:
+                    _input.reset(bytes, 1, bytes.length - 1);
+                    int _length = _input.readVarInt();
+                    byte[] _raw = __doInflate(_holder, bytes, _input.position, bytes.length - _input.position, _length);
+                    _input.reset(_raw, 0, _length);
+                    break;
+                case FLAG_DEFLATE_STREAM:
+                    _holder.inflater.reset();
+                    _input.reset(new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1), _holder.inflater));
+                    break;
+                default:
+                    throw new StreamCorruptedException("Unsupported binary format flag: " + bytes[0]);
+            }
+            return (T) __doReadObject(_holder.readContext, _input);
+        } finally {
+            __doRelease(_holder);
+        }
+    }
+
+    @Override
+    public void serialize(Object object, OutputStream output) throws Exception {
+        BufferHolder _holder = __doAcquire();
+        try {
+            Output _output = _holder.output;
+            if (__compressThreshold > 0) {
+                // 流式写入时无法预知数据长度，开启压缩后将直接以压缩流写入
+                output.write(FLAG_DEFLATE_STREAM);
+                _holder.deflater.reset();
+                DeflaterOutputStream _deflaterOutput = new DeflaterOutputStream(output, _holder.deflater, DEFAULT_BUFFER_SIZE);
+                _output.reset(_deflaterOutput);
+                __doWriteObject(_holder.writeContext, _output, object);
+                _output.flush();
+                _deflaterOutput.finish();
+            } else {
+                _output.reset(output);
+                _output.writeByte(FLAG_RAW);
+                __doWriteObject(_holder.writeContext, _output, object);
+                _output.flush();
+            }
+            output.flush();
+        } finally {
+            _holder.output.reset(null);
+            __doRelease(_holder);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(InputStream input, Class<T> clazz) throws Exception {
+        int _flag = input.read();
+        if (_flag < 0) {
+            throw new EOFException();
+        }
+        BufferHolder _holder = __doAcquire();
+        try {
+            Input _input = _holder.input;
+            switch (_flag) {
+                case FLAG_RAW:
+                    _input.reset(input);
+                    break;
+                case FLAG_DEFLATE:
+                    // 跳过原始数据长度
+                    int _b;
+                    do {
+                        _b = input.read();
+                        if (_b < 0) {
+                            throw new EOFException();
+                        }
+                    } while ((_b & 0x80) != 0);
+                    _holder.inflater.reset();
+                    _input.reset(new InflaterInputStream(input, _holder.inflater));
+                    break;
+                case FLAG_DEFLATE_STREAM:
+                    _holder.inflater.reset();
+                    _input.reset(new InflaterInputStream(input, _holder.inflater));
+                    break;
+                default:
+                    throw new StreamCorruptedException("Unsupported binary format flag: " + _flag);
+            }
+            return (T) __doReadObject(_holder.readContext, _input);
+        } finally {
+            _holder.input.reset(null);
+            __doRelease(_holder);
+        }
+    }
+
+    private BufferHolder __doAcquire() {
+        BufferHolder _holder = __buffers.get();
+        if (_holder.inUse) {
+            // 重入调用时使用临时缓冲区
+            return new BufferHolder();
+        }
+        _holder.inUse = true;
+        return _holder;
+    }
+
+    private void __doRelease(BufferHolder holder) {
+        holder.writeContext.clear();
+        holder.readContext.clear();
+        holder.output.trim();
+        holder.input.trim();
+        holder.inUse = false;
+    }
+
+    private byte[] __doCompress(BufferHolder holder, byte[] buffer, int offset, int length) {
+        Deflater _deflater = holder.deflater;
+        _deflater.reset();
+        _deflater.setInput(buffer, offset, length);
+        _deflater.finish();
+        Output _output = holder.compressOutput;
+        _output.reset(null);
+        try {
+            _output.writeByte(FLAG_DEFLATE);
+            _output.writeVarInt(length);
+            while (!_deflater.finished()) {
+                if (_output.position >= length) {
+                    // 压缩后的数据并未变小，放弃压缩
+                    return null;
+                }
+                _output.require(DEFAULT_BUFFER_SIZE);
+                _output.position += _deflater.deflate(_output.buffer, _output.position, _output.buffer.length - _output.position);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        byte[] _bytes = new byte[_output.position];
+        System.arraycopy(_output.buffer, 0, _bytes, 0, _output.position);
+        _output.trim();
+        return _bytes;
+    }
+
+    private byte[] __doInflate(BufferHolder holder, byte[] buffer, int offset, int length, int rawLength) throws Exception {
+        Inflater _inflater = holder.inflater;
+        _inflater.reset();
+        _inflater.setInput(buffer, offset, length);
+        byte[] _raw = rawLength <= MAX_POOLED_BUFFER_SIZE ? holder.inflateBuffer(rawLength) : new byte[rawLength];
+        int _position = 0;
+        while (_position < rawLength) {
+            int _count = _inflater.inflate(_raw, _position, rawLength - _position);
+            if (_count == 0 && (_inflater.finished() || _inflater.needsInput())) {
+                throw new EOFException("Unexpected end of compressed data");
+            }
+            _position += _count;
+        }
+        return _raw;
+    }
+
+    private ClassInfo __doGetClassInfo(Class<?> clazz) {
+        ClassInfo _info = __classInfos.get(clazz);
+        if (_info == null) {
+            _info = new ClassInfo(clazz);
+            __classInfos.put(clazz, _info);
+        }
+        return _info;
+    }
+
+    private void __doWriteClass(WriteContext context, Output output, Class<?> clazz) throws IOException {
+        Integer _id = __classIds.get(clazz);
+        if (_id != null) {
+            output.writeVarInt((_id << 1) | 1);
+            return;
+        }
+        Integer _index = context.classes.get(clazz);
+        if (_index != null) {
+            output.writeVarInt((_index + 1) << 1);
+            return;
+        }
+        output.writeVarInt(0);
+        output.writeString(clazz.getName());
+        context.classes.put(clazz, context.classes.size());
+    }
+
+    private Class<?> __doReadClass(ReadContext context, Input input) throws IOException, ClassNotFoundException {
+        int _value = input.readVarInt();
+        if (_value == 0) {
+            Class<?> _class = Class.forName(input.readString(), false, ClassUtils.getDefaultClassLoader());
+            context.classes.add(_class);
+            return _class;
+        } else if ((_value & 1) == 1) {
+            Class<?> _class = __idClasses.get(_value >>> 1);
+            if (_class == null) {
+                throw new ClassNotFoundException("Unregistered class id: " + (_value >>> 1));
+            }
+            return _class;
+        }
+        return context.classes.get((_value >>> 1) - 1);
+    }
+
+    private void __doWriteObject(WriteContext context, Output output, Object value) throws Exception {
+        if (value == null) {
+            output.writeByte(TAG_NULL);
+            return;
+        }
+        Class<?> _class = value.getClass();
+        if (_class == String.class) {
+            output.writeByte(TAG_STRING);
+            output.writeString((String) value);
+        } else if (_class == Integer.class) {
+            output.writeByte(TAG_INT);
+            output.writeVarInt(__zigZag((Integer) value));
+        } else if (_class == Long.class) {
+            output.writeByte(TAG_LONG);
+            output.writeVarLong(__zigZag((Long) value));
+        } else if (_class == Boolean.class) {
+            output.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (_class == Double.class) {
+            output.writeByte(TAG_DOUBLE);
+            output.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (_class == Float.class) {
+            output.writeByte(TAG_FLOAT);
+            output.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (_class == Short.class) {
+            output.writeByte(TAG_SHORT);
+            output.writeVarInt(__zigZag((Short) value));
+        } else if (_class == Byte.class) {
+            output.writeByte(TAG_BYTE);
+            output.writeByte((Byte) value);
+        } else if (_class == Character.class) {
+            output.writeByte(TAG_CHAR);
+            output.writeVarInt((Character) value);
+        } else if (_class == byte[].class) {
+            byte[] _bytes = (byte[]) value;
+            output.writeByte(TAG_BYTES);
+            output.writeVarInt(_bytes.length);
+            output.writeBytes(_bytes, 0, _bytes.length);
+        } else if (_class == BigInteger.class) {
+            output.writeByte(TAG_BIG_INTEGER);
+            output.writeString(value.toString());
+        } else if (_class == BigDecimal.class) {
+            output.writeByte(TAG_BIG_DECIMAL);
+            output.writeString(value.toString());
+        } else if (_class == Date.class) {
+            output.writeByte(TAG_DATE);
+            output.writeVarLong(__zigZag(((Date) value).getTime()));
+        } else if (value instanceof Enum) {
+            output.writeByte(TAG_ENUM);
+            __doWriteClass(context, output, ((Enum) value).getDeclaringClass());
+            output.writeString(((Enum) value).name());
+        } else {
+            Integer _handle = context.objects.get(value);
+            if (_handle != null) {
+                output.writeByte(TAG_REF);
+                output.writeVarInt(_handle);
+                return;
+            }
+            context.objects.put(value, context.objects.size());
+            //
+            ClassInfo _info = __doGetClassInfo(_class);
+            switch (_info.kind) {
+                case KIND_ARRAY:
+                    int _length = Array.getLength(value);
+                    output.writeByte(TAG_ARRAY);
+                    __doWriteClass(context, output, _class.getComponentType());
+                    output.writeVarInt(_length);
+                    Object[] _array = (Object[]) value;
+                    for (Object _item : _array) {
+                        __doWriteObject(context, output, _item);
+                    }
+                    break;
+                case KIND_COLLECTION:
+                    Collection<?> _collection = (Collection<?>) value;
+                    output.writeByte(TAG_COLLECTION);
+                    __doWriteClass(context, output, _class);
+                    output.writeVarInt(_collection.size());
+                    for (Object _item : _collection) {
+                        __doWriteObject(context, output, _item);
+                    }
+                    break;
+                case KIND_MAP:
+                    Map<?, ?> _map = (Map<?, ?>) value;
+                    output.writeByte(TAG_MAP);
+                    __doWriteClass(context, output, _class);
+                    output.writeVarInt(_map.size());
+                    for (Map.Entry<?, ?> _entry : _map.entrySet()) {
+                        __doWriteObject(context, output, _entry.getKey());
+                        __doWriteObject(context, output, _entry.getValue());
+                    }
+                    break;
+                case KIND_OBJECT:
+                    output.writeByte(TAG_OBJECT);
+                    __doWriteClass(context, output, _class);
+                    for (FieldInfo _field : _info.fields) {
+                        __doWriteField(context, output, _field, value);
+                    }
+                    break;
+                default:
+                    ByteArrayOutputStream _stream = new ByteArrayOutputStream();
+                    ObjectOutputStream _objectOutput = new ObjectOutputStream(_stream);
+                    _objectOutput.writeObject(value);
+                    _objectOutput.close();
+                    output.writeByte(TAG_JAVA);
+                    output.writeVarInt(_stream.size());
+                    output.writeBytes(_stream.toByteArray(), 0, _stream.size());
+            }
+        }
+    }
+
+    private void __doWriteField(WriteContext context, Output output, FieldInfo fieldInfo, Object target) throws Exception {
+        Field _field = fieldInfo.field;
+        switch (fieldInfo.type) {
+            case FieldInfo.TYPE_INT:
+                output.writeVarInt(__zigZag(_field.getInt(target)));
+                break;
+            case FieldInfo.TYPE_LONG:
+                output.writeVarLong(__zigZag(_field.getLong(target)));
+                break;
+            case FieldInfo.TYPE_BOOLEAN:
+                output.writeByte(_field.getBoolean(target) ? 1 : 0);
+                break;
+            case FieldInfo.TYPE_DOUBLE:
+                output.writeLong(Double.doubleToRawLongBits(_field.getDouble(target)));
+                break;
+            case FieldInfo.TYPE_FLOAT:
+                output.writeInt(Float.floatToRawIntBits(_field.getFloat(target)));
+                break;
+            case FieldInfo.TYPE_SHORT:
+                output.writeVarInt(__zigZag(_field.getShort(target)));
+                break;
+            case FieldInfo.TYPE_BYTE:
+                output.writeByte(_field.getByte(target));
+                break;
+            case FieldInfo.TYPE_CHAR:
+                output.writeVarInt(_field.getChar(target));
+                break;
+            default:
+                __doWriteObject(context, output, _field.get(target));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object __doReadObject(ReadContext context, Input input) throws Exception {
+        int _tag = input.readByte() & 0xFF;
+        switch (_tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_BYTE:
+                return input.readByte();
+            case TAG_SHORT:
+                return (short) __unZigZag(input.readVarInt());
+            case TAG_INT:
+                return __unZigZag(input.readVarInt());
+            case TAG_LONG:
+                return __unZigZag(input.readVarLong());
+            case TAG_FLOAT:
+                return Float.intBitsToFloat(input.readInt());
+            case TAG_DOUBLE:
+                return Double.longBitsToDouble(input.readLong());
+            case TAG_CHAR:
+                return (char) input.readVarInt();
+            case TAG_STRING:
+                return input.readString();
+            case TAG_BYTES:
+                return input.readBytes(input.readVarInt());
+            case TAG_BIG_INTEGER:
+                return new BigInteger(input.readString());
+            case TAG_BIG_DECIMAL:
+                return new BigDecimal(input.readString());
+            case TAG_DATE:
+                return new Date(__unZigZag(input.readVarLong()));
+            case TAG_ENUM:
+                Class<? extends Enum> _enumClass = (Class<? extends Enum>) __doReadClass(context, input);
+                return Enum.valueOf(_enumClass, input.readString());
+            case TAG_REF:
+                return context.objects.get(input.readVarInt());
+            case TAG_ARRAY: {
+                Class<?> _componentType = __doReadClass(context, input);
+                int _length = input.readVarInt();
+                Object[] _array = (Object[]) Array.newInstance(_componentType, _length);
+                context.objects.add(_array);
+                for (int _idx = 0; _idx < _length; _idx++) {
+                    _array[_idx] = __doReadObject(context, input);
+                }
+                return _array;
+            }
+            case TAG_COLLECTION: {
+                ClassInfo _info = __doGetClassInfo(__doReadClass(context, input));
+                int _size = input.readVarInt();
+                Collection<Object> _collection = (Collection<Object>) _info.constructor.newInstance();
+                context.objects.add(_collection);
+                for (int _idx = 0; _idx < _size; _idx++) {
+                    _collection.add(__doReadObject(context, input));
+                }
+                return _collection;
+            }
+            case TAG_MAP: {
+                ClassInfo _info = __doGetClassInfo(__doReadClass(context, input));
+                int _size = input.readVarInt();
+                Map<Object, Object> _map = (Map<Object, Object>) _info.constructor.newInstance();
+                context.objects.add(_map);
+                for (int _idx = 0; _idx < _size; _idx++) {
+                    Object _key = __doReadObject(context, input);
+                    _map.put(_key, __doReadObject(context, input));
+                }
+                return _map;
+            }
+            case TAG_OBJECT: {
+                ClassInfo _info = __doGetClassInfo(__doReadClass(context, input));
+                if (_info.kind != KIND_OBJECT) {
+                    throw new InvalidClassException(_info.type.getName(), "Class structure is not supported by binary serializer");
+                }
+                Object _object = _info.constructor.newInstance();
+                context.objects.add(_object);
+                for (FieldInfo _field : _info.fields) {
+                    __doReadField(context, input, _field, _object);
+                }
+                return _object;
+            }
+            case TAG_JAVA: {
+                byte[] _bytes = input.readBytes(input.readVarInt());
+                ObjectInputStream _objectInput = new ObjectInputStream(new ByteArrayInputStream(_bytes));
+                try {
+                    Object _object = _objectInput.readObject();
+                    context.objects.add(_object);
+                    return _object;
+                } finally {
+                    _objectInput.close();
+                }
+            }
+            default:
+                throw new StreamCorruptedException("Unknown binary type tag: " + _tag);
+        }
+    }
+
+    private void __doReadField(ReadContext context, Input input, FieldInfo fieldInfo, Object target) throws Exception {
+        Field _field = fieldInfo.field;
+        switch (fieldInfo.type) {
+            case FieldInfo.TYPE_INT:
+                _field.setInt(target, __unZigZag(input.readVarInt()));
+                break;
+            case FieldInfo.TYPE_LONG:
+                _field.setLong(target, __unZigZag(input.readVarLong()));
+                break;
+            case FieldInfo.TYPE_BOOLEAN:
+                _field.setBoolean(target, input.readByte() != 0);
+                break;
+            case FieldInfo.TYPE_DOUBLE:
+                _field.setDouble(target, Double.longBitsToDouble(input.readLong()));
+                break;
+            case FieldInfo.TYPE_FLOAT:
+                _field.setFloat(target, Float.intBitsToFloat(input.readInt()));
+                break;
+            case FieldInfo.TYPE_SHORT:
+                _field.setShort(target, (short) __unZigZag(input.readVarInt()));
+                break;
+            case FieldInfo.TYPE_BYTE:
+                _field.setByte(target, input.readByte());
+                break;
+            case FieldInfo.TYPE_CHAR:
+                _field.setChar(target, (char) input.readVarInt());
+                break;
+            default:
+                _field.set(target, __doReadObject(context, input));
+        }
+    }
+
+    private static int __zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long __zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int __unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long __unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 类型序列化描述
+     */
+    private static class ClassInfo {
+
+        final Class<?> type;
+
+        int kind = KIND_JAVA;
+
+        Constructor<?> constructor;
+
+        FieldInfo[] fields;
+
+        ClassInfo(Class<?> type) {
+            this.type = type;
+            if (type.isArray()) {
+                if (!type.getComponentType().isPrimitive()) {
+                    kind = KIND_ARRAY;
+                }
+            } else if (__COLLECTION_CLASSES.contains(type)) {
+                kind = KIND_COLLECTION;
+                constructor = __doGetPublicConstructor(type);
+            } else if (__MAP_CLASSES.contains(type)) {
+                kind = KIND_MAP;
+                constructor = __doGetPublicConstructor(type);
+            } else if (Serializable.class.isAssignableFrom(type) && !Externalizable.class.isAssignableFrom(type) && !__doHasJdkClass(type) && !__doHasCustomSerialization(type)) {
+                Constructor<?> _constructor = __doGetConstructor(type);
+                if (_constructor != null) {
+                    FieldInfo[] _fields = __doGetFields(type);
+                    if (_fields != null) {
+                        kind = KIND_OBJECT;
+                        constructor = _constructor;
+                        fields = _fields;
+                    }
+                }
+            }
+        }
+
+        private static Constructor<?> __doGetPublicConstructor(Class<?> type) {
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * 判断类型及其可序列化的父类中是否包含JDK内部类型, 此类类型的私有成员在JDK16及以上版本中无法通过反射访问, 需使用Java标准序列化
+         */
+        private static boolean __doHasJdkClass(Class<?> type) {
+            for (Class<?> _class = type; _class != null && Serializable.class.isAssignableFrom(_class); _class = _class.getSuperclass()) {
+                String _name = _class.getName();
+                if (_name.startsWith("java.") || _name.startsWith("javax.") || _name.startsWith("sun.") || _name.startsWith("com.sun.") || _name.startsWith("jdk.")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Constructor<?> __doGetConstructor(Class<?> type) {
+            if (Modifier.isAbstract(type.getModifiers()) || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+                return null;
+            }
+            try {
+                Constructor<?> _constructor = type.getDeclaredConstructor();
+                _constructor.setAccessible(true);
+                return _constructor;
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (RuntimeException e) {
+                // 无法访问时(如模块未开放或受安全管理器限制)回退为Java标准序列化
+                return null;
+            }
+        }
+
+        private static boolean __doHasCustomSerialization(Class<?> type) {
+            for (Class<?> _class = type; _class != null && !Object.class.equals(_class); _class = _class.getSuperclass()) {
+                if (__doHasMethod(_class, "writeObject", ObjectOutputStream.class)
+                        || __doHasMethod(_class, "readObject", ObjectInputStream.class)
+                        || __doHasMethod(_class, "readObjectNoData")
+                        || __doHasMethod(_class, "writeReplace")
+                        || __doHasMethod(_class, "readResolve")) {
+                    return true;
+                }
+                try {
+                    _class.getDeclaredField("serialPersistentFields");
+                    return true;
+                } catch (NoSuchFieldException ignored) {
+                    // 未声明serialPersistentFields
+                }
+            }
+            return false;
+        }
+
+        private static boolean __doHasMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        /**
+         * 按继承层次(父类在前)及成员名称排序获取需要序列化的成员，与Java标准序列化一致仅包含实现了Serializable接口的类中声明的非静态及非瞬态成员, 若存在无法访问的成员则返回null
+         */
+        private static FieldInfo[] __doGetFields(Class<?> type) {
+            LinkedList<Class<?>> _classes = new LinkedList<Class<?>>();
+            for (Class<?> _class = type; _class != null && Serializable.class.isAssignableFrom(_class); _class = _class.getSuperclass()) {
+                _classes.addFirst(_class);
+            }
+            List<FieldInfo> _fields = new ArrayList<FieldInfo>();
+            for (Class<?> _class : _classes) {
+                Field[] _declaredFields = _class.getDeclaredFields();
+                Arrays.sort(_declaredFields, new Comparator<Field>() {
+                    @Override
+                    public int compare(Field o1, Field o2) {
+                        return o1.getName().compareTo(o2.getName());
+                    }
+                });
+                for (Field _field : _declaredFields) {
+                    int _modifiers = _field.getModifiers();
+                    if (Modifier.isStatic(_modifiers) || Modifier.isTransient(_modifiers)) {
+                        continue;
+                    }
+                    try {
+                        _field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                    _fields.add(new FieldInfo(_field));
+                }
+            }
+            return _fields.toArray(new FieldInfo[_fields.size()]);
+        }
+    }
+
+    /**
+     * 成员属性序列化描述
+     */
+    private static class FieldInfo {
+
+        static final int TYPE_OBJECT = 0;
+        static final int TYPE_INT = 1;
+        static final int TYPE_LONG = 2;
+        static final int TYPE_BOOLEAN = 3;
+        static final int TYPE_DOUBLE = 4;
+        static final int TYPE_FLOAT = 5;
+        static final int TYPE_SHORT = 6;
+        static final int TYPE_BYTE = 7;
+        static final int TYPE_CHAR = 8;
+
+        final Field field;
+
+        final int type;
+
+        FieldInfo(Field field) {
+            this.field = field;
+            Class<?> _type = field.getType();
+            if (_type == int.class) {
+                type = TYPE_INT;
+            } else if (_type == long.class) {
+                type = TYPE_LONG;
+            } else if (_type == boolean.class) {
+                type = TYPE_BOOLEAN;
+            } else if (_type == double.class) {
+                type = TYPE_DOUBLE;
+            } else if (_type == float.class) {
+                type = TYPE_FLOAT;
+            } else if (_type == short.class) {
+                type = TYPE_SHORT;
+            } else if (_type == byte.class) {
+                type = TYPE_BYTE;
+            } else if (_type == char.class) {
+                type = TYPE_CHAR;
+            } else {
+                type = TYPE_OBJECT;
+            }
+        }
+    }
+
+    private static class WriteContext {
+
+        final Map<Object, Integer> objects = new IdentityHashMap<Object, Integer>();
+
+        final Map<Class<?>, Integer> classes = new HashMap<Class<?>, Integer>();
+
+        void clear() {
+            if (!objects.isEmpty()) {
+                objects.clear();
+            }
+            if (!classes.isEmpty()) {
+                classes.clear();
+            }
+        }
+    }
+
+    private static class ReadContext {
+
+        final List<Object> objects = new ArrayList<Object>();
+
+        final List<Class<?>> classes = new ArrayList<Class<?>>();
+
+        void clear() {
+            objects.clear();
+            classes.clear();
+        }
+    }
+
+    /**
+     * 线程复用的缓冲区及压缩器
+     */
+    private static class BufferHolder {
+
+        final Output output = new Output();
+
+        final Output compressOutput = new Output();
+
+        final Input input = new Input();
+
+        final WriteContext writeContext = new WriteContext();
+
+        final ReadContext readContext = new ReadContext();
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+        final Inflater inflater = new Inflater();
+
+        private byte[] __inflateBuffer;
+
+        boolean inUse;
+
+        byte[] inflateBuffer(int length) {
+            if (__inflateBuffer == null || __inflateBuffer.length < length) {
+                __inflateBuffer = new byte[Math.max(length, DEFAULT_BUFFER_SIZE)];
+            }
+            return __inflateBuffer;
+        }
+    }
+
+    /**
+     * 输出缓冲区，绑定输出流时缓冲区写满后将自动写入输出流
+     */
+    private static class Output {
+
+        byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+
+        int position;
+
+        private OutputStream __stream;
+
+        void reset(OutputStream stream) {
+            __stream = stream;
+            position = 0;
+        }
+
+        void trim() {
+            if (buffer.length > MAX_POOLED_BUFFER_SIZE) {
+                buffer = new byte[DEFAULT_BUFFER_SIZE];
+            }
+        }
+
+        void require(int count) throws IOException {
+            if (buffer.length - position >= count) {
+                return;
+            }
+            if (__stream != null) {
+                flush();
+                if (buffer.length >= count) {
+                    return;
+                }
+            }
+            byte[] _buffer = new byte[Math.max(buffer.length * 2, position + count)];
+            System.arraycopy(buffer, 0, _buffer, 0, position);
+            buffer = _buffer;
+        }
+
+        void flush() throws IOException {
+            if (__stream != null && position > 0) {
+                __stream.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        void writeByte(int value) throws IOException {
+            if (position == buffer.length) {
+                require(1);
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+            if (__stream != null && length > buffer.length) {
+                flush();
+                __stream.write(bytes, offset, length);
+                return;
+            }
+            require(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+
+        void writeInt(int value) throws IOException {
+            require(4);
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) throws IOException {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            require(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) throws IOException {
+            require(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) throws IOException {
+            int _length = value.length();
+            writeVarInt(_length);
+            for (int _idx = 0; _idx < _length; _idx++) {
+                if (buffer.length - position < 3) {
+                    require(3);
+                }
+                char _c = value.charAt(_idx);
+                if (_c < 0x80) {
+                    buffer[position++] = (byte) _c;
+                } else if (_c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (_c >> 6));
+                    buffer[position++] = (byte) (0x80 | (_c & 0x3F));
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (_c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((_c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (_c & 0x3F));
+                }
+            }
+        }
+    }
+
+    /**
+     * 输入缓冲区，可直接读取字节数组或从输入流中按需读取
+     */
+    private static class Input {
+
+        private byte[] __pooled = new byte[DEFAULT_BUFFER_SIZE];
+
+        byte[] buffer;
+
+        int position;
+
+        int limit;
+
+        private InputStream __stream;
+
+        void reset(byte[] bytes, int offset, int length) {
+            __stream = null;
+            buffer = bytes;
+            position = offset;
+            limit = offset + length;
+        }
+
+        void reset(InputStream stream) {
+            __stream = stream;
+            buffer = __pooled;
+            position = 0;
+            limit = 0;
+        }
+
+        void trim() {
+            if (__pooled.length > MAX_POOLED_BUFFER_SIZE) {
+                __pooled = new byte[DEFAULT_BUFFER_SIZE];
+            }
+            buffer = null;
+        }
+
+        void require(int count) throws IOException {
+            if (limit - position >= count) {
+                return;
+            }
+            if (__stream == null) {
+                throw new EOFException();
+            }
+            int _remain = limit - position;
+            if (buffer.length < count) {
+                byte[] _buffer = new byte[Math.max(count, buffer.length * 2)];
+                System.arraycopy(buffer, position, _buffer, 0, _remain);
+                buffer = __pooled = _buffer;
+            } else if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, _remain);
+            }
+            position = 0;
+            limit = _remain;
+            while (limit < count) {
+                int _count = __stream.read(buffer, limit, buffer.length - limit);
+                if (_count < 0) {
+                    throw new EOFException();
+                }
+                limit += _count;
+            }
+        }
+
+        byte readByte() throws IOException {
+            if (position == limit) {
+                require(1);
+            }
+            return buffer[position++];
+        }
+
+        byte[] readBytes(int length) throws IOException {
+            byte[] _bytes = new byte[length];
+            int _offset = 0;
+            while (_offset < length) {
+                if (position == limit) {
+                    require(1);
+                }
+                int _count = Math.min(limit - position, length - _offset);
+                System.arraycopy(buffer, position, _bytes, _offset, _count);
+                position += _count;
+                _offset += _count;
+            }
+            return _bytes;
+        }
+
+        int readInt() throws IOException {
+            require(4);
+            return ((buffer[position++] & 0xFF) << 24) | ((buffer[position++] & 0xFF) << 16) | ((buffer[position++] & 0xFF) << 8) | (buffer[position++] & 0xFF);
+        }
+
+        long readLong() throws IOException {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        int readVarInt() throws IOException {
+            int _result = 0;
+            for (int _shift = 0; _shift < 32; _shift += 7) {
+                byte _b = readByte();
+                _result |= (_b & 0x7F) << _shift;
+                if ((_b & 0x80) == 0) {
+                    return _result;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable-length int");
+        }
+
+        long readVarLong() throws IOException {
+            long _result = 0;
+            for (int _shift = 0; _shift < 64; _shift += 7) {
+                byte _b = readByte();
+                _result |= (long) (_b & 0x7F) << _shift;
+                if ((_b & 0x80) == 0) {
+                    return _result;
+                }
+            }
+            throw new StreamCorruptedException("Malformed variable-length long");
+        }
+
+        String readString() throws IOException {
+            int _length = readVarInt();
+            char[] _chars = new char[_length];
+            for (int _idx = 0; _idx < _length; _idx++) {
+                int _b = readByte() & 0xFF;
+                if (_b < 0x80) {
+                    _chars[_idx] = (char) _b;
+                } else if ((_b & 0xE0) == 0xC0) {
+                    _chars[_idx] = (char) (((_b & 0x1F) << 6) | (readByte() & 0x3F));
+                } else {
+                    int _b2 = readByte() & 0x3F;
+                    _chars[_idx] = (char) (((_b & 0x0F) << 12) | (_b2 << 6) | (readByte() & 0x3F));
+                }
+            }
+            return new String(_chars);
+        }
+    }
+}
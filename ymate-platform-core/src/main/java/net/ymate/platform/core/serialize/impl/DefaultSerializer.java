@@ -15,19 +15,16 @@
  */
 package net.ymate.platform.core.serialize.impl;
 
-import net.ymate.platform.core.serialize.ISerializer;
+import net.ymate.platform.core.serialize.IStreamSerializer;
 import org.apache.commons.io.IOUtils;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.*;
 
 /**
  * @author 刘镇 (suninformation@163.com) on 2017/10/10 上午11:13
  * @version 1.0
  */
-public class DefaultSerializer implements ISerializer {
+public class DefaultSerializer implements IStreamSerializer {
 
     @Override
     public String getContentType() {
@@ -58,4 +55,17 @@ public class DefaultSerializer implements ISerializer {
             IOUtils.closeQuietly(_input);
         }
     }
+
+    @Override
+    public void serialize(Object object, OutputStream output) throws Exception {
+        ObjectOutputStream _output = new ObjectOutputStream(output);
+        _output.writeObject(object);
+        _output.flush();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(InputStream input, Class<T> clazz) throws Exception {
+        return (T) new ObjectInputStream(input).readObject();
+    }
 }
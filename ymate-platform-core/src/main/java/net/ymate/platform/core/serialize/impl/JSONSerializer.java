@@ -17,30 +17,58 @@ package net.ymate.platform.core.serialize.impl;
 
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.SerializerFeature;
-import net.ymate.platform.core.serialize.ISerializer;
+import net.ymate.platform.core.serialize.IStreamSerializer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * @author 刘镇 (suninformation@163.com) on 2017/10/10 上午11:14
  * @version 1.0
  */
-public class JSONSerializer implements ISerializer {
+public class JSONSerializer implements IStreamSerializer {
 
     @Override
     public String getContentType() {
         return "application/json";
     }
 
-    @Override
-    public byte[] serialize(Object object) throws Exception {
+    private com.alibaba.fastjson.serializer.JSONSerializer __doCreateSerializer(Object object) {
         com.alibaba.fastjson.serializer.JSONSerializer _serializer = new com.alibaba.fastjson.serializer.JSONSerializer();
         _serializer.config(SerializerFeature.WriteEnumUsingToString, true);
         _serializer.config(SerializerFeature.WriteClassName, true);
         _serializer.write(object);
-        return _serializer.getWriter().toBytes(DEFAULT_CHARSET);
+        return _serializer;
+    }
+
+    @Override
+    public byte[] serialize(Object object) throws Exception {
+        com.alibaba.fastjson.serializer.JSONSerializer _serializer = __doCreateSerializer(object);
+        try {
+            return _serializer.getWriter().toBytes(DEFAULT_CHARSET);
+        } finally {
+            // 归还SerializeWriter内部的线程缓冲区
+            _serializer.close();
+        }
     }
 
     @Override
     public <T> T deserialize(byte[] bytes, Class<T> clazz) throws Exception {
         return JSON.parseObject(new String(bytes, DEFAULT_CHARSET), clazz);
     }
+
+    @Override
+    public void serialize(Object object, OutputStream output) throws Exception {
+        com.alibaba.fastjson.serializer.JSONSerializer _serializer = __doCreateSerializer(object);
+        try {
+            _serializer.getWriter().writeTo(output, DEFAULT_CHARSET);
+        } finally {
+            _serializer.close();
+        }
+    }
+
+    @Override
+    public <T> T deserialize(InputStream input, Class<T> clazz) throws Exception {
+        return JSON.parseObject(input, clazz);
+    }
 }
@@ -47,6 +47,10 @@ public final class ConfigBuilder {
 
     private final List<String> __excludedModules;
 
+    private String __beanIndexCacheDir;
+
+    private int __startupParallelism;
+
     private Locale __locale;
 
     private II18NEventHandler __i18nEventHandler;
@@ -111,6 +115,8 @@ public final class ConfigBuilder {
                 .packageNames(__doParserArrayStr(properties, "ymp.autoscan_packages"))
                 .excludedFiles(__doParserArrayStr(properties, "ymp.excluded_files"))
                 .excludedModules(__doParserArrayStr(properties, "ymp.excluded_modules"))
+                .beanIndexCacheDir(StringUtils.trimToNull(properties.getProperty("ymp.bean_index_cache_dir")))
+                .startupParallelism(BlurObject.bind(properties.getProperty("ymp.startup_parallelism")).toIntValue())
                 .locale(StringUtils.trimToNull(properties.getProperty("ymp.i18n_default_locale")))
                 .i18nEventHandler(ClassUtils.impl(properties.getProperty("ymp.i18n_event_handler_class"), II18NEventHandler.class, ConfigBuilder.class))
                 .defaultPasswordProcessor(_passProcessor);
@@ -168,6 +174,17 @@ public final class ConfigBuilder {
                     }
                 }
             }
+            //
+            _prefix = "ymp.intercept.scopes.";
+            for (Object _key : properties.keySet()) {
+                if (StringUtils.startsWith((String) _key, _prefix)) {
+                    String _cfgKey = StringUtils.substring((String) _key, _prefix.length());
+                    String _cfgValue = properties.getProperty((String) _key);
+                    if (StringUtils.isNotBlank(_cfgValue)) {
+                        _builder.__interceptSettings.registerInterceptScope(_cfgKey, _cfgValue);
+                    }
+                }
+            }
         }
         //
         return _builder;
@@ -295,6 +312,16 @@ public final class ConfigBuilder {
         return this;
     }
 
+    public ConfigBuilder beanIndexCacheDir(String beanIndexCacheDir) {
+        __beanIndexCacheDir = beanIndexCacheDir;
+        return this;
+    }
+
+    public ConfigBuilder startupParallelism(int startupParallelism) {
+        __startupParallelism = startupParallelism;
+        return this;
+    }
+
     public ConfigBuilder locale(Locale locale) {
         __locale = locale;
         return this;
@@ -393,6 +420,16 @@ public final class ConfigBuilder {
                 return Collections.unmodifiableList(__excludedModules);
             }
 
+            @Override
+            public String getBeanIndexCacheDir() {
+                return __beanIndexCacheDir;
+            }
+
+            @Override
+            public int getStartupParallelism() {
+                return __startupParallelism;
+            }
+
             @Override
             public Locale getDefaultLocale() {
                 return __locale != null ? __locale : Locale.getDefault();
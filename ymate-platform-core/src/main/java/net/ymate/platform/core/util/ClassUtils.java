@@ -27,6 +27,7 @@ import java.lang.reflect.*;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 类操作相关工具
@@ -38,6 +39,8 @@ public class ClassUtils {
 
     private static final Log _LOG = LogFactory.getLog(ClassUtils.class);
 
+    private static final Map<Class<?>, BeanMeta> __BEAN_METAS = new ConcurrentHashMap<Class<?>, BeanMeta>();
+
     private static final InnerClassLoader _INNER_CLASS_LOADER = new InnerClassLoader(new URL[]{}, ClassUtils.class.getClassLoader());
 
     public static class InnerClassLoader extends URLClassLoader {
@@ -320,6 +323,114 @@ public class ClassUtils {
         return new BeanWrapper<T>(target);
     }
 
+    /**
+     * @param clazz 目标类型
+     * @return 获取目标类型的成员属性访问描述对象(首次解析后将被缓存)
+     */
+    public static BeanMeta getBeanMeta(Class<?> clazz) {
+        BeanMeta _meta = __BEAN_METAS.get(clazz);
+        if (_meta == null) {
+            _meta = new BeanMeta(clazz);
+            __BEAN_METAS.put(clazz, _meta);
+        }
+        return _meta;
+    }
+
+    /**
+     * 类成员属性访问描述，按类型缓存已设置为可访问的非静态成员属性，支持按索引直接读写属性值
+     *
+     * @author 刘镇 (suninformation@163.com) on 2018/5/12 下午2:36
+     * @version 1.0
+     */
+    public static class BeanMeta {
+
+        private final Class<?> __targetClass;
+
+        private final Field[] __fields;
+
+        private final Map<String, Field> __fieldMap;
+
+        private final Map<String, Integer> __indexes;
+
+        /**
+         * 拷贝至其它类型时的成员属性索引映射缓存
+         */
+        private final Map<Class<?>, int[]> __copyMappings = new ConcurrentHashMap<Class<?>, int[]>();
+
+        private BeanMeta(Class<?> targetClass) {
+            __targetClass = targetClass;
+            Map<String, Field> _fields = new LinkedHashMap<String, Field>();
+            for (Field _field : ClassUtils.getFields(targetClass, true)) {
+                if (Modifier.isStatic(_field.getModifiers())) {
+                    // 忽略静态成员
+                    continue;
+                }
+                _field.setAccessible(true);
+                _fields.put(_field.getName(), _field);
+            }
+            __fieldMap = Collections.unmodifiableMap(_fields);
+            __fields = _fields.values().toArray(new Field[_fields.size()]);
+            Map<String, Integer> _indexes = new HashMap<String, Integer>(_fields.size() * 2);
+            for (int _idx = 0; _idx < __fields.length; _idx++) {
+                _indexes.put(__fields[_idx].getName(), _idx);
+            }
+            __indexes = _indexes;
+        }
+
+        public Class<?> getTargetClass() {
+            return __targetClass;
+        }
+
+        public int getFieldCount() {
+            return __fields.length;
+        }
+
+        /**
+         * @param fieldName 成员属性名称
+         * @return 返回成员属性索引，不存在则返回-1
+         */
+        public int indexOf(String fieldName) {
+            Integer _idx = __indexes.get(fieldName);
+            return _idx != null ? _idx : -1;
+        }
+
+        public Field getField(int index) {
+            return __fields[index];
+        }
+
+        public Field getField(String fieldName) {
+            return __fieldMap.get(fieldName);
+        }
+
+        public Map<String, Field> getFieldMap() {
+            return __fieldMap;
+        }
+
+        public Object getValue(Object target, int index) throws IllegalAccessException {
+            return __fields[index].get(target);
+        }
+
+        public void setValue(Object target, int index, Object value) throws IllegalAccessException {
+            __fields[index].set(target, value);
+        }
+
+        /**
+         * @param distMeta 目标类型访问描述对象
+         * @return 返回当前类型成员属性索引对应的目标类型成员属性索引(不存在同名属性时为-1)
+         */
+        int[] getCopyMapping(BeanMeta distMeta) {
+            int[] _mapping = __copyMappings.get(distMeta.__targetClass);
+            if (_mapping == null) {
+                _mapping = new int[__fields.length];
+                for (int _idx = 0; _idx < __fields.length; _idx++) {
+                    _mapping[_idx] = distMeta.indexOf(__fields[_idx].getName());
+                }
+                __copyMappings.put(distMeta.__targetClass, _mapping);
+            }
+            return _mapping;
+        }
+    }
+
     /**
      * 类成员属性过滤器接口
      */
@@ -344,26 +455,27 @@ public class ClassUtils {
 
         private T target;
 
+        private BeanMeta _meta;
+
         private Map<String, Field> _fields;
 
         protected BeanWrapper(T target) {
             this.target = target;
-            this._fields = new LinkedHashMap<String, Field>();
-            //
-            for (Field _field : ClassUtils.getFields(target.getClass(), true)/*target.getClass().getDeclaredFields()*/) {
-                if (Modifier.isStatic(_field.getModifiers())) {
-                    // 忽略静态成员
-                    continue;
-                }
-                _field.setAccessible(true);
-                this._fields.put(_field.getName(), _field);
-            }
+            this._meta = ClassUtils.getBeanMeta(target.getClass());
+            this._fields = _meta.getFieldMap();
         }
 
         public T getTargetObject() {
             return target;
         }
 
+        /**
+         * @return 返回目标对象类型的成员属性访问描述对象
+         */
+        public BeanMeta getBeanMeta() {
+            return _meta;
+        }
+
         public Set<String> getFieldNames() {
             return _fields.keySet();
         }
@@ -403,23 +515,20 @@ public class ClassUtils {
         }
 
         public BeanWrapper<T> fromMap(Map<String, Object> map) {
-            for (Map.Entry<String, Object> _entry : map.entrySet()) {
-                try {
-                    setValue(_entry.getKey(), _entry.getValue());
-                } catch (Exception ignored) {
-                    // 当赋值发生异常时，忽略当前值
-                }
-            }
-            return this;
+            return fromMap(map, null);
         }
 
         public BeanWrapper<T> fromMap(Map<String, Object> map, IFieldValueFilter filter) {
             for (Map.Entry<String, Object> _entry : map.entrySet()) {
+                int _idx = _meta.indexOf(_entry.getKey());
+                if (_idx < 0) {
+                    continue;
+                }
                 try {
                     if (filter != null && filter.filter(_entry.getKey(), _entry.getValue())) {
                         continue;
                     }
-                    setValue(_entry.getKey(), _entry.getValue());
+                    _meta.setValue(target, _idx, _entry.getValue());
                 } catch (Exception ignored) {
                     // 当赋值发生异常时，忽略当前值
                 }
@@ -428,10 +537,10 @@ public class ClassUtils {
         }
 
         public Map<String, Object> toMap() {
-            Map<String, Object> _returnValues = new HashMap<String, Object>();
-            for (Field _field : _fields.values()) {
+            Map<String, Object> _returnValues = new HashMap<String, Object>(_meta.getFieldCount() * 2);
+            for (int _idx = 0; _idx < _meta.getFieldCount(); _idx++) {
                 try {
-                    _returnValues.put(_field.getName(), getValue(_field.getName()));
+                    _returnValues.put(_meta.getField(_idx).getName(), _meta.getValue(target, _idx));
                 } catch (Exception ignored) {
                     // 当赋值发生异常时，忽略当前值
                 }
@@ -440,14 +549,15 @@ public class ClassUtils {
         }
 
         public Map<String, Object> toMap(IFieldValueFilter filter) {
-            Map<String, Object> _returnValues = new HashMap<String, Object>();
-            for (Field _field : _fields.values()) {
+            Map<String, Object> _returnValues = new HashMap<String, Object>(_meta.getFieldCount() * 2);
+            for (int _idx = 0; _idx < _meta.getFieldCount(); _idx++) {
                 try {
-                    Object _fValue = getValue(_field.getName());
-                    if (filter != null && filter.filter(_field.getName(), _fValue)) {
+                    String _fieldName = _meta.getField(_idx).getName();
+                    Object _fValue = _meta.getValue(target, _idx);
+                    if (filter != null && filter.filter(_fieldName, _fValue)) {
                         continue;
                     }
-                    _returnValues.put(_field.getName(), _fValue);
+                    _returnValues.put(_fieldName, _fValue);
                 } catch (Exception ignored) {
                     // 当赋值发生异常时，忽略当前值
                 }
@@ -461,26 +571,7 @@ public class ClassUtils {
          * @return 拷贝当前对象的成员属性值到目标对象
          */
         public <D> D duplicate(D dist) {
-            BeanWrapper<D> _wrapDist = wrapper(dist);
-            for (String _fieldName : getFieldNames()) {
-                if (_wrapDist.getFieldNames().contains(_fieldName)) {
-                    Object _fValue = null;
-                    try {
-                        _fValue = getValue(_fieldName);
-                        _wrapDist.setValue(_fieldName, _fValue);
-                    } catch (Exception e) {
-                        // 当首次赋值发生异常时，若成员变量值不为NULL则尝试转换一下
-                        if (_fValue != null) {
-                            try {
-                                _wrapDist.setValue(_fieldName, BlurObject.bind(_fValue).toObjectValue(_wrapDist.getFieldType(_fieldName)));
-                            } catch (Exception ignored) {
-                                // 当再次赋值发生异常时，彻底忽略当前值，不中断整个拷贝过程
-                            }
-                        }
-                    }
-                }
-            }
-            return _wrapDist.getTargetObject();
+            return duplicate(dist, null);
         }
 
         /**
@@ -490,29 +581,32 @@ public class ClassUtils {
          * @return 拷贝当前对象的成员属性值到目标对象
          */
         public <D> D duplicate(D dist, IFieldValueFilter filter) {
-            BeanWrapper<D> _wrapDist = wrapper(dist);
-            for (String _fieldName : getFieldNames()) {
-                if (_wrapDist.getFieldNames().contains(_fieldName)) {
-                    Object _fValue = null;
-                    try {
-                        _fValue = getValue(_fieldName);
-                        if (filter != null && filter.filter(_fieldName, _fValue)) {
-                            continue;
-                        }
-                        _wrapDist.setValue(_fieldName, _fValue);
-                    } catch (Exception e) {
-                        // 当首次赋值发生异常时，若成员变量值不为NULL则尝试转换一下
-                        if (_fValue != null) {
-                            try {
-                                _wrapDist.setValue(_fieldName, BlurObject.bind(_fValue).toObjectValue(_wrapDist.getFieldType(_fieldName)));
-                            } catch (Exception ignored) {
-                                // 当再次赋值发生异常时，彻底忽略当前值，不中断整个拷贝过程
-                            }
+            BeanMeta _distMeta = ClassUtils.getBeanMeta(dist.getClass());
+            int[] _mapping = _meta.getCopyMapping(_distMeta);
+            for (int _idx = 0; _idx < _mapping.length; _idx++) {
+                int _distIdx = _mapping[_idx];
+                if (_distIdx < 0) {
+                    continue;
+                }
+                Object _fValue = null;
+                try {
+                    _fValue = _meta.getValue(target, _idx);
+                    if (filter != null && filter.filter(_meta.getField(_idx).getName(), _fValue)) {
+                        continue;
+                    }
+                    _distMeta.setValue(dist, _distIdx, _fValue);
+                } catch (Exception e) {
+                    // 当首次赋值发生异常时，若成员变量值不为NULL则尝试转换一下
+                    if (_fValue != null) {
+                        try {
+                            _distMeta.setValue(dist, _distIdx, BlurObject.bind(_fValue).toObjectValue(_distMeta.getField(_distIdx).getType()));
+                        } catch (Exception ignored) {
+                            // 当再次赋值发生异常时，彻底忽略当前值，不中断整个拷贝过程
                         }
                     }
                 }
             }
-            return _wrapDist.getTargetObject();
+            return dist;
         }
 
     }
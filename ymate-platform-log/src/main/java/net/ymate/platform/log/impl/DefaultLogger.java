@@ -15,6 +15,7 @@
  */
 package net.ymate.platform.log.impl;
 
+import net.ymate.platform.core.event.Events;
 import net.ymate.platform.log.*;
 import org.apache.commons.lang.StringUtils;
 import org.apache.logging.log4j.Level;
@@ -88,10 +89,13 @@ public class DefaultLogger extends AbstractLogger {
     @Override
     protected void __doLogWrite(LogLevel level, LogInfo content) {
         __logger.log(__parseLogLevel(level), content.toString());
-        // 日志写入后触发异步事件
-        __owner.getOwner().getEvents().fireEvent(new LogEvent(this, LogEvent.EVENT.LOG_WRITE_IN)
-                .addParamExtend(LogEvent.LOG_LEVEL, level)
-                .addParamExtend(LogEvent.LOG_INFO, content));
+        // 日志写入后触发异步事件(无监听器时跳过事件对象的构建)
+        Events _events = __owner.getOwner().getEvents();
+        if (_events.hasListeners(LogEvent.class)) {
+            _events.fireEvent(new LogEvent(this, LogEvent.EVENT.LOG_WRITE_IN)
+                    .addParamExtend(LogEvent.LOG_LEVEL, level)
+                    .addParamExtend(LogEvent.LOG_INFO, content));
+        }
     }
 
     @Override
@@ -18,6 +18,7 @@ package net.ymate.platform.persistence.jdbc;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.core.util.RuntimeUtils;
 import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,6 +42,8 @@ public abstract class AbstractDataSourceAdapter implements IDataSourceAdapter {
 
     private IDialect __dialect;
 
+    private QueryMetrics __queryMetrics;
+
     protected boolean __inited;
 
     @Override
@@ -62,6 +65,9 @@ public abstract class AbstractDataSourceAdapter implements IDataSourceAdapter {
                     __dialect.setIdentifierQuote(Character.toString(_quotes[0]), Character.toString(_quotes[1]));
                 }
             }
+            if (__cfgMeta.isMetricsEnabled()) {
+                __queryMetrics = new QueryMetrics(__cfgMeta.getName(), __cfgMeta.getSlowQueryThreshold(), __cfgMeta.getSlowQueryLogInterval());
+            }
             //
             __inited = tryInitializeIfNeed();
         }
@@ -103,6 +109,11 @@ public abstract class AbstractDataSourceAdapter implements IDataSourceAdapter {
         return __dialect;
     }
 
+    @Override
+    public QueryMetrics getQueryMetrics() {
+        return __queryMetrics;
+    }
+
     @Override
     public void destroy() {
         if (__inited) {
@@ -116,6 +127,7 @@ public abstract class AbstractDataSourceAdapter implements IDataSourceAdapter {
             //
             __cfgMeta = null;
             __dialect = null;
+            __queryMetrics = null;
             __owner = null;
         }
     }
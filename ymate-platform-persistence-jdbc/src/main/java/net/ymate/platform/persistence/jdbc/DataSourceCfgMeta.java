@@ -16,6 +16,14 @@
 package net.ymate.platform.persistence.jdbc;
 
 import net.ymate.platform.core.support.IPasswordProcessor;
+import net.ymate.platform.persistence.Page;
+import net.ymate.platform.persistence.jdbc.support.ReadWriteRouter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 数据源配置接口
@@ -42,7 +50,7 @@ public class DataSourceCfgMeta {
 
     /**
      * 数据源适配器，可选值为已知适配器名称或自定义适配置类名称，默认为default
-     * <br>目前支持已知适配器名称：default|dbcp|c3p0|jndi
+     * <br>目前支持已知适配器名称：default|pooled|dbcp|c3p0|jndi
      */
     private Class<? extends IDataSourceAdapter> adapterClass;
 
@@ -97,6 +105,86 @@ public class DataSourceCfgMeta {
      */
     private int stackTraceDepth;
 
+    /**
+     * 每个数据库连接缓存PreparedStatement对象的最大数量，为0表示不缓存，默认为0
+     */
+    private int statementCacheSize;
+
+    /**
+     * 分页查询默认总记录数统计策略，可选值为[separate|window|has_next|cached|none]，默认为separate
+     */
+    private Page.CountStrategy pageCountStrategy = Page.CountStrategy.SEPARATE;
+
+    /**
+     * CACHED统计策略下总记录数缓存有效时间(秒)，默认为60秒
+     */
+    private int pageCountCacheTimeout = 60;
+
+    /**
+     * 用于读写分离的从库数据源名称及权重映射，默认为空(即不启用读写分离)
+     */
+    private Map<String, Integer> replicas = new LinkedHashMap<String, Integer>();
+
+    /**
+     * 从库选择策略，可选值为[round_robin|weighted|least_active]，默认为round_robin
+     */
+    private ReadWriteRouter.Strategy replicaStrategy = ReadWriteRouter.Strategy.ROUND_ROBIN;
+
+    /**
+     * 当前线程执行写操作后读操作仍路由至主库的时间(毫秒)，默认为1000毫秒
+     */
+    private long replicaStickyTime = 1000;
+
+    /**
+     * 获取连接失败的从库被剔除后重新尝试的间隔时间(毫秒)，默认为30000毫秒
+     */
+    private long replicaRetryInterval = 30000;
+
+    /**
+     * 是否开启查询结果缓存，默认为false
+     */
+    private boolean queryCacheEnabled;
+
+    /**
+     * 查询结果缓存存储接口实现类，默认为net.ymate.platform.persistence.jdbc.impl.DefaultQueryCache
+     */
+    private Class<? extends IQueryCache> queryCacheClass;
+
+    /**
+     * 允许缓存查询结果的数据表名称集合(小写)，默认为空(即全部)
+     */
+    private Set<String> queryCacheTables = new HashSet<String>();
+
+    /**
+     * 默认查询结果缓存存储的缓存项有效时间(秒)，默认为300秒，小于等于0表示永不过期
+     */
+    private int queryCacheTimeout = 300;
+
+    /**
+     * 默认查询结果缓存存储是否在每次命中时复制查询结果，默认为false(全部命中者共享放入缓存时的结果快照)
+     */
+    private boolean queryCacheCopyOnRead;
+
+    /**
+     * 异步会话同时执行的最大操作数量，小于等于0表示不限制，默认为10
+     */
+    private int asyncMaxConcurrency = 10;
+
+    /**
+     * 是否开启SQL执行统计，默认为true
+     */
+    private boolean metricsEnabled = true;
+
+    /**
+     * 慢查询阈值(毫秒)，小于等于0表示不记录慢查询，默认为1000
+     */
+    private long slowQueryThreshold = 1000;
+
+    /**
+     * 同一SQL语句慢查询日志的最小输出间隔(毫秒)，小于等于0表示每次均输出，默认为60000
+     */
+    private long slowQueryLogInterval = 60000;
+
     /**
      * 堆栈跟踪包名前缀过滤，默认为空
      */
@@ -107,6 +195,11 @@ public class DataSourceCfgMeta {
      */
     private Class<? extends IPasswordProcessor> passwordClass;
 
+    /**
+     * 数据源适配器扩展参数(即ds.<name>.params.*)，由具体的数据源适配器自行解析，默认为空
+     */
+    private Map<String, String> params = new HashMap<String, String>();
+
     public DataSourceCfgMeta() {
     }
 
@@ -178,6 +271,134 @@ public class DataSourceCfgMeta {
         this.stackTraceDepth = stackTraceDepth;
     }
 
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public Page.CountStrategy getPageCountStrategy() {
+        return pageCountStrategy;
+    }
+
+    public void setPageCountStrategy(Page.CountStrategy pageCountStrategy) {
+        this.pageCountStrategy = pageCountStrategy;
+    }
+
+    public int getPageCountCacheTimeout() {
+        return pageCountCacheTimeout;
+    }
+
+    public void setPageCountCacheTimeout(int pageCountCacheTimeout) {
+        this.pageCountCacheTimeout = pageCountCacheTimeout;
+    }
+
+    public Map<String, Integer> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(Map<String, Integer> replicas) {
+        this.replicas = replicas;
+    }
+
+    public ReadWriteRouter.Strategy getReplicaStrategy() {
+        return replicaStrategy;
+    }
+
+    public void setReplicaStrategy(ReadWriteRouter.Strategy replicaStrategy) {
+        this.replicaStrategy = replicaStrategy;
+    }
+
+    public long getReplicaStickyTime() {
+        return replicaStickyTime;
+    }
+
+    public void setReplicaStickyTime(long replicaStickyTime) {
+        this.replicaStickyTime = replicaStickyTime;
+    }
+
+    public long getReplicaRetryInterval() {
+        return replicaRetryInterval;
+    }
+
+    public void setReplicaRetryInterval(long replicaRetryInterval) {
+        this.replicaRetryInterval = replicaRetryInterval;
+    }
+
+    public boolean isQueryCacheEnabled() {
+        return queryCacheEnabled;
+    }
+
+    public void setQueryCacheEnabled(boolean queryCacheEnabled) {
+        this.queryCacheEnabled = queryCacheEnabled;
+    }
+
+    public Class<? extends IQueryCache> getQueryCacheClass() {
+        return queryCacheClass;
+    }
+
+    public void setQueryCacheClass(Class<? extends IQueryCache> queryCacheClass) {
+        this.queryCacheClass = queryCacheClass;
+    }
+
+    public Set<String> getQueryCacheTables() {
+        return queryCacheTables;
+    }
+
+    public void setQueryCacheTables(Set<String> queryCacheTables) {
+        this.queryCacheTables = queryCacheTables;
+    }
+
+    public int getQueryCacheTimeout() {
+        return queryCacheTimeout;
+    }
+
+    public void setQueryCacheTimeout(int queryCacheTimeout) {
+        this.queryCacheTimeout = queryCacheTimeout;
+    }
+
+    public boolean isQueryCacheCopyOnRead() {
+        return queryCacheCopyOnRead;
+    }
+
+    public void setQueryCacheCopyOnRead(boolean queryCacheCopyOnRead) {
+        this.queryCacheCopyOnRead = queryCacheCopyOnRead;
+    }
+
+    public int getAsyncMaxConcurrency() {
+        return asyncMaxConcurrency;
+    }
+
+    public void setAsyncMaxConcurrency(int asyncMaxConcurrency) {
+        this.asyncMaxConcurrency = asyncMaxConcurrency;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public long getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(long slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public long getSlowQueryLogInterval() {
+        return slowQueryLogInterval;
+    }
+
+    public void setSlowQueryLogInterval(long slowQueryLogInterval) {
+        this.slowQueryLogInterval = slowQueryLogInterval;
+    }
+
     public String getStackTracePackage() {
         return stackTracePackage;
     }
@@ -273,4 +494,12 @@ public class DataSourceCfgMeta {
     public void setPasswordClass(Class<? extends IPasswordProcessor> passwordClass) {
         this.passwordClass = passwordClass;
     }
+
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    public void setParams(Map<String, String> params) {
+        this.params = params != null ? params : new HashMap<String, String>();
+    }
 }
@@ -16,6 +16,8 @@
 package net.ymate.platform.persistence.jdbc;
 
 import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
+import net.ymate.platform.persistence.jdbc.support.StatementCache;
 
 import java.sql.Connection;
 
@@ -37,6 +39,16 @@ public interface IConnectionHolder {
      */
     Connection getConnection();
 
+    /**
+     * @return 获取当前连接的PreparedStatement缓存，若未开启缓存(即statement_cache_size小于等于0)则返回null
+     */
+    StatementCache getStatementCache();
+
+    /**
+     * @return 获取当前数据源的SQL执行统计，若未开启则返回null
+     */
+    QueryMetrics getQueryMetrics();
+
     /**
      * 释放连接<br>
      * 注意：存在事务操作时严禁手动调用此方法，并由事务控制连接何时释放
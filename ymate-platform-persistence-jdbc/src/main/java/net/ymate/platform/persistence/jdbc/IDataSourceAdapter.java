@@ -16,6 +16,7 @@
 package net.ymate.platform.persistence.jdbc;
 
 import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
 
 import java.sql.Connection;
 
@@ -58,6 +59,11 @@ public interface IDataSourceAdapter {
      */
     IDialect getDialect();
 
+    /**
+     * @return 获取数据源SQL执行统计，若未开启(即metrics_enabled为false)则返回null
+     */
+    QueryMetrics getQueryMetrics();
+
     /**
      * 销毁数据源适配器
      */
@@ -17,6 +17,11 @@ package net.ymate.platform.persistence.jdbc;
 
 import net.ymate.platform.core.YMP;
 import net.ymate.platform.persistence.IDataSourceRouter;
+import net.ymate.platform.persistence.jdbc.support.AsyncSession;
+import net.ymate.platform.persistence.jdbc.support.QueryCache;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
+import net.ymate.platform.persistence.jdbc.support.ReadWriteRouter;
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
 
 /**
  * JDBC数据库模块管理器接口
@@ -59,6 +64,40 @@ public interface IDatabase {
      */
     void releaseConnectionHolder(IConnectionHolder connectionHolder) throws Exception;
 
+    /**
+     * @param dsName 主数据源名称
+     * @return 返回由dsName指定的数据源的读写分离路由器，未配置从库时返回null
+     */
+    ReadWriteRouter getReadWriteRouter(String dsName);
+
+    /**
+     * @param dsName 数据源名称
+     * @return 返回由dsName指定的数据源的查询结果缓存，未开启查询缓存时返回null
+     */
+    QueryCache getQueryCache(String dsName);
+
+    /**
+     * @param dsName 数据源名称
+     * @return 返回由dsName指定的数据源的SQL执行统计，未开启统计或数据源不存在时返回null
+     */
+    QueryMetrics getQueryMetrics(String dsName);
+
+    /**
+     * @return 返回默认数据源的异步会话对象
+     */
+    AsyncSession getAsyncSession();
+
+    /**
+     * @param dsName 数据源名称
+     * @return 返回由dsName指定的数据源的异步会话对象
+     */
+    AsyncSession getAsyncSession(String dsName);
+
+    /**
+     * @return 返回多数据源事务恢复日志，未配置时返回null
+     */
+    ITransactionLog getTransactionLog();
+
     <T> T openSession(ISessionExecutor<T> executor) throws Exception;
 
     <T> T openSession(String dsName, ISessionExecutor<T> executor) throws Exception;
@@ -40,6 +40,11 @@ public interface IDatabaseModuleCfg {
      */
     DataSourceCfgMeta getDefaultDataSourceCfg();
 
+    /**
+     * @return 返回多数据源事务提交配置
+     */
+    TransactionCfgMeta getTransactionCfg();
+
     /**
      * @param name 数据源名称
      * @return 返回指定名称的数据源配置
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc;
+
+/**
+ * 查询结果缓存存储接口，可通过实现此接口将查询结果存放至任意缓存服务(如Cache模块的ICache)
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IQueryCache {
+
+    /**
+     * 初始化缓存存储
+     *
+     * @param cfgMeta 所属数据源配置参数
+     * @throws Exception 可能产生的异常
+     */
+    void initialize(DataSourceCfgMeta cfgMeta) throws Exception;
+
+    /**
+     * @param key 缓存键
+     * @return 返回缓存的查询结果副本(每次调用均应返回独立的对象，避免调用者修改结果后影响其它调用者)，不存在或已失效时返回null
+     */
+    Object get(String key);
+
+    /**
+     * @param key   缓存键
+     * @param value 查询结果(实现类应保存其副本而非对象引用，无法复制时可以忽略)
+     */
+    void put(String key, Object value);
+
+    /**
+     * @param key 缓存键
+     */
+    void remove(String key);
+
+    /**
+     * 清空全部缓存
+     */
+    void clear();
+
+    /**
+     * 销毁缓存存储
+     */
+    void destroy();
+}
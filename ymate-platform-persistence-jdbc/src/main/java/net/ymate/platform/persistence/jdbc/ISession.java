@@ -18,11 +18,13 @@ package net.ymate.platform.persistence.jdbc;
 import net.ymate.platform.persistence.*;
 import net.ymate.platform.persistence.base.IEntity;
 import net.ymate.platform.persistence.base.ShardingList;
+import net.ymate.platform.persistence.jdbc.base.ICursor;
 import net.ymate.platform.persistence.jdbc.base.IResultSetHandler;
+import net.ymate.platform.persistence.jdbc.base.IRowCallback;
 import net.ymate.platform.persistence.jdbc.query.BatchSQL;
-import net.ymate.platform.persistence.jdbc.query.EntitySQL;
-import net.ymate.platform.persistence.jdbc.query.SQL;
-import net.ymate.platform.persistence.jdbc.query.Where;
+import net.ymate.platform.persistence.jdbc.query.*;
+import net.ymate.platform.persistence.jdbc.support.KeysetResultSet;
+import net.ymate.platform.persistence.jdbc.support.ShardingBatchResult;
 
 import java.io.Serializable;
 import java.util.List;
@@ -153,6 +155,80 @@ public interface ISession extends ISessionBase {
 
     <T extends IEntity> T findFirst(EntitySQL<T> entity, IShardingable shardingable) throws Exception;
 
+    /**
+     * 以游标方式执行SQL查询，结果集数据按需逐行读取，适用于大数据量的导出等场景；
+     * 注：游标须在会话关闭前遍历完毕或手动关闭，且结果集数据处理对象须继承AbstractResultSetHandler类
+     *
+     * @param sql       SQL语句对象
+     * @param handler   结果集数据处理对象
+     * @param fetchSize 每次从数据库获取的记录数，为0表示由数据库方言决定
+     * @param <T>       元素类型
+     * @return 返回已打开的查询游标
+     * @throws Exception 可能产生的异常
+     */
+    <T> ICursor<T> cursor(SQL sql, IResultSetHandler<T> handler, int fetchSize) throws Exception;
+
+    /**
+     * @param entity    实体对象
+     * @param where     查询条件对象
+     * @param fetchSize 每次从数据库获取的记录数，为0表示由数据库方言决定
+     * @param <T>       元素类型
+     * @return 根据实体以游标方式执行SQL查询，返回已打开的查询游标
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> ICursor<T> cursor(EntitySQL<T> entity, Where where, int fetchSize) throws Exception;
+
+    <T extends IEntity> ICursor<T> cursor(EntitySQL<T> entity, Where where, int fetchSize, IShardingable shardingable) throws Exception;
+
+    /**
+     * @param sql       SQL语句对象
+     * @param handler   结果集数据处理对象
+     * @param fetchSize 每次从数据库获取的记录数，为0表示由数据库方言决定
+     * @param callback  结果集逐行处理回调接口
+     * @param <T>       元素类型
+     * @return 以游标方式执行SQL查询并逐行回调处理，返回已处理的记录数
+     * @throws Exception 可能产生的异常
+     */
+    <T> int forEach(SQL sql, IResultSetHandler<T> handler, int fetchSize, IRowCallback<T> callback) throws Exception;
+
+    /**
+     * @param entity    实体对象
+     * @param where     查询条件对象
+     * @param fetchSize 每次从数据库获取的记录数，为0表示由数据库方言决定
+     * @param callback  结果集逐行处理回调接口
+     * @param <T>       元素类型
+     * @return 根据实体以游标方式执行SQL查询并逐行回调处理，返回已处理的记录数
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> int forEach(EntitySQL<T> entity, Where where, int fetchSize, IRowCallback<T> callback) throws Exception;
+
+    <T extends IEntity> int forEach(EntitySQL<T> entity, Where where, int fetchSize, IShardingable shardingable, IRowCallback<T> callback) throws Exception;
+
+    /**
+     * 以键集(Seek)分页方式执行查询，通过上一页最后一条记录的排序键值定位当前页数据，翻页深度不影响查询效率；
+     * 注：排序规则以键集分页参数为准(查询条件中的排序设置将被忽略)，排序键字段组合须唯一、非空且包含在查询结果中
+     *
+     * @param select     查询对象
+     * @param handler    结果集数据处理对象(须继承AbstractResultSetHandler类)
+     * @param keysetPage 键集分页参数对象
+     * @param <T>        元素类型
+     * @return 返回键集分页结果集对象，可通过其获取下一页游标标识
+     * @throws Exception 可能产生的异常
+     */
+    <T> KeysetResultSet<T> seek(Select select, IResultSetHandler<T> handler, KeysetPage keysetPage) throws Exception;
+
+    /**
+     * @param entity     实体对象
+     * @param where      查询条件对象
+     * @param keysetPage 键集分页参数对象
+     * @param <T>        元素类型
+     * @return 根据实体以键集分页方式执行查询，返回键集分页结果集对象
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> KeysetResultSet<T> seek(EntitySQL<T> entity, Where where, KeysetPage keysetPage) throws Exception;
+
+    <T extends IEntity> KeysetResultSet<T> seek(EntitySQL<T> entity, Where where, KeysetPage keysetPage, IShardingable shardingable) throws Exception;
+
     /**
      * @param sql SQL语句对象
      * @return 执行SQL更新（如更新、插入和删除），返回此次更新影响的记录数
@@ -189,6 +265,17 @@ public interface ISession extends ISessionBase {
 
     <T extends IEntity> List<T> update(ShardingList<T> entities, Fields filter) throws Exception;
 
+    /**
+     * @param <T>             指定结果集数据类型
+     * @param entities        分表实体对象集合
+     * @param filter          显示字段过滤集合
+     * @param batchSize       每批次执行的记录数，小于等于0时采用默认值
+     * @param continueOnError 某分表执行失败时是否继续执行其它分表，否则直接抛出异常
+     * @return 将实体按目标数据表分组后逐组执行SQL批量更新，返回各分组的执行结果
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> ShardingBatchResult<T> update(ShardingList<T> entities, Fields filter, int batchSize, boolean continueOnError) throws Exception;
+
     /**
      * @param <T>    指定结果集数据类型
      * @param entity 实体对象
@@ -217,6 +304,42 @@ public interface ISession extends ISessionBase {
 
     <T extends IEntity> List<T> insert(ShardingList<T> entities, Fields filter) throws Exception;
 
+    /**
+     * @param <T>             指定结果集数据类型
+     * @param entities        分表实体对象集合
+     * @param filter          显示字段过滤集合
+     * @param batchSize       每批次执行的记录数，小于等于0时采用默认值
+     * @param continueOnError 某分表执行失败时是否继续执行其它分表，否则直接抛出异常
+     * @return 将实体按目标数据表分组后逐组执行记录批量插入，返回各分组的执行结果
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> ShardingBatchResult<T> insert(ShardingList<T> entities, Fields filter, int batchSize, boolean continueOnError) throws Exception;
+
+    /**
+     * @param <T>       指定实体类型
+     * @param entities  实体对象集合
+     * @param filter    显示字段过滤集合
+     * @param chunkSize 单条语句插入的最大记录行数，小于等于0时仅受数据库参数数量限制
+     * @return 根据实体以多行VALUES方式执行记录批量插入(数据库不支持时采用JDBC批处理)，返回影响记录总数
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> int bulkInsert(List<T> entities, Fields filter, int chunkSize) throws Exception;
+
+    <T extends IEntity> int bulkInsert(List<T> entities, Fields filter, int chunkSize, IShardingable shardingable) throws Exception;
+
+    /**
+     * @param <T>          指定实体类型
+     * @param entities     实体对象集合
+     * @param filter       显示字段过滤集合
+     * @param updateFields 主键冲突时需要更新的字段名称集合，若不指定则包括除主键外的全部插入字段
+     * @param chunkSize    单条语句插入的最大记录行数，小于等于0时仅受数据库参数数量限制
+     * @return 根据实体以多行VALUES方式执行记录批量插入，主键冲突时更新已存在记录(自增主键值不为空的实体将携带主键值插入)，返回影响记录总数(由数据库驱动决定，如MySQL中被更新的记录计为2)
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> int bulkUpsert(List<T> entities, Fields filter, Fields updateFields, int chunkSize) throws Exception;
+
+    <T extends IEntity> int bulkUpsert(List<T> entities, Fields filter, Fields updateFields, int chunkSize, IShardingable shardingable) throws Exception;
+
     /**
      * @param <T>    指定结果集数据类型
      * @param entity 实体对象
@@ -241,10 +364,31 @@ public interface ISession extends ISessionBase {
 
     <T extends IEntity> List<T> delete(ShardingList<T> entities) throws Exception;
 
+    /**
+     * @param <T>             指定结果集数据类型
+     * @param entities        分表实体对象集合
+     * @param batchSize       每批次执行的记录数，小于等于0时采用默认值
+     * @param continueOnError 某分表执行失败时是否继续执行其它分表，否则直接抛出异常
+     * @return 将实体按目标数据表分组后逐组执行记录批量删除，返回各分组的执行结果
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> ShardingBatchResult<T> delete(ShardingList<T> entities, int batchSize, boolean continueOnError) throws Exception;
+
     <T extends IEntity> int[] delete(Class<T> entityClass, Serializable[] ids) throws Exception;
 
     <T extends IEntity> int[] delete(Class<T> entityClass, ShardingList<Serializable> ids) throws Exception;
 
+    /**
+     * @param <T>             指定实体类型
+     * @param entityClass     实体类
+     * @param ids             分表主键值集合
+     * @param batchSize       每批次执行的记录数，小于等于0时采用默认值
+     * @param continueOnError 某分表执行失败时是否继续执行其它分表，否则直接抛出异常
+     * @return 将主键按目标数据表分组后逐组执行记录批量删除，返回各分组的执行结果
+     * @throws Exception 可能产生的异常
+     */
+    <T extends IEntity> ShardingBatchResult<Serializable> delete(Class<T> entityClass, ShardingList<Serializable> ids, int batchSize, boolean continueOnError) throws Exception;
+
     /**
      * @param <T>         指定实体类型
      * @param entityClass 实体类对象
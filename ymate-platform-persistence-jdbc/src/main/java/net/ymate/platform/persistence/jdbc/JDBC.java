@@ -25,7 +25,13 @@ import net.ymate.platform.persistence.jdbc.dialect.impl.*;
 import net.ymate.platform.persistence.jdbc.impl.*;
 import net.ymate.platform.persistence.jdbc.repo.RepoHandler;
 import net.ymate.platform.persistence.jdbc.repo.annotation.Repository;
+import net.ymate.platform.persistence.jdbc.support.AsyncSession;
+import net.ymate.platform.persistence.jdbc.support.QueryCache;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
+import net.ymate.platform.persistence.jdbc.support.ReadWriteRouter;
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
 import net.ymate.platform.persistence.jdbc.transaction.Transactions;
+import net.ymate.platform.persistence.jdbc.transaction.impl.FileTransactionLog;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -54,6 +60,14 @@ public class JDBC implements IModule, IDatabase {
 
     private Map<String, IDataSourceAdapter> __dsCaches;
 
+    private Map<String, ReadWriteRouter> __routers;
+
+    private Map<String, QueryCache> __queryCaches;
+
+    private Map<String, AsyncSession> __asyncSessions;
+
+    private ITransactionLog __transactionLog;
+
     private boolean __inited;
 
     /**
@@ -102,6 +116,45 @@ public class JDBC implements IModule, IDatabase {
                 // 将数据源适配器添加到缓存
                 __dsCaches.put(_meta.getName(), _adapter);
             }
+            // 为配置了从库的数据源创建读写分离路由器
+            __routers = new HashMap<String, ReadWriteRouter>();
+            for (DataSourceCfgMeta _meta : __moduleCfg.getDataSourceCfgs().values()) {
+                if (!_meta.getReplicas().isEmpty()) {
+                    for (String _replica : _meta.getReplicas().keySet()) {
+                        if (!__dsCaches.containsKey(_replica) || _replica.equals(_meta.getName())) {
+                            throw new IllegalArgumentException("Invalid replica datasource '" + _replica + "' of '" + _meta.getName() + "'");
+                        }
+                    }
+                    __routers.put(_meta.getName(), new ReadWriteRouter(_meta.getName(), _meta.getReplicas(), _meta.getReplicaStrategy(), _meta.getReplicaStickyTime(), _meta.getReplicaRetryInterval()));
+                }
+            }
+            // 为开启查询结果缓存的数据源创建缓存
+            __queryCaches = new HashMap<String, QueryCache>();
+            for (DataSourceCfgMeta _meta : __moduleCfg.getDataSourceCfgs().values()) {
+                if (_meta.isQueryCacheEnabled()) {
+                    IQueryCache _storage = _meta.getQueryCacheClass() != null ? _meta.getQueryCacheClass().newInstance() : new DefaultQueryCache();
+                    _storage.initialize(_meta);
+                    __queryCaches.put(_meta.getName(), new QueryCache(_meta.getName(), _storage, _meta.getQueryCacheTables()));
+                }
+            }
+            // 异步会话(各数据源独立限制并发操作数量)
+            __asyncSessions = new HashMap<String, AsyncSession>();
+            for (DataSourceCfgMeta _meta : __moduleCfg.getDataSourceCfgs().values()) {
+                __asyncSessions.put(_meta.getName(), new AsyncSession(this, _meta));
+            }
+            // 多数据源事务恢复日志, 检查并列出上次运行时未完整提交的事务
+            TransactionCfgMeta _transCfg = __moduleCfg.getTransactionCfg();
+            if (_transCfg.getLogClass() != null || _transCfg.getLogDir() != null) {
+                __transactionLog = _transCfg.getLogClass() != null ? _transCfg.getLogClass().newInstance() : new FileTransactionLog();
+                __transactionLog.initialize(this);
+                for (ITransactionLog.Entry _entry : __transactionLog.recover()) {
+                    if (_entry.isFullyCommitted()) {
+                        __transactionLog.resolve(_entry.getId());
+                    } else {
+                        _LOG.warn("Found incomplete multi-datasource transaction, please reconcile manually and resolve it: " + _entry);
+                    }
+                }
+            }
             //
             __inited = true;
         }
@@ -121,6 +174,17 @@ public class JDBC implements IModule, IDatabase {
                 _adapter.destroy();
             }
             __dsCaches = null;
+            __routers = null;
+            for (QueryCache _queryCache : __queryCaches.values()) {
+                _queryCache.destroy();
+            }
+            __queryCaches = null;
+            __asyncSessions = null;
+            AsyncSession.shutdownDefaultExecutor();
+            if (__transactionLog != null) {
+                __transactionLog.destroy();
+                __transactionLog = null;
+            }
             __moduleCfg = null;
             __owner = null;
         }
@@ -167,6 +231,37 @@ public class JDBC implements IModule, IDatabase {
         }
     }
 
+    @Override
+    public ReadWriteRouter getReadWriteRouter(String dsName) {
+        return __routers != null ? __routers.get(dsName) : null;
+    }
+
+    @Override
+    public QueryCache getQueryCache(String dsName) {
+        return __queryCaches != null ? __queryCaches.get(dsName) : null;
+    }
+
+    @Override
+    public QueryMetrics getQueryMetrics(String dsName) {
+        IDataSourceAdapter _adapter = __dsCaches != null ? __dsCaches.get(dsName) : null;
+        return _adapter != null ? _adapter.getQueryMetrics() : null;
+    }
+
+    @Override
+    public AsyncSession getAsyncSession() {
+        return getAsyncSession(__moduleCfg.getDataSourceDefaultName());
+    }
+
+    @Override
+    public AsyncSession getAsyncSession(String dsName) {
+        return __asyncSessions != null ? __asyncSessions.get(dsName) : null;
+    }
+
+    @Override
+    public ITransactionLog getTransactionLog() {
+        return __transactionLog;
+    }
+
     @Override
     public <T> T openSession(ISessionExecutor<T> executor) throws Exception {
         return openSession(getDefaultConnectionHolder(), executor);
@@ -294,6 +389,7 @@ public class JDBC implements IModule, IDatabase {
         //
         DS_ADAPTERS = new HashMap<String, String>();
         DS_ADAPTERS.put("default", DefaultDataSourceAdapter.class.getName());
+        DS_ADAPTERS.put("pooled", PooledDataSourceAdapter.class.getName());
         DS_ADAPTERS.put("jndi", JNDIDataSourceAdapter.class.getName());
         DS_ADAPTERS.put("c3p0", C3P0DataSourceAdapter.class.getName());
         DS_ADAPTERS.put("dbcp", DBCPDataSourceAdapter.class.getName());
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc;
+
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多数据源事务提交配置
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class TransactionCfgMeta {
+
+    /**
+     * 是否并行提交多个数据源的事务，默认为false(即按顺序逐个提交)
+     */
+    private boolean parallelCommit;
+
+    /**
+     * 数据源提交顺序分组，分组按顺序依次提交，同一分组内的数据源在并行模式下同时提交，未列出的数据源归入最后一组，默认为空
+     */
+    private List<List<String>> commitOrder = new ArrayList<List<String>>();
+
+    /**
+     * 多数据源事务提交(包括提交前连接检查)的超时时间(毫秒)，默认为30000毫秒
+     */
+    private long commitTimeout = 30000;
+
+    /**
+     * 事务恢复日志接口实现类，默认为空(当设置了日志文件存放路径时采用默认文件日志)
+     */
+    private Class<? extends ITransactionLog> logClass;
+
+    /**
+     * 默认事务恢复日志文件存放路径，默认为空(即不记录事务恢复日志)
+     */
+    private String logDir;
+
+    public boolean isParallelCommit() {
+        return parallelCommit;
+    }
+
+    public void setParallelCommit(boolean parallelCommit) {
+        this.parallelCommit = parallelCommit;
+    }
+
+    public List<List<String>> getCommitOrder() {
+        return commitOrder;
+    }
+
+    public void setCommitOrder(List<List<String>> commitOrder) {
+        this.commitOrder = commitOrder;
+    }
+
+    public long getCommitTimeout() {
+        return commitTimeout;
+    }
+
+    public void setCommitTimeout(long commitTimeout) {
+        this.commitTimeout = commitTimeout;
+    }
+
+    public Class<? extends ITransactionLog> getLogClass() {
+        return logClass;
+    }
+
+    public void setLogClass(Class<? extends ITransactionLog> logClass) {
+        this.logClass = logClass;
+    }
+
+    public String getLogDir() {
+        return logDir;
+    }
+
+    public void setLogDir(String logDir) {
+        this.logDir = logDir;
+    }
+}
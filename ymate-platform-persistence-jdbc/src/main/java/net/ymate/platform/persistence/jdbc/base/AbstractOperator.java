@@ -15,17 +15,19 @@
  */
 package net.ymate.platform.persistence.jdbc.base;
 
-import net.ymate.platform.core.util.ExpressionUtils;
 import net.ymate.platform.persistence.base.Type;
 import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
 import net.ymate.platform.persistence.jdbc.IConnectionHolder;
+import net.ymate.platform.persistence.jdbc.base.impl.BaseAccessor;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
+import net.ymate.platform.persistence.jdbc.support.StatementCache;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang.time.StopWatch;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -68,43 +70,53 @@ public abstract class AbstractOperator implements IOperator {
     @Override
     public void execute() throws Exception {
         if (!this.executed) {
-            StopWatch _time = new StopWatch();
-            _time.start();
+            long _startTime = System.nanoTime();
             int _effectCounts = 0;
+            boolean _failed = true;
             try {
                 _effectCounts = __doExecute();
                 // 执行过程未发生异常将标记已执行，避免重复执行
                 this.executed = true;
+                _failed = false;
             } finally {
-                _time.stop();
-                this.expenseTime = _time.getTime();
+                long _time = System.nanoTime() - _startTime;
+                this.expenseTime = _time / 1000000L;
                 //
                 DataSourceCfgMeta _meta = this.connectionHolder.getDataSourceCfgMeta();
-                if (_meta.isShowSQL()) {
-                    String _logStr = ExpressionUtils.bind("[${sql}]${param}[${count}][${time}]")
-                            .set("sql", StringUtils.defaultIfBlank(this.sql, "@NULL"))
-                            .set("param", __doSerializeParameters())
-                            .set("count", _effectCounts + "")
-                            .set("time", this.expenseTime + "ms").getResult();
-                    StringBuilder _stackSB = new StringBuilder(_logStr);
-                    if (_meta.isStackTraces()) {
-                        String[] _tracePackages = StringUtils.split(_meta.getStackTracePackage(), "|");
-                        StackTraceElement[] _stacks = new Throwable().getStackTrace();
-                        if (_stacks != null && _stacks.length > 0) {
-                            int _depth = _meta.getStackTraceDepth() <= 0 ? _stacks.length : (_meta.getStackTraceDepth() > _stacks.length ? _stacks.length : _meta.getStackTraceDepth());
-                            if (_depth > 0) {
-                                for (int _idx = 0; _idx < _depth; _idx++) {
-                                    if (_tracePackages != null && _tracePackages.length > 0) {
-                                        if (StringUtils.contains(_stacks[_idx].getClassName(), "$$EnhancerByCGLIB$$") || !StringUtils.startsWithAny(_stacks[_idx].getClassName(), _tracePackages)) {
-                                            continue;
-                                        }
-                                    }
-                                    _stackSB.append("\n\t--> ").append(_stacks[_idx]);
-                                }
-                            }
+                QueryMetrics _metrics = this.connectionHolder.getQueryMetrics();
+                boolean _slowLog = _metrics != null && _metrics.record(this.sql, _time, _effectCounts, _failed);
+                if (_meta.isShowSQL() || _slowLog) {
+                    StringBuilder _logSB = new StringBuilder("[").append(StringUtils.defaultIfBlank(this.sql, "@NULL")).append("]")
+                            .append(__doSerializeParameters())
+                            .append("[").append(_effectCounts).append("]")
+                            .append("[").append(this.expenseTime).append("ms]");
+                    // 开启慢查询记录时仅为慢查询获取调用堆栈，避免每次执行均产生获取堆栈的开销
+                    if (_meta.isStackTraces() && (_metrics == null || _metrics.getSlowThreshold() <= 0 || _metrics.isSlow(_time))) {
+                        __doAppendStackTraces(_meta, _logSB);
+                    }
+                    if (_slowLog) {
+                        _LOG.warn("Slow SQL: " + _logSB);
+                    } else {
+                        _LOG.info(_logSB.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    private void __doAppendStackTraces(DataSourceCfgMeta meta, StringBuilder stackSB) {
+        String[] _tracePackages = StringUtils.split(meta.getStackTracePackage(), "|");
+        StackTraceElement[] _stacks = new Throwable().getStackTrace();
+        if (_stacks != null && _stacks.length > 0) {
+            int _depth = meta.getStackTraceDepth() <= 0 ? _stacks.length : (meta.getStackTraceDepth() > _stacks.length ? _stacks.length : meta.getStackTraceDepth());
+            if (_depth > 0) {
+                for (int _idx = 0; _idx < _depth; _idx++) {
+                    if (_tracePackages != null && _tracePackages.length > 0) {
+                        if (StringUtils.contains(_stacks[_idx].getClassName(), "$$EnhancerByCGLIB$$") || !StringUtils.startsWithAny(_stacks[_idx].getClassName(), _tracePackages)) {
+                            continue;
                         }
                     }
-                    _LOG.info(_stackSB.toString());
+                    stackSB.append("\n\t--> ").append(_stacks[_idx]);
                 }
             }
         }
@@ -120,6 +132,29 @@ public abstract class AbstractOperator implements IOperator {
      */
     protected abstract int __doExecute() throws Exception;
 
+    /**
+     * @return 创建访问器对象，若当前连接已开启PreparedStatement缓存则语句对象将优先从缓存中获取
+     */
+    protected IAccessor __doCreateAccessor() {
+        return new BaseAccessor(this.accessorConfig, this.connectionHolder.getStatementCache());
+    }
+
+    /**
+     * 关闭语句对象，若语句对象来自PreparedStatement缓存则将其归还
+     *
+     * @param statement 语句对象
+     * @param reusable  是否可以继续复用(执行过程中发生异常时应为false)
+     * @throws SQLException 关闭语句对象时可能产生的异常
+     */
+    protected void __doCloseStatement(Statement statement, boolean reusable) throws SQLException {
+        if (statement != null) {
+            StatementCache _cache = this.connectionHolder.getStatementCache();
+            if (_cache == null || !_cache.release(statement, reusable)) {
+                statement.close();
+            }
+        }
+    }
+
     protected void __doSetParameters(PreparedStatement statement) throws SQLException {
         int _idx = 1;
         for (SQLParameter _param : this.getParameters()) {
@@ -17,6 +17,7 @@ package net.ymate.platform.persistence.jdbc.base;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,13 +36,7 @@ public abstract class AbstractResultSetHandler<T> implements IResultSetHandler<T
 
     @Override
     public List<T> handle(ResultSet resultSet) throws Exception {
-        // 分析结果集字段信息
-        ResultSetMetaData _metaData = resultSet.getMetaData();
-        __columnCount = _metaData.getColumnCount();
-        __columnMetas = new ColumnMeta[__columnCount];
-        for (int _idx = 0; _idx < __columnCount; _idx++) {
-            __columnMetas[_idx] = new ColumnMeta(_metaData.getColumnLabel(_idx + 1), _metaData.getColumnType(_idx + 1));
-        }
+        prepare(resultSet);
         //
         List<T> _results = new ArrayList<T>();
         while (resultSet.next()) {
@@ -50,6 +45,30 @@ public abstract class AbstractResultSetHandler<T> implements IResultSetHandler<T
         return _results;
     }
 
+    /**
+     * 分析结果集字段信息，逐行处理结果集数据(如游标方式读取)前必须首先调用此方法
+     *
+     * @param resultSet 数据结果集对象
+     * @throws SQLException 可能产生的异常
+     */
+    public void prepare(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData _metaData = resultSet.getMetaData();
+        __columnCount = _metaData.getColumnCount();
+        __columnMetas = new ColumnMeta[__columnCount];
+        for (int _idx = 0; _idx < __columnCount; _idx++) {
+            __columnMetas[_idx] = new ColumnMeta(_metaData.getColumnLabel(_idx + 1), _metaData.getColumnType(_idx + 1));
+        }
+    }
+
+    /**
+     * @param resultSet 已完成字段信息分析的数据结果集对象，其游标须已指向待处理的行
+     * @return 处理当前行结果集数据并返回指定的T类型对象
+     * @throws Exception 可能产生的异常
+     */
+    public T processRow(ResultSet resultSet) throws Exception {
+        return this.__doProcessResultRow(resultSet);
+    }
+
     /**
      * @param resultSet 数据结果集对象，切勿对其进行游标移动等操作，仅约定用于提取当前行字段数据
      * @return 处理当前行结果集数据并返回指定的T类型对象
@@ -65,6 +84,21 @@ public abstract class AbstractResultSetHandler<T> implements IResultSetHandler<T
         return __columnMetas[idx];
     }
 
+    /**
+     * @return 返回最近一次分析的结果集字段数量
+     */
+    public int getColumnCount() {
+        return __columnCount;
+    }
+
+    /**
+     * @param idx 字段索引(从0开始)
+     * @return 返回最近一次分析的结果集字段描述对象
+     */
+    public ColumnMeta getColumnMeta(int idx) {
+        return __columnMetas[idx];
+    }
+
     /**
      * 字段描述对象
      */
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base;
+
+import java.util.Iterator;
+
+/**
+ * 数据库查询游标接口定义，按需逐行读取并处理结果集数据，内存占用不随结果集大小增长；
+ * 游标在遍历结束或发生异常时自动关闭，提前结束遍历时必须调用close方法释放资源
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface ICursor<T> extends Iterator<T> {
+
+    /**
+     * @return 返回已读取的记录数
+     */
+    int getPosition();
+
+    /**
+     * @return 返回游标是否已关闭
+     */
+    boolean isClosed();
+
+    /**
+     * 关闭游标及其结果集、语句对象
+     */
+    void close();
+}
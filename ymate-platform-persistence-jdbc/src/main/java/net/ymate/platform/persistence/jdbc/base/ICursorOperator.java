@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base;
+
+/**
+ * 数据库游标查询操作器接口定义
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface ICursorOperator<T> extends IOperator {
+
+    /**
+     * @return 返回结果集数据处理对象
+     */
+    AbstractResultSetHandler<T> getResultSetHandler();
+
+    /**
+     * @return 返回每次从数据库获取的记录数(由数据库方言最终决定实际取值)，为0表示使用驱动默认值
+     */
+    int getFetchSize();
+
+    /**
+     * @return 返回执行后打开的游标对象，未执行时返回null
+     */
+    ICursor<T> getCursor();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base;
+
+/**
+ * 结果集逐行处理回调接口
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface IRowCallback<T> {
+
+    /**
+     * @param row      当前行数据对象
+     * @param position 当前行号(从1开始)
+     * @return 返回false将终止遍历
+     * @throws Exception 可能产生的异常
+     */
+    boolean handle(T row, int position) throws Exception;
+}
@@ -17,6 +17,7 @@ package net.ymate.platform.persistence.jdbc.base.impl;
 
 import net.ymate.platform.persistence.jdbc.base.IAccessor;
 import net.ymate.platform.persistence.jdbc.base.IAccessorConfig;
+import net.ymate.platform.persistence.jdbc.support.StatementCache;
 
 import java.sql.*;
 
@@ -30,6 +31,8 @@ public class BaseAccessor implements IAccessor {
 
     private IAccessorConfig accessorConfig;
 
+    private StatementCache statementCache;
+
     public BaseAccessor() {
     }
 
@@ -37,6 +40,11 @@ public class BaseAccessor implements IAccessor {
         this.accessorConfig = accessorConfig;
     }
 
+    public BaseAccessor(IAccessorConfig accessorConfig, StatementCache statementCache) {
+        this.accessorConfig = accessorConfig;
+        this.statementCache = statementCache;
+    }
+
     protected void __doSetupStatement(Statement statement) throws SQLException {
         if (statement != null && accessorConfig != null) {
             if (accessorConfig.getFetchDirection() > 0) {
@@ -77,7 +85,11 @@ public class BaseAccessor implements IAccessor {
             _statement = this.accessorConfig.getPreparedStatement(conn, sql);
         }
         if (_statement == null) {
-            _statement = conn.prepareStatement(sql);
+            if (statementCache != null) {
+                _statement = statementCache.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            } else {
+                _statement = conn.prepareStatement(sql);
+            }
         }
         __doSetupStatement(_statement);
         return _statement;
@@ -104,4 +116,12 @@ public class BaseAccessor implements IAccessor {
     public void setAccessorConfig(IAccessorConfig accessorConfig) {
         this.accessorConfig = accessorConfig;
     }
+
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public void setStatementCache(StatementCache statementCache) {
+        this.statementCache = statementCache;
+    }
 }
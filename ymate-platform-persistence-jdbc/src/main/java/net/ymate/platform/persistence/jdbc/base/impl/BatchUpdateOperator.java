@@ -76,7 +76,7 @@ public class BatchUpdateOperator extends AbstractOperator implements IBatchUpdat
         AccessorEventContext _context = null;
         boolean _hasEx = false;
         try {
-            IAccessor _accessor = new BaseAccessor(this.getAccessorConfig());
+            IAccessor _accessor = __doCreateAccessor();
             if (StringUtils.isNotBlank(this.getSQL())) {
                 _statement = _accessor.getPreparedStatement(this.getConnectionHolder().getConnection(), this.getSQL());
                 //
@@ -117,7 +117,7 @@ public class BatchUpdateOperator extends AbstractOperator implements IBatchUpdat
             }
             if (_statement != null) {
                 _statement.clearBatch();
-                _statement.close();
+                __doCloseStatement(_statement, !_hasEx);
             }
         }
     }
@@ -15,14 +15,11 @@
  */
 package net.ymate.platform.persistence.jdbc.base.impl;
 
-import net.ymate.platform.core.lang.BlurObject;
 import net.ymate.platform.core.util.ClassUtils;
-import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.jdbc.base.AbstractResultSetHandler;
-import org.apache.commons.lang.StringUtils;
 
-import java.lang.reflect.Field;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
 /**
  * 将数据直接映射到类成员属性的结果集处理接口实现
@@ -35,6 +32,8 @@ public class BeanResultSetHandler<T> extends AbstractResultSetHandler<T> {
 
     private final Class<T> __beanClass;
 
+    private RowMapper<T> __rowMapper;
+
     @SuppressWarnings("unchecked")
     public BeanResultSetHandler() {
         __beanClass = (Class<T>) ClassUtils.getParameterizedTypes(getClass()).get(0);
@@ -44,15 +43,23 @@ public class BeanResultSetHandler<T> extends AbstractResultSetHandler<T> {
         __beanClass = beanClass;
     }
 
+    public Class<T> getBeanClass() {
+        return __beanClass;
+    }
+
     @Override
-    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
-        ClassUtils.BeanWrapper<T> _targetWrapper = ClassUtils.wrapper(__beanClass.newInstance());
-        for (int _idx = 0; _idx < __doGetColumnCount(); _idx++) {
-            Field _field = _targetWrapper.getField(StringUtils.uncapitalize(EntityMeta.propertyNameToFieldName(_doGetColumnMeta(_idx).getName())));
-            if (_field != null) {
-                _field.set(_targetWrapper.getTargetObject(), BlurObject.bind(resultSet.getObject(_idx + 1)).toObjectValue(_field.getType()));
-            }
+    public void prepare(ResultSet resultSet) throws SQLException {
+        super.prepare(resultSet);
+        // 依据当前结果集字段结构获取(或编译)行数据映射器
+        try {
+            __rowMapper = RowMapper.forBean(__beanClass, this);
+        } catch (Exception e) {
+            throw new SQLException("Failed to create row mapper for class " + __beanClass.getName(), e);
         }
-        return _targetWrapper.getTargetObject();
+    }
+
+    @Override
+    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
+        return __rowMapper.map(resultSet);
     }
 }
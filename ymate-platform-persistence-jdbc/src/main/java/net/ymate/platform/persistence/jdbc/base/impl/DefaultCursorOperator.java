@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base.impl;
+
+import net.ymate.platform.core.util.RuntimeUtils;
+import net.ymate.platform.persistence.Persistence;
+import net.ymate.platform.persistence.jdbc.IConnectionHolder;
+import net.ymate.platform.persistence.jdbc.base.*;
+import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+
+/**
+ * 数据库游标查询操作器接口实现，采用只读、仅向前的语句对象并依据数据库方言设置FetchSize，
+ * 执行后通过游标逐行读取结果集，行数据映射复用结果集数据处理对象的逐行处理逻辑
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class DefaultCursorOperator<T> extends AbstractOperator implements ICursorOperator<T> {
+
+    private static final Log _LOG = LogFactory.getLog(DefaultCursorOperator.class);
+
+    private final AbstractResultSetHandler<T> resultSetHandler;
+
+    private final int fetchSize;
+
+    private ICursor<T> cursor;
+
+    public DefaultCursorOperator(String sql, IConnectionHolder connectionHolder, AbstractResultSetHandler<T> resultSetHandler, int fetchSize) {
+        this(sql, connectionHolder, null, resultSetHandler, fetchSize);
+    }
+
+    public DefaultCursorOperator(String sql, IConnectionHolder connectionHolder, IAccessorConfig accessorConfig, AbstractResultSetHandler<T> resultSetHandler, int fetchSize) {
+        super(sql, connectionHolder, accessorConfig);
+        this.resultSetHandler = resultSetHandler;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    protected int __doExecute() throws Exception {
+        Connection _conn = this.getConnectionHolder().getConnection();
+        IDialect _dialect = this.getConnectionHolder().getDialect();
+        boolean _restoreAutoCommit = false;
+        PreparedStatement _statement = null;
+        ResultSet _resultSet = null;
+        try {
+            // 部分数据库(如PostgreSQL)仅在非自动提交模式下才会按FetchSize分批读取数据
+            if (_dialect.isStreamingRequiresTransaction() && _conn.getAutoCommit()) {
+                _conn.setAutoCommit(false);
+                _restoreAutoCommit = true;
+            }
+            IAccessor _accessor = new BaseAccessor(this.getAccessorConfig());
+            _statement = _accessor.getPreparedStatement(_conn, this.getSQL());
+            int _fetchSize = _dialect.getStreamingFetchSize(this.fetchSize);
+            if (_fetchSize != 0) {
+                _statement.setFetchSize(_fetchSize);
+            }
+            __doSetParameters(_statement);
+            AccessorEventContext _context = null;
+            if (this.getAccessorConfig() != null) {
+                this.getAccessorConfig().beforeStatementExecution(_context = new AccessorEventContext(_statement, Persistence.OperationType.QUERY));
+            }
+            _resultSet = _statement.executeQuery();
+            if (_context != null) {
+                this.getAccessorConfig().afterStatementExecution(_context);
+            }
+            this.resultSetHandler.prepare(_resultSet);
+            this.cursor = new ResultSetCursor(_conn, _statement, _resultSet, _restoreAutoCommit);
+            return 0;
+        } catch (Exception ex) {
+            __doCloseQuietly(_conn, _statement, _resultSet, _restoreAutoCommit);
+            throw ex;
+        }
+    }
+
+    private static void __doCloseQuietly(Connection conn, PreparedStatement statement, ResultSet resultSet, boolean restoreAutoCommit) {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } catch (SQLException e) {
+            _LOG.warn("", e);
+        }
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            _LOG.warn("", e);
+        }
+        if (restoreAutoCommit) {
+            try {
+                // 恢复自动提交将同时结束由游标开启的只读事务
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                _LOG.warn("", e);
+            }
+        }
+    }
+
+    @Override
+    public AbstractResultSetHandler<T> getResultSetHandler() {
+        return resultSetHandler;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @Override
+    public ICursor<T> getCursor() {
+        return cursor;
+    }
+
+    /**
+     * 基于ResultSet的游标实现，每次仅持有当前行数据
+     */
+    private class ResultSetCursor implements ICursor<T> {
+
+        private final Connection __conn;
+
+        private final PreparedStatement __statement;
+
+        private final ResultSet __resultSet;
+
+        private final boolean __restoreAutoCommit;
+
+        private boolean __fetched;
+
+        private boolean __hasNext;
+
+        private boolean __closed;
+
+        private int __position;
+
+        ResultSetCursor(Connection conn, PreparedStatement statement, ResultSet resultSet, boolean restoreAutoCommit) {
+            __conn = conn;
+            __statement = statement;
+            __resultSet = resultSet;
+            __restoreAutoCommit = restoreAutoCommit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (__closed) {
+                return false;
+            }
+            if (!__fetched) {
+                try {
+                    __hasNext = __resultSet.next();
+                    __fetched = true;
+                } catch (SQLException e) {
+                    close();
+                    throw RuntimeUtils.wrapRuntimeThrow(e);
+                }
+                if (!__hasNext) {
+                    close();
+                }
+            }
+            return __hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                T _row = resultSetHandler.processRow(__resultSet);
+                __fetched = false;
+                __position++;
+                return _row;
+            } catch (Exception e) {
+                close();
+                throw RuntimeUtils.wrapRuntimeThrow(e);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getPosition() {
+            return __position;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return __closed;
+        }
+
+        @Override
+        public void close() {
+            if (!__closed) {
+                __closed = true;
+                __hasNext = false;
+                __fetched = true;
+                __doCloseQuietly(__conn, __statement, __resultSet, __restoreAutoCommit);
+            }
+        }
+    }
+}
@@ -67,7 +67,7 @@ public class DefaultQueryOperator<T> extends AbstractOperator implements IQueryO
         AccessorEventContext _context = null;
         boolean _hasEx = false;
         try {
-            IAccessor _accessor = new BaseAccessor(this.getAccessorConfig());
+            IAccessor _accessor = __doCreateAccessor();
             _statement = _accessor.getPreparedStatement(this.getConnectionHolder().getConnection(), this.getSQL());
             if (this.maxRow > 0) {
                 _statement.setMaxRows(this.maxRow);
@@ -88,9 +88,7 @@ public class DefaultQueryOperator<T> extends AbstractOperator implements IQueryO
             if (_resultSet != null) {
                 _resultSet.close();
             }
-            if (_statement != null) {
-                _statement.close();
-            }
+            __doCloseStatement(_statement, !_hasEx);
         }
     }
 
@@ -49,7 +49,7 @@ public class DefaultUpdateOperator extends AbstractOperator implements IUpdateOp
         AccessorEventContext _context = null;
         boolean _hasEx = false;
         try {
-            IAccessor _accessor = new BaseAccessor(this.getAccessorConfig());
+            IAccessor _accessor = __doCreateAccessor();
             _statement = _accessor.getPreparedStatement(this.getConnectionHolder().getConnection(), this.getSQL());
             __doSetParameters(_statement);
             if (this.getAccessorConfig() != null) {
@@ -63,9 +63,7 @@ public class DefaultUpdateOperator extends AbstractOperator implements IUpdateOp
             if (!_hasEx && this.getAccessorConfig() != null && _context != null) {
                 this.getAccessorConfig().afterStatementExecution(_context);
             }
-            if (_statement != null) {
-                _statement.close();
-            }
+            __doCloseStatement(_statement, !_hasEx);
         }
     }
 
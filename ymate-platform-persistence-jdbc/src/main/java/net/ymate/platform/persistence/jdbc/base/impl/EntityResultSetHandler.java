@@ -15,14 +15,13 @@
  */
 package net.ymate.platform.persistence.jdbc.base.impl;
 
-import net.ymate.platform.core.lang.BlurObject;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.base.IEntity;
 import net.ymate.platform.persistence.jdbc.base.AbstractResultSetHandler;
 
-import java.io.Serializable;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 
 /**
  * 采用实体类存储数据的结果集数据处理接口实现
@@ -36,6 +35,8 @@ public class EntityResultSetHandler<T extends IEntity> extends AbstractResultSet
     private final Class<T> __entityClass;
     private final EntityMeta __entityMeta;
 
+    private RowMapper<T> __rowMapper;
+
     @SuppressWarnings("unchecked")
     public EntityResultSetHandler() {
         this.__entityClass = (Class<T>) ClassUtils.getParameterizedTypes(getClass()).get(0);
@@ -47,27 +48,23 @@ public class EntityResultSetHandler<T extends IEntity> extends AbstractResultSet
         this.__entityMeta = EntityMeta.createAndGet(entityClass);
     }
 
+    public Class<T> getEntityClass() {
+        return __entityClass;
+    }
+
     @Override
-    @SuppressWarnings("unchecked")
-    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
-        T _returnValue = __entityClass.newInstance();
-        Object _primaryKeyObject = null;
-        if (__entityMeta.isMultiplePrimaryKey()) {
-            _primaryKeyObject = __entityMeta.getPrimaryKeyClass().newInstance();
-            //
-            _returnValue.setId((Serializable) _primaryKeyObject);
+    public void prepare(ResultSet resultSet) throws SQLException {
+        super.prepare(resultSet);
+        // 依据当前结果集字段结构获取(或编译)行数据映射器
+        try {
+            __rowMapper = RowMapper.forEntity(__entityClass, __entityMeta, this);
+        } catch (Exception e) {
+            throw new SQLException("Failed to create row mapper for entity " + __entityClass.getName(), e);
         }
-        for (int _idx = 0; _idx < __doGetColumnCount(); _idx++) {
-            EntityMeta.PropertyMeta _meta = __entityMeta.getPropertyByName(_doGetColumnMeta(_idx).getName().toLowerCase());
-            if (_meta != null) {
-                Object _fValue = BlurObject.bind(resultSet.getObject(_idx + 1)).toObjectValue(_meta.getField().getType());
-                if (__entityMeta.isPrimaryKey(_meta.getName()) && __entityMeta.isMultiplePrimaryKey()) {
-                    _meta.getField().set(_primaryKeyObject, _fValue);
-                } else {
-                    _meta.getField().set(_returnValue, _fValue);
-                }
-            }
-        }
-        return _returnValue;
+    }
+
+    @Override
+    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
+        return __rowMapper.map(resultSet);
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base.impl;
+
+import net.ymate.platform.persistence.jdbc.base.AbstractResultSetHandler;
+import net.ymate.platform.persistence.jdbc.query.KeysetPage;
+import org.apache.commons.lang.StringUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 键集分页结果集数据处理接口实现，委托原结果集数据处理对象映射行数据的同时记录最后一行的排序键值
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class KeysetResultSetHandler<T> extends AbstractResultSetHandler<T> {
+
+    private final AbstractResultSetHandler<T> __delegate;
+
+    private final List<String> __keyFields;
+
+    private int[] __keyIndexes;
+
+    private Object[] __lastKeys;
+
+    public KeysetResultSetHandler(AbstractResultSetHandler<T> delegate, KeysetPage keysetPage) {
+        __delegate = delegate;
+        __keyFields = keysetPage.fields();
+    }
+
+    @Override
+    public void prepare(ResultSet resultSet) throws SQLException {
+        super.prepare(resultSet);
+        __delegate.prepare(resultSet);
+        __lastKeys = null;
+        __keyIndexes = new int[__keyFields.size()];
+        for (int _idx = 0; _idx < __keyIndexes.length; _idx++) {
+            // 排序键字段可能带有表别名前缀，结果集中仅以字段名称匹配
+            String _label = StringUtils.contains(__keyFields.get(_idx), ".") ? StringUtils.substringAfterLast(__keyFields.get(_idx), ".") : __keyFields.get(_idx);
+            __keyIndexes[_idx] = -1;
+            for (int _column = 0; _column < getColumnCount(); _column++) {
+                if (getColumnMeta(_column).getName().equalsIgnoreCase(_label)) {
+                    __keyIndexes[_idx] = _column + 1;
+                    break;
+                }
+            }
+            if (__keyIndexes[_idx] < 0) {
+                throw new SQLException("Keyset field '" + __keyFields.get(_idx) + "' must be included in the query result.");
+            }
+        }
+    }
+
+    @Override
+    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
+        T _row = __delegate.processRow(resultSet);
+        if (__lastKeys == null) {
+            __lastKeys = new Object[__keyIndexes.length];
+        }
+        for (int _idx = 0; _idx < __keyIndexes.length; _idx++) {
+            __lastKeys[_idx] = resultSet.getObject(__keyIndexes[_idx]);
+        }
+        return _row;
+    }
+
+    /**
+     * @return 返回最后一行的排序键值，结果集为空时返回null
+     */
+    public Object[] getLastKeys() {
+        return __lastKeys;
+    }
+}
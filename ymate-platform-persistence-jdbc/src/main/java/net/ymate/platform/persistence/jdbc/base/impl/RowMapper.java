@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base.impl;
+
+import net.ymate.platform.core.lang.BlurObject;
+import net.ymate.platform.core.util.ClassUtils;
+import net.ymate.platform.persistence.base.EntityMeta;
+import net.ymate.platform.persistence.base.IEntity;
+import net.ymate.platform.persistence.jdbc.base.AbstractResultSetHandler;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按(目标类型, 结果集字段结构)预先编译的行数据映射器：字段索引直接对应目标成员属性，
+ * 并根据成员属性类型与字段类型选择ResultSet的类型化读取方法，避免逐行解析字段名称及getObject后再转换
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public final class RowMapper<T> {
+
+    /**
+     * 每个目标类型的映射器缓存数量上限，超出后新的映射器将不再缓存，避免动态SQL产生过多字段结构
+     */
+    private static final int MAX_CACHED_MAPPERS = 256;
+
+    /**
+     * 按目标类型(而非类名称)缓存映射器：以弱引用持有类型，以软引用持有映射器集合(映射器引用了类成员属性，
+     * 若强引用将导致类型无法被回收)，应用重新部署或类型由其它类加载器加载时不会误用旧类型的映射器，也不会阻止旧类加载器被回收
+     */
+    private static final Map<Class<?>, Reference<ConcurrentMap<String, RowMapper<?>>>> __MAPPERS = new WeakHashMap<Class<?>, Reference<ConcurrentMap<String, RowMapper<?>>>>();
+
+    private final Constructor<T> __constructor;
+
+    private final Constructor<?> __primaryKeyConstructor;
+
+    private final ColumnMapping[] __mappings;
+
+    /**
+     * @param entityClass 实体类型
+     * @param entityMeta  实体描述对象
+     * @param handler     已完成字段信息分析的结果集数据处理对象
+     * @param <T>         实体类型
+     * @return 获取或编译实体类的行数据映射器
+     * @throws Exception 可能产生的异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends IEntity> RowMapper<T> forEntity(Class<T> entityClass, EntityMeta entityMeta, AbstractResultSetHandler<T> handler) throws Exception {
+        ConcurrentMap<String, RowMapper<?>> _mappers = __doGetMappers(entityClass);
+        String _key = __doBuildKey("E:", handler);
+        RowMapper<T> _mapper = (RowMapper<T>) _mappers.get(_key);
+        if (_mapper == null) {
+            List<ColumnMapping> _mappings = new ArrayList<ColumnMapping>();
+            for (int _idx = 0; _idx < handler.getColumnCount(); _idx++) {
+                AbstractResultSetHandler.ColumnMeta _column = handler.getColumnMeta(_idx);
+                EntityMeta.PropertyMeta _meta = entityMeta.getPropertyByName(_column.getName().toLowerCase());
+                if (_meta != null) {
+                    boolean _toPrimaryKey = entityMeta.isMultiplePrimaryKey() && entityMeta.isPrimaryKey(_meta.getName());
+                    _mappings.add(new ColumnMapping(_idx + 1, _column.getType(), _meta.getField(), _toPrimaryKey));
+                }
+            }
+            _mapper = new RowMapper<T>(entityClass, entityMeta.isMultiplePrimaryKey() ? entityMeta.getPrimaryKeyClass() : null, _mappings);
+            __doCache(_mappers, _key, _mapper);
+        }
+        return _mapper;
+    }
+
+    /**
+     * @param beanClass 目标类型
+     * @param handler   已完成字段信息分析的结果集数据处理对象
+     * @param <T>       元素类型
+     * @return 获取或编译目标类型的行数据映射器，字段名称按驼峰规则对应类成员属性名称
+     * @throws Exception 可能产生的异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> forBean(Class<T> beanClass, AbstractResultSetHandler<T> handler) throws Exception {
+        ConcurrentMap<String, RowMapper<?>> _mappers = __doGetMappers(beanClass);
+        String _key = __doBuildKey("B:", handler);
+        RowMapper<T> _mapper = (RowMapper<T>) _mappers.get(_key);
+        if (_mapper == null) {
+            ClassUtils.BeanMeta _beanMeta = ClassUtils.getBeanMeta(beanClass);
+            List<ColumnMapping> _mappings = new ArrayList<ColumnMapping>();
+            for (int _idx = 0; _idx < handler.getColumnCount(); _idx++) {
+                AbstractResultSetHandler.ColumnMeta _column = handler.getColumnMeta(_idx);
+                Field _field = _beanMeta.getField(StringUtils.uncapitalize(EntityMeta.propertyNameToFieldName(_column.getName())));
+                if (_field != null) {
+                    _mappings.add(new ColumnMapping(_idx + 1, _column.getType(), _field, false));
+                }
+            }
+            _mapper = new RowMapper<T>(beanClass, null, _mappings);
+            __doCache(_mappers, _key, _mapper);
+        }
+        return _mapper;
+    }
+
+    private static ConcurrentMap<String, RowMapper<?>> __doGetMappers(Class<?> targetClass) {
+        synchronized (__MAPPERS) {
+            Reference<ConcurrentMap<String, RowMapper<?>>> _ref = __MAPPERS.get(targetClass);
+            ConcurrentMap<String, RowMapper<?>> _mappers = _ref != null ? _ref.get() : null;
+            if (_mappers == null) {
+                _mappers = new ConcurrentHashMap<String, RowMapper<?>>();
+                __MAPPERS.put(targetClass, new SoftReference<ConcurrentMap<String, RowMapper<?>>>(_mappers));
+            }
+            return _mappers;
+        }
+    }
+
+    private static String __doBuildKey(String prefix, AbstractResultSetHandler<?> handler) {
+        StringBuilder _keyBuilder = new StringBuilder(prefix);
+        for (int _idx = 0; _idx < handler.getColumnCount(); _idx++) {
+            AbstractResultSetHandler.ColumnMeta _column = handler.getColumnMeta(_idx);
+            _keyBuilder.append('|').append(_column.getName()).append(':').append(_column.getType());
+        }
+        return _keyBuilder.toString();
+    }
+
+    private static void __doCache(ConcurrentMap<String, RowMapper<?>> mappers, String key, RowMapper<?> mapper) {
+        if (mappers.size() < MAX_CACHED_MAPPERS) {
+            mappers.putIfAbsent(key, mapper);
+        }
+    }
+
+    private RowMapper(Class<T> targetClass, Class<?> primaryKeyClass, List<ColumnMapping> mappings) throws NoSuchMethodException {
+        __constructor = targetClass.getDeclaredConstructor();
+        __constructor.setAccessible(true);
+        if (primaryKeyClass != null) {
+            __primaryKeyConstructor = primaryKeyClass.getDeclaredConstructor();
+            __primaryKeyConstructor.setAccessible(true);
+        } else {
+            __primaryKeyConstructor = null;
+        }
+        __mappings = mappings.toArray(new ColumnMapping[mappings.size()]);
+    }
+
+    /**
+     * @param resultSet 数据结果集对象，游标须已指向待处理的行
+     * @return 将当前行数据映射为目标类型对象
+     * @throws Exception 可能产生的异常
+     */
+    @SuppressWarnings("unchecked")
+    public T map(ResultSet resultSet) throws Exception {
+        T _target = __constructor.newInstance();
+        Object _primaryKey = null;
+        if (__primaryKeyConstructor != null) {
+            _primaryKey = __primaryKeyConstructor.newInstance();
+            ((IEntity<Serializable>) _target).setId((Serializable) _primaryKey);
+        }
+        for (ColumnMapping _mapping : __mappings) {
+            _mapping.field.set(_mapping.toPrimaryKey ? _primaryKey : _target, _mapping.reader.read(resultSet, _mapping.columnIndex, _mapping));
+        }
+        return _target;
+    }
+
+    private static class ColumnMapping {
+
+        final int columnIndex;
+
+        final Field field;
+
+        final boolean toPrimaryKey;
+
+        final Class<?> targetType;
+
+        /**
+         * 字段值为NULL时对应的成员属性值，与BlurObject的转换规则保持一致
+         */
+        final Object nullValue;
+
+        final ValueReader reader;
+
+        ColumnMapping(int columnIndex, int sqlType, Field field, boolean toPrimaryKey) {
+            this.columnIndex = columnIndex;
+            this.field = field;
+            this.toPrimaryKey = toPrimaryKey;
+            this.targetType = field.getType();
+            this.nullValue = BlurObject.bind(null).toObjectValue(targetType);
+            this.reader = ValueReader.get(targetType, sqlType);
+        }
+    }
+
+    /**
+     * 类型化字段值读取器
+     */
+    private static abstract class ValueReader {
+
+        static final ValueReader INT = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                int _value = resultSet.getInt(idx);
+                return _value == 0 && resultSet.wasNull() ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader LONG = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                long _value = resultSet.getLong(idx);
+                return _value == 0 && resultSet.wasNull() ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader DOUBLE = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                double _value = resultSet.getDouble(idx);
+                return _value == 0 && resultSet.wasNull() ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader FLOAT = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                float _value = resultSet.getFloat(idx);
+                return _value == 0 && resultSet.wasNull() ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader BOOLEAN = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                boolean _value = resultSet.getBoolean(idx);
+                return !_value && resultSet.wasNull() ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader STRING = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                String _value = resultSet.getString(idx);
+                return _value == null ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader BIG_DECIMAL = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                BigDecimal _value = resultSet.getBigDecimal(idx);
+                return _value == null ? mapping.nullValue : _value;
+            }
+        };
+
+        static final ValueReader OBJECT = new ValueReader() {
+            @Override
+            Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException {
+                return BlurObject.bind(resultSet.getObject(idx)).toObjectValue(mapping.targetType);
+            }
+        };
+
+        abstract Object read(ResultSet resultSet, int idx, ColumnMapping mapping) throws SQLException;
+
+        /**
+         * @param targetType 成员属性类型
+         * @param sqlType    结果集字段类型
+         * @return 仅当字段类型可无损读取为成员属性类型时返回类型化读取器，否则退回getObject并由BlurObject转换
+         */
+        static ValueReader get(Class<?> targetType, int sqlType) {
+            if (int.class.equals(targetType) || Integer.class.equals(targetType)) {
+                if (__isInteger(sqlType) && sqlType != Types.BIGINT || __isDecimal(sqlType)) {
+                    return INT;
+                }
+            } else if (long.class.equals(targetType) || Long.class.equals(targetType)) {
+                if (__isInteger(sqlType) || __isDecimal(sqlType)) {
+                    return LONG;
+                }
+            } else if (double.class.equals(targetType) || Double.class.equals(targetType)) {
+                if (__isInteger(sqlType) || __isDecimal(sqlType) || __isFloat(sqlType)) {
+                    return DOUBLE;
+                }
+            } else if (float.class.equals(targetType) || Float.class.equals(targetType)) {
+                if (__isDecimal(sqlType) || __isFloat(sqlType)) {
+                    return FLOAT;
+                }
+            } else if (boolean.class.equals(targetType) || Boolean.class.equals(targetType)) {
+                if (sqlType == Types.BIT || sqlType == Types.BOOLEAN) {
+                    return BOOLEAN;
+                }
+            } else if (String.class.equals(targetType)) {
+                if (__isCharacter(sqlType)) {
+                    return STRING;
+                }
+            } else if (BigDecimal.class.equals(targetType)) {
+                if (__isDecimal(sqlType)) {
+                    return BIG_DECIMAL;
+                }
+            }
+            return OBJECT;
+        }
+
+        private static boolean __isInteger(int sqlType) {
+            return sqlType == Types.TINYINT || sqlType == Types.SMALLINT || sqlType == Types.INTEGER || sqlType == Types.BIGINT;
+        }
+
+        private static boolean __isDecimal(int sqlType) {
+            return sqlType == Types.NUMERIC || sqlType == Types.DECIMAL;
+        }
+
+        private static boolean __isFloat(int sqlType) {
+            return sqlType == Types.FLOAT || sqlType == Types.REAL || sqlType == Types.DOUBLE;
+        }
+
+        private static boolean __isCharacter(int sqlType) {
+            return sqlType == Types.CHAR || sqlType == Types.VARCHAR || sqlType == Types.LONGVARCHAR
+                    || sqlType == Types.NCHAR || sqlType == Types.NVARCHAR || sqlType == Types.LONGNVARCHAR;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base.impl;
+
+import net.ymate.platform.persistence.jdbc.base.AbstractResultSetHandler;
+import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+/**
+ * 窗口函数统计总记录数结果集数据处理接口实现，从结果集中提取COUNT(*) OVER()字段值，
+ * 并对原结果集数据处理对象屏蔽该字段(字段索引自动顺延)
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class WindowCountResultSetHandler<T> extends AbstractResultSetHandler<T> {
+
+    private final AbstractResultSetHandler<T> __delegate;
+
+    /**
+     * 总记录数字段索引(从1开始)
+     */
+    private int __totalIndex;
+
+    private long __total = -1;
+
+    private ResultSet __resultSetProxy;
+
+    public WindowCountResultSetHandler(AbstractResultSetHandler<T> delegate) {
+        __delegate = delegate;
+    }
+
+    @Override
+    public void prepare(ResultSet resultSet) throws SQLException {
+        super.prepare(resultSet);
+        __total = -1;
+        __totalIndex = -1;
+        for (int _idx = getColumnCount() - 1; _idx >= 0; _idx--) {
+            if (IDialect.WINDOW_COUNT_COLUMN.equalsIgnoreCase(getColumnMeta(_idx).getName())) {
+                __totalIndex = _idx + 1;
+                break;
+            }
+        }
+        if (__totalIndex < 0) {
+            throw new SQLException("Window count column '" + IDialect.WINDOW_COUNT_COLUMN + "' not found in the query result.");
+        }
+        __resultSetProxy = (ResultSet) __doCreateProxy(ResultSet.class, resultSet);
+        __delegate.prepare(__resultSetProxy);
+    }
+
+    @Override
+    protected T __doProcessResultRow(ResultSet resultSet) throws Exception {
+        if (__total < 0) {
+            __total = resultSet.getLong(__totalIndex);
+        }
+        return __delegate.processRow(__resultSetProxy);
+    }
+
+    /**
+     * @return 返回窗口函数统计的总记录数，结果集为空时返回-1
+     */
+    public long getTotal() {
+        return __total;
+    }
+
+    private Object __doCreateProxy(final Class<?> targetInterface, final Object target) {
+        return Proxy.newProxyInstance(targetInterface.getClassLoader(), new Class<?>[]{targetInterface}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                String _name = method.getName();
+                if (target instanceof ResultSetMetaData && "getColumnCount".equals(_name)) {
+                    return ((ResultSetMetaData) target).getColumnCount() - 1;
+                } else if (target instanceof ResultSet && "getMetaData".equals(_name)) {
+                    return __doCreateProxy(ResultSetMetaData.class, ((ResultSet) target).getMetaData());
+                } else if (target instanceof ResultSet && "findColumn".equals(_name)) {
+                    int _index = ((ResultSet) target).findColumn((String) args[0]);
+                    return _index > __totalIndex ? _index - 1 : _index;
+                }
+                // 元数据的全部方法及结果集的get/update方法首个int参数均为字段索引
+                if (args != null && args.length > 0 && args[0] instanceof Integer
+                        && (target instanceof ResultSetMetaData || _name.startsWith("get") || _name.startsWith("update"))) {
+                    int _index = (Integer) args[0];
+                    if (_index >= __totalIndex) {
+                        args[0] = _index + 1;
+                    }
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }
+        });
+    }
+}
@@ -22,16 +22,19 @@ import net.ymate.platform.persistence.IShardingRule;
 import net.ymate.platform.persistence.IShardingable;
 import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.base.IEntity;
+import net.ymate.platform.persistence.jdbc.query.Cond;
+import net.ymate.platform.persistence.jdbc.query.KeysetPage;
 import org.apache.commons.lang.StringUtils;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 数据库方言接口抽象实现
@@ -53,6 +56,26 @@ public abstract class AbstractDialect implements IDialect {
      */
     private String identifierQuoteEnd = "";
 
+    /**
+     * 实体SQL语句模板缓存数量上限
+     */
+    private static final int MAX_CACHED_TEMPLATES = 4096;
+
+    /**
+     * 实体SQL语句模板缓存，以操作类型、实体类、表前缀、分表名称及字段集合为键
+     */
+    private final ConcurrentMap<TemplateKey, String> __sqlTemplates = new ConcurrentHashMap<TemplateKey, String>();
+
+    /**
+     * 分表规则实例缓存
+     */
+    private final ConcurrentMap<Class<? extends IShardingRule>, IShardingRule> __shardingRules = new ConcurrentHashMap<Class<? extends IShardingRule>, IShardingRule>();
+
+    /**
+     * 当前数据库是否支持窗口函数的检测结果
+     */
+    private volatile Boolean __windowFunctionSupported;
+
     public AbstractDialect() {
     }
 
@@ -69,6 +92,8 @@ public abstract class AbstractDialect implements IDialect {
     public void setIdentifierQuote(String identifierQuoteBegin, String identifierQuoteEnd) {
         this.identifierQuoteBegin = StringUtils.trimToEmpty(identifierQuoteBegin);
         this.identifierQuoteEnd = StringUtils.trimToEmpty(identifierQuoteEnd);
+        // 引用标识符变化后已缓存的SQL语句模板将失效
+        __sqlTemplates.clear();
     }
 
     @Override
@@ -98,19 +123,190 @@ public abstract class AbstractDialect implements IDialect {
         return _ids;
     }
 
+    @Override
+    public List<Object> getGeneratedKeys(Statement statement, String autoincrementKey, int rows) throws SQLException {
+        List<Object> _ids = new ArrayList<Object>(rows);
+        ResultSet _keyRSet = statement.getGeneratedKeys();
+        try {
+            while (_ids.size() < rows && _keyRSet.next()) {
+                _ids.add(_keyRSet.getObject(autoincrementKey));
+            }
+        } finally {
+            _keyRSet.close();
+        }
+        return _ids;
+    }
+
     @Override
     public String getSequenceNextValSql(String sequenceName) {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Cond buildKeysetCond(KeysetPage keysetPage) {
+        List<String> _fields = keysetPage.fields();
+        Object[] _values = keysetPage.lastValues();
+        Cond _cond = Cond.create();
+        if (_fields.size() > 1 && keysetPage.isSameDirection() && __isRowValueComparisonSupported()) {
+            // 行值比较形式：(k1, k2) > (?, ?)
+            StringBuilder _fieldsSB = new StringBuilder();
+            StringBuilder _paramsSB = new StringBuilder();
+            for (int _idx = 0; _idx < _fields.size(); _idx++) {
+                if (_idx > 0) {
+                    _fieldsSB.append(", ");
+                    _paramsSB.append(", ");
+                }
+                _fieldsSB.append(__doWrapKeysetField(_fields.get(_idx)));
+                _paramsSB.append("?");
+                _cond.param(_values[_idx]);
+            }
+            _cond.cond("(" + _fieldsSB + ") " + (keysetPage.isDesc(0) ? "<" : ">") + " (" + _paramsSB + ")");
+        } else {
+            // 展开形式：(k1 > ?) OR (k1 = ? AND k2 > ?)，支持混合排序方向
+            for (int _idx = 0; _idx < _fields.size(); _idx++) {
+                if (_idx > 0) {
+                    _cond.or();
+                }
+                _cond.bracketBegin();
+                for (int _prev = 0; _prev < _idx; _prev++) {
+                    _cond.cond(__doWrapKeysetField(_fields.get(_prev)) + " = ?").param(_values[_prev]).and();
+                }
+                _cond.cond(__doWrapKeysetField(_fields.get(_idx)) + (keysetPage.isDesc(_idx) ? " < ?" : " > ?")).param(_values[_idx]);
+                _cond.bracketEnd();
+            }
+        }
+        return _cond;
+    }
+
+    /**
+     * @return 是否支持行值比较语法(如：(k1, k2) &gt; (?, ?))，默认为false
+     */
+    protected boolean __isRowValueComparisonSupported() {
+        return false;
+    }
+
+    private String __doWrapKeysetField(String field) {
+        if (StringUtils.contains(field, ".")) {
+            return StringUtils.substringBeforeLast(field, ".") + "." + wrapIdentifierQuote(StringUtils.substringAfterLast(field, "."));
+        }
+        return wrapIdentifierQuote(field);
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        return fetchSize > 0 ? fetchSize : 0;
+    }
+
+    @Override
+    public boolean isStreamingRequiresTransaction() {
+        return false;
+    }
+
     @Override
     public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
-        int _limit = ((page - 1) * pageSize);
-        if (pageSize == 0) {
-            return originSql.concat(" limit ").concat(Integer.toString(_limit));
+        return buildLimitQuerySQL(originSql, (page - 1) * pageSize, pageSize);
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
+        if (limit == 0) {
+            return originSql.concat(" limit ").concat(Integer.toString(offset));
         } else {
-            return originSql.concat(" limit ").concat(Integer.toString(_limit)).concat(", ").concat(Integer.toString(pageSize));
+            return originSql.concat(" limit ").concat(Integer.toString(offset)).concat(", ").concat(Integer.toString(limit));
+        }
+    }
+
+    @Override
+    public String buildWindowCountQuerySQL(String originSql) {
+        int _fromIdx = __doFindTopLevelFrom(originSql);
+        if (_fromIdx > 0) {
+            // 直接在原查询字段列表后追加窗口函数，避免子查询导致原排序失效
+            return originSql.substring(0, _fromIdx).concat(", COUNT(*) OVER() AS ").concat(WINDOW_COUNT_COLUMN).concat(" ").concat(originSql.substring(_fromIdx));
+        }
+        return __doBuildWrappedWindowCountQuerySQL(originSql);
+    }
+
+    protected String __doBuildWrappedWindowCountQuerySQL(String originSql) {
+        return "SELECT w_.*, COUNT(*) OVER() AS ".concat(WINDOW_COUNT_COLUMN).concat(" FROM (").concat(originSql).concat(") w_");
+    }
+
+    /**
+     * 查找查询语句中首层FROM关键字的位置，以下情况无法直接追加字段，返回-1：
+     * 非SELECT开头、SELECT DISTINCT、存在首层UNION/INTERSECT/EXCEPT/MINUS集合运算
+     *
+     * @param sql 查询语句
+     * @return 返回首层FROM关键字的位置
+     */
+    private int __doFindTopLevelFrom(String sql) {
+        String _upperSql = sql.toUpperCase();
+        int _begin = 0;
+        while (_begin < sql.length() && Character.isWhitespace(sql.charAt(_begin))) {
+            _begin++;
+        }
+        if (!_upperSql.startsWith("SELECT", _begin) || __isKeywordAt(_upperSql, _begin + 6, "DISTINCT", true)) {
+            return -1;
+        }
+        int _fromIdx = -1;
+        int _depth = 0;
+        char _quote = 0;
+        for (int _idx = _begin + 6; _idx < sql.length(); _idx++) {
+            char _c = sql.charAt(_idx);
+            if (_quote != 0) {
+                if (_c == _quote) {
+                    _quote = 0;
+                }
+            } else if (_c == '\'' || _c == '"' || _c == '`') {
+                _quote = _c;
+            } else if (_c == '(') {
+                _depth++;
+            } else if (_c == ')') {
+                _depth--;
+            } else if (_depth == 0) {
+                if (_fromIdx < 0 && __isKeywordAt(_upperSql, _idx, "FROM", false)) {
+                    _fromIdx = _idx;
+                } else if (__isKeywordAt(_upperSql, _idx, "UNION", false) || __isKeywordAt(_upperSql, _idx, "INTERSECT", false)
+                        || __isKeywordAt(_upperSql, _idx, "EXCEPT", false) || __isKeywordAt(_upperSql, _idx, "MINUS", false)) {
+                    return -1;
+                }
+            }
+        }
+        return _fromIdx;
+    }
+
+    private boolean __isKeywordAt(String upperSql, int idx, String keyword, boolean skipWhitespace) {
+        if (skipWhitespace) {
+            while (idx < upperSql.length() && Character.isWhitespace(upperSql.charAt(idx))) {
+                idx++;
+            }
+        } else if (idx > 0 && __isIdentifierChar(upperSql.charAt(idx - 1))) {
+            return false;
         }
+        int _end = idx + keyword.length();
+        return upperSql.startsWith(keyword, idx) && (_end >= upperSql.length() || !__isIdentifierChar(upperSql.charAt(_end)));
+    }
+
+    private boolean __isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    @Override
+    public boolean isWindowFunctionSupported(Connection connection) throws SQLException {
+        // 方言对象与数据源一一对应，检测结果在数据源生命周期内保持不变，避免每次分页查询均读取数据库元数据
+        Boolean _supported = __windowFunctionSupported;
+        if (_supported == null) {
+            _supported = __isWindowFunctionSupported(connection.getMetaData());
+            __windowFunctionSupported = _supported;
+        }
+        return _supported;
+    }
+
+    /**
+     * @param metaData 数据库元数据对象
+     * @return 返回当前数据库是否支持COUNT(*) OVER()窗口函数，默认为false
+     * @throws SQLException 可能产生的异常
+     */
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return false;
     }
 
     @Override
@@ -179,14 +375,46 @@ public abstract class AbstractDialect implements IDialect {
 
     @Override
     public String buildTableName(String prefix, EntityMeta entityMeta, IShardingable shardingable) {
-        String _entityName = entityMeta.getEntityName();
+        return this.wrapIdentifierQuote(StringUtils.defaultIfBlank(prefix, "").concat(StringUtils.defaultIfBlank(__doGetShardName(entityMeta, shardingable), entityMeta.getEntityName())));
+    }
+
+    /**
+     * @param entityMeta   实体元描述对象
+     * @param shardingable 分表参数对象
+     * @return 返回分表名称，未分表时返回null
+     */
+    private String __doGetShardName(EntityMeta entityMeta, IShardingable shardingable) {
         if (shardingable != null && entityMeta.getShardingRule() != null) {
-            IShardingRule _rule = ClassUtils.impl(entityMeta.getShardingRule().value(), IShardingRule.class);
-            if (_rule != null) {
-                _entityName = _rule.getShardName(entityMeta.getEntityName(), shardingable.getShardingParam());
+            Class<? extends IShardingRule> _ruleClass = entityMeta.getShardingRule().value();
+            IShardingRule _rule = __shardingRules.get(_ruleClass);
+            if (_rule == null) {
+                _rule = ClassUtils.impl(_ruleClass, IShardingRule.class);
+                if (_rule == null) {
+                    return null;
+                }
+                IShardingRule _exists = __shardingRules.putIfAbsent(_ruleClass, _rule);
+                if (_exists != null) {
+                    _rule = _exists;
+                }
             }
+            return _rule.getShardName(entityMeta.getEntityName(), shardingable.getShardingParam());
         }
-        return this.wrapIdentifierQuote(StringUtils.defaultIfBlank(prefix, "").concat(_entityName));
+        return null;
+    }
+
+    /**
+     * 从缓存中获取实体SQL语句模板，不存在时构建并缓存
+     */
+    private String __doGetTemplate(int operation, Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields, Fields fields, TemplateBuilder builder) {
+        TemplateKey _key = new TemplateKey(operation, entityClass, prefix, __doGetShardName(EntityMeta.createAndGet(entityClass), shardingable), pkFields, fields);
+        String _sql = __sqlTemplates.get(_key);
+        if (_sql == null) {
+            _sql = builder.build();
+            if (__sqlTemplates.size() < MAX_CACHED_TEMPLATES) {
+                __sqlTemplates.putIfAbsent(_key.copy(), _sql);
+            }
+        }
+        return _sql;
     }
 
     /**
@@ -213,7 +441,16 @@ public abstract class AbstractDialect implements IDialect {
     }
 
     @Override
-    public String buildInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
+    public String buildInsertSQL(final Class<? extends IEntity> entityClass, final String prefix, final IShardingable shardingable, final Fields fields) {
+        return __doGetTemplate(TemplateKey.INSERT, entityClass, prefix, shardingable, null, fields, new TemplateBuilder() {
+            @Override
+            public String build() {
+                return __doBuildInsertSQL(entityClass, prefix, shardingable, fields);
+            }
+        });
+    }
+
+    protected String __doBuildInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("INSERT INTO ${table_name} (${fields}) VALUES (${values})")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -229,7 +466,114 @@ public abstract class AbstractDialect implements IDialect {
     }
 
     @Override
-    public String buildDeleteByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields) {
+    public int getMaxMultiRowInsertRows() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isMultiRowGeneratedKeysSupported() {
+        return true;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public String buildMultiRowInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields, int rows) {
+        EntityMeta _meta = EntityMeta.createAndGet(entityClass);
+        return __doBuildMultiRowInsertSQL(_meta, prefix, shardingable, __doGetInsertFields(_meta, fields), rows).toString();
+    }
+
+    @Override
+    public String buildMultiRowUpsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields, int rows, Fields updateFields) {
+        EntityMeta _meta = EntityMeta.createAndGet(entityClass);
+        Fields _fields = __doGetInsertFields(_meta, fields);
+        Fields _updateFields = Fields.create();
+        if (updateFields == null || updateFields.fields().isEmpty()) {
+            for (String _field : _fields.fields()) {
+                if (!_meta.isPrimaryKey(_field)) {
+                    _updateFields.add(_field);
+                }
+            }
+        } else {
+            _updateFields.add(updateFields);
+            __doValidProperty(_meta, _updateFields, false);
+        }
+        return __doBuildMultiRowInsertSQL(_meta, prefix, shardingable, _fields, rows).append(__doBuildUpsertClause(_meta, _updateFields)).toString();
+    }
+
+    private Fields __doGetInsertFields(EntityMeta entityMeta, Fields fields) {
+        Fields _fields = Fields.create();
+        if (fields == null || fields.fields().isEmpty()) {
+            _fields.add(entityMeta.getPropertyNames());
+        } else {
+            _fields.add(fields);
+            __doValidProperty(entityMeta, _fields, false);
+        }
+        return _fields;
+    }
+
+    private StringBuilder __doBuildMultiRowInsertSQL(EntityMeta entityMeta, String prefix, IShardingable shardingable, Fields fields, int rows) {
+        if (rows > getMaxMultiRowInsertRows()) {
+            throw new UnsupportedOperationException("Multi-row insert of " + rows + " rows is not supported by " + getName() + " dialect.");
+        }
+        String _values = "(" + StringUtils.repeat("?", ", ", fields.fields().size()) + ")";
+        StringBuilder _sqlSB = new StringBuilder(64 + (_values.length() + 2) * rows)
+                .append("INSERT INTO ").append(buildTableName(prefix, entityMeta, shardingable))
+                .append(" (").append(__doGenerateFieldsFormatStr(fields, null, null)).append(") VALUES ");
+        for (int _idx = 0; _idx < rows; _idx++) {
+            if (_idx > 0) {
+                _sqlSB.append(", ");
+            }
+            _sqlSB.append(_values);
+        }
+        return _sqlSB;
+    }
+
+    /**
+     * @param entityMeta   数据实体属性描述对象
+     * @param updateFields 主键冲突时需要更新的字段名称集合(可能为空)
+     * @return 返回追加在多行插入语句之后的主键冲突处理子句，默认不支持
+     */
+    protected String __doBuildUpsertClause(EntityMeta entityMeta, Fields updateFields) {
+        throw new UnsupportedOperationException("Upsert is not supported by " + getName() + " dialect.");
+    }
+
+    /**
+     * @param entityMeta   数据实体属性描述对象
+     * @param updateFields 主键冲突时需要更新的字段名称集合(可能为空)
+     * @return 返回“ON CONFLICT (主键) DO UPDATE SET f = EXCLUDED.f”形式的主键冲突处理子句
+     */
+    protected String __doBuildOnConflictClause(EntityMeta entityMeta, Fields updateFields) {
+        if (updateFields.fields().isEmpty()) {
+            return " ON CONFLICT DO NOTHING";
+        }
+        StringBuilder _clauseSB = new StringBuilder(" ON CONFLICT (")
+                .append(__doGenerateFieldsFormatStr(Fields.create().add(entityMeta.getPrimaryKeys()), null, null)).append(") DO UPDATE SET ");
+        Iterator<String> _fieldsIt = updateFields.fields().iterator();
+        while (_fieldsIt.hasNext()) {
+            String _field = wrapIdentifierQuote(_fieldsIt.next());
+            _clauseSB.append(_field).append(" = EXCLUDED.").append(_field);
+            if (_fieldsIt.hasNext()) {
+                _clauseSB.append(", ");
+            }
+        }
+        return _clauseSB.toString();
+    }
+
+    @Override
+    public String buildDeleteByPkSQL(final Class<? extends IEntity> entityClass, final String prefix, final IShardingable shardingable, final Fields pkFields) {
+        return __doGetTemplate(TemplateKey.DELETE_BY_PK, entityClass, prefix, shardingable, pkFields, null, new TemplateBuilder() {
+            @Override
+            public String build() {
+                return __doBuildDeleteByPkSQL(entityClass, prefix, shardingable, pkFields);
+            }
+        });
+    }
+
+    protected String __doBuildDeleteByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("DELETE FROM ${table_name} WHERE ${pk}")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -245,7 +589,16 @@ public abstract class AbstractDialect implements IDialect {
     }
 
     @Override
-    public String buildUpdateByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields, Fields fields) {
+    public String buildUpdateByPkSQL(final Class<? extends IEntity> entityClass, final String prefix, final IShardingable shardingable, final Fields pkFields, final Fields fields) {
+        return __doGetTemplate(TemplateKey.UPDATE_BY_PK, entityClass, prefix, shardingable, pkFields, fields, new TemplateBuilder() {
+            @Override
+            public String build() {
+                return __doBuildUpdateByPkSQL(entityClass, prefix, shardingable, pkFields, fields);
+            }
+        });
+    }
+
+    protected String __doBuildUpdateByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields, Fields fields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("UPDATE ${table_name} SET ${fields} WHERE ${pk}")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -274,7 +627,16 @@ public abstract class AbstractDialect implements IDialect {
     }
 
     @Override
-    public String buildSelectByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields, Fields fields) {
+    public String buildSelectByPkSQL(final Class<? extends IEntity> entityClass, final String prefix, final IShardingable shardingable, final Fields pkFields, final Fields fields) {
+        return __doGetTemplate(TemplateKey.SELECT_BY_PK, entityClass, prefix, shardingable, pkFields, fields, new TemplateBuilder() {
+            @Override
+            public String build() {
+                return __doBuildSelectByPkSQL(entityClass, prefix, shardingable, pkFields, fields);
+            }
+        });
+    }
+
+    protected String __doBuildSelectByPkSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields pkFields, Fields fields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("SELECT ${fields} FROM ${table_name} WHERE ${pk}")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -295,7 +657,16 @@ public abstract class AbstractDialect implements IDialect {
     }
 
     @Override
-    public String buildSelectSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
+    public String buildSelectSQL(final Class<? extends IEntity> entityClass, final String prefix, final IShardingable shardingable, final Fields fields) {
+        return __doGetTemplate(TemplateKey.SELECT, entityClass, prefix, shardingable, null, fields, new TemplateBuilder() {
+            @Override
+            public String build() {
+                return __doBuildSelectSQL(entityClass, prefix, shardingable, fields);
+            }
+        });
+    }
+
+    protected String __doBuildSelectSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("SELECT ${fields} FROM ${table_name}")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -307,4 +678,90 @@ public abstract class AbstractDialect implements IDialect {
         }
         return _exp.set("fields", __doGenerateFieldsFormatStr(fields, null, null)).getResult();
     }
+
+    /**
+     * 实体SQL语句模板构建回调
+     */
+    private interface TemplateBuilder {
+        String build();
+    }
+
+    /**
+     * 实体SQL语句模板缓存键
+     */
+    private static class TemplateKey {
+
+        static final int INSERT = 1;
+
+        static final int DELETE_BY_PK = 2;
+
+        static final int UPDATE_BY_PK = 3;
+
+        static final int SELECT_BY_PK = 4;
+
+        static final int SELECT = 5;
+
+        private final int operation;
+
+        private final Class<?> entityClass;
+
+        private final String prefix;
+
+        private final String shardName;
+
+        private final List<String> pkFields;
+
+        private final List<String> fields;
+
+        private final int hashCode;
+
+        TemplateKey(int operation, Class<?> entityClass, String prefix, String shardName, Fields pkFields, Fields fields) {
+            this(operation, entityClass, prefix, shardName, pkFields == null ? null : pkFields.fields(), fields == null ? null : fields.fields());
+        }
+
+        private TemplateKey(int operation, Class<?> entityClass, String prefix, String shardName, List<String> pkFields, List<String> fields) {
+            this.operation = operation;
+            this.entityClass = entityClass;
+            this.prefix = StringUtils.trimToNull(prefix);
+            this.shardName = shardName;
+            this.pkFields = pkFields == null || pkFields.isEmpty() ? null : pkFields;
+            this.fields = fields == null || fields.isEmpty() ? null : fields;
+            int _hash = operation;
+            _hash = 31 * _hash + entityClass.hashCode();
+            _hash = 31 * _hash + (this.prefix != null ? this.prefix.hashCode() : 0);
+            _hash = 31 * _hash + (shardName != null ? shardName.hashCode() : 0);
+            _hash = 31 * _hash + (this.pkFields != null ? this.pkFields.hashCode() : 0);
+            _hash = 31 * _hash + (this.fields != null ? this.fields.hashCode() : 0);
+            this.hashCode = _hash;
+        }
+
+        /**
+         * @return 返回字段集合为不可变副本的缓存键，用于放入缓存(调用方传入的字段集合可能被修改)
+         */
+        TemplateKey copy() {
+            return new TemplateKey(operation, entityClass, prefix, shardName,
+                    pkFields == null ? null : Collections.unmodifiableList(new ArrayList<String>(pkFields)),
+                    fields == null ? null : Collections.unmodifiableList(new ArrayList<String>(fields)));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TemplateKey)) {
+                return false;
+            }
+            TemplateKey _other = (TemplateKey) obj;
+            return operation == _other.operation && entityClass == _other.entityClass
+                    && StringUtils.equals(prefix, _other.prefix) && StringUtils.equals(shardName, _other.shardName)
+                    && (pkFields == null ? _other.pkFields == null : pkFields.equals(_other.pkFields))
+                    && (fields == null ? _other.fields == null : fields.equals(_other.fields));
+        }
+    }
 }
@@ -19,7 +19,10 @@ import net.ymate.platform.persistence.Fields;
 import net.ymate.platform.persistence.IShardingable;
 import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.base.IEntity;
+import net.ymate.platform.persistence.jdbc.query.Cond;
+import net.ymate.platform.persistence.jdbc.query.KeysetPage;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
@@ -33,6 +36,11 @@ import java.util.Map;
  */
 public interface IDialect {
 
+    /**
+     * 窗口函数方式统计总记录数时使用的字段别名
+     */
+    String WINDOW_COUNT_COLUMN = "ymp_total_";
+
     /**
      * @return 返回方言名称
      */
@@ -75,6 +83,15 @@ public interface IDialect {
      */
     Map<String, Object> getGeneratedKey(Statement statement, List<String> autoincrementKeys) throws SQLException;
 
+    /**
+     * @param statement        Statement对象
+     * @param autoincrementKey 自增字段名称
+     * @param rows             本次插入的记录行数
+     * @return 按插入顺序返回多行插入时自动生成的主键值集合（仅处理单主键）
+     * @throws SQLException 可能产生的异常
+     */
+    List<Object> getGeneratedKeys(Statement statement, String autoincrementKey, int rows) throws SQLException;
+
     /**
      * @param sequenceName 序列名称
      * @return 返回获取下一序列值的SQL语句
@@ -89,6 +106,44 @@ public interface IDialect {
      */
     String buildPagedQuerySQL(String originSql, int page, int pageSize);
 
+    /**
+     * @param originSql 原SQL语句
+     * @param offset    跳过的记录数
+     * @param limit     返回的最大记录数
+     * @return 返回限定记录范围的SQL语句
+     */
+    String buildLimitQuerySQL(String originSql, int offset, int limit);
+
+    /**
+     * @param originSql 原SQL语句
+     * @return 返回在查询结果中附加COUNT(*) OVER()总记录数字段(字段别名为WINDOW_COUNT_COLUMN)的SQL语句
+     */
+    String buildWindowCountQuerySQL(String originSql);
+
+    /**
+     * @param connection 数据库连接对象(仅在首次检测时读取其元数据，检测结果将被缓存)
+     * @return 返回当前数据库是否支持COUNT(*) OVER()窗口函数
+     * @throws SQLException 可能产生的异常
+     */
+    boolean isWindowFunctionSupported(Connection connection) throws SQLException;
+
+    /**
+     * @param keysetPage 键集分页参数对象(须已设置上一页最后一条记录的键值)
+     * @return 返回用于定位下一页数据的条件对象，如：(k1, k2) &gt; (?, ?) 或等价的展开形式
+     */
+    Cond buildKeysetCond(KeysetPage keysetPage);
+
+    /**
+     * @param fetchSize 期望每次从数据库获取的记录数
+     * @return 返回以游标方式流式读取结果集时语句对象实际应设置的FetchSize值，为0表示不设置
+     */
+    int getStreamingFetchSize(int fetchSize);
+
+    /**
+     * @return 返回以游标方式流式读取结果集时是否必须处于非自动提交模式(即事务中)
+     */
+    boolean isStreamingRequiresTransaction();
+
     /**
      * @param entityClass  实体模型类
      * @param prefix       实体名称前缀
@@ -114,6 +169,42 @@ public interface IDialect {
      */
     String buildInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields);
 
+    /**
+     * @return 返回单条多行插入语句允许的最大记录行数，为0表示不支持多行VALUES插入
+     */
+    int getMaxMultiRowInsertRows();
+
+    /**
+     * @return 判断多行插入或批量插入时能否按记录顺序返回每行自动生成的主键值，若不能则含自增主键的实体将逐条插入以获取主键
+     */
+    boolean isMultiRowGeneratedKeysSupported();
+
+    /**
+     * @return 返回单条SQL语句允许绑定的最大参数数量
+     */
+    int getMaxParameterCount();
+
+    /**
+     * @param entityClass  实体模模型类
+     * @param prefix       实体名称前缀
+     * @param shardingable 分片(表)参数对象
+     * @param fields       字段名称集合，可选参数，若不指定则包括全部字段
+     * @param rows         记录行数
+     * @return 返回插入多行实体数据记录SQL语句，如：INSERT INTO t (a, b) VALUES (?, ?), (?, ?)
+     */
+    String buildMultiRowInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields, int rows);
+
+    /**
+     * @param entityClass  实体模模型类
+     * @param prefix       实体名称前缀
+     * @param shardingable 分片(表)参数对象
+     * @param fields       字段名称集合，可选参数，若不指定则包括全部字段
+     * @param rows         记录行数
+     * @param updateFields 主键冲突时需要更新的字段名称集合，可选参数，若不指定则包括除主键外的全部插入字段
+     * @return 返回插入多行实体数据记录且主键冲突时更新已存在记录的SQL语句，当前数据库不支持时将抛出UnsupportedOperationException异常
+     */
+    String buildMultiRowUpsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields, int rows, Fields updateFields);
+
     /**
      * @param entityClass  实体模模型类
      * @param prefix       实体名称前缀
@@ -19,6 +19,9 @@ import net.ymate.platform.core.util.ExpressionUtils;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
 /**
  * DB2数据库方言接口实现
  *
@@ -33,11 +36,26 @@ public class DB2Dialect extends AbstractDialect {
     }
 
     @Override
-    public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
-        int _limit = ((page - 1) * pageSize);
-        return ExpressionUtils.bind("SELECT * FROM (SELECT ROW_NUMBER() OVER() AS __rn__, __row__.* FROM (${_sql}) AS __row__) WHERE __rn__ BETWEEN ${_limit} AND ${_offset}")
-                .set("_limit", _limit + pageSize + "")
+    protected boolean __isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
+        return ExpressionUtils.bind("SELECT * FROM (SELECT ROW_NUMBER() OVER() AS __rn__, __row__.* FROM (${_sql}) AS __row__) WHERE __rn__ BETWEEN ${_offset} AND ${_limit}")
+                .set("_limit", offset + limit + "")
                 .set("_sql", originSql)
-                .set("_offset", _limit + "").getResult();
+                .set("_offset", offset + 1 + "").getResult();
+    }
+
+    @Override
+    public String buildWindowCountQuerySQL(String originSql) {
+        // DB2不支持在未限定的*字段后追加其它字段，统一采用子查询方式
+        return __doBuildWrappedWindowCountQuerySQL(originSql);
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return true;
     }
 }
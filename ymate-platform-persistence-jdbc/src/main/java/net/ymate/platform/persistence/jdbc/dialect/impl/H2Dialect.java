@@ -18,6 +18,9 @@ package net.ymate.platform.persistence.jdbc.dialect.impl;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
 /**
  * H2数据库方言接口实现
  *
@@ -30,4 +33,14 @@ public class H2Dialect extends AbstractDialect {
     public String getName() {
         return JDBC.DATABASE.H2.name();
     }
+
+    @Override
+    protected boolean __isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return true;
+    }
 }
@@ -32,12 +32,16 @@ public class HSQLDBDialect extends AbstractDialect {
     }
 
     @Override
-    public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
-        int _limit = ((page - 1) * pageSize);
-        if (pageSize == 0) {
-            return originSql.concat(" limit ").concat(Integer.toString(_limit));
+    protected boolean __isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
+        if (limit == 0) {
+            return originSql.concat(" limit ").concat(Integer.toString(offset));
         } else {
-            return originSql.concat(" limit ").concat(Integer.toString(pageSize)).concat(" offset ").concat(Integer.toString(_limit));
+            return originSql.concat(" limit ").concat(Integer.toString(limit)).concat(" offset ").concat(Integer.toString(offset));
         }
     }
 }
@@ -16,6 +16,7 @@
 package net.ymate.platform.persistence.jdbc.dialect.impl;
 
 import net.ymate.platform.core.util.ExpressionUtils;
+import net.ymate.platform.persistence.Fields;
 import net.ymate.platform.persistence.IShardingable;
 import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.base.IEntity;
@@ -24,9 +25,12 @@ import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 import org.apache.commons.lang.StringUtils;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -46,6 +50,50 @@ public class MySQLDialect extends AbstractDialect {
         return JDBC.DATABASE.MYSQL.name();
     }
 
+    @Override
+    protected boolean __isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        // MySQL驱动仅在FetchSize为Integer.MIN_VALUE时逐行流式读取，否则将一次性加载全部结果集
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        // MySQL自8.0版本、MariaDB自10.2版本开始支持窗口函数
+        if (StringUtils.containsIgnoreCase(metaData.getDatabaseProductVersion(), "MariaDB")) {
+            return metaData.getDatabaseMajorVersion() > 10 || (metaData.getDatabaseMajorVersion() == 10 && metaData.getDatabaseMinorVersion() >= 2);
+        }
+        return metaData.getDatabaseMajorVersion() >= 8;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 65535;
+    }
+
+    @Override
+    protected String __doBuildUpsertClause(EntityMeta entityMeta, Fields updateFields) {
+        StringBuilder _clauseSB = new StringBuilder(" ON DUPLICATE KEY UPDATE ");
+        if (updateFields.fields().isEmpty()) {
+            // 无可更新字段时以主键自身赋值, 即忽略已存在的记录
+            String _pk = wrapIdentifierQuote(entityMeta.getPrimaryKeys().get(0));
+            return _clauseSB.append(_pk).append(" = ").append(_pk).toString();
+        }
+        Iterator<String> _fieldsIt = updateFields.fields().iterator();
+        while (_fieldsIt.hasNext()) {
+            String _field = wrapIdentifierQuote(_fieldsIt.next());
+            _clauseSB.append(_field).append(" = VALUES(").append(_field).append(")");
+            if (_fieldsIt.hasNext()) {
+                _clauseSB.append(", ");
+            }
+        }
+        return _clauseSB.toString();
+    }
+
     @Override
     public String buildCreateSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
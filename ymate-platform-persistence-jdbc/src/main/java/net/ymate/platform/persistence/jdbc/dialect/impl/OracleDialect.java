@@ -24,6 +24,9 @@ import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 import org.apache.commons.lang.StringUtils;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
 /**
  * Oracle数据库方言接口实现
  *
@@ -46,7 +49,7 @@ public class OracleDialect extends AbstractDialect {
     }
 
     @Override
-    public String buildInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
+    protected String __doBuildInsertSQL(Class<? extends IEntity> entityClass, String prefix, IShardingable shardingable, Fields fields) {
         EntityMeta _meta = EntityMeta.createAndGet(entityClass);
         ExpressionUtils _exp = ExpressionUtils.bind("INSERT INTO ${table_name} (${fields}) VALUES (${values})")
                 .set("table_name", buildTableName(prefix, _meta, shardingable));
@@ -71,15 +74,31 @@ public class OracleDialect extends AbstractDialect {
     }
 
     @Override
-    public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
+    public int getMaxMultiRowInsertRows() {
+        // Oracle不支持多行VALUES插入语法
+        return 0;
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
         StringBuilder _returnValue = new StringBuilder(originSql.length() + 100);
-        int _limit = ((page - 1) * pageSize);
-        if (pageSize == 0) {
-            _returnValue.append("SELECT * FROM ( ").append(originSql).append(" ) WHERE rownum <= ").append(Integer.toString(_limit));
+        if (limit == 0) {
+            _returnValue.append("SELECT * FROM ( ").append(originSql).append(" ) WHERE rownum <= ").append(Integer.toString(offset));
         } else {
             _returnValue.append("SELECT * FROM ( SELECT row_.*, rownum rownum_ FROM ( ").append(originSql);
-            _returnValue.append(" ) row_ ) WHERE rownum_ > ").append(Integer.toString(_limit)).append(" AND rownum_ <= ").append(Integer.toString(_limit + pageSize));
+            _returnValue.append(" ) row_ ) WHERE rownum_ > ").append(Integer.toString(offset)).append(" AND rownum_ <= ").append(Integer.toString(offset + limit));
         }
         return _returnValue.toString();
     }
+
+    @Override
+    public String buildWindowCountQuerySQL(String originSql) {
+        // Oracle不支持在未限定的*字段后追加其它字段，且分页本身即基于子查询，统一采用子查询方式
+        return __doBuildWrappedWindowCountQuerySQL(originSql);
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return true;
+    }
 }
@@ -15,9 +15,14 @@
  */
 package net.ymate.platform.persistence.jdbc.dialect.impl;
 
+import net.ymate.platform.persistence.Fields;
+import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
 /**
  * PostgreSQL数据库方言接口实现
  *
@@ -36,12 +41,37 @@ public class PostgreSQLDialect extends AbstractDialect {
     }
 
     @Override
-    public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
-        int _limit = ((page - 1) * pageSize);
-        if (pageSize == 0) {
-            return originSql.concat(" limit ").concat(Integer.toString(_limit));
+    protected boolean __isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public int getStreamingFetchSize(int fetchSize) {
+        // PostgreSQL驱动在FetchSize为0时将一次性加载全部结果集，此处给出默认值
+        return fetchSize > 0 ? fetchSize : 1000;
+    }
+
+    @Override
+    public boolean isStreamingRequiresTransaction() {
+        return true;
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return true;
+    }
+
+    @Override
+    protected String __doBuildUpsertClause(EntityMeta entityMeta, Fields updateFields) {
+        return __doBuildOnConflictClause(entityMeta, updateFields);
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
+        if (limit == 0) {
+            return originSql.concat(" limit ").concat(Integer.toString(offset));
         } else {
-            return originSql.concat(" limit ").concat(Integer.toString(pageSize)).concat(" offset ").concat(Integer.toString(_limit));
+            return originSql.concat(" limit ").concat(Integer.toString(limit)).concat(" offset ").concat(Integer.toString(offset));
         }
     }
 
@@ -19,6 +19,9 @@ import net.ymate.platform.core.util.ExpressionUtils;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
 /**
  * SQLServer2005及以上数据库方言接口实现
  *
@@ -37,13 +40,34 @@ public class SQLServerDialect extends AbstractDialect {
     }
 
     @Override
-    public String buildPagedQuerySQL(String originSql, int page, int pageSize) {
-        int _limit = ((page - 1) * pageSize);
+    public int getMaxMultiRowInsertRows() {
+        // SQL Server单条INSERT语句的VALUES子句最多1000行, 且参数数量不能超过2100个
+        return 1000;
+    }
+
+    @Override
+    public boolean isMultiRowGeneratedKeysSupported() {
+        // 多行INSERT或批处理执行后仅返回最后一个IDENTITY值
+        return false;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 2000;
+    }
+
+    @Override
+    public String buildLimitQuerySQL(String originSql, int offset, int limit) {
         boolean _position = originSql.toUpperCase().indexOf("SELECT") == originSql.toUpperCase().indexOf("SELECT DISTINCT");
         String _tmpSQL = originSql.substring((_position ? 15 : 6));
         return ExpressionUtils.bind("SELECT * FROM (SELECT ROW_NUMBER() OVER(ORDER BY __tc__) __rn__, * FROM (SELECT TOP ${_limit} 0 __tc__, ${_sql}) t) tt WHERE __rn__ > ${_offset}")
-                .set("_limit", _limit + pageSize + "")
+                .set("_limit", offset + limit + "")
                 .set("_sql", _tmpSQL)
-                .set("_offset", _limit + "").getResult();
+                .set("_offset", offset + "").getResult();
+    }
+
+    @Override
+    protected boolean __isWindowFunctionSupported(DatabaseMetaData metaData) throws SQLException {
+        return true;
     }
 }
@@ -15,9 +15,17 @@
  */
 package net.ymate.platform.persistence.jdbc.dialect.impl;
 
+import net.ymate.platform.persistence.Fields;
+import net.ymate.platform.persistence.base.EntityMeta;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.dialect.AbstractDialect;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * SQLite数据库方言接口实现
  *
@@ -30,4 +38,40 @@ public class SQLiteDialect extends AbstractDialect {
     public String getName() {
         return JDBC.DATABASE.SQLITE.name();
     }
+
+    @Override
+    public List<Object> getGeneratedKeys(Statement statement, String autoincrementKey, int rows) throws SQLException {
+        // SQLite驱动仅返回最后插入记录的ROWID, 由于写操作独占数据库, 单条语句插入的多行记录ROWID连续, 据此反推各行主键值
+        List<Object> _ids = new ArrayList<Object>(rows);
+        ResultSet _keyRSet = statement.getGeneratedKeys();
+        try {
+            if (_keyRSet.next()) {
+                long _lastId = _keyRSet.getLong(1);
+                for (int _idx = rows - 1; _idx >= 0; _idx--) {
+                    _ids.add(_lastId - _idx);
+                }
+            }
+        } finally {
+            _keyRSet.close();
+        }
+        return _ids;
+    }
+
+    @Override
+    public int getMaxMultiRowInsertRows() {
+        // 早期版本中多行VALUES按复合查询处理, 受SQLITE_MAX_COMPOUND_SELECT(默认500)限制
+        return 500;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        // SQLITE_MAX_VARIABLE_NUMBER在3.32.0之前默认为999
+        return 999;
+    }
+
+    @Override
+    protected String __doBuildUpsertClause(EntityMeta entityMeta, Fields updateFields) {
+        // 自3.24.0版本开始支持
+        return __doBuildOnConflictClause(entityMeta, updateFields);
+    }
 }
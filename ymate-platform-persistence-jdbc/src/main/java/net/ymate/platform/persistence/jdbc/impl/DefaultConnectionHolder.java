@@ -19,6 +19,8 @@ import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
 import net.ymate.platform.persistence.jdbc.IConnectionHolder;
 import net.ymate.platform.persistence.jdbc.IDataSourceAdapter;
 import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import net.ymate.platform.persistence.jdbc.support.QueryMetrics;
+import net.ymate.platform.persistence.jdbc.support.StatementCache;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -35,10 +37,17 @@ public class DefaultConnectionHolder implements IConnectionHolder {
 
     private Connection __conn;
 
+    private StatementCache __statementCache;
+
     public DefaultConnectionHolder(IDataSourceAdapter dsAdapter) throws Exception {
         __dsAdapter = dsAdapter;
         if (__dsAdapter.tryInitializeIfNeed()) {
             __conn = dsAdapter.getConnection();
+            //
+            int _cacheSize = __dsAdapter.getDataSourceCfgMeta().getStatementCacheSize();
+            if (__conn != null && _cacheSize > 0) {
+                __statementCache = new StatementCache(__conn, _cacheSize);
+            }
         }
     }
 
@@ -52,8 +61,21 @@ public class DefaultConnectionHolder implements IConnectionHolder {
         return __conn;
     }
 
+    @Override
+    public StatementCache getStatementCache() {
+        return __statementCache;
+    }
+
+    @Override
+    public QueryMetrics getQueryMetrics() {
+        return __dsAdapter.getQueryMetrics();
+    }
+
     @Override
     public void release() {
+        if (__statementCache != null) {
+            __statementCache.close();
+        }
         try {
             if (this.__conn != null && !this.__conn.isClosed()) {
                 this.__conn.close();
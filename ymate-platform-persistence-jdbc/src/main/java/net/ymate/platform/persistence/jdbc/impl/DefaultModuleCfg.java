@@ -20,12 +20,17 @@ import net.ymate.platform.core.lang.BlurObject;
 import net.ymate.platform.core.support.IPasswordProcessor;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.core.util.RuntimeUtils;
+import net.ymate.platform.persistence.Page;
 import net.ymate.platform.persistence.jdbc.*;
+import net.ymate.platform.persistence.jdbc.support.ReadWriteRouter;
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
 import org.apache.commons.lang.StringUtils;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,12 +47,16 @@ public class DefaultModuleCfg implements IDatabaseModuleCfg {
 
     private final Map<String, DataSourceCfgMeta> dataSourceCfgMetas;
 
+    private final TransactionCfgMeta transactionCfgMeta;
+
     public DefaultModuleCfg(YMP owner) throws Exception {
         this.owner = owner;
         Map<String, String> _moduleCfgs = owner.getConfig().getModuleConfigs(IDatabase.MODULE_NAME);
         //
         this.dataSourceDefaultName = StringUtils.defaultIfBlank(_moduleCfgs.get("ds_default_name"), "default");
         //
+        this.transactionCfgMeta = __doParserTransactionCfgMeta(_moduleCfgs);
+        //
         this.dataSourceCfgMetas = new HashMap<String, DataSourceCfgMeta>();
         String _dsNameStr = StringUtils.defaultIfBlank(_moduleCfgs.get("ds_name_list"), "default");
         if (StringUtils.contains(_dsNameStr, this.dataSourceDefaultName)) {
@@ -63,6 +72,38 @@ public class DefaultModuleCfg implements IDatabaseModuleCfg {
         }
     }
 
+    /**
+     * @param _moduleCfgs 模块配置参数映射
+     * @return 分析并封装多数据源事务提交配置
+     * @throws Exception 可能产生的异常
+     */
+    @SuppressWarnings("unchecked")
+    private TransactionCfgMeta __doParserTransactionCfgMeta(Map<String, String> _moduleCfgs) throws Exception {
+        TransactionCfgMeta _meta = new TransactionCfgMeta();
+        _meta.setParallelCommit(new BlurObject(_moduleCfgs.get("transaction_parallel_commit")).toBooleanValue());
+        // 提交顺序分组, 格式: 数据源名称[,数据源名称]|...
+        for (String _group : StringUtils.split(StringUtils.trimToEmpty(_moduleCfgs.get("transaction_commit_order")), "|")) {
+            List<String> _dsNames = new ArrayList<String>();
+            for (String _dsName : StringUtils.split(_group, ",")) {
+                if (StringUtils.isNotBlank(_dsName)) {
+                    _dsNames.add(_dsName.trim());
+                }
+            }
+            if (!_dsNames.isEmpty()) {
+                _meta.getCommitOrder().add(_dsNames);
+            }
+        }
+        if (StringUtils.isNotBlank(_moduleCfgs.get("transaction_commit_timeout"))) {
+            _meta.setCommitTimeout(new BlurObject(_moduleCfgs.get("transaction_commit_timeout")).toLongValue());
+        }
+        String _logClass = _moduleCfgs.get("transaction_log_class");
+        if (StringUtils.isNotBlank(_logClass)) {
+            _meta.setLogClass((Class<? extends ITransactionLog>) ClassUtils.loadClass(_logClass.trim(), this.getClass()));
+        }
+        _meta.setLogDir(StringUtils.trimToNull(_moduleCfgs.get("transaction_log_dir")));
+        return _meta;
+    }
+
     /**
      * @param dsName      数据源名称
      * @param _moduleCfgs 模块配置参数映射
@@ -85,6 +126,59 @@ public class DefaultModuleCfg implements IDatabaseModuleCfg {
                 _meta.setIsStackTraces(new BlurObject(_dataSourceCfgs.get("stack_traces")).toBooleanValue());
                 _meta.setStackTraceDepth(new BlurObject(_dataSourceCfgs.get("stack_trace_depth")).toIntValue());
                 _meta.setStackTracePackage(_dataSourceCfgs.get("stack_trace_package"));
+                _meta.setStatementCacheSize(new BlurObject(_dataSourceCfgs.get("statement_cache_size")).toIntValue());
+                String _pageCountStrategy = _dataSourceCfgs.get("page_count_strategy");
+                if (StringUtils.isNotBlank(_pageCountStrategy)) {
+                    _meta.setPageCountStrategy(Page.CountStrategy.valueOf(_pageCountStrategy.trim().toUpperCase()));
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("page_count_cache_timeout"))) {
+                    _meta.setPageCountCacheTimeout(new BlurObject(_dataSourceCfgs.get("page_count_cache_timeout")).toIntValue());
+                }
+                // 读写分离从库, 格式: 数据源名称[:权重]|...
+                String[] _replicas = StringUtils.split(StringUtils.trimToEmpty(_dataSourceCfgs.get("replicas")), "|");
+                for (String _replica : _replicas) {
+                    String[] _replicaParts = StringUtils.split(_replica, ":");
+                    if (_replicaParts.length > 0 && StringUtils.isNotBlank(_replicaParts[0])) {
+                        _meta.getReplicas().put(_replicaParts[0].trim(), _replicaParts.length > 1 ? new BlurObject(_replicaParts[1].trim()).toIntValue() : 1);
+                    }
+                }
+                String _replicaStrategy = _dataSourceCfgs.get("replica_strategy");
+                if (StringUtils.isNotBlank(_replicaStrategy)) {
+                    _meta.setReplicaStrategy(ReadWriteRouter.Strategy.valueOf(_replicaStrategy.trim().toUpperCase()));
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("replica_sticky_time"))) {
+                    _meta.setReplicaStickyTime(new BlurObject(_dataSourceCfgs.get("replica_sticky_time")).toLongValue());
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("replica_retry_interval"))) {
+                    _meta.setReplicaRetryInterval(new BlurObject(_dataSourceCfgs.get("replica_retry_interval")).toLongValue());
+                }
+                // 查询结果缓存
+                _meta.setQueryCacheEnabled(new BlurObject(_dataSourceCfgs.get("query_cache_enabled")).toBooleanValue());
+                String _queryCacheClass = _dataSourceCfgs.get("query_cache_class");
+                if (StringUtils.isNotBlank(_queryCacheClass)) {
+                    _meta.setQueryCacheClass((Class<? extends IQueryCache>) ClassUtils.loadClass(_queryCacheClass.trim(), this.getClass()));
+                }
+                for (String _table : StringUtils.split(StringUtils.trimToEmpty(_dataSourceCfgs.get("query_cache_tables")), "|")) {
+                    if (StringUtils.isNotBlank(_table)) {
+                        _meta.getQueryCacheTables().add(_table.trim().toLowerCase());
+                    }
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("query_cache_timeout"))) {
+                    _meta.setQueryCacheTimeout(new BlurObject(_dataSourceCfgs.get("query_cache_timeout")).toIntValue());
+                }
+                _meta.setQueryCacheCopyOnRead(new BlurObject(_dataSourceCfgs.get("query_cache_copy_on_read")).toBooleanValue());
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("async_max_concurrency"))) {
+                    _meta.setAsyncMaxConcurrency(new BlurObject(_dataSourceCfgs.get("async_max_concurrency")).toIntValue());
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("metrics_enabled"))) {
+                    _meta.setMetricsEnabled(new BlurObject(_dataSourceCfgs.get("metrics_enabled")).toBooleanValue());
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("slow_query_threshold"))) {
+                    _meta.setSlowQueryThreshold(new BlurObject(_dataSourceCfgs.get("slow_query_threshold")).toLongValue());
+                }
+                if (StringUtils.isNotBlank(_dataSourceCfgs.get("slow_query_log_interval"))) {
+                    _meta.setSlowQueryLogInterval(new BlurObject(_dataSourceCfgs.get("slow_query_log_interval")).toLongValue());
+                }
                 _meta.setTablePrefix(_dataSourceCfgs.get("table_prefix"));
                 _meta.setIdentifierQuote(_dataSourceCfgs.get("identifier_quote"));
                 // 数据源适配器
@@ -110,6 +204,7 @@ public class DefaultModuleCfg implements IDatabaseModuleCfg {
                 _meta.setDriverClass(StringUtils.defaultIfBlank(_dataSourceCfgs.get("driver_class"), JDBC.DB_DRIVERS.get(_meta.getType())));
                 _meta.setPassword(_dataSourceCfgs.get("password"));
                 _meta.setIsPasswordEncrypted(new BlurObject(_dataSourceCfgs.get("password_encrypted")).toBooleanValue());
+                _meta.setParams(RuntimeUtils.keyStartsWith(_dataSourceCfgs, "params."));
                 //
                 String _passwordClass = _dataSourceCfgs.get("password_class");
                 if (_meta.isPasswordEncrypted()
@@ -141,6 +236,11 @@ public class DefaultModuleCfg implements IDatabaseModuleCfg {
         return dataSourceCfgMetas.get(dataSourceDefaultName);
     }
 
+    @Override
+    public TransactionCfgMeta getTransactionCfg() {
+        return transactionCfgMeta;
+    }
+
     @Override
     public DataSourceCfgMeta getDataSourceCfg(String name) {
         return dataSourceCfgMetas.get(name);
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.impl;
+
+import net.ymate.platform.core.serialize.ISerializer;
+import net.ymate.platform.persistence.Page;
+import net.ymate.platform.persistence.impl.DefaultResultSet;
+import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
+import net.ymate.platform.persistence.jdbc.IQueryCache;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 默认查询结果缓存存储(基于内存)，缓存项在有效时间后失效，数量超出上限时淘汰最久未被访问的缓存项<br>
+ * 查询结果在放入缓存时复制一份快照(无法序列化的查询结果将不被缓存)，默认由全部命中者共享该快照，其结果集数据列表不可修改，调用者不应修改其中的实体对象；
+ * 开启读时复制(query_cache_copy_on_read)后，每次命中均反序列化出独立的对象
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class DefaultQueryCache implements IQueryCache {
+
+    private static final Log _LOG = LogFactory.getLog(DefaultQueryCache.class);
+
+    /**
+     * 缓存项数量上限，超出时淘汰最久未被访问的缓存项
+     */
+    private static final int MAX_CACHED_RESULTS = 4096;
+
+    /**
+     * 按访问顺序排列的缓存项，所有访问均需在其自身上同步
+     */
+    private final Map<String, Entry> __results = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DefaultQueryCache.Entry> eldest) {
+            return size() > MAX_CACHED_RESULTS;
+        }
+    };
+
+    private long __timeout;
+
+    private boolean __copyOnRead;
+
+    @Override
+    public void initialize(DataSourceCfgMeta cfgMeta) throws Exception {
+        __timeout = cfgMeta.getQueryCacheTimeout() * 1000L;
+        __copyOnRead = cfgMeta.isQueryCacheCopyOnRead();
+    }
+
+    @Override
+    public Object get(String key) {
+        Entry _entry;
+        synchronized (__results) {
+            _entry = __results.get(key);
+            if (_entry == null) {
+                return null;
+            }
+            if (_entry.expireTime > 0 && _entry.expireTime <= System.currentTimeMillis()) {
+                __results.remove(key);
+                return null;
+            }
+        }
+        try {
+            return _entry.restore();
+        } catch (Exception e) {
+            _LOG.warn("Failed to restore cached query result: " + key, e);
+        }
+        synchronized (__results) {
+            if (__results.get(key) == _entry) {
+                __results.remove(key);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(String key, Object value) {
+        Entry _entry;
+        try {
+            _entry = Entry.create(value, __timeout > 0 ? System.currentTimeMillis() + __timeout : 0, __copyOnRead);
+        } catch (Exception e) {
+            if (_LOG.isDebugEnabled()) {
+                _LOG.debug("Query result is not serializable, skip caching: " + key, e);
+            }
+            return;
+        }
+        if (_entry == null) {
+            return;
+        }
+        synchronized (__results) {
+            __results.put(key, _entry);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        synchronized (__results) {
+            __results.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (__results) {
+            __results.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+    }
+
+    private static class Entry {
+
+        /**
+         * 查询结果(若为结果集则仅为结果集数据)的序列化数据，仅在读时复制时保留
+         */
+        byte[] data;
+
+        /**
+         * 放入缓存时复制的查询结果快照，未开启读时复制时由全部命中者共享
+         */
+        Object snapshot;
+
+        /**
+         * 是否为结果集对象，若是则以下分页信息有效
+         */
+        final boolean resultSet;
+
+        int pageNumber;
+
+        int pageSize;
+
+        long recordCount;
+
+        boolean hasNextPage;
+
+        Page.CountStrategy countStrategy;
+
+        final long expireTime;
+
+        Entry(byte[] data, boolean resultSet, long expireTime) {
+            this.data = data;
+            this.resultSet = resultSet;
+            this.expireTime = expireTime;
+        }
+
+        /**
+         * @param value      查询结果
+         * @param expireTime 失效时间
+         * @param copyOnRead 是否每次读取时复制
+         * @return 创建缓存项，若查询结果无法复制则返回null
+         * @throws Exception 序列化时可能产生的异常
+         */
+        static Entry create(Object value, long expireTime, boolean copyOnRead) throws Exception {
+            ISerializer _serializer = ISerializer.SerializerManager.getDefaultSerializer();
+            Entry _entry = null;
+            if (value != null && DefaultResultSet.class.equals(value.getClass())) {
+                DefaultResultSet<?> _resultSet = (DefaultResultSet<?>) value;
+                _entry = new Entry(_serializer.serialize(new ArrayList<Object>(_resultSet.getResultData())), true, expireTime);
+                _entry.pageNumber = _resultSet.getPageNumber();
+                _entry.pageSize = _resultSet.getPageSize();
+                _entry.recordCount = _resultSet.getRecordCount();
+                _entry.hasNextPage = _resultSet.hasNextPage();
+                _entry.countStrategy = _resultSet.getCountStrategy();
+            } else if (value == null || value instanceof Serializable) {
+                _entry = new Entry(_serializer.serialize(value), false, expireTime);
+            }
+            if (_entry != null && !copyOnRead) {
+                // 仅复制一次, 使缓存内容不受调用者后续修改原始对象的影响
+                _entry.snapshot = _entry.__doDeserialize();
+                _entry.data = null;
+            }
+            return _entry;
+        }
+
+        Object restore() throws Exception {
+            return data != null ? __doDeserialize() : snapshot;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object __doDeserialize() throws Exception {
+            ISerializer _serializer = ISerializer.SerializerManager.getDefaultSerializer();
+            if (resultSet) {
+                List<Object> _resultData = _serializer.deserialize(data, List.class);
+                if (Page.CountStrategy.HAS_NEXT.equals(countStrategy)) {
+                    return new DefaultResultSet<Object>(_resultData, pageNumber, pageSize, hasNextPage);
+                }
+                return new DefaultResultSet<Object>(_resultData, pageNumber, pageSize, recordCount, countStrategy);
+            }
+            return _serializer.deserialize(data, Object.class);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package net.ymate.platform.persistence.jdbc.impl;
 import net.ymate.platform.core.lang.BlurObject;
 import net.ymate.platform.core.lang.PairObject;
 import net.ymate.platform.core.util.ExpressionUtils;
+import net.ymate.platform.core.util.RuntimeUtils;
 import net.ymate.platform.core.util.UUIDUtils;
 import net.ymate.platform.persistence.*;
 import net.ymate.platform.persistence.base.EntityMeta;
@@ -27,28 +28,32 @@ import net.ymate.platform.persistence.base.ShardingList;
 import net.ymate.platform.persistence.impl.DefaultResultSet;
 import net.ymate.platform.persistence.jdbc.*;
 import net.ymate.platform.persistence.jdbc.base.*;
-import net.ymate.platform.persistence.jdbc.base.impl.BatchUpdateOperator;
-import net.ymate.platform.persistence.jdbc.base.impl.DefaultQueryOperator;
-import net.ymate.platform.persistence.jdbc.base.impl.DefaultUpdateOperator;
-import net.ymate.platform.persistence.jdbc.base.impl.EntityResultSetHandler;
+import net.ymate.platform.persistence.jdbc.base.impl.*;
 import net.ymate.platform.persistence.jdbc.dialect.IDialect;
 import net.ymate.platform.persistence.jdbc.dialect.impl.OracleDialect;
-import net.ymate.platform.persistence.jdbc.query.BatchSQL;
-import net.ymate.platform.persistence.jdbc.query.EntitySQL;
-import net.ymate.platform.persistence.jdbc.query.SQL;
-import net.ymate.platform.persistence.jdbc.query.Where;
+import net.ymate.platform.persistence.jdbc.query.*;
 import net.ymate.platform.persistence.jdbc.support.BaseEntity;
+import net.ymate.platform.persistence.jdbc.support.KeysetResultSet;
+import net.ymate.platform.persistence.jdbc.support.PageCountCache;
+import net.ymate.platform.persistence.jdbc.support.QueryCache;
+import net.ymate.platform.persistence.jdbc.support.ReadWriteRouter;
+import net.ymate.platform.persistence.jdbc.support.ShardingBatchResult;
 import net.ymate.platform.persistence.jdbc.transaction.Transactions;
-import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 默认数据库会话操作接口实现
@@ -58,6 +63,8 @@ import java.util.Map;
  */
 public class DefaultSession implements ISession {
 
+    private static final Log _LOG = LogFactory.getLog(DefaultSession.class);
+
     private IDatabase __owner;
 
     private String __id;
@@ -66,6 +73,12 @@ public class DefaultSession implements ISession {
     private IDialect __dialect;
     private String __tablePrefix;
     //
+    private ReadWriteRouter __readWriteRouter;
+    private IConnectionHolder __readConnectionHolder;
+    private String __readReplicaName;
+
+    private QueryCache __queryCache;
+    //
     private ISessionEvent __sessionEvent;
 
     public DefaultSession(IConnectionHolder connectionHolder) {
@@ -79,6 +92,11 @@ public class DefaultSession implements ISession {
         //
         __dialect = connectionHolder.getDialect();
         __tablePrefix = connectionHolder.getDataSourceCfgMeta().getTablePrefix();
+        //
+        if (owner != null) {
+            __readWriteRouter = owner.getReadWriteRouter(connectionHolder.getDataSourceCfgMeta().getName());
+            __queryCache = owner.getQueryCache(connectionHolder.getDataSourceCfgMeta().getName());
+        }
     }
 
     public IDatabase getOwner() {
@@ -109,45 +127,124 @@ public class DefaultSession implements ISession {
                 __connectionHolder.release();
             }
         }
+        // 从库连接仅在非事务状态下获取，因此总是需要关闭
+        if (__readConnectionHolder != null) {
+            __readConnectionHolder.release();
+            __readWriteRouter.release(__readReplicaName);
+            __readConnectionHolder = null;
+            __readReplicaName = null;
+        }
     }
 
-    @Override
-    public <T> IResultSet<T> find(SQL sql, IResultSetHandler<T> handler) throws Exception {
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(sql.getSQL(), this.__connectionHolder, handler);
-        for (Object _param : sql.params().params()) {
-            _opt.addParameter(_param);
+    /**
+     * @param forUpdate 是否为加锁查询
+     * @return 返回执行只读查询所使用的连接持有者：当配置了从库且不处于事务中、非加锁查询、当前线程未在粘滞时间内执行过写操作时路由至从库，否则使用主库
+     */
+    private IConnectionHolder __doGetReadConnectionHolder(boolean forUpdate) {
+        if (__readWriteRouter == null || forUpdate || Transactions.get() != null || __readWriteRouter.isStickyPrimary()) {
+            return __connectionHolder;
+        }
+        if (__readConnectionHolder == null) {
+            String _replicaName;
+            while ((_replicaName = __readWriteRouter.acquire()) != null) {
+                IConnectionHolder _holder = null;
+                try {
+                    _holder = __owner.getConnectionHolder(_replicaName);
+                    if (_holder.getConnection() != null && !_holder.getConnection().isClosed()) {
+                        __readConnectionHolder = _holder;
+                        __readReplicaName = _replicaName;
+                        break;
+                    }
+                    _LOG.warn("Replica datasource '" + _replicaName + "' is unavailable, evicted temporarily.");
+                } catch (Exception e) {
+                    _LOG.warn("Replica datasource '" + _replicaName + "' is unavailable, evicted temporarily.", RuntimeUtils.unwrapThrow(e));
+                }
+                // 从库不可用时将其剔除并尝试下一个从库
+                if (_holder != null) {
+                    _holder.release();
+                }
+                __readWriteRouter.release(_replicaName);
+                __readWriteRouter.evict(_replicaName);
+            }
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
-        if (__sessionEvent != null) {
-            __sessionEvent.onQueryBefore(_eventContext);
+        return __readConnectionHolder != null ? __readConnectionHolder : __connectionHolder;
+    }
+
+    /**
+     * @param operator      数据库操作器
+     * @param operationType 操作类型
+     * @return 仅当设置了会话事件监听或存在数据库事件监听器时才创建会话事件上下文对象，否则返回null
+     */
+    private SessionEventContext __doCreateEventContext(Object operator, Persistence.OperationType operationType) {
+        if (__readWriteRouter != null && !Persistence.OperationType.QUERY.equals(operationType)) {
+            // 写操作后的粘滞时间内当前线程的读操作将路由至主库
+            __readWriteRouter.markWrite();
         }
-        _opt.execute();
-        if (__sessionEvent != null) {
-            __sessionEvent.onQueryAfter(_eventContext);
+        if (__sessionEvent != null || (__owner != null && __owner.getOwner().getEvents().hasListeners(DatabaseEvent.class))) {
+            return new SessionEventContext(operator, operationType);
+        }
+        return null;
+    }
+
+    private void __doFireEvent(DatabaseEvent.EVENT event, SessionEventContext eventContext) {
+        if (eventContext != null && __owner != null && __owner.getOwner().getEvents().hasListeners(DatabaseEvent.class)) {
+            __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, event).setEventSource(eventContext));
+        }
+    }
+
+    /**
+     * @param handler 结果集数据处理对象
+     * @return 返回结果集数据处理对象对应的缓存结果类型标识，未开启查询缓存或无法确定(如自定义处理器)时返回null
+     */
+    private String __doGetHandlerKind(IResultSetHandler<?> handler) {
+        if (__queryCache != null) {
+            if (handler instanceof ArrayResultSetHandler || handler instanceof MapResultSetHandler) {
+                return handler.getClass().getName();
+            } else if (handler instanceof BeanResultSetHandler) {
+                return handler.getClass().getName() + ":" + ((BeanResultSetHandler<?>) handler).getBeanClass().getName();
+            } else if (handler instanceof EntityResultSetHandler) {
+                return handler.getClass().getName() + ":" + ((EntityResultSetHandler<?>) handler).getEntityClass().getName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param sql    查询语句
+     * @param params 查询参数
+     * @param kind   结果类型标识
+     * @return 返回查询缓存凭证，未开启查询缓存或当前查询不可缓存时返回null
+     */
+    private QueryCache.Ticket __doCreateQueryCacheTicket(String sql, Params params, String kind) {
+        return __queryCache != null && kind != null ? __queryCache.createTicket(sql, params, kind) : null;
+    }
+
+    /**
+     * 清理更新语句所涉及数据表的查询缓存
+     *
+     * @param sqls 更新语句集合
+     */
+    private void __doInvalidateQueryCache(String... sqls) {
+        if (__queryCache != null) {
+            __queryCache.invalidate(sqls);
         }
-        //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
-        //
-        return new DefaultResultSet<T>(_opt.getResultSet());
     }
 
     @Override
-    public <T> IResultSet<T> find(SQL sql, IResultSetHandler<T> handler, Page page) throws Exception {
-        String _selectSql = sql.getSQL();
-        //
-        long _count = 0;
-        if (page != null) {
-            _selectSql = __dialect.buildPagedQuerySQL(sql.getSQL(), page.page(), page.pageSize());
-            if (page.isCount()) {
-                _count = this.count(sql);
+    @SuppressWarnings("unchecked")
+    public <T> IResultSet<T> find(SQL sql, IResultSetHandler<T> handler) throws Exception {
+        QueryCache.Ticket _ticket = __doCreateQueryCacheTicket(sql.getSQL(), sql.params(), __doGetHandlerKind(handler));
+        if (_ticket != null) {
+            IResultSet<T> _cached = (IResultSet<T>) _ticket.get();
+            if (_cached != null) {
+                return _cached;
             }
         }
-        //
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, this.__connectionHolder, handler);
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(sql.getSQL(), __doGetReadConnectionHolder(false), handler);
         for (Object _param : sql.params().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -156,12 +253,23 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        if (page != null) {
-            return new DefaultResultSet<T>(_opt.getResultSet(), page.page(), page.pageSize(), _count);
+        IResultSet<T> _results = new DefaultResultSet<T>(_opt.getResultSet());
+        if (_ticket != null) {
+            _ticket.put(_results);
         }
-        return new DefaultResultSet<T>(_opt.getResultSet());
+        return _results;
+    }
+
+    @Override
+    public <T> IResultSet<T> find(final SQL sql, IResultSetHandler<T> handler, Page page) throws Exception {
+        return __doFind(sql.getSQL(), sql.params(), handler, page, null, new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return count(sql);
+            }
+        });
     }
 
     @Override
@@ -242,30 +350,95 @@ public class DefaultSession implements ISession {
     }
 
     @Override
-    public <T extends IEntity> IResultSet<T> find(EntitySQL<T> entity, Where where, Page page, IShardingable shardingable) throws Exception {
+    public <T extends IEntity> IResultSet<T> find(final EntitySQL<T> entity, final Where where, Page page, final IShardingable shardingable) throws Exception {
         String _selectSql = __dialect.buildSelectSQL(entity.getEntityClass(), __tablePrefix, shardingable, __doGetNotExcludedFields(EntityMeta.createAndGet(entity.getEntityClass()), entity.fields(), false, true));
         if (where != null) {
             _selectSql = _selectSql.concat(" ").concat(where.toString());
         }
+        return __doFind(_selectSql, where != null ? where.getParams() : null, new EntityResultSetHandler<T>(entity.getEntityClass()), page, entity.forUpdate() != null ? entity.forUpdate().toSQL() : null, new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                return count(entity.getEntityClass(), where, shardingable);
+            }
+        });
+    }
+
+    /**
+     * 执行查询，若指定分页参数则根据总记录数统计策略处理
+     *
+     * @param selectSql 未分页的查询语句
+     * @param params    查询参数
+     * @param handler   结果集数据处理对象
+     * @param page      分页参数对象，可以为空
+     * @param lockSql   记录锁语句，可以为空
+     * @param counter   独立统计总记录数的回调
+     * @param <T>       元素类型
+     * @return 返回查询结果集对象
+     * @throws Exception 可能产生的异常
+     */
+    @SuppressWarnings("unchecked")
+    private <T> IResultSet<T> __doFind(String selectSql, Params params, IResultSetHandler<T> handler, Page page, String lockSql, Callable<Long> counter) throws Exception {
+        QueryCache.Ticket _ticket = null;
+        if (lockSql == null) {
+            String _kind = __doGetHandlerKind(handler);
+            if (_kind != null && page != null) {
+                _kind = _kind + "|" + page.page() + "," + page.pageSize() + "," + page.isCount() + "," + page.countStrategy();
+            }
+            _ticket = __doCreateQueryCacheTicket(selectSql, params, _kind);
+            if (_ticket != null) {
+                IResultSet<T> _cached = (IResultSet<T>) _ticket.get();
+                if (_cached != null) {
+                    return _cached;
+                }
+            }
+        }
+        IConnectionHolder _connectionHolder = __doGetReadConnectionHolder(lockSql != null);
+        String _querySql = selectSql;
+        IResultSetHandler<T> _handler = handler;
+        Page.CountStrategy _strategy = null;
         long _count = 0;
         if (page != null) {
-            _selectSql = __dialect.buildPagedQuerySQL(_selectSql, page.page(), page.pageSize());
+            _strategy = Page.CountStrategy.NONE;
             if (page.isCount()) {
-                _count = this.count(entity.getEntityClass(), where);
+                _strategy = page.countStrategy() != null ? page.countStrategy() : __connectionHolder.getDataSourceCfgMeta().getPageCountStrategy();
+            }
+            if (Page.CountStrategy.WINDOW.equals(_strategy)) {
+                if (handler instanceof AbstractResultSetHandler && __dialect.isWindowFunctionSupported(_connectionHolder.getConnection())) {
+                    _querySql = __dialect.buildWindowCountQuerySQL(selectSql);
+                    _handler = new WindowCountResultSetHandler<T>(__doGetIndependentHandler(handler));
+                } else {
+                    _strategy = Page.CountStrategy.SEPARATE;
+                }
+            }
+            if (Page.CountStrategy.SEPARATE.equals(_strategy)) {
+                _count = counter.call();
+            } else if (Page.CountStrategy.CACHED.equals(_strategy)) {
+                String _cacheKey = PageCountCache.buildKey(__connectionHolder.getDataSourceCfgMeta().getName(), selectSql, params);
+                Long _cachedCount = PageCountCache.get(_cacheKey);
+                if (_cachedCount == null) {
+                    _cachedCount = counter.call();
+                    PageCountCache.put(_cacheKey, _cachedCount, page.countCacheTimeout() > 0 ? page.countCacheTimeout() : __connectionHolder.getDataSourceCfgMeta().getPageCountCacheTimeout());
+                }
+                _count = _cachedCount;
+            }
+            if (Page.CountStrategy.HAS_NEXT.equals(_strategy)) {
+                // 多查询一条记录用于判断是否存在下一页
+                _querySql = __dialect.buildLimitQuerySQL(_querySql, (page.page() - 1) * page.pageSize(), page.pageSize() + 1);
+            } else {
+                _querySql = __dialect.buildPagedQuerySQL(_querySql, page.page(), page.pageSize());
             }
         }
-        //
-        if (entity.forUpdate() != null) {
-            _selectSql = _selectSql + " " + entity.forUpdate().toSQL();
+        if (lockSql != null) {
+            _querySql = _querySql + " " + lockSql;
         }
         //
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, this.__connectionHolder, new EntityResultSetHandler<T>(entity.getEntityClass()));
-        if (where != null) {
-            for (Object _param : where.getParams().params()) {
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_querySql, _connectionHolder, _handler);
+        if (params != null) {
+            for (Object _param : params.params()) {
                 _opt.addParameter(_param);
             }
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -274,12 +447,29 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        if (page != null) {
-            return new DefaultResultSet<T>(_opt.getResultSet(), page.page(), page.pageSize(), _count);
+        IResultSet<T> _resultSet;
+        List<T> _results = _opt.getResultSet();
+        if (page == null) {
+            _resultSet = new DefaultResultSet<T>(_results);
+        } else if (Page.CountStrategy.HAS_NEXT.equals(_strategy)) {
+            boolean _hasNext = _results.size() > page.pageSize();
+            _resultSet = new DefaultResultSet<T>(_hasNext ? _results.subList(0, page.pageSize()) : _results, page.page(), page.pageSize(), _hasNext);
+        } else {
+            if (Page.CountStrategy.WINDOW.equals(_strategy)) {
+                _count = ((WindowCountResultSetHandler<T>) _handler).getTotal();
+                if (_count < 0) {
+                    // 当前页无数据时无法获得窗口函数统计结果，超出末页的情况需独立统计
+                    _count = page.page() > 1 ? counter.call() : 0;
+                }
+            }
+            _resultSet = new DefaultResultSet<T>(_results, page.page(), page.pageSize(), _count, _strategy);
         }
-        return new DefaultResultSet<T>(_opt.getResultSet());
+        if (_ticket != null) {
+            _ticket.put(_resultSet);
+        }
+        return _resultSet;
     }
 
     @Override
@@ -288,16 +478,27 @@ public class DefaultSession implements ISession {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends IEntity> T find(EntitySQL<T> entity, Serializable id, IShardingable shardingable) throws Exception {
         EntityMeta _meta = EntityMeta.createAndGet(entity.getEntityClass());
         PairObject<Fields, Params> _entityPK = __doGetPrimaryKeyFieldAndValues(_meta, id, null);
         String _selectSql = __dialect.buildSelectByPkSQL(entity.getEntityClass(), __tablePrefix, shardingable, _entityPK.getKey(), __doGetNotExcludedFields(_meta, entity.fields(), false, true));
         //
+        EntityResultSetHandler<T> _handler = new EntityResultSetHandler<T>(entity.getEntityClass());
+        QueryCache.Ticket _ticket = null;
         if (entity.forUpdate() != null) {
             _selectSql = _selectSql + " " + entity.forUpdate().toSQL();
+        } else {
+            _ticket = __doCreateQueryCacheTicket(_selectSql, _meta.isMultiplePrimaryKey() ? _entityPK.getValue() : Params.create(id), __doGetHandlerKind(_handler));
+            if (_ticket != null) {
+                T _cached = (T) _ticket.get();
+                if (_cached != null) {
+                    return _cached;
+                }
+            }
         }
         //
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, this.__connectionHolder, new EntityResultSetHandler<T>(entity.getEntityClass()));
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, __doGetReadConnectionHolder(entity.forUpdate() != null), _handler);
         if (_meta.isMultiplePrimaryKey()) {
             for (Object _param : _entityPK.getValue().params()) {
                 _opt.addParameter(_param);
@@ -305,7 +506,7 @@ public class DefaultSession implements ISession {
         } else {
             _opt.addParameter(id);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -314,19 +515,31 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        return _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        T _result = _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        if (_ticket != null) {
+            _ticket.put(_result);
+        }
+        return _result;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T findFirst(SQL sql, IResultSetHandler<T> handler) throws Exception {
         String _selectSql = __dialect.buildPagedQuerySQL(sql.getSQL(), 1, 1);
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, this.__connectionHolder, handler);
+        QueryCache.Ticket _ticket = __doCreateQueryCacheTicket(_selectSql, sql.params(), __doGetHandlerKind(handler));
+        if (_ticket != null) {
+            T _cached = (T) _ticket.get();
+            if (_cached != null) {
+                return _cached;
+            }
+        }
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, __doGetReadConnectionHolder(false), handler);
         for (Object _param : sql.params().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -335,9 +548,13 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        return _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        T _result = _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        if (_ticket != null) {
+            _ticket.put(_result);
+        }
+        return _result;
     }
 
     @Override
@@ -356,6 +573,7 @@ public class DefaultSession implements ISession {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T extends IEntity> T findFirst(EntitySQL<T> entity, Where where, IShardingable shardingable) throws Exception {
         String _selectSql = __dialect.buildSelectSQL(entity.getEntityClass(), __tablePrefix, shardingable, __doGetNotExcludedFields(EntityMeta.createAndGet(entity.getEntityClass()), entity.fields(), false, true));
         if (where != null) {
@@ -363,17 +581,157 @@ public class DefaultSession implements ISession {
         }
         _selectSql = __dialect.buildPagedQuerySQL(_selectSql, 1, 1);
         //
+        EntityResultSetHandler<T> _handler = new EntityResultSetHandler<T>(entity.getEntityClass());
+        QueryCache.Ticket _ticket = null;
         if (entity.forUpdate() != null) {
             _selectSql = _selectSql + " " + entity.forUpdate().toSQL();
+        } else {
+            _ticket = __doCreateQueryCacheTicket(_selectSql, where != null ? where.getParams() : null, __doGetHandlerKind(_handler));
+            if (_ticket != null) {
+                T _cached = (T) _ticket.get();
+                if (_cached != null) {
+                    return _cached;
+                }
+            }
         }
         //
-        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, this.__connectionHolder, new EntityResultSetHandler<T>(entity.getEntityClass()));
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(_selectSql, __doGetReadConnectionHolder(entity.forUpdate() != null), _handler);
         if (where != null) {
             for (Object _param : where.getParams().params()) {
                 _opt.addParameter(_param);
             }
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
+        if (__sessionEvent != null) {
+            __sessionEvent.onQueryBefore(_eventContext);
+        }
+        _opt.execute();
+        if (__sessionEvent != null) {
+            __sessionEvent.onQueryAfter(_eventContext);
+        }
+        //
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
+        //
+        T _result = _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        if (_ticket != null) {
+            _ticket.put(_result);
+        }
+        return _result;
+    }
+
+    @Override
+    public <T> ICursor<T> cursor(SQL sql, IResultSetHandler<T> handler, int fetchSize) throws Exception {
+        return __doOpenCursor(sql.getSQL(), sql.params(), __doGetIndependentHandler(handler), fetchSize, false);
+    }
+
+    @Override
+    public <T extends IEntity> ICursor<T> cursor(EntitySQL<T> entity, Where where, int fetchSize) throws Exception {
+        return cursor(entity, where, fetchSize, null);
+    }
+
+    @Override
+    public <T extends IEntity> ICursor<T> cursor(EntitySQL<T> entity, Where where, int fetchSize, IShardingable shardingable) throws Exception {
+        String _selectSql = __dialect.buildSelectSQL(entity.getEntityClass(), __tablePrefix, shardingable, __doGetNotExcludedFields(EntityMeta.createAndGet(entity.getEntityClass()), entity.fields(), false, true));
+        if (where != null) {
+            _selectSql = _selectSql.concat(" ").concat(where.toString());
+        }
+        if (entity.forUpdate() != null) {
+            _selectSql = _selectSql + " " + entity.forUpdate().toSQL();
+        }
+        return __doOpenCursor(_selectSql, where != null ? where.getParams() : null, new EntityResultSetHandler<T>(entity.getEntityClass()), fetchSize, entity.forUpdate() != null);
+    }
+
+    @Override
+    public <T> int forEach(SQL sql, IResultSetHandler<T> handler, int fetchSize, IRowCallback<T> callback) throws Exception {
+        return __doForEach(cursor(sql, handler, fetchSize), callback);
+    }
+
+    @Override
+    public <T extends IEntity> int forEach(EntitySQL<T> entity, Where where, int fetchSize, IRowCallback<T> callback) throws Exception {
+        return __doForEach(cursor(entity, where, fetchSize, null), callback);
+    }
+
+    @Override
+    public <T extends IEntity> int forEach(EntitySQL<T> entity, Where where, int fetchSize, IShardingable shardingable, IRowCallback<T> callback) throws Exception {
+        return __doForEach(cursor(entity, where, fetchSize, shardingable), callback);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> AbstractResultSetHandler<T> __doGetIndependentHandler(IResultSetHandler<T> handler) {
+        // 游标及键集分页在处理期间持有结果集字段信息，因此共享的默认处理器需替换为独立实例
+        if (handler == IResultSetHandler.ARRAY) {
+            return (AbstractResultSetHandler<T>) new ArrayResultSetHandler();
+        } else if (handler == IResultSetHandler.MAP) {
+            return (AbstractResultSetHandler<T>) new MapResultSetHandler();
+        } else if (handler instanceof AbstractResultSetHandler) {
+            return (AbstractResultSetHandler<T>) handler;
+        }
+        throw new UnsupportedOperationException("Cursor or keyset query only supports result set handler extends AbstractResultSetHandler.");
+    }
+
+    private <T> ICursor<T> __doOpenCursor(String sql, Params params, AbstractResultSetHandler<T> handler, int fetchSize, boolean forUpdate) throws Exception {
+        ICursorOperator<T> _opt = new DefaultCursorOperator<T>(sql, __doGetReadConnectionHolder(forUpdate), handler, fetchSize);
+        if (params != null) {
+            for (Object _param : params.params()) {
+                _opt.addParameter(_param);
+            }
+        }
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
+        if (__sessionEvent != null) {
+            __sessionEvent.onQueryBefore(_eventContext);
+        }
+        _opt.execute();
+        if (__sessionEvent != null) {
+            __sessionEvent.onQueryAfter(_eventContext);
+        }
+        //
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
+        //
+        return _opt.getCursor();
+    }
+
+    private <T> int __doForEach(ICursor<T> cursor, IRowCallback<T> callback) throws Exception {
+        try {
+            while (cursor.hasNext()) {
+                if (!callback.handle(cursor.next(), cursor.getPosition())) {
+                    break;
+                }
+            }
+            return cursor.getPosition();
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @Override
+    public <T> KeysetResultSet<T> seek(Select select, IResultSetHandler<T> handler, KeysetPage keysetPage) throws Exception {
+        select.keyset(__dialect, keysetPage);
+        return __doSeek(select.toString(), select.getParams(), new KeysetResultSetHandler<T>(__doGetIndependentHandler(handler), keysetPage), keysetPage, false);
+    }
+
+    @Override
+    public <T extends IEntity> KeysetResultSet<T> seek(EntitySQL<T> entity, Where where, KeysetPage keysetPage) throws Exception {
+        return seek(entity, where, keysetPage, null);
+    }
+
+    @Override
+    public <T extends IEntity> KeysetResultSet<T> seek(EntitySQL<T> entity, Where where, KeysetPage keysetPage, IShardingable shardingable) throws Exception {
+        String _selectSql = __dialect.buildSelectSQL(entity.getEntityClass(), __tablePrefix, shardingable, __doGetNotExcludedFields(EntityMeta.createAndGet(entity.getEntityClass()), entity.fields(), false, true));
+        Where _keysetWhere = keysetPage.toWhere(__dialect, where);
+        _selectSql = __dialect.buildPagedQuerySQL(_selectSql.concat(" ").concat(_keysetWhere.toString()), 1, keysetPage.pageSize());
+        //
+        if (entity.forUpdate() != null) {
+            _selectSql = _selectSql + " " + entity.forUpdate().toSQL();
+        }
+        return __doSeek(_selectSql, _keysetWhere.getParams(), new KeysetResultSetHandler<T>(new EntityResultSetHandler<T>(entity.getEntityClass()), keysetPage), keysetPage, entity.forUpdate() != null);
+    }
+
+    private <T> KeysetResultSet<T> __doSeek(String sql, Params params, KeysetResultSetHandler<T> handler, KeysetPage keysetPage, boolean forUpdate) throws Exception {
+        IQueryOperator<T> _opt = new DefaultQueryOperator<T>(sql, __doGetReadConnectionHolder(forUpdate), handler);
+        for (Object _param : params.params()) {
+            _opt.addParameter(_param);
+        }
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -382,9 +740,9 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        return _opt.getResultSet().isEmpty() ? null : _opt.getResultSet().get(0);
+        return new KeysetResultSet<T>(_opt.getResultSet(), keysetPage, handler.getLastKeys());
     }
 
     @Override
@@ -393,7 +751,7 @@ public class DefaultSession implements ISession {
         for (Object _param : sql.params().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateBefore(_eventContext);
         }
@@ -401,8 +759,9 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.UPDATE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.UPDATE_AFTER, _eventContext);
         //
         return _opt.getEffectCounts();
     }
@@ -425,7 +784,7 @@ public class DefaultSession implements ISession {
         for (String _sql : sql.getSQLs()) {
             _opt.addBatchSQL(_sql);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateBefore(_eventContext);
         }
@@ -433,8 +792,11 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateAfter(_eventContext);
         }
+        List<String> _sqls = new ArrayList<String>(sql.getSQLs());
+        _sqls.add(sql.getSQL());
+        __doInvalidateQueryCache(_sqls.toArray(new String[_sqls.size()]));
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.UPDATE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.UPDATE_AFTER, _eventContext);
         //
         return _opt.getEffectCounts();
     }
@@ -462,7 +824,7 @@ public class DefaultSession implements ISession {
         for (Object _param : _entity.getValue().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateBefore(_eventContext);
         }
@@ -470,8 +832,9 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.UPDATE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.UPDATE_AFTER, _eventContext);
         //
         if (_opt.getEffectCounts() > 0) {
             return entity;
@@ -504,7 +867,7 @@ public class DefaultSession implements ISession {
             }
             _opt.addBatchParameter(_batchParam);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateBefore(_eventContext);
         }
@@ -512,22 +875,48 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onUpdateAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.UPDATE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.UPDATE_AFTER, _eventContext);
         //
         return entities;
     }
 
     @Override
     public <T extends IEntity> List<T> update(ShardingList<T> entities, Fields filter) throws Exception {
-        List<T> _results = new ArrayList<T>();
-        for (ShardingList.ShardingElement<T> _element : entities) {
-            T _entity = this.update(_element.getElement(), filter, _element);
-            if (_entity != null) {
-                _results.add(_entity);
+        return update(entities, filter, 0, false).getAffectedElements();
+    }
+
+    @Override
+    public <T extends IEntity> ShardingBatchResult<T> update(ShardingList<T> entities, Fields filter, int batchSize, boolean continueOnError) throws Exception {
+        ShardingBatchResult<T> _result = new ShardingBatchResult<T>(__doGetShardingElements(entities));
+        Map<String, BatchGroup> _groups = new LinkedHashMap<String, BatchGroup>();
+        EntityMeta _meta = null;
+        Class<?> _entityClass = null;
+        Fields _filter = null;
+        for (int _idx = 0; _idx < entities.size(); _idx++) {
+            ShardingList.ShardingElement<T> _element = entities.get(_idx);
+            T _entity = _element.getElement();
+            if (_meta == null || !_entityClass.equals(_entity.getClass())) {
+                _entityClass = _entity.getClass();
+                _meta = __doGetWritableEntityMeta(_entity.getClass());
+                _filter = __doGetNotExcludedFields(_meta, filter, true, false);
+            }
+            PairObject<Fields, Params> _pk = __doGetPrimaryKeyFieldAndValues(_meta, _entity, null);
+            String _updateSql = __dialect.buildUpdateByPkSQL(_entity.getClass(), __tablePrefix, _element, _pk.getKey(), _filter);
+            SQLBatchParameter _batchParam = SQLBatchParameter.create();
+            // 先获取并添加需要更新的字段值
+            for (Object _param : __doGetEntityFieldAndValues(_meta, _entity, _filter, false).getValue().params()) {
+                _batchParam.addParameter(_param);
+            }
+            // 再获取并添加主键条件字段值
+            for (Object _param : _pk.getValue().params()) {
+                _batchParam.addParameter(_param);
             }
+            __doGetBatchGroup(_groups, _result, _meta, _element, _updateSql).add(_idx, _entity, _batchParam);
         }
-        return _results;
+        __doExecuteBatchGroups(_groups, batchSize, continueOnError, BatchGroup.UPDATE);
+        return _result;
     }
 
     @Override
@@ -575,7 +964,7 @@ public class DefaultSession implements ISession {
         for (Object _param : _entity.getValue().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onInsertBefore(_eventContext);
         }
@@ -583,8 +972,9 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onInsertAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.INSERT_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.INSERT_AFTER, _eventContext);
         //
         if (_opt.getEffectCounts() > 0) {
             return entity;
@@ -603,7 +993,6 @@ public class DefaultSession implements ISession {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T extends IEntity> List<T> insert(List<T> entities, Fields filter) throws Exception {
         T _element = entities.get(0);
         EntityMeta _meta = EntityMeta.createAndGet(_element.getClass());
@@ -614,21 +1003,7 @@ public class DefaultSession implements ISession {
         String _insertSql = __dialect.buildInsertSQL(_element.getClass(), __tablePrefix, null, _entity.getKey());
         IBatchUpdateOperator _opt = new BatchUpdateOperator(_insertSql, this.__connectionHolder);
         if (_meta.hasAutoincrement()) {
-            // 兼容Oracle无法直接获取生成的主键问题
-            if (__connectionHolder.getDialect() instanceof OracleDialect) {
-                final String[] _ids = _meta.getAutoincrementKeys().toArray(new String[_meta.getAutoincrementKeys().size()]);
-                _opt.setAccessorConfig(new EntityAccessorConfig(_meta, __connectionHolder, (List<IEntity<?>>) entities) {
-                    @Override
-                    public PreparedStatement getPreparedStatement(Connection conn, String sql) throws SQLException {
-                        if (conn != null && !conn.isClosed()) {
-                            return conn.prepareStatement(sql, _ids);
-                        }
-                        return __conn.getConnection().prepareStatement(sql, _ids);
-                    }
-                });
-            } else {
-                _opt.setAccessorConfig(new EntityAccessorConfig(_meta, __connectionHolder, (List<IEntity<?>>) entities));
-            }
+            _opt.setAccessorConfig(__doCreateEntityAccessorConfig(_meta, entities));
         }
         for (T entity : entities) {
             SQLBatchParameter _batchParam = SQLBatchParameter.create();
@@ -637,7 +1012,7 @@ public class DefaultSession implements ISession {
             }
             _opt.addBatchParameter(_batchParam);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onInsertBefore(_eventContext);
         }
@@ -645,22 +1020,161 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onInsertAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.INSERT_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.INSERT_AFTER, _eventContext);
         //
         return entities;
     }
 
     @Override
     public <T extends IEntity> List<T> insert(ShardingList<T> entities, Fields filter) throws Exception {
-        List<T> _results = new ArrayList<T>();
-        for (ShardingList.ShardingElement<T> _element : entities) {
-            T _entity = this.insert(_element.getElement(), filter, _element);
-            if (_entity != null) {
-                _results.add(_entity);
+        return insert(entities, filter, 0, false).getAffectedElements();
+    }
+
+    @Override
+    public <T extends IEntity> ShardingBatchResult<T> insert(ShardingList<T> entities, Fields filter, int batchSize, boolean continueOnError) throws Exception {
+        ShardingBatchResult<T> _result = new ShardingBatchResult<T>(__doGetShardingElements(entities));
+        Map<String, BatchGroup> _groups = new LinkedHashMap<String, BatchGroup>();
+        EntityMeta _meta = null;
+        Class<?> _entityClass = null;
+        for (int _idx = 0; _idx < entities.size(); _idx++) {
+            ShardingList.ShardingElement<T> _element = entities.get(_idx);
+            T _entity = _element.getElement();
+            if (_meta == null || !_entityClass.equals(_entity.getClass())) {
+                _entityClass = _entity.getClass();
+                _meta = __doGetWritableEntityMeta(_entity.getClass());
+            }
+            // 插入字段集合与实体属性值是否为空相关, 因此分组依据为最终生成的SQL语句(已包含分表名称及字段集合)
+            PairObject<Fields, Params> _fieldValues = __doGetEntityFieldAndValues(_meta, _entity, filter, true);
+            String _insertSql = __dialect.buildInsertSQL(_entity.getClass(), __tablePrefix, _element, _fieldValues.getKey());
+            SQLBatchParameter _batchParam = SQLBatchParameter.create();
+            for (Object _param : _fieldValues.getValue().params()) {
+                _batchParam.addParameter(_param);
             }
+            __doGetBatchGroup(_groups, _result, _meta, _element, _insertSql).add(_idx, _entity, _batchParam);
         }
-        return _results;
+        __doExecuteBatchGroups(_groups, batchSize, continueOnError, BatchGroup.INSERT);
+        return _result;
+    }
+
+    @Override
+    public <T extends IEntity> int bulkInsert(List<T> entities, Fields filter, int chunkSize) throws Exception {
+        return bulkInsert(entities, filter, chunkSize, null);
+    }
+
+    @Override
+    public <T extends IEntity> int bulkInsert(List<T> entities, Fields filter, int chunkSize, IShardingable shardingable) throws Exception {
+        return __doBulkInsert(entities, filter, chunkSize, shardingable, false, null);
+    }
+
+    @Override
+    public <T extends IEntity> int bulkUpsert(List<T> entities, Fields filter, Fields updateFields, int chunkSize) throws Exception {
+        return bulkUpsert(entities, filter, updateFields, chunkSize, null);
+    }
+
+    @Override
+    public <T extends IEntity> int bulkUpsert(List<T> entities, Fields filter, Fields updateFields, int chunkSize, IShardingable shardingable) throws Exception {
+        return __doBulkInsert(entities, filter, chunkSize, shardingable, true, updateFields);
+    }
+
+    /**
+     * 以多行VALUES方式插入实体记录, 实体按插入字段集合分组(属性值为空的字段不参与插入), 每组按数据库参数数量限制拆分执行
+     */
+    private <T extends IEntity> int __doBulkInsert(List<T> entities, Fields filter, int chunkSize, IShardingable shardingable, boolean upsert, Fields updateFields) throws Exception {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        Class<? extends IEntity> _entityClass = entities.get(0).getClass();
+        EntityMeta _meta = __doGetWritableEntityMeta(_entityClass);
+        boolean _multiRow = __dialect.getMaxMultiRowInsertRows() > 0;
+        if (upsert && !_multiRow) {
+            throw new UnsupportedOperationException("Upsert is not supported by " + __dialect.getName() + " dialect.");
+        }
+        Map<List<String>, List<PairObject<T, Params>>> _groups = new LinkedHashMap<List<String>, List<PairObject<T, Params>>>();
+        Map<List<String>, Fields> _groupFields = new LinkedHashMap<List<String>, Fields>();
+        for (T _entity : entities) {
+            // 主键冲突更新时已存在主键值的自增主键字段须参与插入, 否则永远无法命中主键冲突; 记录按最终字段集合分组, 有无主键值的记录将分别执行
+            PairObject<Fields, Params> _fieldValues = __doGetEntityFieldAndValues(_meta, _entity, filter, true, upsert);
+            List<String> _key = _fieldValues.getKey().fields();
+            List<PairObject<T, Params>> _rows = _groups.get(_key);
+            if (_rows == null) {
+                _rows = new ArrayList<PairObject<T, Params>>();
+                _groups.put(_key, _rows);
+                _groupFields.put(_key, _fieldValues.getKey());
+            }
+            _rows.add(new PairObject<T, Params>(_entity, _fieldValues.getValue()));
+        }
+        int _effectCounts = 0;
+        for (Map.Entry<List<String>, List<PairObject<T, Params>>> _group : _groups.entrySet()) {
+            Fields _fields = _groupFields.get(_group.getKey());
+            List<PairObject<T, Params>> _rows = _group.getValue();
+            // 每批次记录行数受方言的最大行数及最大参数数量限制
+            int _maxRows = Math.max(1, __dialect.getMaxParameterCount() / Math.max(1, _fields.fields().size()));
+            if (_multiRow) {
+                _maxRows = Math.min(_maxRows, __dialect.getMaxMultiRowInsertRows());
+            }
+            if (chunkSize > 0) {
+                _maxRows = Math.min(_maxRows, chunkSize);
+            }
+            if (!upsert && _meta.hasAutoincrement() && !__dialect.isMultiRowGeneratedKeysSupported()) {
+                // 数据库无法返回每行自动生成的主键值时逐条插入
+                _maxRows = 1;
+            }
+            for (int _offset = 0; _offset < _rows.size(); _offset += _maxRows) {
+                List<PairObject<T, Params>> _chunk = _rows.subList(_offset, Math.min(_offset + _maxRows, _rows.size()));
+                List<T> _chunkEntities = new ArrayList<T>(_chunk.size());
+                for (PairObject<T, Params> _row : _chunk) {
+                    _chunkEntities.add(_row.getKey());
+                }
+                IOperator _opt;
+                if (_multiRow) {
+                    String _insertSql = upsert
+                            ? __dialect.buildMultiRowUpsertSQL(_entityClass, __tablePrefix, shardingable, _fields, _chunk.size(), updateFields)
+                            : __dialect.buildMultiRowInsertSQL(_entityClass, __tablePrefix, shardingable, _fields, _chunk.size());
+                    IUpdateOperator _updateOpt = new DefaultUpdateOperator(_insertSql, this.__connectionHolder);
+                    for (PairObject<T, Params> _row : _chunk) {
+                        for (Object _param : _row.getValue().params()) {
+                            _updateOpt.addParameter(_param);
+                        }
+                    }
+                    _opt = _updateOpt;
+                } else {
+                    // 不支持多行VALUES插入时采用JDBC批处理方式
+                    IBatchUpdateOperator _batchOpt = new BatchUpdateOperator(__dialect.buildInsertSQL(_entityClass, __tablePrefix, shardingable, _fields), this.__connectionHolder);
+                    for (PairObject<T, Params> _row : _chunk) {
+                        SQLBatchParameter _batchParam = SQLBatchParameter.create();
+                        for (Object _param : _row.getValue().params()) {
+                            _batchParam.addParameter(_param);
+                        }
+                        _batchOpt.addBatchParameter(_batchParam);
+                    }
+                    _opt = _batchOpt;
+                }
+                // 主键冲突更新时无法确定各行生成的主键值, 仅在插入时回填
+                if (!upsert && _meta.hasAutoincrement()) {
+                    _opt.setAccessorConfig(__doCreateEntityAccessorConfig(_meta, _chunkEntities));
+                }
+                SessionEventContext _eventContext = __doCreateEventContext(_opt, _multiRow ? Persistence.OperationType.UPDATE : Persistence.OperationType.BATCH_UPDATE);
+                if (__sessionEvent != null) {
+                    __sessionEvent.onInsertBefore(_eventContext);
+                }
+                _opt.execute();
+                if (__sessionEvent != null) {
+                    __sessionEvent.onInsertAfter(_eventContext);
+                }
+                __doInvalidateQueryCache(_opt.getSQL());
+                //
+                __doFireEvent(DatabaseEvent.EVENT.INSERT_AFTER, _eventContext);
+                //
+                if (_multiRow) {
+                    _effectCounts += ((IUpdateOperator) _opt).getEffectCounts();
+                } else {
+                    _effectCounts += ((IBatchUpdateOperator) _opt).getEffectCountsTotal();
+                }
+            }
+        }
+        return _effectCounts;
     }
 
     @Override
@@ -694,7 +1208,7 @@ public class DefaultSession implements ISession {
         for (Object _param : _entity.getValue().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveBefore(_eventContext);
         }
@@ -702,8 +1216,9 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.REMOVE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.REMOVE_AFTER, _eventContext);
         //
         return _opt.getEffectCounts();
     }
@@ -726,7 +1241,7 @@ public class DefaultSession implements ISession {
             }
             _opt.addBatchParameter(_batchParam);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveBefore(_eventContext);
         }
@@ -734,22 +1249,35 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.REMOVE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.REMOVE_AFTER, _eventContext);
         //
         return entities;
     }
 
     @Override
     public <T extends IEntity> List<T> delete(ShardingList<T> entities) throws Exception {
-        List<T> _results = new ArrayList<T>();
-        for (ShardingList.ShardingElement<T> _element : entities) {
-            T _entity = this.delete(_element.getElement(), _element);
-            if (_entity != null) {
-                _results.add(_entity);
+        return delete(entities, 0, false).getAffectedElements();
+    }
+
+    @Override
+    public <T extends IEntity> ShardingBatchResult<T> delete(ShardingList<T> entities, int batchSize, boolean continueOnError) throws Exception {
+        ShardingBatchResult<T> _result = new ShardingBatchResult<T>(__doGetShardingElements(entities));
+        Map<String, BatchGroup> _groups = new LinkedHashMap<String, BatchGroup>();
+        EntityMeta _meta = null;
+        Class<?> _entityClass = null;
+        for (int _idx = 0; _idx < entities.size(); _idx++) {
+            ShardingList.ShardingElement<T> _element = entities.get(_idx);
+            T _entity = _element.getElement();
+            if (_meta == null || !_entityClass.equals(_entity.getClass())) {
+                _entityClass = _entity.getClass();
+                _meta = __doGetWritableEntityMeta(_entity.getClass());
             }
+            __doAddDeleteBatchElement(_groups, _result, _entity.getClass(), _meta, _idx, _element, _entity.getId());
         }
-        return _results;
+        __doExecuteBatchGroups(_groups, batchSize, continueOnError, BatchGroup.DELETE);
+        return _result;
     }
 
     @Override
@@ -770,7 +1298,7 @@ public class DefaultSession implements ISession {
             }
             _opt.addBatchParameter(_batchParam);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveBefore(_eventContext);
         }
@@ -778,19 +1306,170 @@ public class DefaultSession implements ISession {
         if (__sessionEvent != null) {
             __sessionEvent.onRemoveAfter(_eventContext);
         }
+        __doInvalidateQueryCache(_opt.getSQL());
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.REMOVE_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.REMOVE_AFTER, _eventContext);
         //
         return _opt.getEffectCounts();
     }
 
     @Override
     public <T extends IEntity> int[] delete(Class<T> entityClass, ShardingList<Serializable> ids) throws Exception {
-        List<Integer> _results = new ArrayList<Integer>();
-        for (ShardingList.ShardingElement<Serializable> _element : ids) {
-            _results.add(this.delete(entityClass, _element.getElement(), _element));
+        return delete(entityClass, ids, 0, false).getEffectCounts();
+    }
+
+    @Override
+    public <T extends IEntity> ShardingBatchResult<Serializable> delete(Class<T> entityClass, ShardingList<Serializable> ids, int batchSize, boolean continueOnError) throws Exception {
+        EntityMeta _meta = __doGetWritableEntityMeta(entityClass);
+        ShardingBatchResult<Serializable> _result = new ShardingBatchResult<Serializable>(__doGetShardingElements(ids));
+        Map<String, BatchGroup> _groups = new LinkedHashMap<String, BatchGroup>();
+        for (int _idx = 0; _idx < ids.size(); _idx++) {
+            ShardingList.ShardingElement<Serializable> _element = ids.get(_idx);
+            __doAddDeleteBatchElement(_groups, _result, entityClass, _meta, _idx, _element, _element.getElement());
+        }
+        __doExecuteBatchGroups(_groups, batchSize, continueOnError, BatchGroup.DELETE);
+        return _result;
+    }
+
+    private EntityMeta __doGetWritableEntityMeta(Class<? extends IEntity> entityClass) {
+        EntityMeta _meta = EntityMeta.createAndGet(entityClass);
+        if (_meta.isView()) {
+            throw new UnsupportedOperationException("View does not support this operation.");
+        }
+        return _meta;
+    }
+
+    private <T> List<T> __doGetShardingElements(ShardingList<T> shardingList) {
+        List<T> _elements = new ArrayList<T>(shardingList.size());
+        for (ShardingList.ShardingElement<T> _element : shardingList) {
+            _elements.add(_element.getElement());
+        }
+        return _elements;
+    }
+
+    private void __doAddDeleteBatchElement(Map<String, BatchGroup> groups, ShardingBatchResult<?> result, Class<? extends IEntity> entityClass, EntityMeta entityMeta, int index, IShardingable shardingable, Serializable id) throws Exception {
+        PairObject<Fields, Params> _pk = __doGetPrimaryKeyFieldAndValues(entityMeta, id, null);
+        String _deleteSql = __dialect.buildDeleteByPkSQL(entityClass, __tablePrefix, shardingable, _pk.getKey());
+        SQLBatchParameter _batchParam = SQLBatchParameter.create();
+        // 获取并添加主键条件字段值
+        for (Object _param : _pk.getValue().params()) {
+            _batchParam.addParameter(_param);
+        }
+        __doGetBatchGroup(groups, result, entityMeta, shardingable, _deleteSql).add(index, null, _batchParam);
+    }
+
+    private BatchGroup __doGetBatchGroup(Map<String, BatchGroup> groups, ShardingBatchResult<?> result, EntityMeta entityMeta, IShardingable shardingable, String sql) {
+        BatchGroup _group = groups.get(sql);
+        if (_group == null) {
+            _group = new BatchGroup(entityMeta, result.addGroup(__dialect.buildTableName(__tablePrefix, entityMeta, shardingable), sql));
+            groups.put(sql, _group);
+        }
+        return _group;
+    }
+
+    /**
+     * 逐组执行批量操作, 每组按batchSize拆分为多个JDBC批次, 会话事件及数据库事件按批次(而非按元素)触发, 操作类型为BATCH_UPDATE
+     *
+     * @param groups          分组集合
+     * @param batchSize       每批次执行的记录数, 小于等于0时采用默认值
+     * @param continueOnError 某组执行失败时是否继续执行其它分组, 否则直接抛出异常
+     * @param type            操作类型
+     * @throws Exception 可能产生的异常
+     */
+    private void __doExecuteBatchGroups(Map<String, BatchGroup> groups, int batchSize, boolean continueOnError, int type) throws Exception {
+        if (batchSize <= 0) {
+            batchSize = ShardingBatchResult.DEFAULT_BATCH_SIZE;
+        }
+        for (BatchGroup _group : groups.values()) {
+            int _total = _group.batchParams.size();
+            for (int _offset = 0; _offset < _total; _offset += batchSize) {
+                int _end = Math.min(_offset + batchSize, _total);
+                IBatchUpdateOperator _opt = new BatchUpdateOperator(_group.result.getSql(), this.__connectionHolder);
+                if (type == BatchGroup.INSERT && _group.entityMeta.hasAutoincrement()) {
+                    _opt.setAccessorConfig(__doCreateEntityAccessorConfig(_group.entityMeta, _group.entities.subList(_offset, _end)));
+                }
+                for (SQLBatchParameter _batchParam : _group.batchParams.subList(_offset, _end)) {
+                    _opt.addBatchParameter(_batchParam);
+                }
+                try {
+                    SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.BATCH_UPDATE);
+                    if (__sessionEvent != null) {
+                        switch (type) {
+                            case BatchGroup.INSERT:
+                                __sessionEvent.onInsertBefore(_eventContext);
+                                break;
+                            case BatchGroup.DELETE:
+                                __sessionEvent.onRemoveBefore(_eventContext);
+                                break;
+                            default:
+                                __sessionEvent.onUpdateBefore(_eventContext);
+                        }
+                    }
+                    _opt.execute();
+                    if (__sessionEvent != null) {
+                        switch (type) {
+                            case BatchGroup.INSERT:
+                                __sessionEvent.onInsertAfter(_eventContext);
+                                break;
+                            case BatchGroup.DELETE:
+                                __sessionEvent.onRemoveAfter(_eventContext);
+                                break;
+                            default:
+                                __sessionEvent.onUpdateAfter(_eventContext);
+                        }
+                    }
+                    //
+                    __doInvalidateQueryCache(_opt.getSQL());
+                    switch (type) {
+                        case BatchGroup.INSERT:
+                            __doFireEvent(DatabaseEvent.EVENT.INSERT_AFTER, _eventContext);
+                            break;
+                        case BatchGroup.DELETE:
+                            __doFireEvent(DatabaseEvent.EVENT.REMOVE_AFTER, _eventContext);
+                            break;
+                        default:
+                            __doFireEvent(DatabaseEvent.EVENT.UPDATE_AFTER, _eventContext);
+                    }
+                    //
+                    _group.result.setEffectCounts(_offset, _opt.getEffectCounts());
+                } catch (Exception e) {
+                    // 部分驱动在批处理失败时仍会返回已执行成功的记录数
+                    Throwable _cause = e;
+                    while (_cause != null && !(_cause instanceof BatchUpdateException)) {
+                        _cause = _cause.getCause();
+                    }
+                    if (_cause != null && ((BatchUpdateException) _cause).getUpdateCounts() != null) {
+                        _group.result.setEffectCounts(_offset, ((BatchUpdateException) _cause).getUpdateCounts());
+                    }
+                    _group.result.setError(e);
+                    // 批处理失败时部分记录可能已更新
+                    __doInvalidateQueryCache(_opt.getSQL());
+                    if (!continueOnError) {
+                        throw e;
+                    }
+                    // 当前分组剩余批次不再执行, 继续处理下一分组
+                    break;
+                }
+            }
         }
-        return ArrayUtils.toPrimitive(_results.toArray(new Integer[0]));
+    }
+
+    @SuppressWarnings("unchecked")
+    private EntityAccessorConfig __doCreateEntityAccessorConfig(EntityMeta entityMeta, List<? extends IEntity> entities) {
+        // 兼容Oracle无法直接获取生成的主键问题
+        if (__connectionHolder.getDialect() instanceof OracleDialect) {
+            final String[] _ids = entityMeta.getAutoincrementKeys().toArray(new String[entityMeta.getAutoincrementKeys().size()]);
+            return new EntityAccessorConfig(entityMeta, __connectionHolder, (List<IEntity<?>>) entities) {
+                @Override
+                public PreparedStatement getPreparedStatement(Connection conn, String sql) throws SQLException {
+                    if (conn != null && !conn.isClosed()) {
+                        return conn.prepareStatement(sql, _ids);
+                    }
+                    return __conn.getConnection().prepareStatement(sql, _ids);
+                }
+            };
+        }
+        return new EntityAccessorConfig(entityMeta, __connectionHolder, (List<IEntity<?>>) entities);
     }
 
     @Override
@@ -809,13 +1488,20 @@ public class DefaultSession implements ISession {
         ExpressionUtils _exp = ExpressionUtils.bind("SELECT count(1) FROM ${table_name} ${where}")
                 .set("table_name", __dialect.buildTableName(__tablePrefix, _meta, shardingable))
                 .set("where", where == null ? "" : where.toSQL());
-        IQueryOperator<Object[]> _opt = new DefaultQueryOperator<Object[]>(_exp.getResult(), this.getConnectionHolder(), IResultSetHandler.ARRAY);
+        QueryCache.Ticket _ticket = __doCreateQueryCacheTicket(_exp.getResult(), where != null ? where.getParams() : null, __queryCache != null ? "count" : null);
+        if (_ticket != null) {
+            Long _cached = (Long) _ticket.get();
+            if (_cached != null) {
+                return _cached;
+            }
+        }
+        IQueryOperator<Object[]> _opt = new DefaultQueryOperator<Object[]>(_exp.getResult(), __doGetReadConnectionHolder(false), IResultSetHandler.ARRAY);
         if (where != null) {
             for (Object _param : where.getParams().params()) {
                 _opt.addParameter(_param);
             }
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -824,19 +1510,30 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        return BlurObject.bind(((Object[]) _opt.getResultSet().get(0)[0])[1]).toLongValue();
+        long _count = BlurObject.bind(((Object[]) _opt.getResultSet().get(0)[0])[1]).toLongValue();
+        if (_ticket != null) {
+            _ticket.put(_count);
+        }
+        return _count;
     }
 
     @Override
     public long count(SQL sql) throws Exception {
         String _sql = ExpressionUtils.bind("SELECT count(1) FROM (${sql}) c_t").set("sql", sql.getSQL()).getResult();
-        IQueryOperator<Object[]> _opt = new DefaultQueryOperator<Object[]>(_sql, this.getConnectionHolder(), IResultSetHandler.ARRAY);
+        QueryCache.Ticket _ticket = __doCreateQueryCacheTicket(_sql, sql.params(), __queryCache != null ? "count" : null);
+        if (_ticket != null) {
+            Long _cached = (Long) _ticket.get();
+            if (_cached != null) {
+                return _cached;
+            }
+        }
+        IQueryOperator<Object[]> _opt = new DefaultQueryOperator<Object[]>(_sql, __doGetReadConnectionHolder(false), IResultSetHandler.ARRAY);
         for (Object _param : sql.params().params()) {
             _opt.addParameter(_param);
         }
-        SessionEventContext _eventContext = new SessionEventContext(_opt, Persistence.OperationType.QUERY);
+        SessionEventContext _eventContext = __doCreateEventContext(_opt, Persistence.OperationType.QUERY);
         if (__sessionEvent != null) {
             __sessionEvent.onQueryBefore(_eventContext);
         }
@@ -845,9 +1542,13 @@ public class DefaultSession implements ISession {
             __sessionEvent.onQueryAfter(_eventContext);
         }
         //
-        __owner.getOwner().getEvents().fireEvent(new DatabaseEvent(__owner, DatabaseEvent.EVENT.QUERY_AFTER).setEventSource(_eventContext));
+        __doFireEvent(DatabaseEvent.EVENT.QUERY_AFTER, _eventContext);
         //
-        return BlurObject.bind(((Object[]) _opt.getResultSet().get(0)[0])[1]).toLongValue();
+        long _count = BlurObject.bind(((Object[]) _opt.getResultSet().get(0)[0])[1]).toLongValue();
+        if (_ticket != null) {
+            _ticket.put(_count);
+        }
+        return _count;
     }
 
     /**
@@ -909,43 +1610,61 @@ public class DefaultSession implements ISession {
      * @throws Exception 可能产生的异常
      */
     private PairObject<Fields, Params> __doGetEntityFieldAndValues(EntityMeta entityMeta, IEntity targetObj, Fields filter, boolean includePK) throws Exception {
+        return __doGetEntityFieldAndValues(entityMeta, targetObj, filter, includePK, false);
+    }
+
+    /**
+     * @param entityMeta           实体元描述对象
+     * @param targetObj            目标实体对象
+     * @param filter               进滤的字段名称集合
+     * @param includePK            是否提取主键对象的值
+     * @param includeAutoincrement 自增主键字段值不为空时是否提取(用于主键冲突更新, 使已存在主键值的记录能够命中主键冲突)
+     * @return 获取实体的所有字段和值
+     * @throws Exception 可能产生的异常
+     */
+    private PairObject<Fields, Params> __doGetEntityFieldAndValues(EntityMeta entityMeta, IEntity targetObj, Fields filter, boolean includePK, boolean includeAutoincrement) throws Exception {
         Fields _fields = Fields.create();
         Params _values = Params.create();
-        for (String _fieldName : entityMeta.getPropertyNames()) {
-            if (__doCheckField(filter, _fieldName)) {
-                EntityMeta.PropertyMeta _propMeta = entityMeta.getPropertyByName(_fieldName);
+        for (PropertyBinder _binder : PropertyBinder.get(entityMeta)) {
+            if (__doCheckField(filter, _binder.name)) {
                 Object _value = null;
-                if (entityMeta.isPrimaryKey(_fieldName)) {
+                if (_binder.primaryKey) {
                     if (includePK) {
                         // 自增字段将被忽略, 指定序列的除外
-                        if (_propMeta.isAutoincrement()) {
-                            if (StringUtils.isNotBlank(_propMeta.getSequenceName())) {
-                                _fields.add(_fieldName);
+                        if (_binder.autoincrement) {
+                            if (_binder.sequenceName != null) {
+                                _fields.add(_binder.name);
                                 // 尝试调用序列, 若当前数据库不支持序列将会抛出异常以示警告
-                                __dialect.getSequenceNextValSql(_propMeta.getSequenceName());
+                                __dialect.getSequenceNextValSql(_binder.sequenceName);
+                            } else if (includeAutoincrement && targetObj.getId() != null) {
+                                Object _pkValue = _binder.multiplePrimaryKey ? _binder.field.get(targetObj.getId()) : targetObj.getId();
+                                if (_pkValue != null) {
+                                    _fields.add(_binder.name);
+                                    _values.add(_pkValue);
+                                }
                             }
                         } else {
-                            if (entityMeta.isMultiplePrimaryKey()) {
-                                _value = _propMeta.getField().get(targetObj.getId());
+                            if (_binder.multiplePrimaryKey) {
+                                _value = _binder.field.get(targetObj.getId());
                             } else {
                                 _value = targetObj.getId();
                             }
                         }
                     }
                 } else {
-                    _value = _propMeta.getField().get(targetObj);
+                    _value = _binder.field.get(targetObj);
                 }
                 // 以下操作是为了使@Default起效果的同时也保证数据库中的字段默认值不被null值替代
                 if (_value == null) {
                     // 如果value为空则尝试提取默认值
-                    _value = BlurObject.bind(_propMeta.getDefaultValue()).toObjectValue(_propMeta.getField().getType());
+                    _value = _binder.getDefaultValue();
                 }
-                if (_value != null || _propMeta.isNullable()) {
-                    if (includePK && entityMeta.isPrimaryKey(_fieldName) && entityMeta.isAutoincrement(_fieldName)) {
+                if (_value != null || _binder.nullable) {
+                    if (includePK && _binder.primaryKey && _binder.autoincrement) {
                         continue;
                     }
                     // 若value不为空则添加至返回对象中
-                    _fields.add(_fieldName);
+                    _fields.add(_binder.name);
                     _values.add(_value);
                 }
             }
@@ -992,6 +1711,102 @@ public class DefaultSession implements ISession {
         return _returnValue;
     }
 
+    /**
+     * 实体属性绑定描述，预先计算字段顺序、主键/自增/序列标识及空值默认值，避免每次CRUD操作重复分析实体元数据
+     */
+    private static class PropertyBinder {
+
+        private static final ConcurrentMap<EntityMeta, PropertyBinder[]> __BINDERS = new ConcurrentHashMap<EntityMeta, PropertyBinder[]>();
+
+        final String name;
+
+        final Field field;
+
+        final boolean primaryKey;
+
+        final boolean multiplePrimaryKey;
+
+        final boolean autoincrement;
+
+        final String sequenceName;
+
+        final boolean nullable;
+
+        /**
+         * 字段声明的默认值，为空时使用预先转换的nullValue
+         */
+        final String defaultValue;
+
+        final Object nullValue;
+
+        static PropertyBinder[] get(EntityMeta entityMeta) {
+            PropertyBinder[] _binders = __BINDERS.get(entityMeta);
+            if (_binders == null) {
+                List<PropertyBinder> _binderList = new ArrayList<PropertyBinder>();
+                for (String _fieldName : entityMeta.getPropertyNames()) {
+                    _binderList.add(new PropertyBinder(entityMeta, entityMeta.getPropertyByName(_fieldName)));
+                }
+                _binders = _binderList.toArray(new PropertyBinder[_binderList.size()]);
+                PropertyBinder[] _exists = __BINDERS.putIfAbsent(entityMeta, _binders);
+                if (_exists != null) {
+                    _binders = _exists;
+                }
+            }
+            return _binders;
+        }
+
+        PropertyBinder(EntityMeta entityMeta, EntityMeta.PropertyMeta propertyMeta) {
+            this.name = propertyMeta.getName();
+            this.field = propertyMeta.getField();
+            this.primaryKey = entityMeta.isPrimaryKey(name);
+            this.multiplePrimaryKey = entityMeta.isMultiplePrimaryKey();
+            this.autoincrement = propertyMeta.isAutoincrement();
+            this.sequenceName = StringUtils.trimToNull(propertyMeta.getSequenceName());
+            this.nullable = propertyMeta.isNullable();
+            this.defaultValue = StringUtils.isNotBlank(propertyMeta.getDefaultValue()) ? propertyMeta.getDefaultValue() : null;
+            this.nullValue = this.defaultValue == null ? BlurObject.bind(propertyMeta.getDefaultValue()).toObjectValue(field.getType()) : null;
+        }
+
+        Object getDefaultValue() {
+            if (defaultValue != null) {
+                // 每次重新转换，避免可变类型的默认值对象被共享
+                return BlurObject.bind(defaultValue).toObjectValue(field.getType());
+            }
+            return nullValue;
+        }
+    }
+
+    /**
+     * 分表批量操作分组，相同SQL语句(即相同目标数据表及字段集合)的元素归为一组
+     */
+    private static class BatchGroup {
+
+        static final int INSERT = 1;
+
+        static final int UPDATE = 2;
+
+        static final int DELETE = 3;
+
+        final EntityMeta entityMeta;
+
+        final ShardingBatchResult<?>.Group result;
+
+        final List<IEntity> entities = new ArrayList<IEntity>();
+
+        final List<SQLBatchParameter> batchParams = new ArrayList<SQLBatchParameter>();
+
+        BatchGroup(EntityMeta entityMeta, ShardingBatchResult<?>.Group result) {
+            this.entityMeta = entityMeta;
+            this.result = result;
+        }
+
+        void add(int index, IEntity entity, SQLBatchParameter batchParam) {
+            result.addIndex(index);
+            entities.add(entity);
+            batchParams.add(batchParam);
+        }
+    }
+
     /**
      * 访问器配置接口私有实现，只为DefaultSession提供扩展服务
      */
@@ -1043,7 +1858,24 @@ public class DefaultSession implements ISession {
 
         @Override
         public void afterStatementExecution(AccessorEventContext context) throws Exception {
-            if (__entities != null && __entityMeta.hasAutoincrement()) {
+            if (__entities != null && __entities.size() > 1 && __entityMeta.hasAutoincrement()) {
+                // 批量或多行插入时按记录顺序依次为各实体的自生成主键赋值
+                String _autoKey = __entityMeta.getAutoincrementKeys().get(0);
+                Field _field = __entityMeta.getPropertyByField(_autoKey).getField();
+                List<Object> _keyValues = __dialect.getGeneratedKeys(context.getStatement(), _autoKey, __entities.size());
+                if (_keyValues.size() != __entities.size()) {
+                    // 返回的主键数量与记录行数不一致时无法确定对应关系, 不进行赋值
+                    _LOG.warn("Expected " + __entities.size() + " generated keys but got " + _keyValues.size() + ", generated keys of " + __entityMeta.getEntityName() + " are not assigned.");
+                    return;
+                }
+                for (int _idx = 0; _idx < _keyValues.size(); _idx++) {
+                    Object _value = _keyValues.get(_idx);
+                    if (_value != null) {
+                        IEntity<?> _entity = __entities.get(_idx);
+                        _field.set(__entityMeta.isMultiplePrimaryKey() ? _entity.getId() : _entity, BlurObject.bind(_value).toObjectValue(_field.getType()));
+                    }
+                }
+            } else if (__entities != null && __entityMeta.hasAutoincrement()) {
                 // 注: 数据表最多一个自动生成主键
                 // 获取返回的自动生成主键集合
                 Map<String, Object> _keyValues = __dialect.getGeneratedKey(context.getStatement(), __entityMeta.getAutoincrementKeys());
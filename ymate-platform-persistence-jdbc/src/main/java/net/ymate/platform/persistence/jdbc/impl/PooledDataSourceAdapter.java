@@ -0,0 +1,776 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.impl;
+
+import net.ymate.platform.core.lang.BlurObject;
+import net.ymate.platform.core.support.DefaultThreadFactory;
+import net.ymate.platform.persistence.jdbc.AbstractDataSourceAdapter;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 内置连接池数据源适配器，无需依赖第三方连接池组件，
+ * 连接池参数通过数据源配置的扩展参数(ds.&lt;name&gt;.params.*)进行设置：
+ * <ul>
+ * <li>max_pool_size - 连接池最大连接数，默认为10</li>
+ * <li>min_idle - 连接池最小空闲连接数，默认为0</li>
+ * <li>max_wait - 获取连接最大等待时间(毫秒)，默认为30000</li>
+ * <li>validation_query - 连接有效性检测SQL语句，默认为空(即使用Connection.isValid方法)</li>
+ * <li>validation_timeout - 连接有效性检测超时时间(秒)，默认为5</li>
+ * <li>validation_interval - 连接空闲超过该时间(毫秒)后再次借出前需进行有效性检测，默认为500</li>
+ * <li>idle_timeout - 超出最小空闲数量的连接空闲超时时间(毫秒)，为0表示不回收，默认为600000</li>
+ * <li>max_lifetime - 连接最大存活时间(毫秒)，为0表示不限制，默认为1800000</li>
+ * <li>leak_detection_threshold - 连接泄漏检测阈值(毫秒)，连接借出超过该时间未归还将输出借出时的调用堆栈，为0表示关闭，默认为0</li>
+ * <li>housekeeping_interval - 连接池维护任务执行间隔(毫秒)，默认为30000</li>
+ * </ul>
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class PooledDataSourceAdapter extends AbstractDataSourceAdapter {
+
+    private static final Log _LOG = LogFactory.getLog(PooledDataSourceAdapter.class);
+
+    private static final int STATE_REMOVED = -1;
+
+    private static final int STATE_NOT_IN_USE = 0;
+
+    private static final int STATE_IN_USE = 1;
+
+    /**
+     * 每个线程最多缓存的最近归还连接数量
+     */
+    private static final int THREAD_LOCAL_CAPACITY = 16;
+
+    /**
+     * 等待获取连接时每次阻塞的最长时间，超时后将重新扫描连接池以感知连接被回收后空出的位置
+     */
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * 归还连接时尝试直接移交给等待线程的最大次数
+     */
+    private static final int HANDOFF_ATTEMPTS = 64;
+
+    private final CopyOnWriteArrayList<PoolEntry> __entries = new CopyOnWriteArrayList<PoolEntry>();
+
+    private final SynchronousQueue<PoolEntry> __handoffQueue = new SynchronousQueue<PoolEntry>(true);
+
+    private final ThreadLocal<List<WeakReference<PoolEntry>>> __threadEntries = new ThreadLocal<List<WeakReference<PoolEntry>>>() {
+        @Override
+        protected List<WeakReference<PoolEntry>> initialValue() {
+            return new ArrayList<WeakReference<PoolEntry>>(THREAD_LOCAL_CAPACITY);
+        }
+    };
+
+    private final AtomicInteger __totalCount = new AtomicInteger();
+
+    private final AtomicInteger __waiters = new AtomicInteger();
+
+    private final AtomicLong __borrowCount = new AtomicLong();
+
+    private final AtomicLong __waitNanos = new AtomicLong();
+
+    private final AtomicLong __timeoutCount = new AtomicLong();
+
+    private final AtomicLong __createdCount = new AtomicLong();
+
+    private final AtomicLong __leakCount = new AtomicLong();
+
+    private final Random __random = new Random();
+
+    private ScheduledExecutorService __housekeeper;
+
+    private volatile boolean __closed;
+
+    private String __poolName;
+
+    private String __password;
+
+    private int __maxPoolSize;
+
+    private int __minIdle;
+
+    private long __maxWait;
+
+    private String __validationQuery;
+
+    private int __validationTimeout;
+
+    private long __validationInterval;
+
+    private long __idleTimeout;
+
+    private long __maxLifetime;
+
+    private long __leakDetectionThreshold;
+
+    @Override
+    protected void __doInit() throws Exception {
+        Class.forName(__cfgMeta.getDriverClass());
+        //
+        __poolName = __cfgMeta.getName();
+        __password = __doGetPasswordDecryptIfNeed();
+        //
+        Map<String, String> _params = __cfgMeta.getParams();
+        __maxPoolSize = Math.max(1, __doGetIntParam(_params, "max_pool_size", 10));
+        __minIdle = Math.min(__maxPoolSize, Math.max(0, __doGetIntParam(_params, "min_idle", 0)));
+        __maxWait = Math.max(0, __doGetLongParam(_params, "max_wait", 30000L));
+        __validationQuery = StringUtils.trimToNull(_params.get("validation_query"));
+        __validationTimeout = Math.max(0, __doGetIntParam(_params, "validation_timeout", 5));
+        __validationInterval = Math.max(0, __doGetLongParam(_params, "validation_interval", 500L));
+        __idleTimeout = Math.max(0, __doGetLongParam(_params, "idle_timeout", 600000L));
+        __maxLifetime = Math.max(0, __doGetLongParam(_params, "max_lifetime", 1800000L));
+        __leakDetectionThreshold = Math.max(0, __doGetLongParam(_params, "leak_detection_threshold", 0L));
+        long _housekeepingInterval = Math.max(1000L, __doGetLongParam(_params, "housekeeping_interval", 30000L));
+        if (__leakDetectionThreshold > 0) {
+            // 保证泄漏检测的精度不会低于阈值的一半
+            _housekeepingInterval = Math.max(1000L, Math.min(_housekeepingInterval, __leakDetectionThreshold / 2));
+        }
+        //
+        __closed = false;
+        __doFillPool();
+        //
+        __housekeeper = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("ymp-jdbc-pool-" + __poolName + "-") {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread _thread = super.newThread(r);
+                _thread.setDaemon(true);
+                return _thread;
+            }
+        });
+        __housekeeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    __doHousekeeping();
+                } catch (Throwable e) {
+                    _LOG.warn("Connection pool '" + __poolName + "' housekeeping failed: ", e);
+                }
+            }
+        }, _housekeepingInterval, _housekeepingInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private static int __doGetIntParam(Map<String, String> params, String key, int defaultValue) {
+        String _value = params.get(key);
+        return StringUtils.isNotBlank(_value) ? new BlurObject(_value.trim()).toIntValue() : defaultValue;
+    }
+
+    private static long __doGetLongParam(Map<String, String> params, String key, long defaultValue) {
+        String _value = params.get(key);
+        return StringUtils.isNotBlank(_value) ? new BlurObject(_value.trim()).toLongValue() : defaultValue;
+    }
+
+    @Override
+    public Connection getConnection() throws Exception {
+        if (__closed) {
+            throw new SQLException("Connection pool '" + __poolName + "' has been closed.");
+        }
+        long _start = System.nanoTime();
+        long _timeout = TimeUnit.MILLISECONDS.toNanos(__maxWait);
+        do {
+            PoolEntry _entry = __doBorrow(_timeout - (System.nanoTime() - _start));
+            if (_entry == null) {
+                break;
+            }
+            long _now = System.currentTimeMillis();
+            if (_entry.isExpired(_now) || (_now - _entry.lastAccess > __validationInterval && !__doValidate(_entry))) {
+                __doCloseEntry(_entry);
+                continue;
+            }
+            __borrowCount.incrementAndGet();
+            __waitNanos.addAndGet(System.nanoTime() - _start);
+            //
+            _entry.borrowTime = _now;
+            if (__leakDetectionThreshold > 0) {
+                _entry.borrowTrace = new Exception("Apparent connection leak detected, connection was borrowed here:");
+            }
+            return _entry.createProxy();
+        } while (System.nanoTime() - _start < _timeout);
+        //
+        __timeoutCount.incrementAndGet();
+        throw new SQLException("Connection pool '" + __poolName + "' is not available, request timed out after "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - _start) + "ms (total=" + getTotalConnections()
+                + ", active=" + getActiveConnections() + ", waiting=" + getWaitingThreads() + ")");
+    }
+
+    /**
+     * 借出连接，依次尝试当前线程最近归还的连接、连接池中的空闲连接、创建新连接，最后等待其它线程归还连接
+     *
+     * @param timeout 最长等待时间(纳秒)
+     * @return 返回已标记为使用中的连接对象，若等待超时则返回null
+     * @throws SQLException 创建新连接时可能产生的异常
+     */
+    private PoolEntry __doBorrow(long timeout) throws SQLException {
+        List<WeakReference<PoolEntry>> _localEntries = __threadEntries.get();
+        for (int _idx = _localEntries.size() - 1; _idx >= 0; _idx--) {
+            PoolEntry _entry = _localEntries.remove(_idx).get();
+            if (_entry != null && _entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                return _entry;
+            }
+        }
+        //
+        long _remaining = timeout;
+        do {
+            for (PoolEntry _entry : __entries) {
+                if (_entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                    return _entry;
+                }
+            }
+            PoolEntry _entry = __doCreateEntry(true);
+            if (_entry != null) {
+                return _entry;
+            }
+            long _begin = System.nanoTime();
+            // 仅在阻塞于移交队列期间计为等待线程, 避免归还连接的线程因其它线程正在创建物理连接而空转
+            __waiters.incrementAndGet();
+            try {
+                _entry = __handoffQueue.poll(Math.min(_remaining, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for connection from pool '" + __poolName + "'.");
+            } finally {
+                __waiters.decrementAndGet();
+            }
+            if (_entry != null && _entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                return _entry;
+            }
+            _remaining -= System.nanoTime() - _begin;
+        } while (_remaining > 0 && !__closed);
+        return null;
+    }
+
+    /**
+     * 归还连接，优先直接移交给正在等待的线程，否则放回当前线程的本地缓存以便下次快速获取，
+     * 移交尝试的次数是有限的，未能移交的连接仍处于空闲状态，等待线程将在下次扫描连接池时获取
+     */
+    private void __doRequite(PoolEntry entry) {
+        long _now = System.currentTimeMillis();
+        entry.lastAccess = _now;
+        entry.borrowTime = 0;
+        entry.borrowTrace = null;
+        if (__closed || entry.evict || entry.isExpired(_now)) {
+            __doCloseEntry(entry);
+            return;
+        }
+        entry.state.set(STATE_NOT_IN_USE);
+        for (int _idx = 0; _idx < HANDOFF_ATTEMPTS && __waiters.get() > 0; _idx++) {
+            if (entry.state.get() != STATE_NOT_IN_USE || __handoffQueue.offer(entry)) {
+                return;
+            }
+            Thread.yield();
+        }
+        List<WeakReference<PoolEntry>> _localEntries = __threadEntries.get();
+        if (_localEntries.size() < THREAD_LOCAL_CAPACITY) {
+            _localEntries.add(new WeakReference<PoolEntry>(entry));
+        }
+    }
+
+    /**
+     * 在未超出最大连接数的前提下创建新连接
+     *
+     * @param inUse 新连接是否直接标记为使用中
+     * @return 若已达到最大连接数则返回null
+     * @throws SQLException 创建连接时可能产生的异常
+     */
+    private PoolEntry __doCreateEntry(boolean inUse) throws SQLException {
+        for (; ; ) {
+            int _total = __totalCount.get();
+            if (_total >= __maxPoolSize || __closed) {
+                return null;
+            }
+            if (__totalCount.compareAndSet(_total, _total + 1)) {
+                break;
+            }
+        }
+        try {
+            Connection _conn = DriverManager.getConnection(__cfgMeta.getConnectionUrl(), __cfgMeta.getUsername(), __password);
+            PoolEntry _entry = new PoolEntry(_conn, inUse ? STATE_IN_USE : STATE_NOT_IN_USE);
+            __entries.add(_entry);
+            __createdCount.incrementAndGet();
+            return _entry;
+        } catch (SQLException e) {
+            __totalCount.decrementAndGet();
+            throw e;
+        } catch (RuntimeException e) {
+            __totalCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭当前线程持有(或已标记为移除)的连接并将其移出连接池
+     */
+    private void __doCloseEntry(PoolEntry entry) {
+        if (entry.state.getAndSet(STATE_REMOVED) != STATE_REMOVED) {
+            __doDiscardEntry(entry);
+        }
+    }
+
+    private void __doDiscardEntry(PoolEntry entry) {
+        if (__entries.remove(entry)) {
+            __totalCount.decrementAndGet();
+        }
+        try {
+            entry.connection.close();
+        } catch (Throwable e) {
+            _LOG.debug("Failed to close connection of pool '" + __poolName + "': ", e);
+        }
+    }
+
+    private boolean __doValidate(PoolEntry entry) {
+        try {
+            if (__validationQuery == null) {
+                try {
+                    return entry.connection.isValid(__validationTimeout);
+                } catch (AbstractMethodError e) {
+                    // 不支持JDBC4的驱动程序只能检查连接是否已关闭
+                    return !entry.connection.isClosed();
+                }
+            }
+            Statement _statement = entry.connection.createStatement();
+            try {
+                if (__validationTimeout > 0) {
+                    _statement.setQueryTimeout(__validationTimeout);
+                }
+                _statement.execute(__validationQuery);
+            } finally {
+                _statement.close();
+            }
+            if (!entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+            }
+            return true;
+        } catch (Throwable e) {
+            _LOG.debug("Connection validation of pool '" + __poolName + "' failed: ", e);
+            return false;
+        }
+    }
+
+    private void __doFillPool() {
+        while (!__closed && __totalCount.get() < __minIdle) {
+            try {
+                PoolEntry _entry = __doCreateEntry(false);
+                if (_entry == null) {
+                    break;
+                }
+            } catch (Exception e) {
+                _LOG.warn("Connection pool '" + __poolName + "' failed to create idle connection: ", e);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 连接池维护任务：检测连接泄漏、关闭超出存活时间或空闲超时的连接并补充最小空闲连接
+     */
+    private void __doHousekeeping() {
+        long _now = System.currentTimeMillis();
+        for (PoolEntry _entry : __entries) {
+            int _state = _entry.state.get();
+            if (_state == STATE_IN_USE) {
+                Throwable _trace = _entry.borrowTrace;
+                long _borrowTime = _entry.borrowTime;
+                if (__leakDetectionThreshold > 0 && _trace != null && !_entry.leakReported
+                        && _borrowTime > 0 && _now - _borrowTime > __leakDetectionThreshold) {
+                    _entry.leakReported = true;
+                    __leakCount.incrementAndGet();
+                    _LOG.warn("Connection leak detection triggered on pool '" + __poolName + "', connection has been in use for " + (_now - _borrowTime) + "ms: ", _trace);
+                }
+            } else if (_state == STATE_NOT_IN_USE) {
+                boolean _idleTimeout = __idleTimeout > 0 && _now - _entry.lastAccess > __idleTimeout && __totalCount.get() > __minIdle;
+                if ((_entry.isExpired(_now) || _idleTimeout) && _entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_REMOVED)) {
+                    __doDiscardEntry(_entry);
+                }
+            }
+        }
+        __doFillPool();
+    }
+
+    @Override
+    public void destroy() {
+        if (__inited) {
+            __closed = true;
+            if (__housekeeper != null) {
+                __housekeeper.shutdownNow();
+                __housekeeper = null;
+            }
+            for (PoolEntry _entry : __entries) {
+                int _state = _entry.state.getAndSet(STATE_REMOVED);
+                if (_state == STATE_IN_USE) {
+                    _LOG.warn("Connection pool '" + __poolName + "' is closing while connection still in use.");
+                }
+                if (_state != STATE_REMOVED) {
+                    __doDiscardEntry(_entry);
+                }
+            }
+            __password = null;
+            super.destroy();
+        }
+    }
+
+    /**
+     * @return 返回连接池当前连接总数
+     */
+    public int getTotalConnections() {
+        return __totalCount.get();
+    }
+
+    /**
+     * @return 返回连接池当前使用中的连接数
+     */
+    public int getActiveConnections() {
+        int _count = 0;
+        for (PoolEntry _entry : __entries) {
+            if (_entry.state.get() == STATE_IN_USE) {
+                _count++;
+            }
+        }
+        return _count;
+    }
+
+    /**
+     * @return 返回连接池当前空闲的连接数
+     */
+    public int getIdleConnections() {
+        int _count = 0;
+        for (PoolEntry _entry : __entries) {
+            if (_entry.state.get() == STATE_NOT_IN_USE) {
+                _count++;
+            }
+        }
+        return _count;
+    }
+
+    /**
+     * @return 返回当前正在等待获取连接的线程数
+     */
+    public int getWaitingThreads() {
+        return __waiters.get();
+    }
+
+    /**
+     * @return 返回累计成功借出连接的次数
+     */
+    public long getBorrowCount() {
+        return __borrowCount.get();
+    }
+
+    /**
+     * @return 返回累计获取连接所花费的等待时间(毫秒)
+     */
+    public long getTotalWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(__waitNanos.get());
+    }
+
+    /**
+     * @return 返回累计获取连接超时的次数
+     */
+    public long getTimeoutCount() {
+        return __timeoutCount.get();
+    }
+
+    /**
+     * @return 返回累计创建的物理连接数
+     */
+    public long getCreatedCount() {
+        return __createdCount.get();
+    }
+
+    /**
+     * @return 返回累计检测到的连接泄漏次数
+     */
+    public long getLeakCount() {
+        return __leakCount.get();
+    }
+
+    /**
+     * 连接池中的物理连接及其状态
+     */
+    private class PoolEntry {
+
+        final Connection connection;
+
+        final AtomicInteger state;
+
+        final long expireTime;
+
+        final boolean defaultAutoCommit;
+
+        final boolean defaultReadOnly;
+
+        final int defaultTransactionIsolation;
+
+        final String defaultCatalog;
+
+        volatile long lastAccess;
+
+        volatile long borrowTime;
+
+        volatile Throwable borrowTrace;
+
+        volatile boolean leakReported;
+
+        volatile boolean evict;
+
+        PoolEntry(Connection connection, int state) throws SQLException {
+            this.connection = connection;
+            this.state = new AtomicInteger(state);
+            this.lastAccess = System.currentTimeMillis();
+            if (__maxLifetime > 0) {
+                // 附加不超过2.5%的随机偏差，避免同时创建的连接集中到期
+                long _variance = __maxLifetime > 10000L ? (long) (__random.nextDouble() * (__maxLifetime / 40)) : 0;
+                this.expireTime = lastAccess + __maxLifetime - _variance;
+            } else {
+                this.expireTime = 0;
+            }
+            this.defaultAutoCommit = connection.getAutoCommit();
+            this.defaultReadOnly = connection.isReadOnly();
+            this.defaultTransactionIsolation = connection.getTransactionIsolation();
+            this.defaultCatalog = connection.getCatalog();
+        }
+
+        boolean isExpired(long now) {
+            return expireTime > 0 && now >= expireTime;
+        }
+
+        Connection createProxy() {
+            leakReported = false;
+            return (Connection) Proxy.newProxyInstance(PooledDataSourceAdapter.class.getClassLoader(), new Class<?>[]{Connection.class}, new ConnectionHandler(this));
+        }
+    }
+
+    /**
+     * 连接代理，拦截close方法将连接归还连接池，并在归还前关闭借出期间打开的语句对象、回滚未提交的事务及重置被修改过的连接状态
+     */
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final PoolEntry __entry;
+
+        private volatile boolean __released;
+
+        private boolean __dirtyAutoCommit;
+
+        private boolean __dirtyReadOnly;
+
+        private boolean __dirtyIsolation;
+
+        private boolean __dirtyCatalog;
+
+        /**
+         * 借出期间打开且尚未关闭的语句对象代理
+         */
+        private final Set<Statement> __statements = new HashSet<Statement>();
+
+        ConnectionHandler(PoolEntry entry) {
+            __entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String _name = method.getName();
+            int _argCount = args == null ? 0 : args.length;
+            if (_argCount == 0) {
+                if ("close".equals(_name)) {
+                    if (!__released) {
+                        __released = true;
+                        __doRelease();
+                    }
+                    return null;
+                } else if ("isClosed".equals(_name)) {
+                    return __released || __entry.connection.isClosed();
+                } else if ("hashCode".equals(_name)) {
+                    return System.identityHashCode(proxy);
+                } else if ("toString".equals(_name)) {
+                    return "PooledConnection[" + __entry.connection + "]";
+                }
+            } else if (_argCount == 1) {
+                if ("equals".equals(_name)) {
+                    return proxy == args[0];
+                } else if ("setAutoCommit".equals(_name)) {
+                    __dirtyAutoCommit = true;
+                } else if ("setReadOnly".equals(_name)) {
+                    __dirtyReadOnly = true;
+                } else if ("setTransactionIsolation".equals(_name)) {
+                    __dirtyIsolation = true;
+                } else if ("setCatalog".equals(_name)) {
+                    __dirtyCatalog = true;
+                }
+            }
+            if (__released) {
+                throw new SQLException("Connection is closed.");
+            }
+            try {
+                Object _result = method.invoke(__entry.connection, args);
+                if (_result instanceof Statement) {
+                    // createStatement、prepareStatement及prepareCall返回的语句对象
+                    Statement _statement = (Statement) DelegateHandler.wrap(method.getReturnType(), new DelegateHandler(this, (Connection) proxy, null, _result));
+                    synchronized (__statements) {
+                        __statements.add(_statement);
+                    }
+                    return _statement;
+                } else if (_result instanceof DatabaseMetaData) {
+                    return DelegateHandler.wrap(DatabaseMetaData.class, new DelegateHandler(this, (Connection) proxy, null, _result));
+                }
+                return _result;
+            } catch (InvocationTargetException e) {
+                Throwable _target = e.getTargetException();
+                if (_target instanceof SQLException) {
+                    String _sqlState = ((SQLException) _target).getSQLState();
+                    // SQLState以08开头表示连接异常，该连接归还后将被丢弃
+                    if (_sqlState != null && _sqlState.startsWith("08")) {
+                        __entry.evict = true;
+                    }
+                }
+                throw _target;
+            }
+        }
+
+        private void __doRelease() {
+            Connection _conn = __entry.connection;
+            List<Statement> _statements;
+            synchronized (__statements) {
+                _statements = new ArrayList<Statement>(__statements);
+                __statements.clear();
+            }
+            for (Statement _statement : _statements) {
+                try {
+                    _statement.close();
+                } catch (Throwable e) {
+                    _LOG.debug("Failed to close statement of pool '" + __poolName + "': ", e);
+                }
+            }
+            try {
+                // 无论借出期间是否修改过自动提交状态, 均需回滚未提交的事务, 避免泄漏至下一个使用者
+                if (!_conn.getAutoCommit()) {
+                    _conn.rollback();
+                }
+                if (__dirtyAutoCommit && _conn.getAutoCommit() != __entry.defaultAutoCommit) {
+                    _conn.setAutoCommit(__entry.defaultAutoCommit);
+                }
+                if (__dirtyReadOnly && _conn.isReadOnly() != __entry.defaultReadOnly) {
+                    _conn.setReadOnly(__entry.defaultReadOnly);
+                }
+                if (__dirtyIsolation && _conn.getTransactionIsolation() != __entry.defaultTransactionIsolation) {
+                    _conn.setTransactionIsolation(__entry.defaultTransactionIsolation);
+                }
+                if (__dirtyCatalog && !StringUtils.equals(_conn.getCatalog(), __entry.defaultCatalog)) {
+                    _conn.setCatalog(__entry.defaultCatalog);
+                }
+                _conn.clearWarnings();
+            } catch (Throwable e) {
+                _LOG.debug("Failed to reset connection state of pool '" + __poolName + "', it will be evicted: ", e);
+                __entry.evict = true;
+            }
+            __doRequite(__entry);
+        }
+    }
+
+    /**
+     * 语句对象、结果集及数据库元数据对象代理，getConnection及getStatement方法返回相应的代理对象而非物理对象，
+     * 避免调用者绕过连接池直接关闭物理连接，语句对象关闭时从所属连接代理的语句集合中移除
+     */
+    private static class DelegateHandler implements InvocationHandler {
+
+        private final ConnectionHandler __connHandler;
+
+        private final Connection __connProxy;
+
+        /**
+         * 结果集所属的语句对象代理，由数据库元数据对象返回的结果集无所属语句对象
+         */
+        private final Statement __statementProxy;
+
+        private final Object __target;
+
+        DelegateHandler(ConnectionHandler connHandler, Connection connProxy, Statement statementProxy, Object target) {
+            __connHandler = connHandler;
+            __connProxy = connProxy;
+            __statementProxy = statementProxy;
+            __target = target;
+        }
+
+        static Object wrap(Class<?> type, DelegateHandler handler) {
+            return Proxy.newProxyInstance(PooledDataSourceAdapter.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String _name = method.getName();
+            int _argCount = args == null ? 0 : args.length;
+            if (_argCount == 0) {
+                if ("close".equals(_name) && __target instanceof Statement) {
+                    synchronized (__connHandler.__statements) {
+                        __connHandler.__statements.remove(proxy);
+                    }
+                } else if ("getConnection".equals(_name)) {
+                    return __connProxy;
+                } else if ("getStatement".equals(_name) && __target instanceof ResultSet) {
+                    return __statementProxy;
+                } else if ("hashCode".equals(_name)) {
+                    return System.identityHashCode(proxy);
+                } else if ("toString".equals(_name)) {
+                    return "Pooled" + proxy.getClass().getInterfaces()[0].getSimpleName() + "[" + __target + "]";
+                }
+            } else if (_argCount == 1 && "equals".equals(_name)) {
+                return proxy == args[0];
+            }
+            try {
+                Object _result = method.invoke(__target, args);
+                if (_result instanceof ResultSet) {
+                    // executeQuery、getResultSet、getGeneratedKeys及元数据查询返回的结果集
+                    return wrap(ResultSet.class, new DelegateHandler(__connHandler, __connProxy, __target instanceof Statement ? (Statement) proxy : null, _result));
+                }
+                return _result;
+            } catch (InvocationTargetException e) {
+                Throwable _target = e.getTargetException();
+                if (_target instanceof SQLException) {
+                    String _sqlState = ((SQLException) _target).getSQLState();
+                    if (_sqlState != null && _sqlState.startsWith("08")) {
+                        __connHandler.__entry.evict = true;
+                    }
+                }
+                throw _target;
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.query;
+
+import net.ymate.platform.persistence.Page;
+import net.ymate.platform.persistence.jdbc.dialect.IDialect;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.lang.StringUtils;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 键集(Seek)分页参数对象：以排序键字段及上一页最后一条记录的键值定位下一页数据，
+ * 生成形如 WHERE (k1, k2) &gt; (?, ?) ORDER BY k1, k2 LIMIT n 的查询语句，翻页深度不影响查询效率
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public final class KeysetPage {
+
+    private static final String CHARSET = "UTF-8";
+
+    private static final char SEPARATOR = ',';
+
+    private static final char ESCAPE = '\\';
+
+    /**
+     * 排序键字段名称集合(可带表别名前缀，如：u.id)
+     */
+    private final List<String> __fields = new ArrayList<String>();
+
+    /**
+     * 对应排序键字段是否为降序
+     */
+    private final List<Boolean> __descs = new ArrayList<Boolean>();
+
+    private int __pageSize;
+
+    /**
+     * 上一页最后一条记录的键值，为空表示第一页
+     */
+    private Object[] __lastValues;
+
+    public static KeysetPage create(int pageSize) {
+        return new KeysetPage(pageSize);
+    }
+
+    private KeysetPage(int pageSize) {
+        pageSize(pageSize);
+    }
+
+    public int pageSize() {
+        return __pageSize;
+    }
+
+    public KeysetPage pageSize(int pageSize) {
+        __pageSize = pageSize > 0 ? pageSize : Page.DEFAULT_PAGE_SIZE;
+        return this;
+    }
+
+    public KeysetPage asc(String field) {
+        return asc(null, field);
+    }
+
+    public KeysetPage asc(String prefix, String field) {
+        __fields.add(StringUtils.isNotBlank(prefix) ? prefix.concat(".").concat(field) : field);
+        __descs.add(false);
+        return this;
+    }
+
+    public KeysetPage desc(String field) {
+        return desc(null, field);
+    }
+
+    public KeysetPage desc(String prefix, String field) {
+        __fields.add(StringUtils.isNotBlank(prefix) ? prefix.concat(".").concat(field) : field);
+        __descs.add(true);
+        return this;
+    }
+
+    /**
+     * @param lastValues 上一页最后一条记录的键值，须与排序键字段一一对应
+     * @return 返回当前分页参数对象
+     */
+    public KeysetPage after(Object... lastValues) {
+        if (lastValues != null && lastValues.length > 0) {
+            if (lastValues.length != __fields.size()) {
+                throw new IllegalArgumentException("Keyset values count does not match key fields count.");
+            }
+            __lastValues = lastValues;
+        } else {
+            __lastValues = null;
+        }
+        return this;
+    }
+
+    /**
+     * @param token 由上一页结果集返回的下一页游标标识
+     * @return 返回当前分页参数对象
+     */
+    public KeysetPage after(String token) {
+        if (StringUtils.isBlank(token)) {
+            __lastValues = null;
+            return this;
+        }
+        return after(decodeToken(token));
+    }
+
+    public List<String> fields() {
+        return Collections.unmodifiableList(__fields);
+    }
+
+    public boolean isDesc(int idx) {
+        return __descs.get(idx);
+    }
+
+    /**
+     * @return 返回全部排序键字段是否为同一排序方向
+     */
+    public boolean isSameDirection() {
+        for (int _idx = 1; _idx < __descs.size(); _idx++) {
+            if (!__descs.get(_idx).equals(__descs.get(0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Object[] lastValues() {
+        return __lastValues;
+    }
+
+    public boolean isFirstPage() {
+        return __lastValues == null;
+    }
+
+    /**
+     * 将键集分页条件合并至原查询条件中，排序规则以排序键字段为准(原查询条件中的排序设置将被忽略)
+     *
+     * @param dialect 数据库方言
+     * @param where   原查询条件对象，可以为空
+     * @return 返回新的查询条件对象(原查询条件对象不会被修改)
+     */
+    public Where toWhere(IDialect dialect, Where where) {
+        if (__fields.isEmpty()) {
+            throw new IllegalStateException("Keyset page requires at least one key field.");
+        }
+        Cond _cond = Cond.create();
+        boolean _hasCond = where != null && StringUtils.isNotBlank(where.cond().toString());
+        if (_hasCond) {
+            _cond.bracketBegin().cond(where.cond()).bracketEnd();
+        } else if (where != null) {
+            // 保留无条件语句时单独设置的参数(如子查询参数)
+            _cond.param(where.cond().params());
+        }
+        if (__lastValues != null) {
+            if (_hasCond) {
+                _cond.and();
+            }
+            _cond.bracketBegin().cond(dialect.buildKeysetCond(this)).bracketEnd();
+        }
+        Where _where = Where.create(_cond);
+        if (where != null && where.groupBy() != null) {
+            _where.groupBy(where.groupBy());
+        }
+        OrderBy _orderBy = _where.orderBy().dialect(dialect);
+        for (int _idx = 0; _idx < __fields.size(); _idx++) {
+            if (__descs.get(_idx)) {
+                _orderBy.desc(__fields.get(_idx));
+            } else {
+                _orderBy.asc(__fields.get(_idx));
+            }
+        }
+        return _where;
+    }
+
+    /**
+     * @param values 键值集合
+     * @return 将键值集合编码为可在URL中传递的游标标识
+     */
+    public static String encodeToken(Object... values) {
+        StringBuilder _tokenSB = new StringBuilder();
+        for (int _idx = 0; _idx < values.length; _idx++) {
+            if (_idx > 0) {
+                _tokenSB.append(SEPARATOR);
+            }
+            __doEscape(_tokenSB, __doEncodeValue(values[_idx]));
+        }
+        try {
+            return Base64.encodeBase64URLSafeString(_tokenSB.toString().getBytes(CHARSET));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param token 游标标识
+     * @return 将游标标识解码为键值集合
+     */
+    public static Object[] decodeToken(String token) {
+        String _source;
+        try {
+            _source = new String(Base64.decodeBase64(token), CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        List<Object> _values = new ArrayList<Object>();
+        StringBuilder _valueSB = new StringBuilder();
+        for (int _idx = 0; _idx < _source.length(); _idx++) {
+            char _c = _source.charAt(_idx);
+            if (_c == ESCAPE && _idx + 1 < _source.length()) {
+                _valueSB.append(_source.charAt(++_idx));
+            } else if (_c == SEPARATOR) {
+                _values.add(__doDecodeValue(_valueSB.toString()));
+                _valueSB.setLength(0);
+            } else {
+                _valueSB.append(_c);
+            }
+        }
+        _values.add(__doDecodeValue(_valueSB.toString()));
+        return _values.toArray();
+    }
+
+    private static void __doEscape(StringBuilder target, String value) {
+        for (int _idx = 0; _idx < value.length(); _idx++) {
+            char _c = value.charAt(_idx);
+            if (_c == SEPARATOR || _c == ESCAPE) {
+                target.append(ESCAPE);
+            }
+            target.append(_c);
+        }
+    }
+
+    /**
+     * 键值编码格式为：类型标识 + 字符串值，避免采用Java序列化带来的安全隐患
+     */
+    private static String __doEncodeValue(Object value) {
+        if (value == null) {
+            return "n";
+        } else if (value instanceof String) {
+            return "s".concat((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "i".concat(value.toString());
+        } else if (value instanceof Long) {
+            return "l".concat(value.toString());
+        } else if (value instanceof BigDecimal) {
+            return "d".concat(((BigDecimal) value).toPlainString());
+        } else if (value instanceof BigInteger) {
+            return "b".concat(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            return "f".concat(value.toString());
+        } else if (value instanceof Boolean) {
+            return "z".concat(value.toString());
+        } else if (value instanceof Timestamp) {
+            return "t" + ((Timestamp) value).getTime() + "." + ((Timestamp) value).getNanos();
+        } else if (value instanceof java.sql.Date) {
+            return "D" + ((java.sql.Date) value).getTime();
+        } else if (value instanceof Time) {
+            return "T" + ((Time) value).getTime();
+        } else if (value instanceof Date) {
+            return "t" + ((Date) value).getTime() + ".-1";
+        }
+        return "s".concat(value.toString());
+    }
+
+    private static Object __doDecodeValue(String value) {
+        if (value.length() == 0) {
+            throw new IllegalArgumentException("Invalid keyset token.");
+        }
+        String _value = value.substring(1);
+        try {
+            switch (value.charAt(0)) {
+                case 'n':
+                    return null;
+                case 's':
+                    return _value;
+                case 'i':
+                    return Integer.valueOf(_value);
+                case 'l':
+                    return Long.valueOf(_value);
+                case 'd':
+                    return new BigDecimal(_value);
+                case 'b':
+                    return new BigInteger(_value);
+                case 'f':
+                    return Double.valueOf(_value);
+                case 'z':
+                    return Boolean.valueOf(_value);
+                case 't':
+                    Timestamp _timestamp = new Timestamp(Long.parseLong(StringUtils.substringBefore(_value, ".")));
+                    int _nanos = Integer.parseInt(StringUtils.substringAfter(_value, "."));
+                    if (_nanos >= 0) {
+                        _timestamp.setNanos(_nanos);
+                    }
+                    return _timestamp;
+                case 'D':
+                    return new java.sql.Date(Long.parseLong(_value));
+                case 'T':
+                    return new Time(Long.parseLong(_value));
+                default:
+                    throw new IllegalArgumentException("Invalid keyset token.");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid keyset token.", e);
+        }
+    }
+}
@@ -53,6 +53,8 @@ public final class Select extends Query<Select> {
 
     private Page __page;
 
+    private KeysetPage __keysetPage;
+
     public static Select create() {
         return new Select();
     }
@@ -224,6 +226,9 @@ public final class Select extends Query<Select> {
     }
 
     public Params getParams() {
+        if (__keysetPage != null) {
+            return __keysetPage.toWhere(this.dialect(), __where).getParams();
+        }
         return where().getParams();
     }
 
@@ -266,6 +271,27 @@ public final class Select extends Query<Select> {
         return this;
     }
 
+    /**
+     * 设置键集分页参数，将替代常规分页及原查询条件中的排序设置
+     *
+     * @param keysetPage 键集分页参数对象
+     * @return 返回当前Select对象
+     */
+    public Select keyset(KeysetPage keysetPage) {
+        __keysetPage = keysetPage;
+        return this;
+    }
+
+    public Select keyset(IDialect dialect, KeysetPage keysetPage) {
+        this.dialect(dialect);
+        __keysetPage = keysetPage;
+        return this;
+    }
+
+    public KeysetPage keyset() {
+        return __keysetPage;
+    }
+
     @Override
     public String toString() {
         StringBuilder _selectSB = new StringBuilder("SELECT ");
@@ -283,7 +309,9 @@ public final class Select extends Query<Select> {
             _selectSB.append(" ").append(_join);
         }
         //
-        if (__where != null) {
+        if (__keysetPage != null) {
+            _selectSB.append(" ").append(__keysetPage.toWhere(this.dialect(), __where).toString());
+        } else if (__where != null) {
             _selectSB.append(" ").append(__where.toString());
         }
         //
@@ -296,7 +324,9 @@ public final class Select extends Query<Select> {
         }
         _selectSB.append(" ");
         //
-        if (__page != null) {
+        if (__keysetPage != null) {
+            _selectSB = new StringBuilder(this.dialect().buildPagedQuerySQL(_selectSB.toString(), 1, __keysetPage.pageSize())).append(" ");
+        } else if (__page != null) {
             _selectSB = new StringBuilder(this.dialect().buildPagedQuerySQL(_selectSB.toString(), __page.page(), __page.pageSize())).append(" ");
         }
         //
@@ -20,6 +20,8 @@ import net.ymate.platform.core.beans.annotation.Order;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.core.util.ExpressionUtils;
 import net.ymate.platform.core.util.RuntimeUtils;
@@ -37,8 +39,13 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * JDBC存储器代理
@@ -47,10 +54,25 @@ import java.util.Map;
  * @version 1.0
  */
 @Proxy(annotation = Repository.class, order = @Order(888))
-public class RepoProxy implements IProxy {
+public class RepoProxy implements IProxy, IProxyMethodFilter {
 
     private static final Log _LOG = LogFactory.getLog(RepoProxy.class);
 
+    /**
+     * 存储器方法执行计划缓存数量上限
+     */
+    private static final int MAX_CACHED_PLANS = 4096;
+
+    /**
+     * 存储器方法执行计划缓存，以目标方法为键
+     */
+    private static final ConcurrentMap<Method, RepoPlan> __PLANS = new ConcurrentHashMap<Method, RepoPlan>();
+
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return targetMethod.isAnnotationPresent(Repository.class);
+    }
+
     @Override
     public Object doProxy(IProxyChain proxyChain) throws Throwable {
         Repository _repo = proxyChain.getTargetMethod().getAnnotation(Repository.class);
@@ -60,6 +82,8 @@ public class RepoProxy implements IProxy {
         //
         IDatabase _db = JDBC.get(proxyChain.getProxyFactory().getOwner());
         ISession _session = null;
+        RepoPlan _plan = null;
+        IRepoScriptProcessor _processor = null;
         try {
             if (StringUtils.isNotBlank(_repo.dsName())) {
                 _session = _db.openSession(_repo.dsName());
@@ -72,42 +96,26 @@ public class RepoProxy implements IProxy {
                 }
             }
             //
-            IRepoScriptProcessor _processor = null;
-            String _targetSQL = _repo.value();
-            if (StringUtils.isBlank(_targetSQL)) {
-                try {
-                    IConfiguration _conf = ((IRepository) proxyChain.getTargetObject()).getConfig();
-                    String _keyStr = StringUtils.lowerCase(_repo.item() + "_" + _session.getConnectionHolder().getDialect().getName());
-                    Map<String, String> _statementMap = _conf.getMap(_keyStr);
-                    if (_statementMap == null || _statementMap.isEmpty()) {
-                        _keyStr = StringUtils.lowerCase(_repo.item());
-                        _statementMap = _conf.getMap(_keyStr);
-                    }
-                    if (_statementMap == null || _statementMap.isEmpty()) {
-                        throw new NullArgumentException(_keyStr);
-                    } else {
-                        _targetSQL = _conf.getString(_keyStr);
-                    }
-                    String _targetType = StringUtils.trimToNull(_statementMap.get("language"));
-                    if (StringUtils.isNotBlank(_targetType)) {
-                        _processor = IRepoScriptProcessor.Manager.getScriptProcessor(_targetType);
-                        if (_processor != null) {
-                            _processor.init(_targetSQL);
-                            _targetSQL = _processor.process(_repo.item(), proxyChain.getMethodParams());
-                        }
-                    }
-                } catch (Exception e) {
-                    _LOG.warn("", RuntimeUtils.unwrapThrow(e));
+            SQL _targetSQL = null;
+            try {
+                _plan = __doGetPlan(_repo, proxyChain, _session.getConnectionHolder().getDialect().getName());
+                _processor = _plan.acquireProcessor();
+                if (_processor != null) {
+                    _targetSQL = _plan.buildSQL(_processor.process(_repo.item(), proxyChain.getMethodParams()), proxyChain.getMethodParams());
+                } else {
+                    _targetSQL = _plan.buildSQL(proxyChain.getMethodParams());
                 }
+            } catch (Exception e) {
+                _LOG.warn("", RuntimeUtils.unwrapThrow(e));
             }
-            if (StringUtils.isNotBlank(_targetSQL)) {
+            if (_targetSQL != null) {
                 Object _result;
                 switch (_repo.type()) {
                     case UPDATE:
-                        _result = _session.executeForUpdate(__buildSQL(_targetSQL, proxyChain.getTargetMethod(), proxyChain.getMethodParams()));
+                        _result = _session.executeForUpdate(_targetSQL);
                         break;
                     default:
-                        _result = _session.find(__buildSQL(_targetSQL, proxyChain.getTargetMethod(), proxyChain.getMethodParams()), IResultSetHandler.ARRAY);
+                        _result = _session.find(_targetSQL, IResultSetHandler.ARRAY);
                         if (_processor != null && _processor.isFilterable()) {
                             _result = _processor.doFilter(_result);
                         }
@@ -130,29 +138,204 @@ public class RepoProxy implements IProxy {
             }
             return proxyChain.doProxyChain();
         } finally {
+            if (_processor != null) {
+                _plan.releaseProcessor(_processor);
+            }
             if (_session != null) {
                 _session.close();
             }
         }
     }
 
-    private SQL __buildSQL(String targetSql, Method targetMethod, Object[] params) {
-        Map<String, Object> _paramMap = new HashMap<String, Object>();
-        String[] _paramNames = ClassUtils.getMethodParamNames(targetMethod);
-        if (_paramNames != null && _paramNames.length > 0) {
-            for (int _idx = 0; _idx < _paramNames.length - 1; _idx++) {
-                _paramMap.put(_paramNames[_idx], params[_idx]);
+    /**
+     * 获取目标方法的执行计划，不存在或配置内容已变化(如配置文件被重新加载)时重新构建
+     */
+    private RepoPlan __doGetPlan(Repository repo, IProxyChain proxyChain, String dialectName) throws Exception {
+        Method _method = proxyChain.getTargetMethod();
+        IConfiguration _conf = StringUtils.isBlank(repo.value()) ? ((IRepository) proxyChain.getTargetObject()).getConfig() : null;
+        RepoPlan _plan = __PLANS.get(_method);
+        if (_plan == null || !_plan.isValid(dialectName, _conf)) {
+            _plan = new RepoPlan(repo, _method, dialectName, _conf);
+            if (__PLANS.size() < MAX_CACHED_PLANS || __PLANS.containsKey(_method)) {
+                __PLANS.put(_method, _plan);
+            }
+        }
+        return _plan;
+    }
+
+    /**
+     * 存储器方法执行计划：缓存解析后的SQL语句模板、参数绑定顺序及已初始化的脚本处理器，避免每次调用重复处理
+     */
+    private static class RepoPlan {
+
+        /**
+         * 脚本处理器动态生成的SQL语句模板缓存数量上限
+         */
+        private static final int MAX_CACHED_TEMPLATES = 64;
+
+        /**
+         * 每个执行计划保留的空闲脚本处理器数量上限
+         */
+        private static final int MAX_IDLE_PROCESSORS = 8;
+
+        private final String dialectName;
+
+        private final String configKey;
+
+        private final String dialectConfigKey;
+
+        private final String statement;
+
+        private final String[] paramNames;
+
+        private final SQLTemplate template;
+
+        private final String processorName;
+
+        private final Queue<IRepoScriptProcessor> idleProcessors;
+
+        private final ConcurrentMap<String, SQLTemplate> dynamicTemplates;
+
+        RepoPlan(Repository repo, Method method, String dialectName, IConfiguration conf) throws Exception {
+            this.dialectName = dialectName;
+            this.paramNames = ClassUtils.getMethodParamNames(method);
+            String _targetSQL = repo.value();
+            String _language = null;
+            if (StringUtils.isBlank(_targetSQL)) {
+                dialectConfigKey = StringUtils.lowerCase(repo.item() + "_" + dialectName);
+                String _keyStr = dialectConfigKey;
+                Map<String, String> _statementMap = conf.getMap(_keyStr);
+                if (_statementMap == null || _statementMap.isEmpty()) {
+                    _keyStr = StringUtils.lowerCase(repo.item());
+                    _statementMap = conf.getMap(_keyStr);
+                }
+                if (_statementMap == null || _statementMap.isEmpty()) {
+                    throw new NullArgumentException(_keyStr);
+                }
+                configKey = _keyStr;
+                _targetSQL = conf.getString(_keyStr);
+                _language = StringUtils.trimToNull(_statementMap.get("language"));
+            } else {
+                configKey = null;
+                dialectConfigKey = null;
+            }
+            this.statement = _targetSQL;
+            //
+            if (_language != null && IRepoScriptProcessor.Manager.getScriptProcessor(_language) != null) {
+                // 脚本处理器存在调用状态, 调用期间由当前线程独占, 结束后归还至本计划的空闲队列;
+                // 计划重建后旧队列随旧计划一同释放
+                this.processorName = _language;
+                this.idleProcessors = new ConcurrentLinkedQueue<IRepoScriptProcessor>();
+                this.dynamicTemplates = new ConcurrentHashMap<String, SQLTemplate>();
+                this.template = null;
+            } else {
+                this.processorName = null;
+                this.idleProcessors = null;
+                this.dynamicTemplates = null;
+                this.template = StringUtils.isNotBlank(_targetSQL) ? new SQLTemplate(_targetSQL, paramNames) : null;
+            }
+        }
+
+        /**
+         * @param dialectName 当前数据库方言名称
+         * @param conf        当前存储器配置对象
+         * @return 返回执行计划是否仍然有效(方言未变化且配置中对应的SQL语句未被修改)
+         */
+        boolean isValid(String dialectName, IConfiguration conf) {
+            if (!this.dialectName.equals(dialectName)) {
+                return false;
+            }
+            if (configKey == null) {
+                return conf == null;
             }
-            if (!_paramMap.isEmpty()) {
+            if (conf == null || (!configKey.equals(dialectConfigKey) && conf.contains(dialectConfigKey))) {
+                return false;
+            }
+            return StringUtils.equals(conf.getString(configKey), statement);
+        }
+
+        /**
+         * @return 从空闲队列中取出已初始化的脚本处理器, 队列为空时创建新实例, 未配置脚本时返回null
+         * @throws Exception 可能产生的任何异常
+         */
+        IRepoScriptProcessor acquireProcessor() throws Exception {
+            if (idleProcessors == null) {
+                return null;
+            }
+            IRepoScriptProcessor _processor = idleProcessors.poll();
+            if (_processor == null) {
+                _processor = IRepoScriptProcessor.Manager.getScriptProcessor(processorName);
+                _processor.init(statement);
+            }
+            return _processor;
+        }
+
+        /**
+         * 归还脚本处理器, 空闲数量已达上限时直接丢弃
+         *
+         * @param processor 脚本处理器
+         */
+        void releaseProcessor(IRepoScriptProcessor processor) {
+            if (idleProcessors.size() < MAX_IDLE_PROCESSORS) {
+                idleProcessors.offer(processor);
+            }
+        }
+
+        SQL buildSQL(Object[] params) {
+            return template != null ? template.build(params) : null;
+        }
+
+        SQL buildSQL(String targetSql, Object[] params) {
+            if (StringUtils.isBlank(targetSql)) {
+                return null;
+            }
+            SQLTemplate _template = dynamicTemplates.get(targetSql);
+            if (_template == null) {
+                _template = new SQLTemplate(targetSql, paramNames);
+                if (dynamicTemplates.size() < MAX_CACHED_TEMPLATES) {
+                    dynamicTemplates.putIfAbsent(targetSql, _template);
+                }
+            }
+            return _template.build(params);
+        }
+    }
+
+    /**
+     * 已解析的SQL语句模板：变量占位符已替换为'?'，并记录各参数对应的方法参数位置
+     */
+    private static class SQLTemplate {
+
+        private final String sql;
+
+        private final int[] paramIndexes;
+
+        SQLTemplate(String targetSql, String[] paramNames) {
+            // 最后一个方法参数不参与SQL参数绑定
+            if (paramNames != null && paramNames.length > 1) {
+                List<String> _names = Arrays.asList(paramNames).subList(0, paramNames.length - 1);
                 ExpressionUtils _exp = ExpressionUtils.bind(targetSql);
-                Params _paramValues = Params.create();
-                for (String _paramName : _exp.getVariables()) {
-                    _exp.set(_paramName, "?");
-                    _paramValues.add(_paramMap.get(_paramName));
+                List<String> _variables = _exp.getVariables();
+                paramIndexes = new int[_variables.size()];
+                for (int _idx = 0; _idx < _variables.size(); _idx++) {
+                    _exp.set(_variables.get(_idx), "?");
+                    paramIndexes[_idx] = _names.indexOf(_variables.get(_idx));
                 }
-                return SQL.create(_exp.getResult()).param(_paramValues);
+                sql = _exp.getResult();
+            } else {
+                sql = targetSql;
+                paramIndexes = null;
+            }
+        }
+
+        SQL build(Object[] params) {
+            if (paramIndexes == null) {
+                return SQL.create(sql);
+            }
+            Params _paramValues = Params.create();
+            for (int _index : paramIndexes) {
+                _paramValues.add(_index >= 0 ? params[_index] : null);
             }
+            return SQL.create(sql).param(_paramValues);
         }
-        return SQL.create(targetSql);
     }
 }
@@ -21,6 +21,7 @@ import net.ymate.platform.persistence.jdbc.repo.IRepoScriptProcessor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import javax.script.Compilable;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
@@ -35,6 +36,11 @@ public class DefaultRepoScriptProcessor implements IRepoScriptProcessor {
 
     public static final String JAVASCRIPT = "JavaScript";
 
+    /**
+     * 共享的脚本引擎管理器，避免每次初始化时重复扫描脚本引擎工厂
+     */
+    private static final ScriptEngineManager __ENGINE_MANAGER = new ScriptEngineManager();
+
     private Invocable __inv;
 
     private boolean __filterable;
@@ -48,13 +54,20 @@ public class DefaultRepoScriptProcessor implements IRepoScriptProcessor {
 
     @Override
     public void init(String scriptStatement) throws Exception {
-        ScriptEngine _engine = new ScriptEngineManager().getEngineByName(JAVASCRIPT);
-        _engine.eval(scriptStatement);
+        ScriptEngine _engine = __ENGINE_MANAGER.getEngineByName(JAVASCRIPT);
+        if (_engine instanceof Compilable) {
+            ((Compilable) _engine).compile(scriptStatement).eval();
+        } else {
+            _engine.eval(scriptStatement);
+        }
         __inv = (Invocable) _engine;
     }
 
     @Override
     public String process(String name, Object... params) throws Exception {
+        // 处理器实例会被重复调用, 需清理上一次调用的过滤器状态
+        __filter = null;
+        __filterable = false;
         Object _result = __inv.invokeFunction(name, params);
         String _targetSQL = null;
         if (_result instanceof String) {
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import net.ymate.platform.core.support.DefaultThreadFactory;
+import net.ymate.platform.persistence.Fields;
+import net.ymate.platform.persistence.IResultSet;
+import net.ymate.platform.persistence.Page;
+import net.ymate.platform.persistence.base.IEntity;
+import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
+import net.ymate.platform.persistence.jdbc.IDatabase;
+import net.ymate.platform.persistence.jdbc.ISession;
+import net.ymate.platform.persistence.jdbc.ISessionExecutor;
+import net.ymate.platform.persistence.jdbc.JDBC;
+import net.ymate.platform.persistence.jdbc.base.IResultSetHandler;
+import net.ymate.platform.persistence.jdbc.query.BatchSQL;
+import net.ymate.platform.persistence.jdbc.query.EntitySQL;
+import net.ymate.platform.persistence.jdbc.query.SQL;
+import net.ymate.platform.persistence.jdbc.query.Where;
+import net.ymate.platform.persistence.jdbc.transaction.Trade;
+import net.ymate.platform.persistence.jdbc.transaction.Transactions;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步数据库会话：每个操作在执行器中独立打开会话执行并返回Future对象，同一数据源并发执行的操作数量受async_max_concurrency限制，
+ * 超出部分在队列中等待而不占用执行器线程；异步操作不参与调用线程的事务，需要事务时通过指定事务级别的execute方法显式执行
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class AsyncSession {
+
+    private static final Log _LOG = LogFactory.getLog(AsyncSession.class);
+
+    private static volatile ExecutorService __defaultExecutor;
+
+    private final IDatabase __owner;
+
+    private final String __dsName;
+
+    private final Dispatcher __dispatcher;
+
+    private final Executor __executor;
+
+    public AsyncSession(IDatabase owner, DataSourceCfgMeta cfgMeta) {
+        this(owner, cfgMeta.getName(), new Dispatcher(cfgMeta.getAsyncMaxConcurrency()), null);
+    }
+
+    private AsyncSession(IDatabase owner, String dsName, Dispatcher dispatcher, Executor executor) {
+        __owner = owner;
+        __dsName = dsName;
+        __dispatcher = dispatcher;
+        __executor = executor;
+    }
+
+    /**
+     * @return 返回默认执行器：JVM支持虚拟线程时为每个任务创建虚拟线程，否则采用按需创建的守护线程池(并发数量已由各数据源限制)
+     */
+    public static ExecutorService getDefaultExecutor() {
+        if (__defaultExecutor == null) {
+            synchronized (AsyncSession.class) {
+                if (__defaultExecutor == null) {
+                    ExecutorService _executor = null;
+                    try {
+                        _executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                    } catch (Exception e) {
+                        // 当前JVM不支持虚拟线程
+                    }
+                    if (_executor == null) {
+                        _executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new DefaultThreadFactory("ymp-jdbc-async-") {
+                            @Override
+                            public Thread newThread(Runnable r) {
+                                Thread _thread = super.newThread(r);
+                                _thread.setDaemon(true);
+                                return _thread;
+                            }
+                        });
+                    }
+                    __defaultExecutor = _executor;
+                }
+            }
+        }
+        return __defaultExecutor;
+    }
+
+    /**
+     * 关闭默认执行器(由JDBC模块销毁时调用)，已提交的任务将继续执行完毕，再次获取默认执行器时将重新创建
+     */
+    public static void shutdownDefaultExecutor() {
+        ExecutorService _executor;
+        synchronized (AsyncSession.class) {
+            _executor = __defaultExecutor;
+            __defaultExecutor = null;
+        }
+        if (_executor != null) {
+            _executor.shutdown();
+        }
+    }
+
+    /**
+     * @param executor 自定义执行器
+     * @return 返回使用指定执行器的异步会话对象(与当前对象共享数据源并发限制)
+     */
+    public AsyncSession withExecutor(Executor executor) {
+        return new AsyncSession(__owner, __dsName, __dispatcher, executor);
+    }
+
+    public String getDataSourceName() {
+        return __dsName;
+    }
+
+    /**
+     * @return 返回当前数据源正在执行的异步操作数量
+     */
+    public int getActiveCount() {
+        return __dispatcher.running.get();
+    }
+
+    /**
+     * @return 返回当前数据源等待执行的异步操作数量
+     */
+    public int getPendingCount() {
+        return __dispatcher.queue.size();
+    }
+
+    /**
+     * 异步执行会话处理过程(非事务)
+     *
+     * @param executor 会话执行器
+     * @param <T>      执行结果类型
+     * @return 返回执行结果Future对象
+     */
+    public <T> Future<T> execute(final ISessionExecutor<T> executor) {
+        return __doSubmit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return __owner.openSession(__dsName, executor);
+            }
+        });
+    }
+
+    /**
+     * 在执行线程中开启由level指定级别的独立事务并异步执行会话处理过程，事务随任务在执行线程中提交或回滚
+     *
+     * @param level    事务级别
+     * @param executor 会话执行器
+     * @param <T>      执行结果类型
+     * @return 返回执行结果Future对象
+     */
+    public <T> Future<T> execute(final JDBC.TRANSACTION level, final ISessionExecutor<T> executor) {
+        return __doSubmit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return Transactions.execute(level, new Trade<T>() {
+                    @Override
+                    public void deal() throws Throwable {
+                        setReturns(__owner.openSession(__dsName, executor));
+                    }
+                });
+            }
+        });
+    }
+
+    public <T> Future<IResultSet<T>> find(final SQL sql, final IResultSetHandler<T> handler) {
+        return execute(new ISessionExecutor<IResultSet<T>>() {
+            @Override
+            public IResultSet<T> execute(ISession session) throws Exception {
+                return session.find(sql, handler);
+            }
+        });
+    }
+
+    public <T> Future<IResultSet<T>> find(final SQL sql, final IResultSetHandler<T> handler, final Page page) {
+        return execute(new ISessionExecutor<IResultSet<T>>() {
+            @Override
+            public IResultSet<T> execute(ISession session) throws Exception {
+                return session.find(sql, handler, page);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<IResultSet<T>> find(final EntitySQL<T> entity, final Where where, final Page page) {
+        return execute(new ISessionExecutor<IResultSet<T>>() {
+            @Override
+            public IResultSet<T> execute(ISession session) throws Exception {
+                return session.find(entity, where, page);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<T> find(final EntitySQL<T> entity, final Serializable id) {
+        return execute(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.find(entity, id);
+            }
+        });
+    }
+
+    public <T> Future<T> findFirst(final SQL sql, final IResultSetHandler<T> handler) {
+        return execute(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.findFirst(sql, handler);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<T> findFirst(final EntitySQL<T> entity, final Where where) {
+        return execute(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.findFirst(entity, where);
+            }
+        });
+    }
+
+    public Future<Long> count(final SQL sql) {
+        return execute(new ISessionExecutor<Long>() {
+            @Override
+            public Long execute(ISession session) throws Exception {
+                return session.count(sql);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<Long> count(final Class<T> entityClass, final Where where) {
+        return execute(new ISessionExecutor<Long>() {
+            @Override
+            public Long execute(ISession session) throws Exception {
+                return session.count(entityClass, where);
+            }
+        });
+    }
+
+    public Future<Integer> executeForUpdate(final SQL sql) {
+        return __doSubmitUpdate(new ISessionExecutor<Integer>() {
+            @Override
+            public Integer execute(ISession session) throws Exception {
+                return session.executeForUpdate(sql);
+            }
+        });
+    }
+
+    public Future<int[]> executeForUpdate(final BatchSQL sql) {
+        return __doSubmitUpdate(new ISessionExecutor<int[]>() {
+            @Override
+            public int[] execute(ISession session) throws Exception {
+                return session.executeForUpdate(sql);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<T> insert(final T entity) {
+        return __doSubmitUpdate(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.insert(entity);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<List<T>> insert(final List<T> entities) {
+        return __doSubmitUpdate(new ISessionExecutor<List<T>>() {
+            @Override
+            public List<T> execute(ISession session) throws Exception {
+                return session.insert(entities);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<T> update(final T entity, final Fields filter) {
+        return __doSubmitUpdate(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.update(entity, filter);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<List<T>> update(final List<T> entities, final Fields filter) {
+        return __doSubmitUpdate(new ISessionExecutor<List<T>>() {
+            @Override
+            public List<T> execute(ISession session) throws Exception {
+                return session.update(entities, filter);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<T> delete(final T entity) {
+        return __doSubmitUpdate(new ISessionExecutor<T>() {
+            @Override
+            public T execute(ISession session) throws Exception {
+                return session.delete(entity);
+            }
+        });
+    }
+
+    public <T extends IEntity> Future<Integer> delete(final Class<T> entityClass, final Serializable id) {
+        return __doSubmitUpdate(new ISessionExecutor<Integer>() {
+            @Override
+            public Integer execute(ISession session) throws Exception {
+                return session.delete(entityClass, id);
+            }
+        });
+    }
+
+    /**
+     * 提交写操作，调用线程处于事务中时拒绝提交，以免写操作脱离该事务执行
+     */
+    private <T> Future<T> __doSubmitUpdate(ISessionExecutor<T> executor) {
+        if (Transactions.get() != null) {
+            throw new IllegalStateException("Asynchronous updates do not join the current transaction, use execute(level, executor) instead.");
+        }
+        return execute(executor);
+    }
+
+    private <T> Future<T> __doSubmit(Callable<T> callable) {
+        AsyncTask<T> _task = new AsyncTask<T>(callable, __executor != null ? __executor : getDefaultExecutor());
+        __dispatcher.submit(_task);
+        return _task;
+    }
+
+    /**
+     * 数据源异步操作调度器，限制同时提交至执行器的任务数量，每个任务均在其提交时指定的执行器中执行
+     */
+    private static class Dispatcher {
+
+        final int maxConcurrency;
+
+        final Queue<AsyncTask<?>> queue = new ConcurrentLinkedQueue<AsyncTask<?>>();
+
+        final AtomicInteger running = new AtomicInteger();
+
+        Dispatcher(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        void submit(AsyncTask<?> task) {
+            queue.offer(task);
+            __doDispatch();
+        }
+
+        private void __doDispatch() {
+            while (!queue.isEmpty()) {
+                int _running = running.get();
+                if (maxConcurrency > 0 && _running >= maxConcurrency) {
+                    return;
+                }
+                if (!running.compareAndSet(_running, _running + 1)) {
+                    continue;
+                }
+                final AsyncTask<?> _task = queue.poll();
+                if (_task == null) {
+                    running.decrementAndGet();
+                    continue;
+                }
+                try {
+                    _task.executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                _task.run();
+                            } finally {
+                                running.decrementAndGet();
+                                __doDispatch();
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    running.decrementAndGet();
+                    _LOG.warn("Asynchronous session task rejected by executor.", e);
+                    _task.fail(e);
+                }
+            }
+        }
+    }
+
+    private static class AsyncTask<T> extends FutureTask<T> {
+
+        final Executor executor;
+
+        AsyncTask(Callable<T> callable, Executor executor) {
+            super(callable);
+            this.executor = executor;
+        }
+
+        void fail(Throwable e) {
+            setException(e);
+        }
+    }
+}
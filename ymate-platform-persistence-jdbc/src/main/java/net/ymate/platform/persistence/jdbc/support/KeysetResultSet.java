@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import net.ymate.platform.persistence.Page;
+import net.ymate.platform.persistence.impl.DefaultResultSet;
+import net.ymate.platform.persistence.jdbc.query.KeysetPage;
+
+import java.util.List;
+
+/**
+ * 键集(Seek)分页查询结果集，提供用于获取下一页数据的游标标识
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class KeysetResultSet<T> extends DefaultResultSet<T> {
+
+    private final Object[] __lastKeys;
+
+    public KeysetResultSet(List<T> resultData, KeysetPage keysetPage, Object[] lastKeys) {
+        super(resultData, 0, keysetPage.pageSize(), 0, Page.CountStrategy.NONE);
+        __lastKeys = lastKeys;
+    }
+
+    @Override
+    public boolean isPaginated() {
+        return true;
+    }
+
+    /**
+     * @return 返回是否可能存在下一页数据(即当前页记录数已达到分页大小)
+     */
+    @Override
+    public boolean hasNextPage() {
+        return __lastKeys != null && getResultData().size() >= getPageSize();
+    }
+
+    /**
+     * @return 返回当前页最后一条记录的键值，当前页无数据时返回null
+     */
+    public Object[] getLastKeys() {
+        return __lastKeys == null ? null : __lastKeys.clone();
+    }
+
+    /**
+     * @return 返回获取下一页数据的游标标识(用于KeysetPage.after(token)方法)，不存在下一页时返回null
+     */
+    public String getNextToken() {
+        return hasNextPage() ? KeysetPage.encodeToken(__lastKeys) : null;
+    }
+}
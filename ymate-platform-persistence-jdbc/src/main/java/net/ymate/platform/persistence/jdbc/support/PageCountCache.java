@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import net.ymate.platform.persistence.Params;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 分页查询总记录数缓存(CACHED统计策略)，以数据源名称、统计SQL语句及参数为键，缓存项在有效时间后失效
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public final class PageCountCache {
+
+    /**
+     * 缓存项数量上限，超出时首先清理已失效的缓存项，若仍超出则清空全部缓存
+     */
+    private static final int MAX_CACHED_COUNTS = 4096;
+
+    private static final ConcurrentMap<String, Entry> __COUNTS = new ConcurrentHashMap<String, Entry>();
+
+    private PageCountCache() {
+    }
+
+    public static String buildKey(String dataSourceName, String sql, Params params) {
+        StringBuilder _keySB = new StringBuilder(dataSourceName).append('|').append(sql);
+        if (params != null) {
+            for (Object _param : params.params()) {
+                _keySB.append('|').append(_param == null ? "" : _param.getClass().getName()).append(':').append(_param);
+            }
+        }
+        return _keySB.toString();
+    }
+
+    /**
+     * @param key 缓存键
+     * @return 返回有效期内的总记录数，不存在或已失效时返回null
+     */
+    public static Long get(String key) {
+        Entry _entry = __COUNTS.get(key);
+        if (_entry != null) {
+            if (_entry.expireTime > System.currentTimeMillis()) {
+                return _entry.count;
+            }
+            __COUNTS.remove(key, _entry);
+        }
+        return null;
+    }
+
+    /**
+     * @param key     缓存键
+     * @param count   总记录数
+     * @param timeout 有效时间(秒)
+     */
+    public static void put(String key, long count, int timeout) {
+        if (timeout <= 0) {
+            return;
+        }
+        if (__COUNTS.size() >= MAX_CACHED_COUNTS) {
+            long _now = System.currentTimeMillis();
+            for (Iterator<Map.Entry<String, Entry>> _it = __COUNTS.entrySet().iterator(); _it.hasNext(); ) {
+                if (_it.next().getValue().expireTime <= _now) {
+                    _it.remove();
+                }
+            }
+            if (__COUNTS.size() >= MAX_CACHED_COUNTS) {
+                __COUNTS.clear();
+            }
+        }
+        __COUNTS.put(key, new Entry(count, System.currentTimeMillis() + timeout * 1000L));
+    }
+
+    /**
+     * 清空全部缓存(如批量数据变更后)
+     */
+    public static void clear() {
+        __COUNTS.clear();
+    }
+
+    private static class Entry {
+
+        final long count;
+
+        final long expireTime;
+
+        Entry(long count, long expireTime) {
+            this.count = count;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import net.ymate.platform.persistence.Params;
+import net.ymate.platform.persistence.jdbc.IQueryCache;
+import net.ymate.platform.persistence.jdbc.transaction.Transactions;
+import org.apache.commons.lang.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据源查询结果缓存，记录每个缓存查询所涉及的数据表，当数据表被更新时仅清理与之相关的缓存项
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public final class QueryCache {
+
+    /**
+     * 依赖关系跟踪的缓存键数量上限，超出时清空全部缓存
+     */
+    private static final int MAX_TRACKED_KEYS = 16384;
+
+    /**
+     * 表示全部数据表(无法解析更新语句所涉及的数据表时使用)
+     */
+    private static final String ALL_TABLES = "*";
+
+    /**
+     * 当前线程事务中已更新的数据表，事务结束后需再次清理
+     */
+    private static final ThreadLocal<Map<QueryCache, Set<String>>> __PENDING = new ThreadLocal<Map<QueryCache, Set<String>>>();
+
+    private final String __dsName;
+
+    private final IQueryCache __storage;
+
+    private final Set<String> __tables;
+
+    private final AtomicLong __sequence = new AtomicLong();
+
+    private final ConcurrentMap<String, Long> __invalidations = new ConcurrentHashMap<String, Long>();
+
+    private final ConcurrentMap<String, AtomicInteger> __dirtyTables = new ConcurrentHashMap<String, AtomicInteger>();
+
+    private final ConcurrentMap<String, Set<String>> __dependencies = new ConcurrentHashMap<String, Set<String>>();
+
+    private final AtomicInteger __trackedKeys = new AtomicInteger();
+
+    /**
+     * @param dsName  数据源名称
+     * @param storage 缓存存储对象
+     * @param tables  允许缓存的数据表名称集合(小写)，为空表示全部
+     */
+    public QueryCache(String dsName, IQueryCache storage, Set<String> tables) {
+        __dsName = dsName;
+        __storage = storage;
+        __tables = tables != null ? tables : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param sql    查询语句
+     * @param params 查询参数
+     * @param kind   结果类型标识(如结果集处理器、分页参数等)，为null表示不可缓存
+     * @return 返回查询缓存凭证，若当前查询不可缓存(处于事务中、加锁查询、无法解析数据表或数据表不在允许范围内)则返回null
+     */
+    public Ticket createTicket(String sql, Params params, String kind) {
+        if (kind == null || Transactions.get() != null) {
+            return null;
+        }
+        List<String> _tokens = __doTokenize(sql);
+        if (__isLockingQuery(_tokens)) {
+            return null;
+        }
+        Set<String> _tables = __doParseTables(_tokens);
+        if (_tables.isEmpty() || (!__tables.isEmpty() && !__tables.containsAll(_tables))) {
+            return null;
+        }
+        return new Ticket(buildKey(sql, params, kind), _tables, __sequence.get());
+    }
+
+    /**
+     * 清理更新语句所涉及的数据表的相关缓存，无法解析时清理全部缓存
+     *
+     * @param sqls 更新语句集合
+     */
+    public void invalidate(String... sqls) {
+        Set<String> _tables = new HashSet<String>();
+        for (String _sql : sqls) {
+            if (StringUtils.isNotBlank(_sql)) {
+                Set<String> _parsed = parseTables(_sql);
+                if (_parsed.isEmpty()) {
+                    _tables = Collections.singleton(ALL_TABLES);
+                    break;
+                }
+                _tables.addAll(_parsed);
+            }
+        }
+        if (_tables.isEmpty()) {
+            return;
+        }
+        if (Transactions.get() != null) {
+            // 事务提交前其它线程仍可能读取并缓存旧数据，因此在事务结束前禁止缓存相关数据表
+            Map<QueryCache, Set<String>> _pending = __PENDING.get();
+            if (_pending == null) {
+                _pending = new HashMap<QueryCache, Set<String>>();
+                __PENDING.set(_pending);
+            }
+            Set<String> _pendingTables = _pending.get(this);
+            if (_pendingTables == null) {
+                _pendingTables = new HashSet<String>();
+                _pending.put(this, _pendingTables);
+            }
+            for (String _table : _tables) {
+                if (_pendingTables.add(_table)) {
+                    AtomicInteger _counter = __dirtyTables.get(_table);
+                    if (_counter == null) {
+                        AtomicInteger _newCounter = new AtomicInteger();
+                        _counter = __dirtyTables.putIfAbsent(_table, _newCounter);
+                        if (_counter == null) {
+                            _counter = _newCounter;
+                        }
+                    }
+                    _counter.incrementAndGet();
+                }
+            }
+        }
+        __doInvalidate(_tables);
+    }
+
+    private void __doInvalidate(Collection<String> tables) {
+        long _sequence = __sequence.incrementAndGet();
+        if (tables.contains(ALL_TABLES)) {
+            __invalidations.put(ALL_TABLES, _sequence);
+            __dependencies.clear();
+            __trackedKeys.set(0);
+            __storage.clear();
+        } else {
+            for (String _table : tables) {
+                __invalidations.put(_table, _sequence);
+                Set<String> _keys = __dependencies.remove(_table);
+                if (_keys != null) {
+                    __trackedKeys.addAndGet(-_keys.size());
+                    for (String _key : _keys) {
+                        __storage.remove(_key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param tables 数据表名称集合
+     * @param stamp  查询执行前的序号
+     * @return 判断查询执行期间相关数据表是否被更新或正处于未结束的事务中
+     */
+    private boolean __isStale(Set<String> tables, long stamp) {
+        if (__isStale(ALL_TABLES, stamp)) {
+            return true;
+        }
+        for (String _table : tables) {
+            if (__isStale(_table, stamp)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean __isStale(String table, long stamp) {
+        AtomicInteger _counter = __dirtyTables.get(table);
+        if (_counter != null && _counter.get() > 0) {
+            return true;
+        }
+        Long _sequence = __invalidations.get(table);
+        return _sequence != null && _sequence > stamp;
+    }
+
+    private void __doTrack(Set<String> tables, String key) {
+        if (__trackedKeys.get() >= MAX_TRACKED_KEYS) {
+            __dependencies.clear();
+            __trackedKeys.set(0);
+            __storage.clear();
+        }
+        for (String _table : tables) {
+            Set<String> _keys = __dependencies.get(_table);
+            if (_keys == null) {
+                Set<String> _newKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+                _keys = __dependencies.putIfAbsent(_table, _newKeys);
+                if (_keys == null) {
+                    _keys = _newKeys;
+                }
+            }
+            if (_keys.add(key)) {
+                __trackedKeys.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 清空全部缓存
+     */
+    public void clear() {
+        __doInvalidate(Collections.singleton(ALL_TABLES));
+    }
+
+    public void destroy() {
+        __dependencies.clear();
+        __storage.destroy();
+    }
+
+    /**
+     * 由事务管理器在当前线程事务结束(提交或回滚)后调用，再次清理事务中已更新数据表的相关缓存
+     */
+    public static void afterTransaction() {
+        Map<QueryCache, Set<String>> _pending = __PENDING.get();
+        if (_pending != null) {
+            __PENDING.remove();
+            for (Map.Entry<QueryCache, Set<String>> _entry : _pending.entrySet()) {
+                for (String _table : _entry.getValue()) {
+                    AtomicInteger _counter = _entry.getKey().__dirtyTables.get(_table);
+                    if (_counter != null) {
+                        _counter.decrementAndGet();
+                    }
+                }
+                _entry.getKey().__doInvalidate(_entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @param sql    SQL语句
+     * @param params SQL参数
+     * @param kind   结果类型标识
+     * @return 以数据源名称、规范化后的SQL语句、参数值及结果类型标识构建缓存键
+     */
+    public String buildKey(String sql, Params params, String kind) {
+        StringBuilder _keySB = new StringBuilder(__dsName).append('|').append(kind).append('|').append(normalize(sql));
+        if (params != null) {
+            for (Object _param : params.params()) {
+                _keySB.append('|').append(_param == null ? "" : _param.getClass().getName()).append(':').append(_param);
+            }
+        }
+        return _keySB.toString();
+    }
+
+    /**
+     * @param sql SQL语句
+     * @return 返回去除首尾空白并将引号外的连续空白字符合并为单个空格后的SQL语句
+     */
+    public static String normalize(String sql) {
+        StringBuilder _sqlSB = new StringBuilder(sql.length());
+        char _quote = 0;
+        boolean _space = false;
+        for (int _idx = 0; _idx < sql.length(); _idx++) {
+            char _c = sql.charAt(_idx);
+            if (_quote != 0) {
+                if (_c == _quote) {
+                    _quote = 0;
+                }
+            } else if (Character.isWhitespace(_c)) {
+                _space = _sqlSB.length() > 0;
+                continue;
+            } else if (_c == '\'' || _c == '"' || _c == '`') {
+                _quote = _c;
+            }
+            if (_space) {
+                _sqlSB.append(' ');
+                _space = false;
+            }
+            _sqlSB.append(_c);
+        }
+        return _sqlSB.toString();
+    }
+
+    /**
+     * @param sql SQL语句
+     * @return 解析SQL语句中FROM、JOIN、UPDATE、INTO及TRUNCATE TABLE之后的数据表名称(小写且不含模式名称)，无法解析时返回空集合
+     */
+    public static Set<String> parseTables(String sql) {
+        return __doParseTables(__doTokenize(sql));
+    }
+
+    private static Set<String> __doParseTables(List<String> tokens) {
+        Set<String> _tables = new LinkedHashSet<String>();
+        for (int _idx = 0; _idx < tokens.size() - 1; _idx++) {
+            String _token = tokens.get(_idx).toLowerCase();
+            String _prev = _idx > 0 ? tokens.get(_idx - 1).toLowerCase() : "";
+            boolean _isFrom = "from".equals(_token);
+            if (_isFrom || "join".equals(_token) || "into".equals(_token)
+                    || ("update".equals(_token) && !"for".equals(_prev) && !"key".equals(_prev))
+                    || ("table".equals(_token) && "truncate".equals(_prev))) {
+                int _next = _idx + 1;
+                while (__isTableName(tokens, _next)) {
+                    _tables.add(__doGetTableName(tokens.get(_next)));
+                    if (!_isFrom) {
+                        break;
+                    }
+                    // 处理FROM子句中以逗号分隔的多个数据表及其别名
+                    _next++;
+                    if (_next < tokens.size() && "as".equalsIgnoreCase(tokens.get(_next))) {
+                        _next++;
+                    }
+                    if (__isTableName(tokens, _next)) {
+                        _next++;
+                    }
+                    if (_next < tokens.size() && ",".equals(tokens.get(_next))) {
+                        _next++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+        return _tables;
+    }
+
+    /**
+     * @param tokens SQL语句拆分后的单词及符号集合
+     * @return 判断是否为加锁查询(如FOR UPDATE、FOR SHARE、LOCK IN SHARE MODE及SQL Server的加锁提示)
+     */
+    private static boolean __isLockingQuery(List<String> tokens) {
+        for (int _idx = 0; _idx < tokens.size(); _idx++) {
+            String _token = tokens.get(_idx).toLowerCase();
+            if (_idx + 1 < tokens.size()) {
+                String _next = tokens.get(_idx + 1).toLowerCase();
+                if (("for".equals(_token) && ("update".equals(_next) || "share".equals(_next))) || ("lock".equals(_token) && "in".equals(_next))) {
+                    return true;
+                }
+            }
+            if ("updlock".equals(_token) || "holdlock".equals(_token) || "xlock".equals(_token) || "tablock".equals(_token) || "tablockx".equals(_token) || "paglock".equals(_token) || "rowlock".equals(_token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean __isTableName(List<String> tokens, int idx) {
+        if (idx >= tokens.size()) {
+            return false;
+        }
+        String _token = tokens.get(idx);
+        return !",".equals(_token) && !"(".equals(_token) && !")".equals(_token);
+    }
+
+    private static String __doGetTableName(String token) {
+        return StringUtils.substringAfterLast("." + token, ".").toLowerCase();
+    }
+
+    /**
+     * 将SQL语句拆分为单词及逗号、括号等符号，忽略字符串常量及注释，引号包裹的标识符去除引号后与相邻部分合并
+     */
+    private static List<String> __doTokenize(String sql) {
+        List<String> _tokens = new ArrayList<String>();
+        StringBuilder _word = new StringBuilder();
+        int _length = sql.length();
+        for (int _idx = 0; _idx < _length; _idx++) {
+            char _c = sql.charAt(_idx);
+            if (Character.isLetterOrDigit(_c) || _c == '_' || _c == '$' || _c == '.' || _c == '#') {
+                _word.append(_c);
+            } else if (_c == '`' || _c == '"' || _c == '[') {
+                int _end = sql.indexOf(_c == '[' ? ']' : _c, _idx + 1);
+                if (_end < 0) {
+                    _end = _length;
+                }
+                _word.append(sql, _idx + 1, _end);
+                _idx = _end;
+            } else {
+                if (_word.length() > 0) {
+                    _tokens.add(_word.toString());
+                    _word.setLength(0);
+                }
+                if (_c == '\'') {
+                    // 跳过字符串常量(包括转义的单引号)
+                    int _end = _idx + 1;
+                    while (_end < _length) {
+                        if (sql.charAt(_end) == '\'') {
+                            if (_end + 1 < _length && sql.charAt(_end + 1) == '\'') {
+                                _end += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        _end++;
+                    }
+                    _idx = _end;
+                } else if (_c == '-' && _idx + 1 < _length && sql.charAt(_idx + 1) == '-') {
+                    int _end = sql.indexOf('\n', _idx);
+                    _idx = _end < 0 ? _length : _end;
+                } else if (_c == '/' && _idx + 1 < _length && sql.charAt(_idx + 1) == '*') {
+                    int _end = sql.indexOf("*/", _idx + 2);
+                    _idx = _end < 0 ? _length : _end + 1;
+                } else if (_c == ',' || _c == '(' || _c == ')') {
+                    _tokens.add(String.valueOf(_c));
+                }
+            }
+        }
+        if (_word.length() > 0) {
+            _tokens.add(_word.toString());
+        }
+        return _tokens;
+    }
+
+    /**
+     * 查询缓存凭证，记录缓存键、所涉及的数据表及查询执行前的序号，用于判断查询结果在执行期间是否已失效
+     */
+    public class Ticket {
+
+        private final String key;
+
+        private final Set<String> tables;
+
+        private final long stamp;
+
+        Ticket(String key, Set<String> tables, long stamp) {
+            this.key = key;
+            this.tables = tables;
+            this.stamp = stamp;
+        }
+
+        /**
+         * @return 返回缓存的查询结果，不存在时返回null
+         */
+        public Object get() {
+            return __storage.get(key);
+        }
+
+        /**
+         * 缓存查询结果，若查询执行期间相关数据表已被更新则放弃缓存
+         *
+         * @param value 查询结果
+         */
+        public void put(Object value) {
+            if (value == null || __isStale(tables, stamp)) {
+                return;
+            }
+            __storage.put(key, value);
+            __doTrack(tables, key);
+            if (__isStale(tables, stamp)) {
+                __storage.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 数据源SQL执行统计，按规范化后的SQL语句(字面量替换为'?')记录执行次数、影响行数及耗时分布，并对慢查询日志进行采样
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public final class QueryMetrics {
+
+    /**
+     * 分别统计的SQL语句数量上限，超出部分合并统计
+     */
+    private static final int MAX_TRACKED_STATEMENTS = 1024;
+
+    /**
+     * 原始SQL语句与统计对象映射的缓存数量上限，超出时清空后重新缓存
+     */
+    private static final int MAX_CACHED_SQL = 4096;
+
+    /**
+     * 超出统计数量上限的SQL语句合并统计名称
+     */
+    public static final String OTHERS = "@OTHERS";
+
+    private final String __dsName;
+
+    private final long __slowThreshold;
+
+    private final long __slowLogInterval;
+
+    private final ConcurrentMap<String, Stats> __statements = new ConcurrentHashMap<String, Stats>();
+
+    private final ConcurrentMap<String, Stats> __cachedSQLs = new ConcurrentHashMap<String, Stats>();
+
+    /**
+     * @param dsName          数据源名称
+     * @param slowThreshold   慢查询阈值(毫秒)，小于等于0表示不记录慢查询
+     * @param slowLogInterval 同一SQL语句慢查询日志的最小输出间隔(毫秒)，小于等于0表示每次均输出
+     */
+    public QueryMetrics(String dsName, long slowThreshold, long slowLogInterval) {
+        __dsName = dsName;
+        __slowThreshold = slowThreshold;
+        __slowLogInterval = slowLogInterval;
+    }
+
+    public String getDataSourceName() {
+        return __dsName;
+    }
+
+    /**
+     * @return 返回慢查询阈值(毫秒)
+     */
+    public long getSlowThreshold() {
+        return __slowThreshold;
+    }
+
+    /**
+     * @param time 执行耗时(纳秒)
+     * @return 判断执行耗时是否超过慢查询阈值
+     */
+    public boolean isSlow(long time) {
+        return __slowThreshold > 0 && time >= __slowThreshold * 1000000L;
+    }
+
+    /**
+     * 记录一次SQL语句执行
+     *
+     * @param sql    SQL语句
+     * @param time   执行耗时(纳秒)
+     * @param rows   影响或返回的行数
+     * @param failed 是否执行失败
+     * @return 若为慢查询且本次需要输出日志则返回true(同一SQL语句在输出间隔内仅输出一次)
+     */
+    public boolean record(String sql, long time, int rows, boolean failed) {
+        Stats _stats = __doGetStats(sql);
+        _stats.record(time, rows, failed);
+        if (isSlow(time)) {
+            _stats.slowCount.incrementAndGet();
+            long _now = System.currentTimeMillis();
+            long _last = _stats.lastSlowLogTime.get();
+            return (__slowLogInterval <= 0 || _now - _last >= __slowLogInterval) && _stats.lastSlowLogTime.compareAndSet(_last, _now);
+        }
+        return false;
+    }
+
+    private Stats __doGetStats(String sql) {
+        if (sql == null) {
+            sql = "";
+        }
+        Stats _stats = __cachedSQLs.get(sql);
+        if (_stats == null) {
+            String _normalized = normalize(sql);
+            _stats = __statements.get(_normalized);
+            if (_stats == null) {
+                if (__statements.size() >= MAX_TRACKED_STATEMENTS) {
+                    _normalized = OTHERS;
+                }
+                Stats _new = new Stats(_normalized);
+                _stats = __statements.putIfAbsent(_normalized, _new);
+                if (_stats == null) {
+                    _stats = _new;
+                }
+            }
+            if (__cachedSQLs.size() >= MAX_CACHED_SQL) {
+                // 清空后重新缓存, 避免后续出现的SQL语句永远无法被缓存而每次均需规范化
+                __cachedSQLs.clear();
+            }
+            __cachedSQLs.put(sql, _stats);
+        }
+        return _stats;
+    }
+
+    /**
+     * @param sql SQL语句
+     * @return 返回指定SQL语句的统计快照，若不存在则返回null
+     */
+    public Snapshot getSnapshot(String sql) {
+        Stats _stats = __statements.get(normalize(sql));
+        return _stats != null ? _stats.snapshot() : null;
+    }
+
+    /**
+     * @return 返回全部SQL语句的统计快照
+     */
+    public List<Snapshot> getSnapshots() {
+        List<Snapshot> _snapshots = new ArrayList<Snapshot>(__statements.size());
+        for (Stats _stats : __statements.values()) {
+            _snapshots.add(_stats.snapshot());
+        }
+        return _snapshots;
+    }
+
+    /**
+     * @param topN 返回数量
+     * @return 返回按99百分位耗时(相同时按最大耗时)降序排列的前topN条SQL语句统计快照
+     */
+    public List<Snapshot> getSlowest(int topN) {
+        List<Snapshot> _snapshots = getSnapshots();
+        Collections.sort(_snapshots, new Comparator<Snapshot>() {
+            @Override
+            public int compare(Snapshot o1, Snapshot o2) {
+                int _result = Double.compare(o2.getP99(), o1.getP99());
+                return _result != 0 ? _result : Double.compare(o2.getMaxTime(), o1.getMaxTime());
+            }
+        });
+        return topN > 0 && _snapshots.size() > topN ? new ArrayList<Snapshot>(_snapshots.subList(0, topN)) : _snapshots;
+    }
+
+    /**
+     * 清空全部统计数据
+     */
+    public void reset() {
+        __cachedSQLs.clear();
+        __statements.clear();
+    }
+
+    /**
+     * @param sql SQL语句
+     * @return 返回将引号内字符串及数值字面量替换为'?'、连续的参数占位符列表(如IN或VALUES中的'?, ?, ?')合并为'?...'且合并连续空白字符后的SQL语句
+     */
+    public static String normalize(String sql) {
+        StringBuilder _sqlSB = new StringBuilder(sql.length());
+        boolean _space = false;
+        int _length = sql.length();
+        for (int _idx = 0; _idx < _length; _idx++) {
+            char _c = sql.charAt(_idx);
+            if (Character.isWhitespace(_c)) {
+                _space = _sqlSB.length() > 0;
+                continue;
+            }
+            if (_space) {
+                _sqlSB.append(' ');
+                _space = false;
+            }
+            if (_c == '\'') {
+                // 字符串字面量(含''转义)
+                _idx++;
+                while (_idx < _length) {
+                    if (sql.charAt(_idx) == '\'') {
+                        if (_idx + 1 < _length && sql.charAt(_idx + 1) == '\'') {
+                            _idx++;
+                        } else {
+                            break;
+                        }
+                    }
+                    _idx++;
+                }
+                __doAppendParam(_sqlSB);
+            } else if (_c == '"' || _c == '`') {
+                // 引号内的标识符原样保留
+                int _end = sql.indexOf(_c, _idx + 1);
+                _end = _end < 0 ? _length - 1 : _end;
+                _sqlSB.append(sql, _idx, _end + 1);
+                _idx = _end;
+            } else if (Character.isDigit(_c) && (_sqlSB.length() == 0 || !__isIdentifierPart(_sqlSB.charAt(_sqlSB.length() - 1)))) {
+                while (_idx + 1 < _length && (Character.isLetterOrDigit(sql.charAt(_idx + 1)) || sql.charAt(_idx + 1) == '.')) {
+                    _idx++;
+                }
+                __doAppendParam(_sqlSB);
+            } else if (_c == '?') {
+                __doAppendParam(_sqlSB);
+            } else {
+                _sqlSB.append(_c);
+            }
+        }
+        return _sqlSB.toString();
+    }
+
+    private static boolean __isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == '?';
+    }
+
+    private static void __doAppendParam(StringBuilder sqlSB) {
+        // 将'?, ?'、'?,?'等连续参数合并为'?...'
+        int _end = sqlSB.length();
+        int _idx = _end - 1;
+        if (_idx >= 0 && sqlSB.charAt(_idx) == ' ') {
+            _idx--;
+        }
+        if (_idx >= 0 && sqlSB.charAt(_idx) == ',') {
+            _idx--;
+            if (_idx >= 0 && sqlSB.charAt(_idx) == ' ') {
+                _idx--;
+            }
+            if (_idx >= 0 && sqlSB.charAt(_idx) == '?') {
+                sqlSB.setLength(_idx + 1);
+                sqlSB.append("...");
+                return;
+            }
+            if (_idx >= 3 && sqlSB.charAt(_idx) == '.' && sqlSB.lastIndexOf("?...") == _idx - 3) {
+                sqlSB.setLength(_idx + 1);
+                return;
+            }
+        }
+        sqlSB.append('?');
+    }
+
+    /**
+     * 单条SQL语句统计数据
+     */
+    private static class Stats {
+
+        final String sql;
+
+        final AtomicLong count = new AtomicLong();
+
+        final AtomicLong errors = new AtomicLong();
+
+        final AtomicLong rows = new AtomicLong();
+
+        final AtomicLong totalTime = new AtomicLong();
+
+        final AtomicLong maxTime = new AtomicLong();
+
+        final AtomicLong slowCount = new AtomicLong();
+
+        final AtomicLong lastSlowLogTime = new AtomicLong();
+
+        final Histogram histogram = new Histogram();
+
+        Stats(String sql) {
+            this.sql = sql;
+        }
+
+        void record(long time, int rows, boolean failed) {
+            count.incrementAndGet();
+            if (failed) {
+                errors.incrementAndGet();
+            } else if (rows > 0) {
+                this.rows.addAndGet(rows);
+            }
+            totalTime.addAndGet(time);
+            long _max = maxTime.get();
+            while (time > _max && !maxTime.compareAndSet(_max, time)) {
+                _max = maxTime.get();
+            }
+            histogram.record(time);
+        }
+
+        Snapshot snapshot() {
+            long[] _counts = histogram.counts();
+            long _total = 0;
+            for (long _c : _counts) {
+                _total += _c;
+            }
+            return new Snapshot(sql, count.get(), errors.get(), slowCount.get(), rows.get(), totalTime.get(), maxTime.get(),
+                    Histogram.percentile(_counts, _total, 0.5), Histogram.percentile(_counts, _total, 0.9), Histogram.percentile(_counts, _total, 0.99));
+        }
+    }
+
+    /**
+     * 对数分桶的耗时直方图(以微秒为单位，每个2的幂区间再等分为8个子桶，相对误差不超过12.5%)，记录过程无锁且内存占用固定
+     */
+    static class Histogram {
+
+        private static final int SUB_BITS = 3;
+
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+
+        private static final int LINEAR_COUNT = SUB_COUNT * 2;
+
+        private static final int MAX_EXPONENT = 40;
+
+        private final AtomicLongArray __counts = new AtomicLongArray(LINEAR_COUNT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT);
+
+        void record(long time) {
+            __counts.incrementAndGet(index(time / 1000L));
+        }
+
+        long[] counts() {
+            long[] _counts = new long[__counts.length()];
+            for (int _idx = 0; _idx < _counts.length; _idx++) {
+                _counts[_idx] = __counts.get(_idx);
+            }
+            return _counts;
+        }
+
+        static int index(long value) {
+            if (value < LINEAR_COUNT) {
+                return (int) Math.max(0, value);
+            }
+            int _exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (_exponent > MAX_EXPONENT) {
+                // 超出范围的值统一归入最后一个桶
+                return LINEAR_COUNT + (MAX_EXPONENT - SUB_BITS) * SUB_COUNT - 1;
+            }
+            int _sub = (int) ((value >>> (_exponent - SUB_BITS)) & (SUB_COUNT - 1));
+            return LINEAR_COUNT + (_exponent - SUB_BITS - 1) * SUB_COUNT + _sub;
+        }
+
+        /**
+         * @param index 桶索引
+         * @return 返回桶的上边界值(微秒)
+         */
+        static long upperBound(int index) {
+            if (index < LINEAR_COUNT) {
+                return index;
+            }
+            int _exponent = (index - LINEAR_COUNT) / SUB_COUNT + SUB_BITS + 1;
+            int _sub = (index - LINEAR_COUNT) % SUB_COUNT;
+            return ((long) (SUB_COUNT + _sub + 1) << (_exponent - SUB_BITS)) - 1;
+        }
+
+        /**
+         * @return 返回指定百分位的耗时(毫秒)
+         */
+        static double percentile(long[] counts, long total, double percent) {
+            if (total <= 0) {
+                return 0;
+            }
+            long _target = (long) Math.ceil(total * percent);
+            long _sum = 0;
+            for (int _idx = 0; _idx < counts.length; _idx++) {
+                _sum += counts[_idx];
+                if (_sum >= _target) {
+                    return upperBound(_idx) / 1000d;
+                }
+            }
+            return upperBound(counts.length - 1) / 1000d;
+        }
+    }
+
+    /**
+     * 单条SQL语句统计快照(时间单位均为毫秒)
+     */
+    public static class Snapshot {
+
+        private final String sql;
+
+        private final long count;
+
+        private final long errors;
+
+        private final long slowCount;
+
+        private final long rows;
+
+        private final double totalTime;
+
+        private final double maxTime;
+
+        private final double p50;
+
+        private final double p90;
+
+        private final double p99;
+
+        Snapshot(String sql, long count, long errors, long slowCount, long rows, long totalTime, long maxTime, double p50, double p90, double p99) {
+            this.sql = sql;
+            this.count = count;
+            this.errors = errors;
+            this.slowCount = slowCount;
+            this.rows = rows;
+            this.totalTime = totalTime / 1000000d;
+            this.maxTime = maxTime / 1000000d;
+            // 直方图取桶上边界，百分位值不应超过实际最大耗时
+            this.p50 = Math.min(p50, this.maxTime);
+            this.p90 = Math.min(p90, this.maxTime);
+            this.p99 = Math.min(p99, this.maxTime);
+        }
+
+        /**
+         * @return 规范化后的SQL语句
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getSlowCount() {
+            return slowCount;
+        }
+
+        /**
+         * @return 影响或返回的总行数
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        public double getTotalTime() {
+            return totalTime;
+        }
+
+        public double getMeanTime() {
+            return count > 0 ? totalTime / count : 0;
+        }
+
+        public double getMaxTime() {
+            return maxTime;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP90() {
+            return p90;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s][count=%d, errors=%d, slow=%d, rows=%d, mean=%.3fms, p50=%.3fms, p90=%.3fms, p99=%.3fms, max=%.3fms]",
+                    sql, count, errors, slowCount, rows, getMeanTime(), p50, p90, p99, maxTime);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由器：为主数据源选择用于只读查询的从库数据源，支持轮询、加权及最少活跃三种选择策略，
+ * 获取连接失败的从库将在重试间隔内被剔除，当前线程执行写操作后的一段时间内读操作仍路由至主库
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class ReadWriteRouter {
+
+    /**
+     * 从库选择策略
+     */
+    public enum Strategy {
+
+        /**
+         * 轮询
+         */
+        ROUND_ROBIN,
+
+        /**
+         * 按权重轮询
+         */
+        WEIGHTED,
+
+        /**
+         * 选择当前活跃会话数最少的从库
+         */
+        LEAST_ACTIVE
+    }
+
+    /**
+     * 当前线程最近一次执行写操作的时间，以主数据源名称为键
+     */
+    private static final ThreadLocal<Map<String, Long>> __LAST_WRITES = new ThreadLocal<Map<String, Long>>();
+
+    private final String __primaryName;
+
+    private final List<Replica> __replicas;
+
+    private final Strategy __strategy;
+
+    private final long __stickyTime;
+
+    private final long __retryInterval;
+
+    private final AtomicInteger __sequence = new AtomicInteger();
+
+    /**
+     * @param primaryName   主数据源名称
+     * @param replicas      从库数据源名称及权重映射
+     * @param strategy      从库选择策略
+     * @param stickyTime    写操作后读操作仍路由至主库的时间(毫秒)，为0表示不启用
+     * @param retryInterval 不可用从库被剔除后重新尝试的间隔时间(毫秒)
+     */
+    public ReadWriteRouter(String primaryName, Map<String, Integer> replicas, Strategy strategy, long stickyTime, long retryInterval) {
+        __primaryName = primaryName;
+        List<Replica> _replicas = new ArrayList<Replica>(replicas.size());
+        for (Map.Entry<String, Integer> _entry : replicas.entrySet()) {
+            _replicas.add(new Replica(_entry.getKey(), _entry.getValue() == null || _entry.getValue() <= 0 ? 1 : _entry.getValue()));
+        }
+        __replicas = Collections.unmodifiableList(_replicas);
+        __strategy = strategy == null ? Strategy.ROUND_ROBIN : strategy;
+        __stickyTime = stickyTime;
+        __retryInterval = retryInterval;
+    }
+
+    public String getPrimaryName() {
+        return __primaryName;
+    }
+
+    public Strategy getStrategy() {
+        return __strategy;
+    }
+
+    /**
+     * 记录当前线程对主数据源执行了写操作
+     */
+    public void markWrite() {
+        if (__stickyTime > 0) {
+            Map<String, Long> _lastWrites = __LAST_WRITES.get();
+            if (_lastWrites == null) {
+                _lastWrites = new HashMap<String, Long>();
+                __LAST_WRITES.set(_lastWrites);
+            }
+            _lastWrites.put(__primaryName, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return 返回当前线程的读操作是否仍需路由至主库(即距离最近一次写操作未超过粘滞时间)
+     */
+    public boolean isStickyPrimary() {
+        Map<String, Long> _lastWrites = __LAST_WRITES.get();
+        if (_lastWrites != null) {
+            Long _lastWrite = _lastWrites.get(__primaryName);
+            if (_lastWrite != null) {
+                if (System.currentTimeMillis() - _lastWrite < __stickyTime) {
+                    return true;
+                }
+                _lastWrites.remove(__primaryName);
+                if (_lastWrites.isEmpty()) {
+                    __LAST_WRITES.remove();
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按策略选择一个可用的从库并增加其活跃计数，使用完毕后须调用release方法
+     *
+     * @return 返回从库数据源名称，无可用从库时返回null
+     */
+    public String acquire() {
+        long _now = System.currentTimeMillis();
+        List<Replica> _available = new ArrayList<Replica>(__replicas.size());
+        int _totalWeight = 0;
+        for (Replica _replica : __replicas) {
+            if (_replica.downUntil <= _now) {
+                _available.add(_replica);
+                _totalWeight += _replica.weight;
+            }
+        }
+        if (_available.isEmpty()) {
+            return null;
+        }
+        int _seq = __sequence.getAndIncrement() & Integer.MAX_VALUE;
+        Replica _selected = null;
+        switch (__strategy) {
+            case WEIGHTED:
+                int _offset = _seq % _totalWeight;
+                for (Replica _replica : _available) {
+                    _offset -= _replica.weight;
+                    if (_offset < 0) {
+                        _selected = _replica;
+                        break;
+                    }
+                }
+                break;
+            case LEAST_ACTIVE:
+                // 活跃数相同时以轮询顺序决定, 避免总是选中第一个从库
+                for (int _idx = 0; _idx < _available.size(); _idx++) {
+                    Replica _replica = _available.get((_seq + _idx) % _available.size());
+                    if (_selected == null || _replica.active.get() < _selected.active.get()) {
+                        _selected = _replica;
+                    }
+                }
+                break;
+            default:
+                _selected = _available.get(_seq % _available.size());
+        }
+        if (_selected == null) {
+            _selected = _available.get(0);
+        }
+        _selected.active.incrementAndGet();
+        return _selected.name;
+    }
+
+    /**
+     * @param replicaName 由acquire方法返回的从库数据源名称
+     */
+    public void release(String replicaName) {
+        Replica _replica = __doGetReplica(replicaName);
+        if (_replica != null && _replica.active.get() > 0) {
+            _replica.active.decrementAndGet();
+        }
+    }
+
+    /**
+     * 将不可用的从库剔除，在重试间隔时间后重新参与选择
+     *
+     * @param replicaName 从库数据源名称
+     */
+    public void evict(String replicaName) {
+        Replica _replica = __doGetReplica(replicaName);
+        if (_replica != null) {
+            _replica.downUntil = System.currentTimeMillis() + __retryInterval;
+        }
+    }
+
+    /**
+     * @return 返回当前可用的从库数据源名称集合
+     */
+    public List<String> getAvailableReplicas() {
+        long _now = System.currentTimeMillis();
+        List<String> _names = new ArrayList<String>(__replicas.size());
+        for (Replica _replica : __replicas) {
+            if (_replica.downUntil <= _now) {
+                _names.add(_replica.name);
+            }
+        }
+        return _names;
+    }
+
+    private Replica __doGetReplica(String replicaName) {
+        for (Replica _replica : __replicas) {
+            if (_replica.name.equals(replicaName)) {
+                return _replica;
+            }
+        }
+        return null;
+    }
+
+    private static class Replica {
+
+        final String name;
+
+        final int weight;
+
+        final AtomicInteger active = new AtomicInteger();
+
+        volatile long downUntil;
+
+        Replica(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 分表批量操作结果：元素按目标数据表(即生成的SQL语句)分组并以JDBC批处理方式执行，记录每组的执行结果及异常
+ *
+ * @param <T> 元素类型
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class ShardingBatchResult<T> {
+
+    /**
+     * 默认每批次执行的记录数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final List<T> __elements;
+
+    private final int[] __effectCounts;
+
+    private final List<Group> __groups = new ArrayList<Group>();
+
+    public ShardingBatchResult(List<T> elements) {
+        __elements = elements;
+        __effectCounts = new int[elements.size()];
+        // 未执行的元素视为失败
+        Arrays.fill(__effectCounts, Statement.EXECUTE_FAILED);
+    }
+
+    public Group addGroup(String tableName, String sql) {
+        Group _group = new Group(tableName, sql);
+        __groups.add(_group);
+        return _group;
+    }
+
+    public List<Group> getGroups() {
+        return Collections.unmodifiableList(__groups);
+    }
+
+    public List<Group> getFailedGroups() {
+        List<Group> _results = new ArrayList<Group>();
+        for (Group _group : __groups) {
+            if (!_group.isSuccess()) {
+                _results.add(_group);
+            }
+        }
+        return _results;
+    }
+
+    public boolean hasFailures() {
+        for (Group _group : __groups) {
+            if (!_group.isSuccess()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 返回按原始顺序排列的各元素影响记录数，执行失败或未执行的元素为Statement.EXECUTE_FAILED
+     */
+    public int[] getEffectCounts() {
+        return __effectCounts.clone();
+    }
+
+    /**
+     * @return 返回按原始顺序排列的执行成功且影响记录数大于0(或驱动未返回具体数量)的元素集合
+     */
+    public List<T> getAffectedElements() {
+        List<T> _results = new ArrayList<T>();
+        for (int _idx = 0; _idx < __effectCounts.length; _idx++) {
+            if (__effectCounts[_idx] > 0 || __effectCounts[_idx] == Statement.SUCCESS_NO_INFO) {
+                _results.add(__elements.get(_idx));
+            }
+        }
+        return _results;
+    }
+
+    /**
+     * 同一目标数据表的元素分组
+     */
+    public class Group {
+
+        private final String tableName;
+
+        private final String sql;
+
+        private final List<Integer> indexes = new ArrayList<Integer>();
+
+        private Exception error;
+
+        Group(String tableName, String sql) {
+            this.tableName = tableName;
+            this.sql = sql;
+        }
+
+        public void addIndex(int index) {
+            indexes.add(index);
+        }
+
+        /**
+         * @param offset       本批次在分组中的起始位置
+         * @param effectCounts 本批次各元素的影响记录数
+         */
+        public void setEffectCounts(int offset, int[] effectCounts) {
+            for (int _idx = 0; _idx < effectCounts.length && offset + _idx < indexes.size(); _idx++) {
+                __effectCounts[indexes.get(offset + _idx)] = effectCounts[_idx];
+            }
+        }
+
+        public void setError(Exception error) {
+            this.error = error;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int size() {
+            return indexes.size();
+        }
+
+        /**
+         * @param idx 元素在分组中的位置
+         * @return 返回元素在原始集合中的位置
+         */
+        public int getIndex(int idx) {
+            return indexes.get(idx);
+        }
+
+        public List<T> getElements() {
+            List<T> _results = new ArrayList<T>(indexes.size());
+            for (Integer _index : indexes) {
+                _results.add(__elements.get(_index));
+            }
+            return _results;
+        }
+
+        public Exception getError() {
+            return error;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
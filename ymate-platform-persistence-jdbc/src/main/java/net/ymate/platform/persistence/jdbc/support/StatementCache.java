@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于LRU策略的PreparedStatement缓存，隶属于某一数据库连接，以SQL语句、结果集类型和并发类型为键：
+ * 缓存中的对象被取出后即为独占状态，归还时重置参数及属性后放回，超出容量时最久未使用的对象将被关闭
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class StatementCache {
+
+    private static final Log _LOG = LogFactory.getLog(StatementCache.class);
+
+    private final Connection __conn;
+
+    private final int __maxSize;
+
+    private final Map<Key, CachedStatement> __idleStatements;
+
+    private final Map<Statement, CachedStatement> __usedStatements = new IdentityHashMap<Statement, CachedStatement>();
+
+    private long __hitCount;
+
+    private long __missCount;
+
+    private long __evictionCount;
+
+    private boolean __closed;
+
+    public StatementCache(Connection conn, int maxSize) {
+        if (conn == null) {
+            throw new NullPointerException("conn");
+        }
+        __conn = conn;
+        __maxSize = maxSize > 0 ? maxSize : 0;
+        __idleStatements = new LinkedHashMap<Key, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() > __maxSize) {
+                    __evictionCount++;
+                    __doCloseQuietly(eldest.getValue().statement);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 从缓存中获取或创建PreparedStatement对象，使用完毕后必须调用release方法归还
+     *
+     * @param sql                  SQL语句
+     * @param resultSetType        结果集类型
+     * @param resultSetConcurrency 结果集并发类型
+     * @return 返回预编译语句对象
+     * @throws SQLException 创建语句对象时可能产生的异常
+     */
+    public synchronized PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        if (__closed) {
+            throw new SQLException("Statement cache has been closed.");
+        }
+        Key _key = new Key(sql, resultSetType, resultSetConcurrency);
+        CachedStatement _cached = __idleStatements.remove(_key);
+        if (_cached != null) {
+            __hitCount++;
+        } else {
+            __missCount++;
+            PreparedStatement _statement = __conn.prepareStatement(sql, resultSetType, resultSetConcurrency);
+            try {
+                _cached = new CachedStatement(_key, _statement);
+            } catch (SQLException e) {
+                __doCloseQuietly(_statement);
+                throw e;
+            }
+        }
+        __usedStatements.put(_cached.statement, _cached);
+        return _cached.statement;
+    }
+
+    /**
+     * 归还由当前缓存创建的语句对象
+     *
+     * @param statement 语句对象
+     * @param reusable  是否可以继续复用(如执行过程中发生异常则应直接关闭)
+     * @return 若语句对象并非由当前缓存创建则返回false，此时需由调用者自行关闭
+     */
+    public synchronized boolean release(Statement statement, boolean reusable) {
+        CachedStatement _cached = __usedStatements.remove(statement);
+        if (_cached == null) {
+            return false;
+        }
+        if (!reusable || __closed || __idleStatements.containsKey(_cached.key)) {
+            __doCloseQuietly(_cached.statement);
+        } else {
+            try {
+                _cached.reset();
+                __idleStatements.put(_cached.key, _cached);
+            } catch (SQLException e) {
+                _LOG.debug("Failed to reset cached statement, it will be closed: ", e);
+                __doCloseQuietly(_cached.statement);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 关闭缓存中全部语句对象，通常在连接释放前调用
+     */
+    public synchronized void close() {
+        if (!__closed) {
+            __closed = true;
+            List<CachedStatement> _statements = new ArrayList<CachedStatement>(__idleStatements.values());
+            _statements.addAll(__usedStatements.values());
+            __idleStatements.clear();
+            __usedStatements.clear();
+            for (CachedStatement _cached : _statements) {
+                __doCloseQuietly(_cached.statement);
+            }
+            if (_LOG.isDebugEnabled()) {
+                _LOG.debug("Statement cache closed: " + this);
+            }
+        }
+    }
+
+    private static void __doCloseQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            _LOG.debug("Failed to close cached statement: ", e);
+        }
+    }
+
+    public int getMaxSize() {
+        return __maxSize;
+    }
+
+    public synchronized int getSize() {
+        return __idleStatements.size();
+    }
+
+    public synchronized long getHitCount() {
+        return __hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return __missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return __evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "StatementCache{maxSize=" + __maxSize + ", size=" + __idleStatements.size() + ", hits=" + __hitCount + ", misses=" + __missCount + ", evictions=" + __evictionCount + "}";
+    }
+
+    private static class Key {
+
+        private final String sql;
+
+        private final int resultSetType;
+
+        private final int resultSetConcurrency;
+
+        private final int hashCode;
+
+        Key(String sql, int resultSetType, int resultSetConcurrency) {
+            this.sql = sql;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.hashCode = (sql.hashCode() * 31 + resultSetType) * 31 + resultSetConcurrency;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key _other = (Key) obj;
+            return resultSetType == _other.resultSetType && resultSetConcurrency == _other.resultSetConcurrency && sql.equals(_other.sql);
+        }
+    }
+
+    /**
+     * 记录语句对象创建时的属性，归还时据此恢复被修改过的属性
+     */
+    private static class CachedStatement {
+
+        final Key key;
+
+        final PreparedStatement statement;
+
+        final int fetchDirection;
+
+        final int fetchSize;
+
+        final int maxRows;
+
+        final int maxFieldSize;
+
+        final int queryTimeout;
+
+        CachedStatement(Key key, PreparedStatement statement) throws SQLException {
+            this.key = key;
+            this.statement = statement;
+            this.fetchDirection = statement.getFetchDirection();
+            this.fetchSize = statement.getFetchSize();
+            this.maxRows = statement.getMaxRows();
+            this.maxFieldSize = statement.getMaxFieldSize();
+            this.queryTimeout = statement.getQueryTimeout();
+        }
+
+        void reset() throws SQLException {
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            if (statement.getFetchDirection() != fetchDirection) {
+                statement.setFetchDirection(fetchDirection);
+            }
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getMaxFieldSize() != maxFieldSize) {
+                statement.setMaxFieldSize(maxFieldSize);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+    }
+}
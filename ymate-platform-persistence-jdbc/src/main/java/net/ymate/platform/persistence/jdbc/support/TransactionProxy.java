@@ -19,11 +19,15 @@ import net.ymate.platform.core.beans.annotation.Order;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 import net.ymate.platform.persistence.jdbc.JDBC;
 import net.ymate.platform.persistence.jdbc.annotation.Transaction;
 import net.ymate.platform.persistence.jdbc.transaction.Trade;
 import net.ymate.platform.persistence.jdbc.transaction.Transactions;
 
+import java.lang.reflect.Method;
+
 /**
  * JDBC数据库事务代理
  *
@@ -31,7 +35,12 @@ import net.ymate.platform.persistence.jdbc.transaction.Transactions;
  * @version 1.0
  */
 @Proxy(annotation = Transaction.class, order = @Order(666))
-public class TransactionProxy implements IProxy {
+public class TransactionProxy implements IProxy, IProxyMethodFilter {
+
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return targetMethod.isAnnotationPresent(Transaction.class);
+    }
 
     @Override
     public Object doProxy(final IProxyChain proxyChain) throws Throwable {
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.transaction;
+
+import net.ymate.platform.persistence.jdbc.IDatabase;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 多数据源事务恢复日志接口：在提交前记录参与事务的数据源，并记录各数据源的提交结果，
+ * 用于在提交过程中发生崩溃或部分提交失败后识别并核对未完整提交的事务
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public interface ITransactionLog {
+
+    /**
+     * 初始化事务恢复日志
+     *
+     * @param owner 所属JDBC模块对象
+     * @throws Exception 可能产生的异常
+     */
+    void initialize(IDatabase owner) throws Exception;
+
+    /**
+     * 记录事务开始提交(须在任何数据源提交前持久化)
+     *
+     * @param id      事务Id
+     * @param dsNames 参与事务的数据源名称集合
+     * @throws Exception 可能产生的异常
+     */
+    void begin(String id, List<String> dsNames) throws Exception;
+
+    /**
+     * 记录数据源已提交
+     *
+     * @param id     事务Id
+     * @param dsName 数据源名称
+     * @throws Exception 可能产生的异常
+     */
+    void committed(String id, String dsName) throws Exception;
+
+    /**
+     * 记录数据源提交失败
+     *
+     * @param id     事务Id
+     * @param dsName 数据源名称
+     * @param cause  失败原因
+     * @throws Exception 可能产生的异常
+     */
+    void failed(String id, String dsName, Throwable cause) throws Exception;
+
+    /**
+     * 记录事务已全部提交
+     *
+     * @param id 事务Id
+     * @throws Exception 可能产生的异常
+     */
+    void end(String id) throws Exception;
+
+    /**
+     * @return 返回尚未完成的事务记录集合(如提交过程中发生崩溃或部分数据源提交失败)
+     * @throws Exception 可能产生的异常
+     */
+    List<Entry> recover() throws Exception;
+
+    /**
+     * 标记未完成的事务已核对处理
+     *
+     * @param id 事务Id
+     * @throws Exception 可能产生的异常
+     */
+    void resolve(String id) throws Exception;
+
+    /**
+     * 销毁事务恢复日志
+     *
+     * @throws Exception 可能产生的异常
+     */
+    void destroy() throws Exception;
+
+    /**
+     * 事务记录
+     */
+    class Entry {
+
+        private final String id;
+
+        private final long beginTime;
+
+        private final List<String> dataSources;
+
+        private final Set<String> committed = new LinkedHashSet<String>();
+
+        private final Map<String, String> failed = new LinkedHashMap<String, String>();
+
+        public Entry(String id, long beginTime, List<String> dataSources) {
+            this.id = id;
+            this.beginTime = beginTime;
+            this.dataSources = dataSources;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public long getBeginTime() {
+            return beginTime;
+        }
+
+        public List<String> getDataSources() {
+            return dataSources;
+        }
+
+        /**
+         * @return 返回已确认提交的数据源名称集合
+         */
+        public Set<String> getCommitted() {
+            return committed;
+        }
+
+        /**
+         * @return 返回提交失败的数据源名称及失败原因
+         */
+        public Map<String, String> getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return 返回未确认提交结果的数据源名称集合
+         */
+        public List<String> getUncertain() {
+            List<String> _uncertain = new ArrayList<String>();
+            for (String _dsName : dataSources) {
+                if (!committed.contains(_dsName) && !failed.containsKey(_dsName)) {
+                    _uncertain.add(_dsName);
+                }
+            }
+            return _uncertain;
+        }
+
+        /**
+         * @return 判断全部数据源是否均已提交
+         */
+        public boolean isFullyCommitted() {
+            return committed.containsAll(dataSources);
+        }
+
+        @Override
+        public String toString() {
+            return "Transaction[" + id + "]: committed=" + committed + ", failed=" + failed.keySet() + ", uncertain=" + getUncertain();
+        }
+    }
+}
@@ -17,6 +17,7 @@ package net.ymate.platform.persistence.jdbc.transaction;
 
 import net.ymate.platform.core.util.RuntimeUtils;
 import net.ymate.platform.persistence.jdbc.JDBC;
+import net.ymate.platform.persistence.jdbc.support.QueryCache;
 import net.ymate.platform.persistence.jdbc.transaction.impl.DefaultTransaction;
 
 /**
@@ -97,6 +98,8 @@ public class Transactions {
             } finally {
                 __TRANS_LOCAL.remove();
                 __COUNT.remove();
+                // 事务结束后再次清理事务中已更新数据表的查询缓存
+                QueryCache.afterTransaction();
             }
         }
     }
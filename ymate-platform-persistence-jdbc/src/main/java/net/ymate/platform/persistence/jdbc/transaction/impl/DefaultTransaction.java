@@ -17,12 +17,25 @@ package net.ymate.platform.persistence.jdbc.transaction.impl;
 
 import net.ymate.platform.core.util.UUIDUtils;
 import net.ymate.platform.persistence.jdbc.IConnectionHolder;
+import net.ymate.platform.persistence.jdbc.IDatabase;
 import net.ymate.platform.persistence.jdbc.JDBC;
+import net.ymate.platform.persistence.jdbc.TransactionCfgMeta;
+import net.ymate.platform.persistence.jdbc.support.AsyncSession;
 import net.ymate.platform.persistence.jdbc.transaction.ITransaction;
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 默认JDBC事务处理接口实现
@@ -32,6 +45,8 @@ import java.util.Map;
  */
 public class DefaultTransaction implements ITransaction {
 
+    private static final Log _LOG = LogFactory.getLog(DefaultTransaction.class);
+
     private String __id;
 
     private JDBC.TRANSACTION __level;
@@ -40,7 +55,7 @@ public class DefaultTransaction implements ITransaction {
 
     public DefaultTransaction() {
         this.__id = UUIDUtils.UUID();
-        this.__transMetas = new HashMap<String, TransactionMeta>();
+        this.__transMetas = new LinkedHashMap<String, TransactionMeta>();
     }
 
     public DefaultTransaction(JDBC.TRANSACTION level) {
@@ -68,11 +83,179 @@ public class DefaultTransaction implements ITransaction {
 
     @Override
     public void commit() throws SQLException {
+        IDatabase _owner = this.__transMetas.size() > 1 ? JDBC.get() : null;
+        if (_owner != null && _owner.getModuleCfg() != null) {
+            TransactionCfgMeta _cfg = _owner.getModuleCfg().getTransactionCfg();
+            if (_cfg.isParallelCommit() || !_cfg.getCommitOrder().isEmpty() || _owner.getTransactionLog() != null) {
+                __doCommit(_cfg, _owner.getTransactionLog());
+                return;
+            }
+        }
         for (TransactionMeta _meta : this.__transMetas.values()) {
             _meta.connectionHolder.getConnection().commit();
         }
     }
 
+    /**
+     * 多数据源事务提交：首先检查全部连接可用性(任一不可用则不提交任何数据源)，记录恢复日志后按顺序分组提交，
+     * 并行模式下同一分组内的数据源同时提交，任一数据源提交失败或超时后不再提交后续分组
+     *
+     * @param cfg 多数据源事务提交配置
+     * @param log 事务恢复日志，可以为空
+     * @throws SQLException 可能产生的异常
+     */
+    private void __doCommit(TransactionCfgMeta cfg, final ITransactionLog log) throws SQLException {
+        long _deadline = cfg.getCommitTimeout() > 0 ? System.currentTimeMillis() + cfg.getCommitTimeout() : Long.MAX_VALUE;
+        List<List<TransactionMeta>> _groups = __doGetCommitGroups(cfg);
+        List<String> _dsNames = new ArrayList<String>();
+        for (List<TransactionMeta> _group : _groups) {
+            for (TransactionMeta _meta : _group) {
+                _dsNames.add(_meta.dsName);
+            }
+        }
+        // 准备阶段
+        final int _validTimeout = cfg.getCommitTimeout() > 0 ? (int) Math.max(1, cfg.getCommitTimeout() / 1000) : 0;
+        Outcome _outcome = new Outcome();
+        __doExecute(new ArrayList<TransactionMeta>(this.__transMetas.values()), cfg.isParallelCommit(), _deadline, new MetaTask() {
+            @Override
+            public void execute(TransactionMeta meta) throws SQLException {
+                meta.prepare(_validTimeout);
+            }
+        }, _outcome);
+        if (!_outcome.isSucceed()) {
+            throw new SQLException("Transaction [" + __id + "] not committed, datasource unavailable: " + _outcome.getUnfinished(), _outcome.getCause());
+        }
+        if (log != null) {
+            try {
+                log.begin(__id, _dsNames);
+            } catch (Exception e) {
+                throw new SQLException("Transaction [" + __id + "] not committed, failed to write transaction log.", e);
+            }
+        }
+        // 提交阶段
+        _outcome = new Outcome();
+        for (List<TransactionMeta> _group : _groups) {
+            __doExecute(_group, cfg.isParallelCommit(), _deadline, new MetaTask() {
+                @Override
+                public void execute(TransactionMeta meta) throws SQLException {
+                    meta.commit(__id, log);
+                }
+            }, _outcome);
+        }
+        if (_outcome.finished.size() == _dsNames.size()) {
+            // 即使超时, 只要全部数据源最终提交成功即视为成功
+            __doResolve(log);
+            return;
+        }
+        if (_outcome.finished.isEmpty()) {
+            // 没有任何数据源提交, 回滚后数据保持一致
+            __doResolve(log);
+            throw new SQLException("Transaction [" + __id + "] not committed, failed: " + _outcome.failed.keySet() + ", not attempted: " + _outcome.skipped, _outcome.getCause());
+        }
+        throw new SQLException("Transaction [" + __id + "] partially committed, committed: " + _outcome.finished + ", failed: " + _outcome.failed.keySet() + ", not attempted: " + _outcome.skipped, _outcome.getCause());
+    }
+
+    private void __doResolve(ITransactionLog log) {
+        if (log != null) {
+            try {
+                log.end(__id);
+            } catch (Exception e) {
+                _LOG.warn("Failed to write transaction log: " + __id, e);
+            }
+        }
+    }
+
+    /**
+     * @param cfg 多数据源事务提交配置
+     * @return 按配置的提交顺序对参与事务的数据源分组，未列出的数据源归入最后一组；非并行模式下仅决定提交顺序
+     */
+    private List<List<TransactionMeta>> __doGetCommitGroups(TransactionCfgMeta cfg) {
+        List<List<TransactionMeta>> _groups = new ArrayList<List<TransactionMeta>>();
+        Map<String, TransactionMeta> _remains = new LinkedHashMap<String, TransactionMeta>(this.__transMetas);
+        for (List<String> _order : cfg.getCommitOrder()) {
+            List<TransactionMeta> _group = new ArrayList<TransactionMeta>();
+            for (String _dsName : _order) {
+                TransactionMeta _meta = _remains.remove(_dsName);
+                if (_meta != null) {
+                    _group.add(_meta);
+                }
+            }
+            if (!_group.isEmpty()) {
+                _groups.add(_group);
+            }
+        }
+        if (!_remains.isEmpty()) {
+            _groups.add(new ArrayList<TransactionMeta>(_remains.values()));
+        }
+        return _groups;
+    }
+
+    /**
+     * 执行任务并将结果记录至outcome中，任一数据源执行失败或已超过截止时间后，其后的数据源均不再执行；
+     * 并行执行超时后仍将等待执行中的任务结束并记录其真实结果，因为JDBC操作无法被安全中断，在其结束前连接不能被回滚或释放
+     *
+     * @param metas    事务信息集合
+     * @param parallel 是否并行执行
+     * @param deadline 截止时间
+     * @param task     执行任务
+     * @param outcome  执行结果
+     */
+    private void __doExecute(List<TransactionMeta> metas, boolean parallel, long deadline, final MetaTask task, Outcome outcome) {
+        if (parallel && metas.size() > 1 && outcome.isSucceed() && System.currentTimeMillis() < deadline) {
+            Map<String, Future<Object>> _futures = new LinkedHashMap<String, Future<Object>>();
+            for (final TransactionMeta _meta : metas) {
+                _futures.put(_meta.dsName, AsyncSession.getDefaultExecutor().submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        task.execute(_meta);
+                        return null;
+                    }
+                }));
+            }
+            boolean _interrupted = false;
+            for (Map.Entry<String, Future<Object>> _future : _futures.entrySet()) {
+                boolean _waiting = true;
+                while (_waiting) {
+                    try {
+                        if (outcome.timeout) {
+                            _future.getValue().get();
+                        } else {
+                            _future.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                        }
+                        outcome.finished.add(_future.getKey());
+                        _waiting = false;
+                    } catch (ExecutionException e) {
+                        outcome.failed.put(_future.getKey(), e.getCause());
+                        _waiting = false;
+                    } catch (TimeoutException e) {
+                        outcome.timeout = true;
+                    } catch (InterruptedException e) {
+                        _interrupted = true;
+                    }
+                }
+            }
+            if (_interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } else {
+            for (TransactionMeta _meta : metas) {
+                if (outcome.isSucceed() && System.currentTimeMillis() >= deadline) {
+                    outcome.timeout = true;
+                }
+                if (!outcome.isSucceed()) {
+                    outcome.skipped.add(_meta.dsName);
+                } else {
+                    try {
+                        task.execute(_meta);
+                        outcome.finished.add(_meta.dsName);
+                    } catch (SQLException e) {
+                        outcome.failed.put(_meta.dsName, e);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void rollback() throws SQLException {
         for (TransactionMeta _meta : this.__transMetas.values()) {
@@ -103,7 +286,7 @@ public class DefaultTransaction implements ITransaction {
     public void registerConnectionHolder(IConnectionHolder connectionHolder) throws SQLException {
         String _dsName = connectionHolder.getDataSourceCfgMeta().getName();
         if (!this.__transMetas.containsKey(_dsName)) {
-            this.__transMetas.put(_dsName, new TransactionMeta(connectionHolder, getLevel()));
+            this.__transMetas.put(_dsName, new TransactionMeta(_dsName, connectionHolder, getLevel()));
         }
     }
 
@@ -115,17 +298,22 @@ public class DefaultTransaction implements ITransaction {
      */
     private static class TransactionMeta {
 
+        // 数据源名称
+        final String dsName;
+
         // 数据库连接持有者对象
         IConnectionHolder connectionHolder;
 
         /**
          * 构造器
          *
+         * @param dsName           数据源名称
          * @param connectionHolder 数据库连接持有者对象
          * @param initLevel        初始事务级别
          * @throws SQLException 可能产生的异常
          */
-        TransactionMeta(IConnectionHolder connectionHolder, JDBC.TRANSACTION initLevel) throws SQLException {
+        TransactionMeta(String dsName, IConnectionHolder connectionHolder, JDBC.TRANSACTION initLevel) throws SQLException {
+            this.dsName = dsName;
             this.connectionHolder = connectionHolder;
             if (this.connectionHolder.getConnection().getAutoCommit()) {
                 this.connectionHolder.getConnection().setAutoCommit(false);
@@ -137,6 +325,56 @@ public class DefaultTransaction implements ITransaction {
             }
         }
 
+        /**
+         * 检查连接是否可用
+         *
+         * @param timeout 检查超时时间(秒)
+         * @throws SQLException 连接不可用时抛出异常
+         */
+        void prepare(int timeout) throws SQLException {
+            boolean _valid;
+            try {
+                _valid = connectionHolder.getConnection().isValid(timeout);
+            } catch (AbstractMethodError e) {
+                // 驱动未实现JDBC4时仅检查连接是否已关闭
+                _valid = !connectionHolder.getConnection().isClosed();
+            } catch (SQLException e) {
+                _valid = !connectionHolder.getConnection().isClosed();
+            }
+            if (!_valid) {
+                throw new SQLException("Connection of datasource '" + dsName + "' is invalid.");
+            }
+        }
+
+        /**
+         * 提交事务并记录提交结果
+         *
+         * @param id  事务Id
+         * @param log 事务恢复日志，可以为空
+         * @throws SQLException 可能产生的异常
+         */
+        void commit(String id, ITransactionLog log) throws SQLException {
+            try {
+                connectionHolder.getConnection().commit();
+            } catch (SQLException e) {
+                if (log != null) {
+                    try {
+                        log.failed(id, dsName, e);
+                    } catch (Exception ex) {
+                        _LOG.warn("Failed to write transaction log: " + id, ex);
+                    }
+                }
+                throw e;
+            }
+            if (log != null) {
+                try {
+                    log.committed(id, dsName);
+                } catch (Exception e) {
+                    _LOG.warn("Failed to write transaction log: " + id, e);
+                }
+            }
+        }
+
         /**
          * 释放数据源、连接资源
          */
@@ -150,4 +388,52 @@ public class DefaultTransaction implements ITransaction {
             }
         }
     }
+
+    /**
+     * 多数据源任务执行结果
+     */
+    private static class Outcome {
+
+        /**
+         * 已执行成功的数据源名称
+         */
+        final List<String> finished = new ArrayList<String>();
+
+        /**
+         * 执行失败的数据源名称及原因
+         */
+        final Map<String, Throwable> failed = new LinkedHashMap<String, Throwable>();
+
+        /**
+         * 由于之前的数据源执行失败或超时而未执行的数据源名称
+         */
+        final List<String> skipped = new ArrayList<String>();
+
+        /**
+         * 是否已超过截止时间
+         */
+        boolean timeout;
+
+        boolean isSucceed() {
+            return !timeout && failed.isEmpty() && skipped.isEmpty();
+        }
+
+        List<String> getUnfinished() {
+            List<String> _unfinished = new ArrayList<String>(failed.keySet());
+            _unfinished.addAll(skipped);
+            return _unfinished;
+        }
+
+        Throwable getCause() {
+            if (!failed.isEmpty()) {
+                return failed.values().iterator().next();
+            }
+            return timeout ? new TimeoutException("Timed out before all datasources were processed.") : null;
+        }
+    }
+
+    private interface MetaTask {
+
+        void execute(TransactionMeta meta) throws SQLException;
+    }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.transaction.impl;
+
+import net.ymate.platform.core.util.RuntimeUtils;
+import net.ymate.platform.persistence.jdbc.IDatabase;
+import net.ymate.platform.persistence.jdbc.transaction.ITransactionLog;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 默认事务恢复日志(基于本地文件)：以追加方式逐行记录事务提交过程，开始及各数据源提交结果记录均同步写入磁盘，
+ * 已完成的事务记录在日志文件超过指定大小时被清理
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class FileTransactionLog implements ITransactionLog {
+
+    private static final Log _LOG = LogFactory.getLog(FileTransactionLog.class);
+
+    public static final String LOG_FILE_NAME = "ymp-jdbc-transaction.log";
+
+    /**
+     * 日志文件大小上限，超出时重写日志文件并仅保留尚未完成的事务记录
+     */
+    private static final long MAX_LOG_FILE_SIZE = 1024 * 1024;
+
+    private static final String BEGIN = "B";
+
+    private static final String COMMITTED = "C";
+
+    private static final String FAILED = "F";
+
+    private static final String END = "E";
+
+    private final Map<String, Entry> __entries = new LinkedHashMap<String, Entry>();
+
+    private File __logFile;
+
+    private FileOutputStream __output;
+
+    @Override
+    public synchronized void initialize(IDatabase owner) throws Exception {
+        File _logDir = new File(RuntimeUtils.replaceEnvVariable(StringUtils.defaultIfBlank(owner.getModuleCfg().getTransactionCfg().getLogDir(), "${root}")));
+        if (!_logDir.exists() && !_logDir.mkdirs()) {
+            throw new IOException("Unable to create transaction log directory: " + _logDir.getPath());
+        }
+        __logFile = new File(_logDir, LOG_FILE_NAME);
+        File _bakFile = __doGetBackupFile();
+        if (__logFile.exists()) {
+            __doLoad(__logFile);
+        } else if (_bakFile.exists()) {
+            // 上次重写日志文件时在替换过程中中断, 从备份文件恢复
+            __doLoad(_bakFile);
+        }
+        __doRewrite();
+    }
+
+    private File __doGetBackupFile() {
+        return new File(__logFile.getPath() + ".bak");
+    }
+
+    private void __doLoad(File logFile) throws IOException {
+        BufferedReader _reader = new BufferedReader(new InputStreamReader(new FileInputStream(logFile), "UTF-8"));
+        try {
+            String _line;
+            while ((_line = _reader.readLine()) != null) {
+                String[] _fields = StringUtils.splitPreserveAllTokens(_line, '\t');
+                if (_fields.length < 2) {
+                    continue;
+                }
+                if (BEGIN.equals(_fields[0]) && _fields.length >= 4) {
+                    __entries.put(_fields[1], new Entry(_fields[1], Long.parseLong(_fields[2]), Arrays.asList(StringUtils.split(_fields[3], ','))));
+                } else {
+                    Entry _entry = __entries.get(_fields[1]);
+                    if (_entry == null) {
+                        continue;
+                    }
+                    if (COMMITTED.equals(_fields[0]) && _fields.length >= 3) {
+                        _entry.getCommitted().add(_fields[2]);
+                    } else if (FAILED.equals(_fields[0]) && _fields.length >= 3) {
+                        _entry.getFailed().put(_fields[2], _fields.length >= 4 ? _fields[3] : "");
+                    } else if (END.equals(_fields[0])) {
+                        __entries.remove(_fields[1]);
+                    }
+                }
+            }
+        } finally {
+            _reader.close();
+        }
+    }
+
+    /**
+     * 重写日志文件，仅保留尚未完成的事务记录：先完整写入临时文件再替换原日志文件，替换过程中任何时刻中断均可从原日志文件或备份文件恢复
+     */
+    private void __doRewrite() throws IOException {
+        if (__output != null) {
+            __output.close();
+            __output = null;
+        }
+        File _tmpFile = new File(__logFile.getPath() + ".tmp");
+        FileOutputStream _tmpOutput = new FileOutputStream(_tmpFile);
+        try {
+            StringBuilder _linesSB = new StringBuilder();
+            for (Entry _entry : __entries.values()) {
+                _linesSB.append(__doBuildLine(BEGIN, _entry.getId(), String.valueOf(_entry.getBeginTime()), StringUtils.join(_entry.getDataSources(), ',')));
+                for (String _dsName : _entry.getCommitted()) {
+                    _linesSB.append(__doBuildLine(COMMITTED, _entry.getId(), _dsName));
+                }
+                for (Map.Entry<String, String> _failed : _entry.getFailed().entrySet()) {
+                    _linesSB.append(__doBuildLine(FAILED, _entry.getId(), _failed.getKey(), _failed.getValue()));
+                }
+            }
+            _tmpOutput.write(_linesSB.toString().getBytes("UTF-8"));
+            _tmpOutput.getFD().sync();
+        } finally {
+            _tmpOutput.close();
+        }
+        File _bakFile = __doGetBackupFile();
+        if (!_tmpFile.renameTo(__logFile)) {
+            // 部分平台(如Windows)不允许重命名覆盖已存在的文件, 此时先将原日志文件改名为备份文件
+            if ((_bakFile.exists() && !_bakFile.delete()) || !__logFile.renameTo(_bakFile)) {
+                __output = new FileOutputStream(__logFile, true);
+                throw new IOException("Unable to rewrite transaction log file: " + __logFile.getPath());
+            }
+            if (!_tmpFile.renameTo(__logFile)) {
+                if (!_bakFile.renameTo(__logFile)) {
+                    throw new IOException("Unable to restore transaction log file from: " + _bakFile.getPath());
+                }
+                __output = new FileOutputStream(__logFile, true);
+                throw new IOException("Unable to rewrite transaction log file: " + __logFile.getPath());
+            }
+        }
+        if (_bakFile.exists() && !_bakFile.delete()) {
+            _LOG.warn("Unable to delete transaction log backup file: " + _bakFile.getPath());
+        }
+        __output = new FileOutputStream(__logFile, true);
+    }
+
+    private String __doBuildLine(String... fields) {
+        String[] _fields = new String[fields.length];
+        for (int _idx = 0; _idx < fields.length; _idx++) {
+            _fields[_idx] = StringUtils.replaceChars(StringUtils.defaultString(fields[_idx]), "\t\r\n", "   ");
+        }
+        return StringUtils.join(_fields, '\t') + "\n";
+    }
+
+    private void __doWrite(boolean sync, String... fields) throws IOException {
+        __output.write(__doBuildLine(fields).getBytes("UTF-8"));
+        if (sync) {
+            __output.getFD().sync();
+        }
+    }
+
+    @Override
+    public synchronized void begin(String id, List<String> dsNames) throws Exception {
+        Entry _entry = new Entry(id, System.currentTimeMillis(), new ArrayList<String>(dsNames));
+        __doWrite(true, BEGIN, id, String.valueOf(_entry.getBeginTime()), StringUtils.join(dsNames, ','));
+        __entries.put(id, _entry);
+    }
+
+    @Override
+    public synchronized void committed(String id, String dsName) throws Exception {
+        Entry _entry = __entries.get(id);
+        if (_entry != null) {
+            __doWrite(true, COMMITTED, id, dsName);
+            _entry.getCommitted().add(dsName);
+        }
+    }
+
+    @Override
+    public synchronized void failed(String id, String dsName, Throwable cause) throws Exception {
+        Entry _entry = __entries.get(id);
+        if (_entry != null) {
+            String _message = cause != null ? StringUtils.defaultString(cause.getMessage(), cause.getClass().getName()) : "";
+            __doWrite(true, FAILED, id, dsName, _message);
+            _entry.getFailed().put(dsName, _message);
+        }
+    }
+
+    @Override
+    public synchronized void end(String id) throws Exception {
+        if (__entries.remove(id) != null) {
+            // 结束记录丢失时仅会在恢复时将已全部提交的事务再次列出, 因此无需同步写入
+            __doWrite(false, END, id);
+            if (__logFile.length() > MAX_LOG_FILE_SIZE) {
+                __doRewrite();
+            }
+        }
+    }
+
+    @Override
+    public synchronized List<Entry> recover() throws Exception {
+        return new ArrayList<Entry>(__entries.values());
+    }
+
+    @Override
+    public void resolve(String id) throws Exception {
+        end(id);
+    }
+
+    @Override
+    public synchronized void destroy() throws Exception {
+        if (__output != null) {
+            __output.close();
+            __output = null;
+        }
+    }
+}
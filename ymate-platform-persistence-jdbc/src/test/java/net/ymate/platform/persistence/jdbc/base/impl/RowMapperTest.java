@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.base.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class RowMapperTest {
+
+    public static class UserBean {
+
+        private Integer id;
+
+        private String userName;
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+    }
+
+    /**
+     * 独立加载UserBean类的类加载器，模拟应用重新部署后由新的类加载器加载同名类
+     */
+    private static class IsolatedClassLoader extends URLClassLoader {
+
+        IsolatedClassLoader(URL url) {
+            super(new URL[]{url}, RowMapperTest.class.getClassLoader());
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (UserBean.class.getName().equals(name)) {
+                Class<?> _class = findLoadedClass(name);
+                return _class != null ? _class : findClass(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    private Connection __conn;
+
+    @Before
+    public void setUp() throws Exception {
+        // 同一JVM中其它测试的连接池销毁时可能已注销驱动程序, 需重新注册
+        org.h2.Driver.unload();
+        org.h2.Driver.load();
+        __conn = DriverManager.getConnection("jdbc:h2:mem:row_mapper_test", "sa", "");
+        Statement _statement = __conn.createStatement();
+        _statement.execute("create table t_user (id int primary key, user_name varchar(32))");
+        _statement.execute("insert into t_user values (1, 'u1')");
+        _statement.close();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        __conn.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> __doQuery(Class<T> beanClass) throws Exception {
+        Statement _statement = __conn.createStatement();
+        try {
+            ResultSet _resultSet = _statement.executeQuery("select id, user_name from t_user");
+            return new BeanResultSetHandler<T>(beanClass).handle(_resultSet);
+        } finally {
+            _statement.close();
+        }
+    }
+
+    @Test
+    public void testMapBean() throws Exception {
+        List<UserBean> _result = __doQuery(UserBean.class);
+        assertEquals(1, _result.size());
+        assertEquals(Integer.valueOf(1), _result.get(0).getId());
+        assertEquals("u1", _result.get(0).getUserName());
+    }
+
+    @Test
+    public void testSameClassNameFromDifferentClassLoader() throws Exception {
+        assertEquals(1, __doQuery(UserBean.class).size());
+        //
+        URL _location = UserBean.class.getProtectionDomain().getCodeSource().getLocation();
+        Class<?> _otherClass = new IsolatedClassLoader(_location).loadClass(UserBean.class.getName());
+        assertNotSame(UserBean.class, _otherClass);
+        // 同名但不同类加载器加载的类型不能复用已缓存的映射器
+        List<?> _result = __doQuery(_otherClass);
+        assertEquals(1, _result.size());
+        Object _bean = _result.get(0);
+        assertSame(_otherClass, _bean.getClass());
+        Field _field = _otherClass.getDeclaredField("userName");
+        _field.setAccessible(true);
+        assertEquals("u1", _field.get(_bean));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.impl;
+
+import net.ymate.platform.persistence.IResultSet;
+import net.ymate.platform.persistence.impl.DefaultResultSet;
+import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class DefaultQueryCacheTest {
+
+    private DefaultQueryCache __cache;
+
+    @Before
+    public void setUp() throws Exception {
+        __cache = new DefaultQueryCache();
+        __cache.initialize(new DataSourceCfgMeta());
+    }
+
+    private void __doEnableCopyOnRead() throws Exception {
+        DataSourceCfgMeta _cfgMeta = new DataSourceCfgMeta();
+        _cfgMeta.setQueryCacheCopyOnRead(true);
+        __cache = new DefaultQueryCache();
+        __cache.initialize(_cfgMeta);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHitsShareSnapshotTakenOnPut() {
+        List<User> _users = new ArrayList<User>();
+        _users.add(new User("a"));
+        DefaultResultSet<User> _origin = new DefaultResultSet<User>(_users, 1, 2, 5);
+        __cache.put("users", _origin);
+        // 放入缓存后修改原始对象
+        _users.get(0).setName("changed");
+        //
+        IResultSet<User> _first = (IResultSet<User>) __cache.get("users");
+        IResultSet<User> _second = (IResultSet<User>) __cache.get("users");
+        assertSame(_first, _second);
+        assertEquals("a", _first.getResultData().get(0).getName());
+        assertEquals(5, _first.getRecordCount());
+        try {
+            _first.getResultData().add(new User("b"));
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // 共享的结果集数据列表不可修改
+        }
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        for (int _idx = 0; _idx < 4096; _idx++) {
+            __cache.put("key_" + _idx, _idx);
+        }
+        // 访问最早放入的缓存项, 使其不被淘汰
+        assertEquals(0, __cache.get("key_0"));
+        __cache.put("key_4096", 4096);
+        assertEquals(0, __cache.get("key_0"));
+        assertNull(__cache.get("key_1"));
+        assertEquals(2, __cache.get("key_2"));
+        assertEquals(4096, __cache.get("key_4096"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testModifyReturnedEntityDoesNotAffectNextHit() throws Exception {
+        __doEnableCopyOnRead();
+        List<User> _users = new ArrayList<User>();
+        _users.add(new User("a"));
+        _users.add(new User("b"));
+        DefaultResultSet<User> _origin = new DefaultResultSet<User>(_users, 1, 2, 5);
+        __cache.put("users", _origin);
+        // 放入缓存后修改原始对象
+        _users.get(0).setName("changed");
+        //
+        IResultSet<User> _first = (IResultSet<User>) __cache.get("users");
+        assertEquals("a", _first.getResultData().get(0).getName());
+        _first.getResultData().get(1).setName("changed");
+        //
+        IResultSet<User> _second = (IResultSet<User>) __cache.get("users");
+        assertNotSame(_first, _second);
+        assertNotSame(_first.getResultData().get(1), _second.getResultData().get(1));
+        assertEquals("b", _second.getResultData().get(1).getName());
+        assertEquals(2, _second.getResultData().size());
+        assertEquals(1, _second.getPageNumber());
+        assertEquals(2, _second.getPageSize());
+        assertEquals(5, _second.getRecordCount());
+        assertEquals(3, _second.getPageCount());
+    }
+
+    @Test
+    public void testModifyReturnedValueDoesNotAffectNextHit() throws Exception {
+        __doEnableCopyOnRead();
+        __cache.put("user", new User("a"));
+        ((User) __cache.get("user")).setName("changed");
+        assertEquals("a", ((User) __cache.get("user")).getName());
+        //
+        __cache.put("row", new Object[]{"a", 1L});
+        ((Object[]) __cache.get("row"))[0] = "changed";
+        assertEquals("a", ((Object[]) __cache.get("row"))[0]);
+    }
+
+    @Test
+    public void testNonSerializableResultIsNotCached() {
+        __cache.put("bean", new Object());
+        assertNull(__cache.get("bean"));
+    }
+
+    public static class User implements Serializable {
+
+        private String name;
+
+        public User(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.impl;
+
+import net.ymate.platform.persistence.annotation.Entity;
+import net.ymate.platform.persistence.annotation.Id;
+import net.ymate.platform.persistence.annotation.Property;
+import net.ymate.platform.persistence.base.IEntity;
+import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
+import net.ymate.platform.persistence.jdbc.IConnectionHolder;
+import net.ymate.platform.persistence.jdbc.JDBC;
+import net.ymate.platform.persistence.jdbc.dialect.impl.MySQLDialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 以MySQL兼容模式的H2内存数据库验证多行插入及主键冲突更新
+ *
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class DefaultSessionBulkInsertTest {
+
+    private static final AtomicInteger __DB_INDEX = new AtomicInteger();
+
+    @Entity("t_user")
+    public static class User implements IEntity<Long> {
+
+        @Id
+        @Property(name = "id", autoincrement = true)
+        private Long id;
+
+        @Property(name = "name")
+        private String name;
+
+        public User() {
+        }
+
+        User(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(Long id) {
+            this.id = id;
+        }
+    }
+
+    private PooledDataSourceAdapter __adapter;
+
+    private IConnectionHolder __connectionHolder;
+
+    private DefaultSession __session;
+
+    @Before
+    public void setUp() throws Exception {
+        org.h2.Driver.unload();
+        org.h2.Driver.load();
+        DataSourceCfgMeta _cfgMeta = new DataSourceCfgMeta("bulk_test", PooledDataSourceAdapter.class,
+                "jdbc:h2:mem:bulk_test_" + __DB_INDEX.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", false);
+        _cfgMeta.setType(JDBC.DATABASE.MYSQL);
+        _cfgMeta.setDriverClass("org.h2.Driver");
+        _cfgMeta.setDialectClass(MySQLDialect.class.getName());
+        _cfgMeta.setParams(new HashMap<String, String>());
+        __adapter = new PooledDataSourceAdapter();
+        __adapter.initialize(null, _cfgMeta);
+        __connectionHolder = new DefaultConnectionHolder(__adapter);
+        Statement _statement = __connectionHolder.getConnection().createStatement();
+        _statement.execute("create table t_user (id bigint auto_increment primary key, name varchar(32))");
+        _statement.close();
+        __session = new DefaultSession(null, __connectionHolder);
+    }
+
+    @After
+    public void tearDown() {
+        __session.close();
+        __adapter.destroy();
+    }
+
+    private Map<Long, String> __doQueryAll() throws Exception {
+        Map<Long, String> _rows = new HashMap<Long, String>();
+        Statement _statement = __connectionHolder.getConnection().createStatement();
+        try {
+            ResultSet _resultSet = _statement.executeQuery("select id, name from t_user");
+            while (_resultSet.next()) {
+                _rows.put(_resultSet.getLong(1), _resultSet.getString(2));
+            }
+        } finally {
+            _statement.close();
+        }
+        return _rows;
+    }
+
+    @Test
+    public void testBulkInsertAssignsGeneratedKeys() throws Exception {
+        User _u1 = new User(null, "a");
+        User _u2 = new User(null, "b");
+        assertEquals(2, __session.bulkInsert(Arrays.asList(_u1, _u2), null, 0));
+        assertNotNull(_u1.getId());
+        assertNotNull(_u2.getId());
+        assertEquals("a", __doQueryAll().get(_u1.getId()));
+        assertEquals("b", __doQueryAll().get(_u2.getId()));
+    }
+
+    @Test
+    public void testBulkUpsertUpdatesRowsWithExistingAutoincrementKey() throws Exception {
+        User _u1 = new User(null, "a");
+        User _u2 = new User(null, "b");
+        __session.bulkInsert(Arrays.asList(_u1, _u2), null, 0);
+        //
+        _u1.name = "a2";
+        User _u3 = new User(null, "c");
+        __session.bulkUpsert(Arrays.asList(_u1, _u3, _u2), null, null, 0);
+        // 已存在主键值的记录被更新而非重复插入，未指定主键值的记录正常插入
+        Map<Long, String> _rows = __doQueryAll();
+        assertEquals(3, _rows.size());
+        assertEquals("a2", _rows.get(_u1.getId()));
+        assertEquals("b", _rows.get(_u2.getId()));
+        assertTrue(_rows.containsValue("c"));
+    }
+}
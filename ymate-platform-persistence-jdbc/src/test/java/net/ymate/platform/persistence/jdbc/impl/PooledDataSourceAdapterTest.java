@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.impl;
+
+import net.ymate.platform.persistence.jdbc.DataSourceCfgMeta;
+import net.ymate.platform.persistence.jdbc.JDBC;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class PooledDataSourceAdapterTest {
+
+    private static final AtomicInteger __DB_INDEX = new AtomicInteger();
+
+    private PooledDataSourceAdapter __adapter;
+
+    @Before
+    public void setUp() throws Exception {
+        // 连接池销毁时将注销驱动程序, 需重新注册
+        org.h2.Driver.unload();
+        org.h2.Driver.load();
+    }
+
+    @After
+    public void tearDown() {
+        if (__adapter != null) {
+            __adapter.destroy();
+        }
+    }
+
+    private PooledDataSourceAdapter __doCreate(Map<String, String> params) throws Exception {
+        DataSourceCfgMeta _cfgMeta = new DataSourceCfgMeta("pool_test", PooledDataSourceAdapter.class,
+                "jdbc:h2:mem:pool_test_" + __DB_INDEX.incrementAndGet() + ";DB_CLOSE_DELAY=-1", "sa", "", false);
+        _cfgMeta.setType(JDBC.DATABASE.H2);
+        _cfgMeta.setDriverClass("org.h2.Driver");
+        _cfgMeta.setParams(params);
+        __adapter = new PooledDataSourceAdapter();
+        __adapter.initialize(null, _cfgMeta);
+        return __adapter;
+    }
+
+    private static Map<String, String> __doParams(String... keyValues) {
+        Map<String, String> _params = new HashMap<String, String>();
+        for (int _idx = 0; _idx < keyValues.length; _idx += 2) {
+            _params.put(keyValues[_idx], keyValues[_idx + 1]);
+        }
+        return _params;
+    }
+
+    @Test
+    public void testBorrowAndReturn() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "2"));
+        Connection _conn = _adapter.getConnection();
+        assertEquals(1, _adapter.getTotalConnections());
+        assertEquals(1, _adapter.getActiveConnections());
+        assertFalse(_conn.isClosed());
+        _conn.close();
+        assertTrue(_conn.isClosed());
+        assertEquals(0, _adapter.getActiveConnections());
+        assertEquals(1, _adapter.getIdleConnections());
+        // 重复关闭不会再次归还
+        _conn.close();
+        assertEquals(1, _adapter.getIdleConnections());
+        try {
+            _conn.createStatement();
+            fail();
+        } catch (SQLException ignored) {
+        }
+        // 再次借出时复用已归还的物理连接
+        Connection _other = _adapter.getConnection();
+        assertNotSame(_conn, _other);
+        _other.close();
+        assertEquals(1, _adapter.getCreatedCount());
+        assertEquals(2, _adapter.getBorrowCount());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "1", "max_wait", "200"));
+        Connection _conn = _adapter.getConnection();
+        long _start = System.currentTimeMillis();
+        try {
+            _adapter.getConnection();
+            fail();
+        } catch (SQLException e) {
+            assertTrue(System.currentTimeMillis() - _start >= 200);
+        }
+        assertEquals(1, _adapter.getTimeoutCount());
+        assertEquals(0, _adapter.getWaitingThreads());
+        _conn.close();
+    }
+
+    @Test
+    public void testHandoffToWaitingThread() throws Exception {
+        final PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "1", "max_wait", "5000"));
+        Connection _conn = _adapter.getConnection();
+        ExecutorService _executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> _future = _executor.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    Connection _waited = _adapter.getConnection();
+                    long _time = System.nanoTime();
+                    _waited.close();
+                    return _time;
+                }
+            });
+            Thread.sleep(150);
+            long _released = System.nanoTime();
+            _conn.close();
+            long _acquired = _future.get(5, TimeUnit.SECONDS);
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(_acquired - _released) < 100);
+            assertEquals(1, _adapter.getCreatedCount());
+        } finally {
+            _executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentBorrow() throws Exception {
+        final PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "2", "max_wait", "10000"));
+        ExecutorService _executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> _futures = new ArrayList<Future<Integer>>();
+            for (int _idx = 0; _idx < 8; _idx++) {
+                _futures.add(_executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        int _sum = 0;
+                        for (int _count = 0; _count < 200; _count++) {
+                            Connection _conn = _adapter.getConnection();
+                            try {
+                                _sum += __doSelectOne(_conn);
+                            } finally {
+                                _conn.close();
+                            }
+                        }
+                        return _sum;
+                    }
+                }));
+            }
+            for (Future<Integer> _future : _futures) {
+                assertEquals(200, _future.get(30, TimeUnit.SECONDS).intValue());
+            }
+            assertEquals(0, _adapter.getActiveConnections());
+            assertTrue(_adapter.getTotalConnections() <= 2);
+            assertEquals(0, _adapter.getTimeoutCount());
+        } finally {
+            _executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLeakDetection() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("leak_detection_threshold", "200"));
+        Connection _conn = _adapter.getConnection();
+        long _deadline = System.currentTimeMillis() + 5000;
+        while (_adapter.getLeakCount() == 0 && System.currentTimeMillis() < _deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, _adapter.getLeakCount());
+        _conn.close();
+        // 及时归还的连接不会被视为泄漏
+        _adapter.getConnection().close();
+        Thread.sleep(1500);
+        assertEquals(1, _adapter.getLeakCount());
+    }
+
+    @Test
+    public void testMaxLifetimeEviction() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_lifetime", "100"));
+        Connection _conn = _adapter.getConnection();
+        Thread.sleep(150);
+        // 超出存活时间的连接归还时即被关闭
+        _conn.close();
+        assertEquals(0, _adapter.getTotalConnections());
+        //
+        _conn = _adapter.getConnection();
+        _conn.close();
+        assertEquals(1, _adapter.getIdleConnections());
+        Thread.sleep(150);
+        // 空闲连接超出存活时间后不会再被借出
+        _conn = _adapter.getConnection();
+        _conn.close();
+        assertEquals(3, _adapter.getCreatedCount());
+        assertEquals(1, _adapter.getTotalConnections());
+    }
+
+    @Test
+    public void testStateResetOnReturn() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "1"));
+        Connection _conn = _adapter.getConnection();
+        Statement _statement = _conn.createStatement();
+        _statement.execute("create table t_pool (id int primary key)");
+        _statement.close();
+        int _isolation = _conn.getTransactionIsolation();
+        //
+        _conn.setAutoCommit(false);
+        _conn.setReadOnly(true);
+        _conn.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        _conn.setReadOnly(false);
+        PreparedStatement _insert = _conn.prepareStatement("insert into t_pool (id) values (?)");
+        _insert.setInt(1, 1);
+        _insert.executeUpdate();
+        _conn.close();
+        // 未提交的事务已回滚且连接状态已恢复为默认值
+        _conn = _adapter.getConnection();
+        assertTrue(_conn.getAutoCommit());
+        assertFalse(_conn.isReadOnly());
+        assertEquals(_isolation, _conn.getTransactionIsolation());
+        assertEquals(0, __doCount(_conn));
+        // 自动提交已被设置为false后归还, 下一个使用者仍需看到回滚后的数据
+        _conn.setAutoCommit(false);
+        _conn.close();
+        _conn = _adapter.getConnection();
+        _conn.setAutoCommit(false);
+        _insert = _conn.prepareStatement("insert into t_pool (id) values (?)");
+        _insert.setInt(1, 2);
+        _insert.executeUpdate();
+        _conn.close();
+        _conn = _adapter.getConnection();
+        assertEquals(0, __doCount(_conn));
+        _conn.close();
+        assertEquals(1, _adapter.getCreatedCount());
+    }
+
+    private static int __doCount(Connection conn) throws SQLException {
+        Statement _statement = conn.createStatement();
+        try {
+            ResultSet _resultSet = _statement.executeQuery("select count(*) from t_pool");
+            _resultSet.next();
+            return _resultSet.getInt(1);
+        } finally {
+            _statement.close();
+        }
+    }
+
+    @Test
+    public void testPhysicalConnectionIsNotExposed() throws Exception {
+        PooledDataSourceAdapter _adapter = __doCreate(__doParams("max_pool_size", "1"));
+        Connection _conn = _adapter.getConnection();
+        Statement _statement = _conn.createStatement();
+        assertSame(_conn, _statement.getConnection());
+        ResultSet _resultSet = _statement.executeQuery("select 1");
+        assertSame(_statement, _resultSet.getStatement());
+        assertSame(_conn, _resultSet.getStatement().getConnection());
+        PreparedStatement _prepared = _conn.prepareStatement("select 1");
+        assertSame(_conn, _prepared.executeQuery().getStatement().getConnection());
+        //
+        DatabaseMetaData _metaData = _conn.getMetaData();
+        assertSame(_conn, _metaData.getConnection());
+        ResultSet _tables = _metaData.getTables(null, null, "%", null);
+        Statement _owner = _tables.getStatement();
+        assertTrue(_owner == null || _owner.getConnection() == _conn);
+        _tables.close();
+        // 借出期间未关闭的语句对象在归还时被关闭, 且物理连接仍可继续使用
+        _conn.close();
+        assertTrue(_statement.isClosed());
+        assertTrue(_prepared.isClosed());
+        _conn = _adapter.getConnection();
+        assertEquals(1, __doSelectOne(_conn));
+        _conn.close();
+        assertEquals(1, _adapter.getCreatedCount());
+    }
+
+    private static int __doSelectOne(Connection conn) throws SQLException {
+        Statement _statement = conn.createStatement();
+        try {
+            ResultSet _resultSet = _statement.executeQuery("select 1");
+            _resultSet.next();
+            return _resultSet.getInt(1);
+        } finally {
+            _statement.close();
+        }
+    }
+}
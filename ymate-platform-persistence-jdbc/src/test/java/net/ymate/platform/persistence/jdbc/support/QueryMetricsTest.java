@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.ymate.platform.persistence.jdbc.support;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent (agent@local) on 2026/10/18
+ * @version 1.0
+ */
+public class QueryMetricsTest {
+
+    @Test
+    public void testNormalize() {
+        assertEquals("select * from t1 where id = ? and name = ?", QueryMetrics.normalize("  select *\n  from t1\twhere id = 10 and name = 'a''b'  "));
+        assertEquals("select * from t where id in (?...)", QueryMetrics.normalize("select * from t where id in (1, 2,3)"));
+        assertEquals("select * from t where id in (?...)", QueryMetrics.normalize("select * from t where id in (?, ?, ?, ?)"));
+        assertEquals("insert into t (a, b) values (?...), (?...)", QueryMetrics.normalize("insert into t (a, b) values (?, ?), (?,?)"));
+        // 标识符中的数字及引号内的标识符保持不变
+        assertEquals("select `c1`, \"t 2\".x from t2 where v = ?", QueryMetrics.normalize("select `c1`, \"t 2\".x from t2 where v = 1.5e3"));
+        assertEquals("select * from t where a = ? limit ?", QueryMetrics.normalize("select * from t where a = ? limit 10"));
+        assertEquals(QueryMetrics.normalize("select * from t where id = 1"), QueryMetrics.normalize("select  *  from t where id = 2"));
+    }
+
+    @Test
+    public void testHistogramIndex() {
+        // 小于16微秒时每微秒一个桶
+        for (int _value = 0; _value < 16; _value++) {
+            assertEquals(_value, QueryMetrics.Histogram.index(_value));
+            assertEquals(_value, QueryMetrics.Histogram.upperBound(_value));
+        }
+        assertEquals(0, QueryMetrics.Histogram.index(-1));
+        // 16~31微秒区间每2微秒一个桶
+        assertEquals(16, QueryMetrics.Histogram.index(16));
+        assertEquals(16, QueryMetrics.Histogram.index(17));
+        assertEquals(17, QueryMetrics.Histogram.index(18));
+        assertEquals(23, QueryMetrics.Histogram.index(31));
+        assertEquals(24, QueryMetrics.Histogram.index(32));
+    }
+
+    @Test
+    public void testHistogramBounds() {
+        int _prevIndex = -1;
+        for (long _value = 0; _value < 1L << 30; _value = _value < 64 ? _value + 1 : _value + _value / 7) {
+            int _index = QueryMetrics.Histogram.index(_value);
+            long _upper = QueryMetrics.Histogram.upperBound(_index);
+            // 值不超过所在桶的上边界且大于前一个桶的上边界，相对误差不超过12.5%
+            assertTrue(_value <= _upper);
+            assertTrue(_index == 0 || _value > QueryMetrics.Histogram.upperBound(_index - 1));
+            assertTrue(_upper - _value <= Math.max(1, _value / 8));
+            assertTrue(_index >= _prevIndex);
+            _prevIndex = _index;
+        }
+        // 超出范围的值归入最后一个桶
+        int _max = QueryMetrics.Histogram.index(Long.MAX_VALUE);
+        assertEquals(_max, QueryMetrics.Histogram.index(1L << 41));
+        assertTrue(_max < new QueryMetrics.Histogram().counts().length);
+    }
+
+    @Test
+    public void testPercentile() {
+        QueryMetrics _metrics = new QueryMetrics("default", 0, 0);
+        for (int _idx = 1; _idx <= 100; _idx++) {
+            _metrics.record("select * from t where id = " + _idx, _idx * 1000000L, 1, false);
+        }
+        QueryMetrics.Snapshot _snapshot = _metrics.getSnapshot("select * from t where id = 1");
+        assertEquals(100, _snapshot.getCount());
+        assertEquals(100, _snapshot.getRows());
+        assertEquals(100d, _snapshot.getMaxTime(), 0.001);
+        assertEquals(50.5d, _snapshot.getMeanTime(), 0.001);
+        assertTrue(_snapshot.getP50() >= 50 && _snapshot.getP50() <= 50 * 1.125);
+        assertTrue(_snapshot.getP99() >= 99 && _snapshot.getP99() <= 100);
+    }
+
+    @Test
+    public void testSlowLogSampling() {
+        QueryMetrics _metrics = new QueryMetrics("default", 100, 60000);
+        // 未超过阈值
+        assertFalse(_metrics.record("select 1", 99000000L, 1, false));
+        // 同一SQL语句在输出间隔内仅输出一次，不同SQL语句分别计算
+        assertTrue(_metrics.record("select * from a where id = 1", 150000000L, 1, false));
+        assertFalse(_metrics.record("select * from a where id = 2", 150000000L, 1, false));
+        assertTrue(_metrics.record("select * from b", 150000000L, 1, false));
+        assertEquals(2, _metrics.getSnapshot("select * from a where id = 3").getSlowCount());
+        // 输出间隔小于等于0时每次均输出
+        QueryMetrics _always = new QueryMetrics("default", 100, 0);
+        assertTrue(_always.record("select 1", 100000000L, 1, false));
+        assertTrue(_always.record("select 1", 100000000L, 1, false));
+        // 阈值小于等于0表示不记录慢查询
+        QueryMetrics _disabled = new QueryMetrics("default", 0, 0);
+        assertFalse(_disabled.record("select 1", Long.MAX_VALUE / 2, 1, false));
+    }
+
+    @Test
+    public void testGetSlowestAndOverflow() {
+        QueryMetrics _metrics = new QueryMetrics("default", 0, 0);
+        _metrics.record("select * from fast", 1000000L, 1, false);
+        _metrics.record("select * from slow", 9000000L, 1, false);
+        _metrics.record("update t set a = 1", 5000000L, 0, true);
+        assertEquals("select * from slow", _metrics.getSlowest(1).get(0).getSql());
+        assertEquals(1, _metrics.getSnapshot("update t set a = 2").getErrors());
+        // 超出统计数量上限的SQL语句合并统计，超出原始SQL缓存上限后仍可正常统计
+        for (int _idx = 0; _idx < 5000; _idx++) {
+            _metrics.record("select c" + _idx + " from t where id = " + _idx, 1000L, 1, false);
+        }
+        assertEquals(1025, _metrics.getSnapshots().size());
+        assertNotNull(_metrics.getSnapshot(QueryMetrics.OTHERS));
+        _metrics.reset();
+        assertTrue(_metrics.getSnapshots().isEmpty());
+    }
+}
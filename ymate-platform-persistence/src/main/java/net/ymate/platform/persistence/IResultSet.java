@@ -56,6 +56,16 @@ public interface IResultSet<T> {
      */
     long getRecordCount();
 
+    /**
+     * @return 返回是否存在下一页数据，仅在统计了总记录数或采用HAS_NEXT统计策略时有效
+     */
+    boolean hasNextPage();
+
+    /**
+     * @return 返回产生总记录数(或下一页标识)的统计策略，未指定时返回null
+     */
+    Page.CountStrategy getCountStrategy();
+
     /**
      * @return 返回结果集数据
      */
@@ -43,6 +43,16 @@ public final class Page {
      */
     private boolean __count;
 
+    /**
+     * 总记录数统计策略，为空表示采用数据源默认配置
+     */
+    private CountStrategy __countStrategy;
+
+    /**
+     * 总记录数缓存有效时间(秒)，仅在CACHED策略下有效，小于等于0表示采用数据源默认配置
+     */
+    private int __countCacheTimeout;
+
     public static Page create(int page) {
         return new Page(page);
     }
@@ -80,4 +90,53 @@ public final class Page {
         this.__count = count;
         return this;
     }
+
+    public CountStrategy countStrategy() {
+        return __countStrategy;
+    }
+
+    public Page countStrategy(CountStrategy countStrategy) {
+        this.__countStrategy = countStrategy;
+        return this;
+    }
+
+    public int countCacheTimeout() {
+        return __countCacheTimeout;
+    }
+
+    public Page countCacheTimeout(int countCacheTimeout) {
+        this.__countCacheTimeout = countCacheTimeout;
+        return this;
+    }
+
+    /**
+     * 分页查询总记录数统计策略
+     */
+    public enum CountStrategy {
+
+        /**
+         * 不统计总记录数
+         */
+        NONE,
+
+        /**
+         * 执行独立的COUNT查询统计总记录数(默认)
+         */
+        SEPARATE,
+
+        /**
+         * 通过COUNT(*) OVER()窗口函数在分页查询中同时返回总记录数，数据库不支持时将采用SEPARATE策略
+         */
+        WINDOW,
+
+        /**
+         * 不统计总记录数，通过多查询一条记录判断是否存在下一页
+         */
+        HAS_NEXT,
+
+        /**
+         * 执行独立的COUNT查询并在有效期内缓存统计结果，适用于条件复杂且对总数实时性要求不高的场景
+         */
+        CACHED
+    }
 }
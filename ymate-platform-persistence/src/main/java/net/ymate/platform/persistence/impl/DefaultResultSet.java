@@ -16,6 +16,7 @@
 package net.ymate.platform.persistence.impl;
 
 import net.ymate.platform.persistence.IResultSet;
+import net.ymate.platform.persistence.Page;
 
 import java.util.Collections;
 import java.util.List;
@@ -37,6 +38,10 @@ public class DefaultResultSet<T> implements IResultSet<T> {
 
     private long recordCount;
 
+    private boolean hasNextPage;
+
+    private Page.CountStrategy countStrategy;
+
     private List<T> resultData;
 
     /**
@@ -57,6 +62,20 @@ public class DefaultResultSet<T> implements IResultSet<T> {
      * @param recordCount 总记录数
      */
     public DefaultResultSet(List<T> resultData, int pageNumber, int pageSize, long recordCount) {
+        this(resultData, pageNumber, pageSize, recordCount, null);
+    }
+
+    /**
+     * 构造方法，采用分页计算
+     *
+     * @param resultData    当前页数据
+     * @param pageNumber    当前页号
+     * @param pageSize      每页记录数
+     * @param recordCount   总记录数
+     * @param countStrategy 总记录数统计策略
+     */
+    public DefaultResultSet(List<T> resultData, int pageNumber, int pageSize, long recordCount, Page.CountStrategy countStrategy) {
+        this.countStrategy = countStrategy;
         this.resultData = Collections.unmodifiableList(resultData);
         this.pageNumber = pageNumber;
         this.pageSize = pageSize;
@@ -71,9 +90,23 @@ public class DefaultResultSet<T> implements IResultSet<T> {
                     this.pageCount = (int) (recordCount / pageSize);
                 }
             }
+            this.hasNextPage = pageNumber < pageCount;
         }
     }
 
+    /**
+     * 构造方法，采用HAS_NEXT统计策略分页(不计算总记录数及总页数)
+     *
+     * @param resultData  当前页数据
+     * @param pageNumber  当前页号
+     * @param pageSize    每页记录数
+     * @param hasNextPage 是否存在下一页
+     */
+    public DefaultResultSet(List<T> resultData, int pageNumber, int pageSize, boolean hasNextPage) {
+        this(resultData, pageNumber, pageSize, 0, Page.CountStrategy.HAS_NEXT);
+        this.hasNextPage = hasNextPage;
+    }
+
     @Override
     public boolean isResultsAvailable() {
         return resultData != null && !resultData.isEmpty();
@@ -104,6 +137,16 @@ public class DefaultResultSet<T> implements IResultSet<T> {
         return recordCount;
     }
 
+    @Override
+    public boolean hasNextPage() {
+        return hasNextPage;
+    }
+
+    @Override
+    public Page.CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
     @Override
     public List<T> getResultData() {
         return resultData;
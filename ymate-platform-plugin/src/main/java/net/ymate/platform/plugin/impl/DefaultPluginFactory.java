@@ -94,7 +94,7 @@ public class DefaultPluginFactory implements IPluginFactory {
     @SuppressWarnings("unchecked")
     private List<Class<? extends IBeanHandler>> __doLoadBeanHandles() throws Exception {
         List<Class<? extends IBeanHandler>> _returnValues = new ArrayList<Class<? extends IBeanHandler>>();
-        IBeanLoader _loader = new DefaultBeanLoader();
+        IBeanLoader _loader = __owner != null ? new DefaultBeanLoader(__owner.getConfig().getExcludedFiles(), __owner.getConfig().getBeanIndexCacheDir()) : new DefaultBeanLoader();
         //
         IBeanFilter _beanFilter = new IBeanFilter() {
             @Override
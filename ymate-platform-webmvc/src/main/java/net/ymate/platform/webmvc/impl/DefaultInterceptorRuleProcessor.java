@@ -81,7 +81,7 @@ public class DefaultInterceptorRuleProcessor implements IInterceptorRuleProcesso
             InterceptContext _context = new InterceptContext(IInterceptor.Direction.BEFORE, owner.getOwner(), null, null, null, _ruleMeta.getContextParams());
             //
             for (Class<? extends IInterceptor> _interceptClass : _ruleMeta.getBeforeIntercepts()) {
-                IInterceptor _interceptor = _interceptClass.newInstance();
+                IInterceptor _interceptor = owner.getOwner().getConfig().getInterceptSettings().getInterceptor(owner.getOwner(), _interceptClass);
                 // 执行前置拦截器，若其结果对象不为空则返回并停止执行
                 Object _result = _interceptor.intercept(_context);
                 if (_result != null) {
@@ -15,6 +15,7 @@
  */
 package net.ymate.platform.webmvc.support;
 
+import net.ymate.platform.core.event.Events;
 import net.ymate.platform.core.i18n.I18N;
 import net.ymate.platform.core.util.RuntimeUtils;
 import net.ymate.platform.webmvc.IRequestContext;
@@ -51,7 +52,10 @@ public final class GenericDispatcher {
     }
 
     private void __doFireEvent(WebEvent.EVENT event, Object eventSource) {
-        __owner.getOwner().getEvents().fireEvent(new WebEvent(__owner, event).addParamExtend(WebEvent.EVENT_SOURCE, eventSource));
+        Events _events = __owner.getOwner().getEvents();
+        if (_events.hasListeners(WebEvent.class)) {
+            _events.fireEvent(new WebEvent(__owner, event).addParamExtend(WebEvent.EVENT_SOURCE, eventSource));
+        }
     }
 
     public void execute(IRequestContext requestContext,
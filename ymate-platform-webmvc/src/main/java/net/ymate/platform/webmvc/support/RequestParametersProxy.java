@@ -20,6 +20,8 @@ import net.ymate.platform.core.beans.annotation.Order;
 import net.ymate.platform.core.beans.annotation.Proxy;
 import net.ymate.platform.core.beans.proxy.IProxy;
 import net.ymate.platform.core.beans.proxy.IProxyChain;
+import net.ymate.platform.core.beans.proxy.IProxyFactory;
+import net.ymate.platform.core.beans.proxy.IProxyMethodFilter;
 import net.ymate.platform.core.util.ClassUtils;
 import net.ymate.platform.validation.ValidateResult;
 import net.ymate.platform.validation.Validations;
@@ -31,6 +33,7 @@ import net.ymate.platform.webmvc.base.Type;
 import net.ymate.platform.webmvc.context.WebContext;
 import net.ymate.platform.webmvc.view.IView;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,7 +44,12 @@ import java.util.Map;
  * @version 1.0
  */
 @Proxy(annotation = Controller.class, order = @Order(-888))
-public class RequestParametersProxy implements IProxy {
+public class RequestParametersProxy implements IProxy, IProxyMethodFilter {
+
+    @Override
+    public boolean filter(IProxyFactory proxyFactory, Class<?> targetClass, Method targetMethod) {
+        return targetMethod.isAnnotationPresent(RequestMapping.class);
+    }
 
     @Override
     public Object doProxy(IProxyChain proxyChain) throws Throwable {